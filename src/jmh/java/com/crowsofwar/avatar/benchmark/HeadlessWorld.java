@@ -0,0 +1,147 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.benchmark;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.profiler.Profiler;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameType;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldProviderSurface;
+import net.minecraft.world.WorldSettings;
+import net.minecraft.world.WorldType;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkPrimer;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.storage.WorldInfo;
+
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A world which only exists in memory, so that code which needs a world can be benchmarked
+ * without starting a client or server. The terrain is flat stone up to y=63, with stone pillars
+ * scattered on top; the same seed always gives the same terrain, so results can be compared
+ * between runs.
+ * <p>
+ * Chunks are generated when they are first accessed and never unloaded. Nothing is ticked.
+ *
+ * @author CrowsOfWar
+ */
+public class HeadlessWorld extends World {
+
+	public static final int GROUND_LEVEL = 64;
+
+	private static boolean bootstrapped;
+
+	private final long seed;
+
+	public HeadlessWorld(long seed) {
+		// There is no save handler, since nothing is ever saved
+		super(null, new WorldInfo(new WorldSettings(seed, GameType.CREATIVE, false, false, WorldType.FLAT),
+				"headless"), new WorldProviderSurface(), new Profiler(), false);
+		this.seed = seed;
+		this.provider.setWorld(this);
+		this.chunkProvider = createChunkProvider();
+	}
+
+	/**
+	 * Registers vanilla blocks, items, etc. Needs to be called before the first world is created.
+	 */
+	public static synchronized void bootstrap() {
+		if (!bootstrapped) {
+			Bootstrap.register();
+			bootstrapped = true;
+		}
+	}
+
+	@Override
+	protected IChunkProvider createChunkProvider() {
+		return new HeadlessChunkProvider();
+	}
+
+	@Override
+	protected boolean isChunkLoaded(int x, int z, boolean allowEmpty) {
+		return true;
+	}
+
+	private Chunk generateChunk(int chunkX, int chunkZ) {
+
+		IBlockState stone = Blocks.STONE.getDefaultState();
+		ChunkPrimer primer = new ChunkPrimer();
+
+		for (int x = 0; x < 16; x++) {
+			for (int z = 0; z < 16; z++) {
+				for (int y = 0; y < GROUND_LEVEL; y++) {
+					primer.setBlockState(x, y, z, stone);
+				}
+			}
+		}
+
+		// A few pillars per chunk, so raytraces don't always go all the way
+		Random random = new Random(seed ^ ChunkPos.asLong(chunkX, chunkZ));
+		int pillars = random.nextInt(4);
+		for (int i = 0; i < pillars; i++) {
+			int x = random.nextInt(16);
+			int z = random.nextInt(16);
+			int height = 1 + random.nextInt(6);
+			for (int y = GROUND_LEVEL; y < GROUND_LEVEL + height; y++) {
+				primer.setBlockState(x, y, z, stone);
+			}
+		}
+
+		return new Chunk(this, primer, chunkX, chunkZ);
+
+	}
+
+	private class HeadlessChunkProvider implements IChunkProvider {
+
+		private final Map<Long, Chunk> chunks = new HashMap<>();
+
+		@Nullable
+		@Override
+		public Chunk getLoadedChunk(int x, int z) {
+			return provideChunk(x, z);
+		}
+
+		@Override
+		public Chunk provideChunk(int x, int z) {
+			return chunks.computeIfAbsent(ChunkPos.asLong(x, z), key -> generateChunk(x, z));
+		}
+
+		@Override
+		public boolean tick() {
+			return false;
+		}
+
+		@Override
+		public String makeString() {
+			return "HeadlessChunkProvider: " + chunks.size();
+		}
+
+		@Override
+		public boolean isChunkGeneratedAt(int x, int z) {
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,100 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.config;
+
+import com.crowsofwar.avatar.benchmark.HeadlessWorld;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.ResourceLocation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
+
+/**
+ * Benchmarks checking 1k, 10k and 100k block states against the default bendable blocks, with a
+ * {@link BlockMatcher} and with the list of blocks which was used before. The states are picked
+ * at random from all registered blocks.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockMatcherBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int lookups;
+
+	private BlockMatcher matcher;
+	private List<Block> list;
+	private IBlockState[] states;
+
+	@Setup
+	public void setup() {
+
+		HeadlessWorld.bootstrap();
+
+		List<String> names = STATS_CONFIG.bendableBlocksNames;
+		matcher = BlockMatcher.compile(names);
+		list = new ArrayList<>();
+		for (String name : names) {
+			list.add(Block.REGISTRY.getObject(new ResourceLocation(name)));
+		}
+
+		List<IBlockState> allStates = new ArrayList<>();
+		for (Block block : Block.REGISTRY) {
+			allStates.addAll(block.getBlockState().getValidStates());
+		}
+		Random random = new Random(0);
+		states = new IBlockState[lookups];
+		for (int i = 0; i < lookups; i++) {
+			states[i] = allStates.get(random.nextInt(allStates.size()));
+		}
+
+	}
+
+	@Benchmark
+	public int matcher() {
+		int matches = 0;
+		for (IBlockState state : states) {
+			if (matcher.matches(state)) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+	@Benchmark
+	public int list() {
+		int matches = 0;
+		for (IBlockState state : states) {
+			if (list.contains(state.getBlock())) {
+				matches++;
+			}
+		}
+		return matches;
+	}
+
+}
@@ -0,0 +1,89 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.config;
+
+import com.crowsofwar.avatar.benchmark.HeadlessWorld;
+import com.crowsofwar.gorecore.config.convert.ConverterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading each of the mod's configuration files into a new configuration object, as
+ * when the game starts or <code>/av config reload</code> is used, and reading all of them at
+ * once. The files are created with their default values in the benchmark's working directory
+ * the first time they are read.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigReadBenchmark {
+
+	@Setup
+	public void setup() {
+		// Block lists are compiled against the block registry
+		HeadlessWorld.bootstrap();
+		ConverterRegistry.addDefaultConverters();
+	}
+
+	@Benchmark
+	public ConfigStats stats() {
+		return ConfigStats.read();
+	}
+
+	@Benchmark
+	public ConfigSkills skills() {
+		return ConfigSkills.read();
+	}
+
+	@Benchmark
+	public ConfigClient client() {
+		return ConfigClient.read();
+	}
+
+	@Benchmark
+	public ConfigChi chi() {
+		return ConfigChi.read();
+	}
+
+	@Benchmark
+	public ConfigMobs mobs() {
+		return ConfigMobs.read();
+	}
+
+	@Benchmark
+	public ConfigAnalytics analytics() {
+		return ConfigAnalytics.read();
+	}
+
+	/**
+	 * Reads every configuration like {@link ConfigReloader#reloadAll()}, without applying them.
+	 */
+	@Benchmark
+	public Object[] all() {
+		ConfigStats stats = ConfigStats.read();
+		stats.loadBlocks();
+		return new Object[]{stats, ConfigSkills.read(), ConfigClient.read(), ConfigChi.read(),
+				ConfigMobs.read(), ConfigAnalytics.read()};
+	}
+
+}
@@ -0,0 +1,182 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.data;
+
+import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.controls.AvatarControl;
+import com.crowsofwar.avatar.common.data.ctx.AbilityContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving and syncing {@link BendingData} of a player who has unlocked three bending
+ * styles and has made progress in twelve abilities.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BendingDataBenchmark {
+
+	private static final String[] ABILITIES = {"air_gust", "air_jump", "airblade", "air_bubble",
+			"pickup_block", "ravine", "wall", "fire_arc", "flamethrower", "fireball", "light_fire",
+			"water_arc"};
+
+	private static boolean initialized;
+
+	private BendingData data;
+	private NBTTagCompound nbt;
+	private AbilityData abilityData;
+	private ByteBuf buf;
+
+	@Setup
+	public void setup() {
+
+		init();
+
+		data = createData();
+		nbt = new NBTTagCompound();
+		data.writeToNbt(nbt);
+
+		abilityData = data.getAbilityData(ABILITIES[0]);
+		buf = Unpooled.buffer(1024);
+
+	}
+
+	/**
+	 * Sets up controls (needed by status controls) and registers the abilities, so they are
+	 * written with their network IDs like in game. Only done once per JVM.
+	 */
+	private static synchronized void init() {
+		if (!initialized) {
+			AvatarControl.initControls();
+			UUID bendingId = new UUID(0, 1);
+			for (String name : ABILITIES) {
+				Abilities.register(new Ability(bendingId, name) {
+					@Override
+					public void execute(AbilityContext ctx) {
+					}
+				});
+			}
+			initialized = true;
+		}
+	}
+
+	static BendingData createData() {
+
+		BendingData data = new BendingData(category -> {
+		}, () -> {
+		});
+
+		Random random = new Random(0);
+		for (int i = 0; i < 3; i++) {
+			data.addBendingId(new UUID(random.nextLong(), random.nextLong()));
+		}
+		for (String name : ABILITIES) {
+			AbilityData abilityData = data.getAbilityData(name);
+			abilityData.setLevel(random.nextInt(AbilityData.MAX_LEVEL + 1));
+			abilityData.setXp(random.nextFloat() * 100);
+		}
+
+		data.addStatusControl(StatusControl.AIR_JUMP);
+		data.addStatusControl(StatusControl.THROW_FIRE);
+		data.addTickHandler(TickHandler.AIR_PARTICLE_SPAWNER);
+		data.chi().setMaxChi(100);
+		data.chi().setTotalChi(80);
+		data.chi().setAvailableChi(40);
+		data.getPerformance().setScore(25);
+
+		return data;
+
+	}
+
+	@Benchmark
+	public NBTTagCompound writeToNbt() {
+		NBTTagCompound nbt = new NBTTagCompound();
+		data.writeToNbt(nbt);
+		return nbt;
+	}
+
+	@Benchmark
+	public BendingData readFromNbt() {
+		BendingData read = new BendingData(category -> {
+		}, () -> {
+		});
+		read.readFromNbt(nbt);
+		return read;
+	}
+
+	@Benchmark
+	public ByteBuf abilityDataToBytes() {
+		buf.clear();
+		abilityData.toBytes(buf);
+		return buf;
+	}
+
+	/**
+	 * Encodes and decodes each data category, as when the player's data is synced to the client.
+	 */
+	@State(Scope.Thread)
+	public static class CategoryState {
+
+		@Param({"BENDING_LIST", "STATUS_CONTROLS", "ABILITY_DATA", "CHI", "MISC_DATA", "TICK_HANDLERS",
+				"ACTIVE_BENDING", "VISION", "PERFORMANCE"})
+		public DataCategory category;
+
+		private BendingData data, target;
+		private ByteBuf encoded, buf;
+
+		@Setup
+		public void setup() {
+			init();
+
+			data = createData();
+			target = createData();
+			buf = Unpooled.buffer(4096);
+			encoded = Unpooled.buffer(4096);
+			category.write(encoded, data);
+		}
+
+	}
+
+	@Benchmark
+	public ByteBuf encodeCategory(CategoryState state) {
+		state.buf.clear();
+		state.category.write(state.buf, state.data);
+		return state.buf;
+	}
+
+	@Benchmark
+	public BendingData decodeCategory(CategoryState state) {
+		state.encoded.readerIndex(0);
+		state.category.read(state.encoded, state.target);
+		return state.target;
+	}
+
+}
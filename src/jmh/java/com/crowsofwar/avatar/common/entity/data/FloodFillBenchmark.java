@@ -0,0 +1,68 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.entity.data;
+
+import com.crowsofwar.avatar.benchmark.HeadlessWorld;
+import net.minecraft.util.math.BlockPos;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks complete {@link FloodFill flood fills} of about 1k, 10k and 100k blocks in a
+ * {@link HeadlessWorld}. The fill spreads through every block, so it fills a sphere whose radius
+ * is chosen to give that many blocks; the time budget is unlimited, so each fill finishes in one
+ * tick.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FloodFillBenchmark {
+
+	@Param({"1000", "10000", "100000"})
+	public int blocks;
+
+	private HeadlessWorld world;
+	private BlockPos origin;
+	private int radius;
+
+	@Setup
+	public void setup() {
+
+		HeadlessWorld.bootstrap();
+		world = new HeadlessWorld(0);
+		origin = new BlockPos(0, HeadlessWorld.GROUND_LEVEL, 0);
+		radius = (int) Math.round(Math.cbrt(blocks * 3 / (4 * Math.PI)));
+
+		// Generate chunks in advance so that isn't measured
+		fill();
+
+	}
+
+	@Benchmark
+	public FloodFill fill() {
+		FloodFill fill = new FloodFill(world, origin, radius, state -> true);
+		fill.tick(Long.MAX_VALUE);
+		return fill;
+	}
+
+}
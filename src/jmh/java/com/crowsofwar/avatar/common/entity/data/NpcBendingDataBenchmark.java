@@ -0,0 +1,148 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.entity.data;
+
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.controls.AvatarControl;
+import com.crowsofwar.avatar.common.data.BendingData;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bending data of 1,000 mobs, comparing the compact {@link EntityBenderData} to the
+ * full {@link BendingData} which mobs used before. Each operation creates or saves the data of all
+ * mobs. Mobs are in the state of a fight: their chi and cooldown have changed, one has an active
+ * status control, and one has used an ability.
+ * <p>
+ * Memory is measured by running with the GC profiler (<code>gradlew jmh
+ * -Pjmh.include=NpcBendingData -Pjmh.prof=gc</code>): <code>gc.alloc.rate.norm</code> of the
+ * create benchmarks is the memory taken by 1,000 mobs' data, since all of it is kept. The NBT
+ * size of 1,000 mobs is printed during setup.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NpcBendingDataBenchmark {
+
+	private static final int NPCS = 1000;
+
+	private static final NpcBendingProfile PROFILE = NpcBendingProfile.builder()
+			.ability("air_gust")
+			.ability("air_jump", 1)
+			.ability("airblade")
+			.build();
+
+	private static boolean initialized;
+
+	private BendingData[] compact, full;
+
+	@Setup
+	public void setup() throws IOException {
+		init();
+
+		compact = createCompact();
+		full = createFull();
+
+		System.out.println();
+		System.out.println("NBT of " + NPCS + " mobs: compact " + nbtSize(compact) + " bytes, full "
+				+ nbtSize(full) + " bytes");
+	}
+
+	/**
+	 * Sets up controls, which are needed by status controls. Only done once per JVM.
+	 */
+	private static synchronized void init() {
+		if (!initialized) {
+			AvatarControl.initControls();
+			initialized = true;
+		}
+	}
+
+	@Benchmark
+	public BendingData[] createCompact() {
+		BendingData[] npcs = new BendingData[NPCS];
+		for (int i = 0; i < NPCS; i++) {
+			npcs[i] = fight(new EntityBenderData(null, PROFILE), i);
+		}
+		return npcs;
+	}
+
+	@Benchmark
+	public BendingData[] createFull() {
+		BendingData[] npcs = new BendingData[NPCS];
+		for (int i = 0; i < NPCS; i++) {
+			npcs[i] = fight(new BendingData(category -> {
+			}, () -> {
+			}), i);
+		}
+		return npcs;
+	}
+
+	@Benchmark
+	public NBTTagCompound writeCompact() {
+		return write(compact);
+	}
+
+	@Benchmark
+	public NBTTagCompound writeFull() {
+		return write(full);
+	}
+
+	private static BendingData fight(BendingData data, int i) {
+		data.chi().setMaxChi(100);
+		data.chi().setTotalChi(i % 100);
+		data.getMiscData().setAbilityCooldown(i % 20);
+		if (i % 10 == 0) {
+			data.addStatusControl(StatusControl.AIR_JUMP);
+		}
+		if (i % 10 == 5) {
+			data.getAbilityData("air_gust").setXp(10);
+		}
+		return data;
+	}
+
+	/**
+	 * Writes each mob's data into its own compound, all in one list like in a chunk.
+	 */
+	private static NBTTagCompound write(BendingData[] npcs) {
+		NBTTagCompound nbt = new NBTTagCompound();
+		for (int i = 0; i < npcs.length; i++) {
+			NBTTagCompound npcNbt = new NBTTagCompound();
+			npcs[i].writeToNbt(npcNbt);
+			nbt.setTag(Integer.toString(i), npcNbt);
+		}
+		return nbt;
+	}
+
+	private static int nbtSize(BendingData[] npcs) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CompressedStreamTools.write(write(npcs), new DataOutputStream(out));
+		return out.size();
+	}
+
+}
@@ -0,0 +1,175 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.network.packets;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.bending.BendingStyles;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.bending.air.Airbending;
+import com.crowsofwar.avatar.common.controls.AvatarControl;
+import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.data.DataCategory;
+import com.crowsofwar.avatar.common.data.TickHandler;
+import com.crowsofwar.avatar.common.data.ctx.AbilityContext;
+import com.crowsofwar.avatar.common.util.Raytrace;
+import com.crowsofwar.gorecore.util.Vector;
+import com.crowsofwar.gorecore.util.VectorI;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.EnumParticleTypes;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks encoding each registered Avatar packet, filled with typical contents. The encoded
+ * size of the packet is printed during setup, so sizes can be compared between commits as well.
+ * Abilities are written with their network IDs, as after the ID table was received.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PacketSizeBenchmark {
+
+	private static final String[] ABILITIES = {"air_gust", "air_jump", "airblade", "air_bubble",
+			"cloudburst", "slipstream"};
+
+	@Param({"PacketSUseAbility", "PacketSRequestData", "PacketSUseStatusControl",
+			"PacketCParticles", "PacketCPlayerData", "PacketSWallJump", "PacketSSkillsMenu",
+			"PacketSUseScroll", "PacketCErrorMessage", "PacketSBisonInventory",
+			"PacketSOpenUnlockGui", "PacketSUnlockBending", "PacketSConfirmTransfer",
+			"PacketSCycleBending", "PacketCPowerRating", "PacketCOpenSkillCard", "PacketCNetworkIds",
+			"PacketSUseInputs"})
+	public String packet;
+
+	private AvatarPacket<?> message;
+	private ByteBuf buf;
+
+	@Setup
+	public void setup() {
+
+		AvatarControl.initControls();
+		for (String name : ABILITIES) {
+			Abilities.register(new Ability(Airbending.ID, name) {
+				@Override
+				public void execute(AbilityContext ctx) {
+				}
+			});
+		}
+		BendingStyles.register(new Airbending());
+
+		message = create(packet);
+		buf = Unpooled.buffer(4096);
+
+		System.out.println();
+		System.out.println(packet + ": " + encode().readableBytes() + " bytes");
+
+	}
+
+	@Benchmark
+	public ByteBuf encode() {
+		buf.clear();
+		message.toBytes(buf);
+		return buf;
+	}
+
+	private static AvatarPacket<?> create(String packet) {
+
+		Ability ability = Abilities.get(ABILITIES[0]);
+		Raytrace.Result raytrace = new Raytrace.Result(new VectorI(12, 64, -30), EnumFacing.UP, new
+				Vector(12.5, 65, -29.5));
+
+		switch (packet) {
+			case "PacketSUseAbility":
+				return new PacketSUseAbility(ability, raytrace);
+			case "PacketSRequestData":
+				return new PacketSRequestData(new UUID(1, 2));
+			case "PacketSUseStatusControl":
+				return new PacketSUseStatusControl(StatusControl.AIR_JUMP, raytrace);
+			case "PacketCParticles":
+				return new PacketCParticles(EnumParticleTypes.FLAME, 3, 6, 12.5, 65, -29.5, 0.1, 0.2,
+						0.1);
+			case "PacketCPlayerData":
+				return new PacketCPlayerData(createData(), new UUID(1, 2), new TreeSet<>(Arrays.asList
+						(DataCategory.values())));
+			case "PacketSWallJump":
+				return new PacketSWallJump();
+			case "PacketSSkillsMenu":
+				return new PacketSSkillsMenu(Airbending.ID, ability);
+			case "PacketSUseScroll":
+				return new PacketSUseScroll(ability);
+			case "PacketCErrorMessage":
+				return new PacketCErrorMessage("avatar.abilityLocked");
+			case "PacketSBisonInventory":
+				return new PacketSBisonInventory();
+			case "PacketSOpenUnlockGui":
+				return new PacketSOpenUnlockGui();
+			case "PacketSUnlockBending":
+				return new PacketSUnlockBending(Airbending.ID);
+			case "PacketSConfirmTransfer":
+				return new PacketSConfirmTransfer();
+			case "PacketSCycleBending":
+				return new PacketSCycleBending(true);
+			case "PacketCPowerRating":
+				return new PacketCPowerRating(Collections.singletonMap(Airbending.ID, 25.0));
+			case "PacketCOpenSkillCard":
+				return new PacketCOpenSkillCard(ability);
+			case "PacketCNetworkIds":
+				return new PacketCNetworkIds(AvatarInfo.VERSION, Arrays.asList(ABILITIES));
+			case "PacketSUseInputs":
+				PacketSUseInputs inputs = new PacketSUseInputs();
+				inputs.addAbility(ability, raytrace);
+				inputs.addStatusControl(StatusControl.AIR_JUMP, raytrace);
+				return inputs;
+			default:
+				throw new IllegalArgumentException("Unknown packet " + packet);
+		}
+
+	}
+
+	/**
+	 * Creates the data of an airbender who has made progress in every ability.
+	 */
+	private static BendingData createData() {
+
+		BendingData data = new BendingData(category -> {
+		}, () -> {
+		});
+		data.addBendingId(Airbending.ID);
+		for (String name : ABILITIES) {
+			data.getAbilityData(name).setLevel(1);
+			data.getAbilityData(name).setXp(50);
+		}
+		data.addStatusControl(StatusControl.AIR_JUMP);
+		data.addTickHandler(TickHandler.AIR_PARTICLE_SPAWNER);
+		data.chi().setMaxChi(100);
+		data.chi().setTotalChi(80);
+		data.getPerformance().setScore(25);
+		return data;
+
+	}
+
+}
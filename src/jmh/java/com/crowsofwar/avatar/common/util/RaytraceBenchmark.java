@@ -0,0 +1,120 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.util;
+
+import com.crowsofwar.avatar.benchmark.HeadlessWorld;
+import com.crowsofwar.gorecore.util.Vector;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.item.EntityArmorStand;
+import net.minecraft.init.Blocks;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the raytraces in {@link Raytrace} in a {@link HeadlessWorld}. Every invocation uses
+ * the next of a fixed set of rays, which start above the ground and go in random directions.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RaytraceBenchmark {
+
+	private static final int RAYS = 256;
+
+	@Param({"8", "32"})
+	public double range;
+
+	private HeadlessWorld world;
+	private Vector[] starts, directions;
+	private int next;
+	private final VoxelRaytracer.Hit hit = new VoxelRaytracer.Hit();
+
+	@Setup
+	public void setup() {
+
+		HeadlessWorld.bootstrap();
+		world = new HeadlessWorld(0);
+
+		Random random = new Random(0);
+		starts = new Vector[RAYS];
+		directions = new Vector[RAYS];
+		for (int i = 0; i < RAYS; i++) {
+			starts[i] = new Vector(random.nextDouble() * 64 - 32, HeadlessWorld.GROUND_LEVEL + 1.6,
+					random.nextDouble() * 64 - 32);
+			// Mostly horizontal, slightly downwards - like a player aiming at something
+			directions[i] = new Vector(random.nextDouble() * 2 - 1, -random.nextDouble() * 0.3,
+					random.nextDouble() * 2 - 1).normalize();
+		}
+
+		// Entities for entity raytraces to find
+		for (int i = 0; i < 64; i++) {
+			world.spawnEntity(new EntityArmorStand(world, random.nextDouble() * 96 - 48,
+					HeadlessWorld.GROUND_LEVEL, random.nextDouble() * 96 - 48));
+		}
+
+		// Generate chunks in advance so that isn't measured
+		for (int i = 0; i < RAYS; i++) {
+			Raytrace.raytrace(world, starts[i], directions[i], 64, false);
+		}
+
+	}
+
+	private int nextRay() {
+		next = (next + 1) % RAYS;
+		return next;
+	}
+
+	@Benchmark
+	public Raytrace.Result raytrace() {
+		int i = nextRay();
+		return Raytrace.raytrace(world, starts[i], directions[i], range, false);
+	}
+
+	/**
+	 * The same trace as {@link #raytrace()}, but using the tracer directly with a reused hit, as
+	 * code which traces many rays can.
+	 */
+	@Benchmark
+	public boolean traceBlocksReusingHit() {
+		int i = nextRay();
+		Vector start = starts[i], direction = directions[i];
+		return VoxelRaytracer.get().traceBlocks(world, start.x(), start.y(), start.z(), direction.x()
+				* range, direction.y() * range, direction.z() * range, true, false, hit);
+	}
+
+	@Benchmark
+	public Raytrace.Result predicateRaytrace() {
+		int i = nextRay();
+		return Raytrace.predicateRaytrace(world, starts[i], directions[i], range,
+				(pos, state) -> state.getBlock() != Blocks.AIR);
+	}
+
+	@Benchmark
+	public List<Entity> entityRaytrace() {
+		int i = nextRay();
+		return Raytrace.entityRaytrace(world, starts[i], directions[i], range);
+	}
+
+}
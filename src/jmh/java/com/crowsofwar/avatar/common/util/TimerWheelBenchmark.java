@@ -0,0 +1,101 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-tick overhead of a {@link TimerWheel} with 10k pending actions. Each action
+ * schedules itself again when it runs, so the amount of pending actions stays the same. For
+ * comparison, the same actions are also kept in a list which is searched every tick, like the
+ * queued ability executions were before.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimerWheelBenchmark {
+
+	private static final int PENDING = 10000;
+
+	/**
+	 * Longest delay of an action; longer delays are placed in higher wheels and cascade down
+	 */
+	@Param({"100", "10000"})
+	public int maxDelay;
+
+	private final Random random = new Random(0);
+	private TimerWheel wheel;
+	private List<ListEntry> list;
+
+	@Setup
+	public void setup() {
+		wheel = new TimerWheel();
+		list = new ArrayList<>(PENDING);
+		for (int i = 0; i < PENDING; i++) {
+			scheduleInWheel();
+			list.add(new ListEntry(nextDelay()));
+		}
+	}
+
+	private int nextDelay() {
+		return 1 + random.nextInt(maxDelay);
+	}
+
+	private void scheduleInWheel() {
+		wheel.schedule(nextDelay(), this::scheduleInWheel);
+	}
+
+	@Benchmark
+	public int advanceWheel() {
+		wheel.advance();
+		return wheel.size();
+	}
+
+	@Benchmark
+	public int advanceList() {
+		int fired = 0;
+		for (int i = 0; i < list.size(); i++) {
+			ListEntry entry = list.get(i);
+			if (--entry.ticksLeft <= 0) {
+				entry.ticksLeft = nextDelay();
+				fired++;
+			}
+		}
+		return fired;
+	}
+
+	private static class ListEntry {
+
+		private int ticksLeft;
+
+		private ListEntry(int ticksLeft) {
+			this.ticksLeft = ticksLeft;
+		}
+
+	}
+
+}
@@ -0,0 +1,66 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.gorecore.config;
+
+import com.crowsofwar.gorecore.config.convert.ConverterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks loading and copying a configuration through {@link ConfigLoader}, using
+ * {@link SampleConfiguration} as the config object. The file is written once during setup,
+ * relative to the benchmark's working directory.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConfigLoaderBenchmark {
+
+	private static final String PATH = "benchmark/sample.yml";
+
+	private SampleConfiguration config;
+
+	@Setup
+	public void setup() {
+		ConverterRegistry.addDefaultConverters();
+
+		config = new SampleConfiguration();
+		config.people.add("Aang");
+		config.people.add("Katara");
+		config.people.add("Sokka");
+		ConfigLoader.save(config, PATH);
+	}
+
+	@Benchmark
+	public SampleConfiguration load() {
+		SampleConfiguration loaded = new SampleConfiguration();
+		ConfigLoader.load(loaded, PATH);
+		return loaded;
+	}
+
+	@Benchmark
+	public SampleConfiguration copyOf() {
+		return ConfigLoader.copyOf(config);
+	}
+
+}
@@ -0,0 +1,59 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.gorecore.format;
+
+import net.minecraft.util.text.TextFormatting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks formatting chat messages with {@link FormattedMessageProcessor}. The text is
+ * already translated, so only templating and chat styles are measured.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormattedMessageBenchmark {
+
+	private static final String TEXT = "Hello [value]${player}[/value], you have [bold]"
+			+ "[value]${amount}[/value][/bold] chi left";
+
+	private FormattedMessage message;
+
+	@Setup
+	public void setup() {
+		MessageConfiguration cfg = new MessageConfiguration().addColor("value", TextFormatting.AQUA);
+		message = FormattedMessage.newChatMessage(cfg, "benchmark.msg", "player", "amount");
+	}
+
+	@Benchmark
+	public String formatText() {
+		return FormattedMessageProcessor.formatText(message, TEXT, "CrowsOfWar", 42);
+	}
+
+	@Benchmark
+	public String formatPlaintext() {
+		return FormattedMessageProcessor.formatPlaintext(message, TEXT, "CrowsOfWar", 42);
+	}
+
+}
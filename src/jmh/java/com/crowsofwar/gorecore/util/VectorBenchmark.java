@@ -0,0 +1,100 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.gorecore.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the arithmetic of {@link Vector}, which is used everywhere in bending code.
+ *
+ * @author CrowsOfWar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VectorBenchmark {
+
+	private Vector a, b, normal;
+	private double scalar;
+
+	@Setup
+	public void setup() {
+		a = new Vector(1.5, -2.25, 3.75);
+		b = new Vector(-0.5, 4, 2.125);
+		normal = new Vector(0, 1, 1).normalize();
+		scalar = 1.75;
+	}
+
+	@Benchmark
+	public Vector plus() {
+		return a.plus(b);
+	}
+
+	@Benchmark
+	public Vector times() {
+		return a.times(scalar);
+	}
+
+	@Benchmark
+	public Vector normalize() {
+		return a.normalize();
+	}
+
+	@Benchmark
+	public double dot() {
+		return a.dot(b);
+	}
+
+	@Benchmark
+	public Vector cross() {
+		return a.cross(b);
+	}
+
+	@Benchmark
+	public Vector reflect() {
+		return a.reflect(normal);
+	}
+
+	@Benchmark
+	public double sqrDist() {
+		return a.sqrDist(b);
+	}
+
+	/**
+	 * A typical chain of operations, e.g. to move an entity along its look vector
+	 */
+	@Benchmark
+	public Vector chained() {
+		return a.plus(b.minus(a).normalize().times(scalar));
+	}
+
+	@Benchmark
+	public Vector toSpherical() {
+		return a.toSpherical();
+	}
+
+	@Benchmark
+	public Vector toRectangular() {
+		return a.toRectangular();
+	}
+
+}
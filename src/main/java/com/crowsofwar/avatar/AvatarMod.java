@@ -47,6 +47,9 @@ import com.crowsofwar.avatar.common.entity.data.*;
 import com.crowsofwar.avatar.common.entity.mob.*;
 import com.crowsofwar.avatar.common.gui.AvatarGuiHandler;
 import com.crowsofwar.avatar.common.item.AvatarItems;
+import com.crowsofwar.avatar.common.loadtest.LoadTest;
+import com.crowsofwar.avatar.common.network.AvatarNetworkWrapper;
+import com.crowsofwar.avatar.common.network.NetworkStats;
 import com.crowsofwar.avatar.common.network.PacketHandlerServer;
 import com.crowsofwar.avatar.common.network.packets.*;
 import com.crowsofwar.avatar.common.util.AvatarDataSerializers;
@@ -62,12 +65,18 @@ import net.minecraftforge.fml.common.SidedProxy;
 import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
+import net.minecraftforge.fml.common.event.FMLServerStartedEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppingEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 import net.minecraftforge.fml.common.registry.EntityRegistry;
 import net.minecraftforge.fml.relauncher.Side;
 
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+
 import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
 import static net.minecraft.init.Biomes.*;
 import static net.minecraftforge.fml.common.registry.EntityRegistry.registerEgg;
@@ -88,6 +97,8 @@ public class AvatarMod {
 	private int nextMessageID = 1;
 	private int nextEntityID = 1;
 
+	private final Map<Integer, Class<? extends AvatarPacket>> packetTypes = new HashMap<>();
+
 	private static void registerAbilities() {
 		Abilities.register(new AbilityAirGust());
 		Abilities.register(new AbilityAirJump());
@@ -139,13 +150,16 @@ public class AvatarMod {
 	public void preInit(FMLPreInitializationEvent e) {
 
 		AvatarLog.log = e.getModLog();
+		StartupTasks.beginPhase("preInit");
 
-		ConfigStats.load();
-		ConfigSkills.load();
-		ConfigClient.load();
-		ConfigChi.load();
-		ConfigMobs.load();
-		ConfigAnalytics.load();
+		// Each config file is independent of the others
+		StartupTasks.runParallel(
+				StartupTasks.task("stats.yml", ConfigStats::load),
+				StartupTasks.task("skills.yml", ConfigSkills::load),
+				StartupTasks.task("cosmetic.yml", ConfigClient::load),
+				StartupTasks.task("chi.yml", ConfigChi::load),
+				StartupTasks.task("mobs.yml", ConfigMobs::load),
+				StartupTasks.task("analytics.yml", ConfigAnalytics::load));
 
 		AvatarControl.initControls();
 		registerAbilities();
@@ -156,7 +170,7 @@ public class AvatarMod {
 		proxy.preInit();
 		AvatarPlayerData.initFetcher(proxy.getClientDataFetcher());
 
-		network = NetworkRegistry.INSTANCE.newSimpleChannel(AvatarInfo.MOD_ID + "_Network");
+		network = new AvatarNetworkWrapper(AvatarInfo.MOD_ID + "_Network");
 		registerPacket(PacketSUseAbility.class, Side.SERVER);
 		registerPacket(PacketSRequestData.class, Side.SERVER);
 		registerPacket(PacketSUseStatusControl.class, Side.SERVER);
@@ -173,6 +187,8 @@ public class AvatarMod {
 		registerPacket(PacketSCycleBending.class, Side.SERVER);
 		registerPacket(PacketCPowerRating.class, Side.CLIENT);
 		registerPacket(PacketCOpenSkillCard.class, Side.CLIENT);
+		registerPacket(PacketCNetworkIds.class, Side.CLIENT);
+		registerPacket(PacketSUseInputs.class, Side.SERVER);
 
 		NetworkRegistry.INSTANCE.registerGuiHandler(this, new AvatarGuiHandler());
 
@@ -186,22 +202,25 @@ public class AvatarMod {
 		WallBehavior.register();
 		FireballBehavior.register();
 		CloudburstBehavior.register();
-		AvatarChatMessages.loadAll();
+		StartupTasks.run("chat messages", AvatarChatMessages::loadAll);
 		LightningSpearBehavior.register();
 
 		EarthbendingEvents.register();
 
 		PacketHandlerServer.register();
 
-		ForgeChunkManager.setForcedChunkLoadingCallback(this, (tickets, world) -> {
-		});
+		ForgeChunkManager.setForcedChunkLoadingCallback(this, PetChunkLoader::onTicketsLoaded);
 
 		AvatarAnnouncements.fetchAnnouncements();
 
+		StartupTasks.endPhase();
+
 	}
 
 	@EventHandler
 	public void init(FMLInitializationEvent e) {
+		StartupTasks.beginPhase("init");
+
 		registerEntity(EntityFloatingBlock.class, "FloatingBlock");
 		registerEntity(EntityFireArc.class, "FireArc");
 		registerEntity(EntityWaterArc.class, "WaterArc");
@@ -241,26 +260,52 @@ public class AvatarMod {
 
 		// Second loading required since other mods blocks might not be
 		// registered
-		STATS_CONFIG.loadBlocks();
+		StartupTasks.run("block lists", STATS_CONFIG::loadBlocks);
 
-		proxy.init();
+		StartupTasks.run("proxy", proxy::init);
+
+		StartupTasks.endPhase();
 
 	}
 
 	@EventHandler
 	public void postInit(FMLPostInitializationEvent e) {
+		StartupTasks.beginPhase("postInit");
 		AvatarAnalytics.INSTANCE.init();
+		StartupTasks.logReport();
 	}
 
 	@EventHandler
 	public void onServerStarting(FMLServerStartingEvent e) {
 		e.registerServerCommand(new AvatarCommand());
+		NetworkStats.registerMBean();
+	}
+
+	@EventHandler
+	public void onServerStarted(FMLServerStartedEvent e) {
+		LoadTest.startIfRequested();
+	}
+
+	@EventHandler
+	public void onServerStopping(FMLServerStoppingEvent e) {
+		LoadTest.stop();
+		NetworkStats.stopTrace();
 	}
 
 	private <MSG extends AvatarPacket<MSG>> void registerPacket(Class<MSG> packet, Side side) {
+		packetTypes.put(nextMessageID, packet);
 		network.registerMessage(packet, packet, nextMessageID++, side);
 	}
 
+	/**
+	 * Gets the type of packet registered with the given discriminator on {@link #network}, or
+	 * null if there isn't one.
+	 */
+	@Nullable
+	public static Class<? extends AvatarPacket> getPacketType(int discriminator) {
+		return instance.packetTypes.get(discriminator);
+	}
+
 	private void registerEntity(Class<? extends Entity> entity, String name) {
 		EntityRegistry.registerModEntity(new ResourceLocation("avatarmod", name), entity, name,
 				nextEntityID++, this, 128, 3, true);
@@ -36,6 +36,7 @@ import com.crowsofwar.avatar.common.AvatarParticles;
 import com.crowsofwar.avatar.common.controls.IControlsHandler;
 import com.crowsofwar.avatar.common.controls.KeybindingWrapper;
 import com.crowsofwar.avatar.common.data.AvatarPlayerData;
+import com.crowsofwar.avatar.common.data.DataCategory;
 import com.crowsofwar.avatar.common.entity.*;
 import com.crowsofwar.avatar.common.entity.mob.*;
 import com.crowsofwar.avatar.common.gui.AvatarGui;
@@ -62,8 +63,10 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.lang.reflect.Field;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import static com.crowsofwar.avatar.common.config.ConfigAnalytics.ANALYTICS_CONFIG;
@@ -258,6 +261,11 @@ public class AvatarClientProxy implements AvatarCommonProxy {
 		return FMLClientHandler.instance().hasOptifine();
 	}
 
+	@Override
+	public void onPlayerDataChanged(UUID playerId, Collection<DataCategory> changed) {
+		AvatarUiRenderer.onDataChanged(playerId, changed);
+	}
+
 	/**
 	 * Finds all keybindings list via reflection. Performance-wise this is ok
 	 * since only supposed to be called once, after keybindings are registered
@@ -24,6 +24,7 @@ import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.bending.Ability;
 import com.crowsofwar.avatar.common.bending.BendingStyle;
 import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.config.ConfigClient;
 import com.crowsofwar.avatar.common.controls.AvatarControl;
 import com.crowsofwar.avatar.common.controls.IControlsHandler;
 import com.crowsofwar.avatar.common.data.BendingData;
@@ -63,13 +64,35 @@ public class ClientInput implements IControlsHandler {
 	 * A list of all bending controllers which can be activated by keyboard
 	 */
 	private final List<BendingStyle> keyboardBending;
-	private final boolean[] wasAbilityDown;
 	private GameSettings gameSettings;
 	private Map<String, KeyBinding> keybindings;
 	private boolean mouseLeft, mouseRight, mouseMiddle, space;
 	private boolean wasLeft, wasRight, wasMiddle, wasSpace;
 	private boolean press;
 
+	/**
+	 * Abilities which can be activated, in the order used for the ability bitsets
+	 */
+	private List<Ability> abilities;
+	/**
+	 * Key codes which are bound to at least one ability; negative for mouse buttons
+	 */
+	private int[] boundKeys;
+	/**
+	 * For each key in boundKeys, the indices of the abilities bound to it
+	 */
+	private int[][] boundAbilities;
+	/**
+	 * Bitsets of abilities, indexed by position in the abilities list
+	 */
+	private long[] abilityConflicts, abilityDown, wasAbilityDown;
+	/**
+	 * The keymapping state which the key tables were built from; when it changes, they are rebuilt
+	 */
+	private Map<Ability, Integer> tableKeymappings;
+	private Map<Ability, Boolean> tableConflicts;
+	private int tableKeymappingsVersion;
+
 	public ClientInput() {
 		gameSettings = Minecraft.getMinecraft().gameSettings;
 		mouseLeft = mouseRight = mouseMiddle = wasLeft = wasRight = wasMiddle = false;
@@ -84,8 +107,6 @@ public class ClientInput implements IControlsHandler {
 		addKeybinding("Skills", Keyboard.KEY_K, "main");
 		addKeybinding("TransferBison", Keyboard.KEY_O, "main");
 
-		this.wasAbilityDown = new boolean[Abilities.all().size()];
-
 	}
 
 	private KeyBinding addKeybinding(String name, int key, String cat) {
@@ -175,13 +196,88 @@ public class ClientInput implements IControlsHandler {
 
 	}
 
-	private boolean isAbilityPressed(Ability ability) {
-		Integer key = CLIENT_CONFIG.keymappings.get(ability);
-		if (key != null) {
-			if (key < 0 && Mouse.isButtonDown(key + 100)) return true;
-			if (key >= 0 && Keyboard.isKeyDown(key)) return true;
+	/**
+	 * Builds the tables which map key codes to the abilities bound to them. Only needs to be
+	 * done when the keymappings have changed.
+	 */
+	private void rebuildKeyTables() {
+
+		tableKeymappings = CLIENT_CONFIG.keymappings;
+		tableConflicts = CLIENT_CONFIG.conflicts;
+		tableKeymappingsVersion = ConfigClient.getKeymappingsVersion();
+
+		abilities = new ArrayList<>(Abilities.all());
+		int words = (abilities.size() + 63) / 64;
+		abilityConflicts = new long[words];
+		abilityDown = new long[words];
+		wasAbilityDown = new long[words];
+
+		Map<Integer, List<Integer>> abilitiesByKey = new LinkedHashMap<>();
+		for (int i = 0; i < abilities.size(); i++) {
+			Ability ability = abilities.get(i);
+
+			// Abilities without an entry are saved as not conflicting
+			CLIENT_CONFIG.conflicts.putIfAbsent(ability, false);
+			if (CLIENT_CONFIG.conflicts.get(ability)) {
+				abilityConflicts[i >> 6] |= 1L << i;
+			}
+
+			Integer key = CLIENT_CONFIG.keymappings.get(ability);
+			if (key != null) {
+				abilitiesByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+			}
 		}
-		return false;
+
+		boundKeys = new int[abilitiesByKey.size()];
+		boundAbilities = new int[abilitiesByKey.size()][];
+		int keyIndex = 0;
+		for (Map.Entry<Integer, List<Integer>> entry : abilitiesByKey.entrySet()) {
+			boundKeys[keyIndex] = entry.getKey();
+			boundAbilities[keyIndex] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+			keyIndex++;
+		}
+
+	}
+
+	private boolean keyTablesOutdated() {
+		return abilities == null || tableKeymappings != CLIENT_CONFIG.keymappings
+				|| tableConflicts != CLIENT_CONFIG.conflicts
+				|| tableKeymappingsVersion != ConfigClient.getKeymappingsVersion();
+	}
+
+	/**
+	 * Finds which abilities have their key held down, and stores them in the abilityDown bitset.
+	 */
+	private void pollAbilityKeys() {
+
+		System.arraycopy(abilityDown, 0, wasAbilityDown, 0, abilityDown.length);
+		Arrays.fill(abilityDown, 0);
+
+		for (int i = 0; i < boundKeys.length; i++) {
+			int key = boundKeys[i];
+			boolean down = key < 0 ? Mouse.isButtonDown(key + 100) : Keyboard.isKeyDown(key);
+			if (down) {
+				for (int ability : boundAbilities[i]) {
+					abilityDown[ability >> 6] |= 1L << ability;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Gets a bitset of the controls which were pressed, by their {@link AvatarControl#index()
+	 * index}.
+	 */
+	private long pollControls() {
+		long pressed = 0;
+		List<AvatarControl> controls = AvatarControl.ALL_CONTROLS;
+		for (int i = 0; i < controls.size(); i++) {
+			if (controls.get(i).isPressed()) {
+				pressed |= 1L << i;
+			}
+		}
+		return pressed;
 	}
 
 	/**
@@ -218,6 +314,10 @@ public class ClientInput implements IControlsHandler {
 
 	@SubscribeEvent
 	public void onTick(TickEvent.ClientTickEvent e) {
+
+		// Input is handled once per tick, so all of it can be sent in one packet
+		if (e.phase != TickEvent.Phase.END) return;
+
 		wasLeft = mouseLeft;
 		wasRight = mouseRight;
 		wasMiddle = mouseMiddle;
@@ -236,43 +336,56 @@ public class ClientInput implements IControlsHandler {
 		EntityPlayer player = mc.player;
 
 		if (player != null && player.world != null) {
+
+			// Inputs are collected into one packet, which is only created if there is any input
+			PacketSUseInputs inputs = null;
+
 			// Send any input to the server
 			BendingData data = BendingData.get(player);
 
 			if (data != null) {
 
 				if (mc.inGameHasFocus) {
-					Collection<AvatarControl> pressed = getAllPressed();
-					Collection<StatusControl> statusControls = data.getAllStatusControls();
+					long pressed = pollControls();
 
-					Iterator<StatusControl> sci = statusControls.iterator();
-					while (sci.hasNext()) {
-						StatusControl sc = sci.next();
-						if (pressed.contains(sc.getSubscribedControl())) {
+					List<StatusControl> statusControls = StatusControl.all();
+					for (int i = 0; i < statusControls.size(); i++) {
+						StatusControl sc = statusControls.get(i);
+						if ((pressed & 1L << sc.getSubscribedControl().index()) != 0 && data.hasStatusControl(sc)) {
 							Raytrace.Result raytrace = Raytrace.getTargetBlock(player, sc.getRaytrace());
 
-							AvatarMod.network.sendToServer(new PacketSUseStatusControl(sc, raytrace));
+							if (inputs == null) inputs = new PacketSUseInputs();
+							inputs.addStatusControl(sc, raytrace);
 						}
 					}
 				}
 
 			}
 
-			List<Ability> allAbilities = Abilities.all();
-			for (int i = 0; i < allAbilities.size(); i++) {
-				Ability ability = allAbilities.get(i);
-				boolean down = isAbilityPressed(ability);
+			if (keyTablesOutdated()) {
+				rebuildKeyTables();
+			}
+			pollAbilityKeys();
+
+			if (mc.inGameHasFocus && mc.currentScreen == null) {
+				for (int word = 0; word < abilityDown.length; word++) {
+
+					long justPressed = abilityDown[word] & ~wasAbilityDown[word] & ~abilityConflicts[word];
+					while (justPressed != 0) {
+						int bit = Long.numberOfTrailingZeros(justPressed);
+						justPressed &= justPressed - 1;
 
-				if (!CLIENT_CONFIG.conflicts.containsKey(ability))
-					CLIENT_CONFIG.conflicts.put(ability, false);
-				boolean conflict = CLIENT_CONFIG.conflicts.get(ability);
+						Ability ability = abilities.get(word * 64 + bit);
+						Raytrace.Result raytrace = Raytrace.getTargetBlock(mc.player, ability.getRaytrace());
+						if (inputs == null) inputs = new PacketSUseInputs();
+						inputs.addAbility(ability, raytrace);
+					}
 
-				if (!conflict && mc.inGameHasFocus && mc.currentScreen == null && down
-						&& !wasAbilityDown[i]) {
-					Raytrace.Result raytrace = Raytrace.getTargetBlock(mc.player, ability.getRaytrace());
-					AvatarMod.network.sendToServer(new PacketSUseAbility(ability, raytrace));
 				}
-				wasAbilityDown[i] = down;
+			}
+
+			if (inputs != null) {
+				AvatarMod.network.sendToServer(inputs);
 			}
 
 		}
@@ -23,6 +23,7 @@ import com.crowsofwar.avatar.client.gui.AvatarUiRenderer;
 import com.crowsofwar.avatar.client.gui.skills.SkillsGui;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.network.IPacketHandler;
+import com.crowsofwar.avatar.common.network.packets.AvatarPacket;
 import com.crowsofwar.avatar.common.network.packets.PacketCErrorMessage;
 import com.crowsofwar.avatar.common.network.packets.PacketCOpenSkillCard;
 import com.crowsofwar.avatar.common.network.packets.PacketCParticles;
@@ -34,10 +35,7 @@ import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
 
 /**
  * Handles packets addressed to the client. Packets like this have a C in their
@@ -47,25 +45,29 @@ import java.util.UUID;
 public class PacketHandlerClient implements IPacketHandler {
 
 	private final Minecraft mc;
+	private final Map<Class<? extends IMessage>, AvatarPacket.Handler<?>> handlers = new HashMap<>();
 
 	public PacketHandlerClient() {
 		this.mc = Minecraft.getMinecraft();
+		registerHandler(PacketCParticles.class, this::handlePacketParticles);
+		registerHandler(PacketCErrorMessage.class, this::handlePacketNotEnoughChi);
+		registerHandler(PacketCPowerRating.class, this::handlePacketPowerRating);
+		registerHandler(PacketCOpenSkillCard.class, this::handlePacketSkillCard);
+	}
+
+	private <MSG extends AvatarPacket<MSG>> void registerHandler(Class<MSG> packetType,
+																 AvatarPacket.Handler<MSG> handler) {
+		handlers.put(packetType, handler);
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public IMessage onPacketReceived(IMessage packet, MessageContext ctx) {
 
-		if (packet instanceof PacketCParticles)
-			return handlePacketParticles((PacketCParticles) packet, ctx);
-
-		if (packet instanceof PacketCErrorMessage)
-			return handlePacketNotEnoughChi((PacketCErrorMessage) packet, ctx);
-
-		if (packet instanceof PacketCPowerRating)
-			return handlePacketPowerRating((PacketCPowerRating) packet, ctx);
-
-		if (packet instanceof PacketCOpenSkillCard)
-			return handlePacketSkillCard((PacketCOpenSkillCard) packet, ctx);
+		AvatarPacket.Handler handler = handlers.get(packet.getClass());
+		if (handler != null) {
+			return handler.onMessageRecieved(packet, ctx);
+		}
 
 		AvatarLog.warn(WarningType.WEIRD_PACKET, "Client recieved unknown packet from server:" + packet);
 
@@ -122,7 +124,7 @@ public class PacketHandlerClient implements IPacketHandler {
 	}
 
 	private IMessage handlePacketSkillCard(PacketCOpenSkillCard packet, MessageContext ctx) {
-		if (mc.currentScreen instanceof SkillsGui) {
+		if (mc.currentScreen instanceof SkillsGui && packet.getAbility() != null) {
 			((SkillsGui) mc.currentScreen).openWindow(packet.getAbility());
 		}
 		return null;
@@ -24,8 +24,8 @@ import com.crowsofwar.avatar.common.bending.BendingStyles;
 import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.data.Chi;
+import com.crowsofwar.avatar.common.data.DataCategory;
 import com.crowsofwar.avatar.common.data.Vision;
-import com.crowsofwar.avatar.common.entity.AvatarEntity;
 import com.crowsofwar.avatar.common.entity.EntityAirBubble;
 import com.crowsofwar.avatar.common.entity.EntityIcePrison;
 import com.crowsofwar.avatar.common.entity.EntityIceShield;
@@ -34,12 +34,15 @@ import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.gui.ScaledResolution;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GLAllocation;
 import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
 import net.minecraft.client.resources.I18n;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.text.TextFormatting;
-import net.minecraft.world.World;
 import net.minecraftforge.client.GuiIngameForge;
 import net.minecraftforge.client.event.RenderGameOverlayEvent;
 import net.minecraftforge.client.event.RenderGameOverlayEvent.ElementType;
@@ -49,8 +52,7 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 import org.lwjgl.input.Mouse;
 import org.lwjgl.opengl.GL11;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.Collection;
 import java.util.UUID;
 
 import static com.crowsofwar.avatar.client.gui.AvatarUiTextures.BLOCK_BREAK;
@@ -69,14 +71,34 @@ public class AvatarUiRenderer extends Gui {
 
 	public static AvatarUiRenderer instance;
 	private final Minecraft mc;
+	private final HudModel hud;
 	private RadialMenu currentBendingMenu;
 	private RadialSegment fadingSegment;
 	private long timeFadeStart;
 	private long errorMsgFade;
 	private String errorMsg;
 
+	/**
+	 * Display list containing the status control icons, or -1 if not allocated yet. Rebuilt when
+	 * the status controls or the screen size change.
+	 */
+	private int statusControlList = -1;
+	private int statusControlListVersion = -1;
+	private int statusControlListWidth, statusControlListHeight;
+
+	/**
+	 * Text of the chi bar and battle status is only rebuilt when the displayed numbers change
+	 */
+	private int chiTextTotal = -1, chiTextMax = -1, chiTextAvailable = -1;
+	private String chiText;
+	private int performanceTextScore = Integer.MIN_VALUE;
+	private String performanceText;
+	private int powerRatingTextRating = Integer.MIN_VALUE;
+	private String powerRatingText;
+
 	public AvatarUiRenderer() {
 		mc = Minecraft.getMinecraft();
+		hud = new HudModel();
 		instance = this;
 		errorMsgFade = -1;
 		errorMsg = "";
@@ -106,6 +128,16 @@ public class AvatarUiRenderer extends Gui {
 		instance.errorMsg = message;
 	}
 
+	/**
+	 * Called when the server has sent new bending data for a player. If it is the client player,
+	 * the HUD will be updated with the changes on the next frame.
+	 */
+	public static void onDataChanged(UUID playerId, Collection<DataCategory> changed) {
+		if (instance != null && instance.mc.player != null && instance.mc.player.getUniqueID().equals(playerId)) {
+			instance.hud.markChanged(changed);
+		}
+	}
+
 	@SubscribeEvent
 	public void onGuiRender(RenderGameOverlayEvent.Post e) {
 
@@ -113,6 +145,8 @@ public class AvatarUiRenderer extends Gui {
 
 		ScaledResolution resolution = e.getResolution();
 
+		hud.update(mc.player);
+
 		renderRadialMenu(resolution);
 		renderStatusControls(resolution);
 		renderChiBar(resolution);
@@ -165,36 +199,77 @@ public class AvatarUiRenderer extends Gui {
 	}
 
 	private void renderStatusControls(ScaledResolution resolution) {
-		List<StatusControl> statusControls = BendingData.get(mc.player).getAllStatusControls();
-		for (StatusControl statusControl : statusControls) {
-			mc.getTextureManager().bindTexture(AvatarUiTextures.STATUS_CONTROL_ICONS);
-			int centerX = resolution.getScaledWidth() / 2;
-			int centerY = resolution.getScaledHeight() / 2;
-			int xOffset = statusControl.getPosition().xOffset();
-			int yOffset = statusControl.getPosition().yOffset();
 
-			double scale = .5;
+		if (hud.getStatusControls().isEmpty()) {
+			return;
+		}
 
-			GlStateManager.color(1, 1, 1);
+		int width = resolution.getScaledWidth();
+		int height = resolution.getScaledHeight();
+		if (statusControlList == -1 || statusControlListVersion != hud.getStatusControlsVersion()
+				|| statusControlListWidth != width || statusControlListHeight != height) {
+
+			if (statusControlList == -1) {
+				statusControlList = GLAllocation.generateDisplayLists(1);
+			}
+			statusControlListVersion = hud.getStatusControlsVersion();
+			statusControlListWidth = width;
+			statusControlListHeight = height;
+
+			GlStateManager.glNewList(statusControlList, GL11.GL_COMPILE);
+			drawStatusControlIcons(width / 2, height / 2);
+			GlStateManager.glEndList();
 
-			GlStateManager.enableBlend();
-			GlStateManager.pushMatrix();
-			GlStateManager.scale(scale, scale, scale);
-			drawTexturedModalRect((int) ((centerX - xOffset) / scale), (int) ((centerY - yOffset) / scale),
-					statusControl.getTextureU(), statusControl.getTextureV(), 16, 16);
-			GlStateManager.popMatrix();
 		}
+
+		// Texture and color are set outside of the display list so GlStateManager keeps track
+		// of them
+		mc.getTextureManager().bindTexture(AvatarUiTextures.STATUS_CONTROL_ICONS);
+		GlStateManager.color(1, 1, 1);
+		GlStateManager.enableBlend();
+		GlStateManager.callList(statusControlList);
+
+	}
+
+	/**
+	 * Draws the icons of all status controls with one draw call
+	 */
+	private void drawStatusControlIcons(int centerX, int centerY) {
+
+		double scale = .5;
+		float uvScale = 1 / 256f;
+
+		GlStateManager.pushMatrix();
+		GlStateManager.scale(scale, scale, scale);
+
+		Tessellator tessellator = Tessellator.getInstance();
+		BufferBuilder vb = tessellator.getBuffer();
+		vb.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX);
+
+		for (StatusControl statusControl : hud.getStatusControls()) {
+			int x = (int) ((centerX - statusControl.getPosition().xOffset()) / scale);
+			int y = (int) ((centerY - statusControl.getPosition().yOffset()) / scale);
+			int u = statusControl.getTextureU();
+			int v = statusControl.getTextureV();
+
+			vb.pos(x, y + 16, zLevel).tex(u * uvScale, (v + 16) * uvScale).endVertex();
+			vb.pos(x + 16, y + 16, zLevel).tex((u + 16) * uvScale, (v + 16) * uvScale).endVertex();
+			vb.pos(x + 16, y, zLevel).tex((u + 16) * uvScale, v * uvScale).endVertex();
+			vb.pos(x, y, zLevel).tex(u * uvScale, v * uvScale).endVertex();
+		}
+
+		tessellator.draw();
+		GlStateManager.popMatrix();
+
 	}
 
 	private void renderChiBar(ScaledResolution resolution) {
 
 		GlStateManager.color(1, 1, 1, CLIENT_CONFIG.chiBarAlpha);
 
-		BendingData data = BendingData.get(mc.player);
+		if (!hud.hasBending()) return;
 
-		if (data.getAllBending().isEmpty()) return;
-
-		Chi chi = data.chi();
+		Chi chi = hud.getData().chi();
 		float total = chi.getTotalChi();
 		float max = chi.getMaxChi();
 		float available = chi.getAvailableChi();
@@ -226,8 +301,13 @@ public class AvatarUiRenderer extends Gui {
 		// Unavailable chi
 		drawTexturedModalRect(0, 0, 0, 45, (int) (100 * unavailable / max), 9);
 
-		drawString(mc.fontRenderer, ((int) total) + "/" + ((int) max) + "," + ((int) available), 0, -20,
-				0xffffff | ((int) (CLIENT_CONFIG.chiBarAlpha * 255) << 24));
+		if ((int) total != chiTextTotal || (int) max != chiTextMax || (int) available != chiTextAvailable) {
+			chiTextTotal = (int) total;
+			chiTextMax = (int) max;
+			chiTextAvailable = (int) available;
+			chiText = chiTextTotal + "/" + chiTextMax + "," + chiTextAvailable;
+		}
+		drawString(mc.fontRenderer, chiText, 0, -20, 0xffffff | ((int) (CLIENT_CONFIG.chiBarAlpha * 255) << 24));
 
 		popMatrix();
 
@@ -260,37 +340,28 @@ public class AvatarUiRenderer extends Gui {
 
 	private void renderActiveBending(ScaledResolution res) {
 
-		BendingData data = BendingData.get(mc.player);
+		BendingStyle active = hud.getActiveBending();
 
-		if (data.getActiveBending() != null) {
+		if (active != null) {
 
 			GlStateManager.color(1, 1, 1, CLIENT_CONFIG.bendingCycleAlpha);
-			drawBendingIcon(0, 0, data.getActiveBending());
+			drawBendingIcon(0, 0, active);
 
 			GlStateManager.color(1, 1, 1, CLIENT_CONFIG.bendingCycleAlpha * 0.5f);
 
-			List<BendingStyle> allBending = data.getAllBending();
-			allBending.sort(Comparator.comparing(BendingStyle::getName));
-
 			// Draw next
-			int indexNext = allBending.indexOf(data.getActiveBending()) + 1;
-			if (indexNext == allBending.size()) indexNext = 0;
-
-			if (allBending.size() > 1) {
+			if (hud.getNextBending() != null) {
 				GlStateManager.pushMatrix();
 				GlStateManager.translate(0, 0, -1);
-				drawBendingIcon(25, 25, allBending.get(indexNext));
+				drawBendingIcon(25, 25, hud.getNextBending());
 				GlStateManager.popMatrix();
 			}
 
 			// Draw previous
-			int indexPrevious = allBending.indexOf(data.getActiveBending()) - 1;
-			if (indexPrevious <= -1) indexPrevious = allBending.size() - 1;
-
-			if (allBending.size() > 2) {
+			if (hud.getPreviousBending() != null) {
 				GlStateManager.pushMatrix();
 				GlStateManager.translate(0, 0, -1);
-				drawBendingIcon(-25, 25, allBending.get(indexPrevious));
+				drawBendingIcon(-25, 25, hud.getPreviousBending());
 				GlStateManager.popMatrix();
 			}
 
@@ -310,30 +381,16 @@ public class AvatarUiRenderer extends Gui {
 	}
 
 	private void renderAirBubbleHealth(ScaledResolution res) {
-		World world = mc.world;
-		EntityPlayer player = mc.player;
-		BendingData data = BendingData.get(player);
-
-		if (data.hasStatusControl(StatusControl.BUBBLE_CONTRACT)) {
-			EntityAirBubble bubble = AvatarEntity.lookupControlledEntity(world, EntityAirBubble.class,
-					player);
-			if (bubble != null) {
-				renderShieldHealth(res, bubble.getHealth(), bubble.getMaxHealth(), 0);
-			}
+		EntityAirBubble bubble = hud.getAirBubble();
+		if (bubble != null) {
+			renderShieldHealth(res, bubble.getHealth(), bubble.getMaxHealth(), 0);
 		}
 	}
 
 	private void renderIceShieldHealth(ScaledResolution res) {
-		World world = mc.world;
-		EntityPlayer player = mc.player;
-		BendingData data = BendingData.get(player);
-
-		if (data.hasStatusControl(StatusControl.SHIELD_SHATTER)) {
-			EntityIceShield shield = AvatarEntity.lookupControlledEntity(world, EntityIceShield
-					.class, player);
-			if (shield != null) {
-				renderShieldHealth(res, shield.getHealth(), shield.getMaxHealth(), 9);
-			}
+		EntityIceShield shield = hud.getIceShield();
+		if (shield != null) {
+			renderShieldHealth(res, shield.getHealth(), shield.getMaxHealth(), 9);
 		}
 	}
 
@@ -412,8 +469,7 @@ public class AvatarUiRenderer extends Gui {
 	 */
 	private void applyVisionShader() {
 
-		BendingData data = BendingData.get(mc.player);
-		Vision vision = data.getVision();
+		Vision vision = hud.getVision();
 
 		if (vision != null) {
 			AvatarShaderUtils.useShader(vision.getShaderLocation());
@@ -428,20 +484,30 @@ public class AvatarUiRenderer extends Gui {
 	 */
 	private void renderBattleStatus(ScaledResolution res) {
 
-		BendingData data = BendingData.get(mc.player);
+		BendingData data = hud.getData();
 
-		if (data.getAllBending().isEmpty()) {
+		if (!hud.hasBending()) {
 			return;
 		}
 
 		{
-			String text = "Performance: " + ((int) data.getPerformance().getScore());
+			int score = (int) data.getPerformance().getScore();
+			if (score != performanceTextScore) {
+				performanceTextScore = score;
+				performanceText = "Performance: " + score;
+			}
+			String text = performanceText;
 			FontRenderer fr = mc.fontRenderer;
 
 			drawString(fr, text, res.getScaledWidth() - fr.getStringWidth(text) - 10, 10, 0xffffff);
 		}
 		{
-			String text = "PowerRating: " + ((int) data.getPowerRatingManager(data.getActiveBendingId()).getRating(null));
+			int rating = (int) data.getPowerRatingManager(data.getActiveBendingId()).getRating(null);
+			if (rating != powerRatingTextRating) {
+				powerRatingTextRating = rating;
+				powerRatingText = "PowerRating: " + rating;
+			}
+			String text = powerRatingText;
 			FontRenderer fr = mc.fontRenderer;
 
 			drawString(fr, text, res.getScaledWidth() - fr.getStringWidth(text) - 10, 20, 0xffffff);
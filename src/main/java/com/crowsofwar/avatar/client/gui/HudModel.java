@@ -0,0 +1,234 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.client.gui;
+
+import com.crowsofwar.avatar.common.bending.BendingStyle;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.data.DataCategory;
+import com.crowsofwar.avatar.common.data.Vision;
+import com.crowsofwar.avatar.common.entity.AvatarEntity;
+import com.crowsofwar.avatar.common.entity.EntityAirBubble;
+import com.crowsofwar.avatar.common.entity.EntityIceShield;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Keeps what the HUD displays about the client player's bending, so that it doesn't need to be
+ * looked up every frame. The model is only rebuilt when the server sends new data for one of the
+ * {@link DataCategory categories} it depends on, or when the client player changes (e.g. on
+ * respawn).
+ * <p>
+ * Chi and battle performance are read directly from the bending data since they're only numbers.
+ *
+ * @author CrowsOfWar
+ */
+@SideOnly(Side.CLIENT)
+class HudModel {
+
+	private final Set<DataCategory> dirty = EnumSet.allOf(DataCategory.class);
+
+	private EntityPlayer player;
+	private World world;
+	private BendingData data;
+
+	private final List<StatusControl> statusControls = new ArrayList<>();
+	/**
+	 * Incremented whenever the status controls change, so cached geometry can be rebuilt
+	 */
+	private int statusControlsVersion;
+
+	private final List<BendingStyle> sortedBending = new ArrayList<>();
+	private BendingStyle activeBending, nextBending, previousBending;
+
+	private Vision vision;
+
+	private final TrackedEntity<EntityAirBubble> airBubble = new TrackedEntity<>(EntityAirBubble.class);
+	private final TrackedEntity<EntityIceShield> iceShield = new TrackedEntity<>(EntityIceShield.class);
+
+	/**
+	 * Called when the server has sent new data for the client player
+	 */
+	void markChanged(Collection<DataCategory> categories) {
+		dirty.addAll(categories);
+	}
+
+	/**
+	 * Brings the model up-to-date with the given player; should be called once a frame before
+	 * using the model.
+	 */
+	void update(EntityPlayer player) {
+
+		if (player != this.player || player.world != world) {
+			this.player = player;
+			this.world = player.world;
+			this.data = BendingData.get(player);
+			dirty.addAll(EnumSet.allOf(DataCategory.class));
+			airBubble.reset();
+			iceShield.reset();
+		}
+
+		if (dirty.isEmpty()) {
+			return;
+		}
+
+		if (dirty.contains(DataCategory.STATUS_CONTROLS)) {
+			statusControls.clear();
+			statusControls.addAll(data.getAllStatusControls());
+			statusControlsVersion++;
+		}
+
+		if (dirty.contains(DataCategory.BENDING_LIST) || dirty.contains(DataCategory.ACTIVE_BENDING)) {
+			updateBendingCycle();
+		}
+
+		if (dirty.contains(DataCategory.VISION)) {
+			vision = data.getVision();
+		}
+
+		dirty.clear();
+
+	}
+
+	private void updateBendingCycle() {
+
+		sortedBending.clear();
+		sortedBending.addAll(data.getAllBending());
+		sortedBending.sort(Comparator.comparing(BendingStyle::getName));
+
+		activeBending = data.getActiveBending();
+		nextBending = null;
+		previousBending = null;
+
+		int index = sortedBending.indexOf(activeBending);
+		if (activeBending != null && sortedBending.size() > 1) {
+			nextBending = sortedBending.get((index + 1) % sortedBending.size());
+		}
+		if (activeBending != null && sortedBending.size() > 2) {
+			previousBending = sortedBending.get((index - 1 + sortedBending.size()) % sortedBending.size());
+		}
+
+	}
+
+	BendingData getData() {
+		return data;
+	}
+
+	boolean hasBending() {
+		return !sortedBending.isEmpty();
+	}
+
+	boolean hasStatusControl(StatusControl statusControl) {
+		return statusControls.contains(statusControl);
+	}
+
+	List<StatusControl> getStatusControls() {
+		return statusControls;
+	}
+
+	int getStatusControlsVersion() {
+		return statusControlsVersion;
+	}
+
+	@Nullable
+	BendingStyle getActiveBending() {
+		return activeBending;
+	}
+
+	/**
+	 * Gets the bending which would be switched to by cycling right, null if there isn't one
+	 */
+	@Nullable
+	BendingStyle getNextBending() {
+		return nextBending;
+	}
+
+	/**
+	 * Gets the bending which would be switched to by cycling left, null if there isn't one
+	 */
+	@Nullable
+	BendingStyle getPreviousBending() {
+		return previousBending;
+	}
+
+	@Nullable
+	Vision getVision() {
+		return vision;
+	}
+
+	/**
+	 * Gets the air bubble which the player is controlling, null if there isn't one
+	 */
+	@Nullable
+	EntityAirBubble getAirBubble() {
+		return hasStatusControl(StatusControl.BUBBLE_CONTRACT) ? airBubble.get() : null;
+	}
+
+	/**
+	 * Gets the ice shield which the player is controlling, null if there isn't one
+	 */
+	@Nullable
+	EntityIceShield getIceShield() {
+		return hasStatusControl(StatusControl.SHIELD_SHATTER) ? iceShield.get() : null;
+	}
+
+	/**
+	 * Remembers the entity found by
+	 * {@link AvatarEntity#lookupControlledEntity(World, Class, EntityLivingBase)}, which needs to
+	 * look through every entity in the world. Once found, the entity is used until it dies; while
+	 * it isn't found, the lookup is only retried once a tick.
+	 */
+	private class TrackedEntity<T extends AvatarEntity> {
+
+		private final Class<T> cls;
+		private T entity;
+		private long lastLookup = -1;
+
+		TrackedEntity(Class<T> cls) {
+			this.cls = cls;
+		}
+
+		@Nullable
+		T get() {
+
+			if (entity != null && (entity.isDead || entity.world != world || entity.getController() != player)) {
+				entity = null;
+			}
+
+			if (entity == null && world.getTotalWorldTime() != lastLookup) {
+				lastLookup = world.getTotalWorldTime();
+				entity = AvatarEntity.lookupControlledEntity(world, cls, player);
+			}
+
+			return entity;
+
+		}
+
+		void reset() {
+			entity = null;
+			lastLookup = -1;
+		}
+
+	}
+
+}
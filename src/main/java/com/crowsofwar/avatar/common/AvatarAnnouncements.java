@@ -2,14 +2,19 @@ package com.crowsofwar.avatar.common;
 
 import com.crowsofwar.avatar.AvatarInfo;
 import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
 
 /**
@@ -23,7 +28,18 @@ public class AvatarAnnouncements {
 
 	public static final String ANNOUNCEMENT_URL = "https://raw.githubusercontent.com/CrowsOfWar/AvatarMod-Announcements/master/announcements.txt";
 
-	private static List<Announcement> announcements;
+	/**
+	 * Timeout, in milliseconds, for both connecting to and reading from the announcements server
+	 */
+	private static final int TIMEOUT = 3000;
+
+	/**
+	 * Holds the announcements from the last successful download, so they can still be shown when
+	 * the announcements server can't be reached
+	 */
+	private static final File CACHE_FILE = new File("config/avatar/announcements_cache.txt");
+
+	private static volatile List<Announcement> announcements = Collections.emptyList();
 	
 	@SubscribeEvent
 	public static void onLogin(PlayerEvent.PlayerLoggedInEvent e) {
@@ -49,57 +65,105 @@ public class AvatarAnnouncements {
 	 * Cleans up the announcements so that they are ready for use. Sorts them so most recent announcements come first,
 	 * and removes any announcements later than 72 hours ago.
 	 */
-	private static void cleanupAnnouncements() {
+	private static void cleanupAnnouncements(List<Announcement> announcements) {
 
 		announcements.sort(Comparator.comparingLong(Announcement::getHoursAgo));
 		announcements.removeIf(announcement -> announcement.getHoursAgo() > 72);
 
 	}
 
+	/**
+	 * Loads the announcements which were last downloaded, then downloads the latest announcements
+	 * in the background. Startup never waits for the download; if it fails (e.g. the server has no
+	 * internet access), the cached announcements continue to be used.
+	 */
 	public static void fetchAnnouncements() {
 
+		announcements = parseAnnouncements(readCache());
+		StartupTasks.runInBackground("announcements", AvatarAnnouncements::downloadAnnouncements);
+
+	}
+
+	private static void downloadAnnouncements() {
+
 		AvatarLog.info("Fetching latest AvatarMod2 announcements...");
-		announcements = new ArrayList<>();
+
+		List<String> lines = new ArrayList<>();
 
 		try {
 
 			URL u = new URL(ANNOUNCEMENT_URL);
 			URLConnection conn = u.openConnection();
-			conn.setConnectTimeout(3000);
+			conn.setConnectTimeout(TIMEOUT);
+			conn.setReadTimeout(TIMEOUT);
 			BufferedReader in = new BufferedReader(
 					new InputStreamReader(
-							conn.getInputStream()));
+							conn.getInputStream(), StandardCharsets.UTF_8));
 
 			String inputLine;
 			while ((inputLine = in.readLine()) != null) {
-
-				// Interpret and add announcement
-				try {
-
-					announcements.add(new Announcement(inputLine));
-
-				} catch (IllegalArgumentException ex) {
-					// Incorrect format string from announcement
-					AvatarLog.error("Developers sent an incorrectly formatted announcement", ex);
-				}
-
+				lines.add(inputLine);
 			}
 
 			in.close();
 
-			cleanupAnnouncements();
-
 		} catch (Exception ex) {
 
-			AvatarLog.error("Your game will be fine, but there was a problem getting Av2 announcements", ex);
+			AvatarLog.warn(WarningType.CONFIGURATION, "Couldn't download Av2 announcements, using "
+					+ announcements.size() + " cached announcement(s): " + ex);
 			return;
 
 		}
 
+		announcements = parseAnnouncements(lines);
+		writeCache(lines);
+
 		AvatarLog.info("Finished loading announcements");
 
 	}
 
+	private static List<Announcement> parseAnnouncements(List<String> lines) {
+
+		List<Announcement> parsed = new ArrayList<>();
+		for (String line : lines) {
+
+			// Interpret and add announcement
+			try {
+
+				parsed.add(new Announcement(line));
+
+			} catch (IllegalArgumentException ex) {
+				// Incorrect format string from announcement
+				AvatarLog.error("Developers sent an incorrectly formatted announcement", ex);
+			}
+
+		}
+
+		cleanupAnnouncements(parsed);
+		return Collections.unmodifiableList(parsed);
+
+	}
+
+	private static List<String> readCache() {
+		try {
+			if (CACHE_FILE.exists()) {
+				return Files.readAllLines(CACHE_FILE.toPath(), StandardCharsets.UTF_8);
+			}
+		} catch (IOException ex) {
+			AvatarLog.warn(WarningType.CONFIGURATION, "Couldn't read cached announcements: " + ex);
+		}
+		return Collections.emptyList();
+	}
+
+	private static void writeCache(List<String> lines) {
+		try {
+			CACHE_FILE.getParentFile().mkdirs();
+			Files.write(CACHE_FILE.toPath(), lines, StandardCharsets.UTF_8);
+		} catch (IOException ex) {
+			AvatarLog.warn(WarningType.CONFIGURATION, "Couldn't cache announcements: " + ex);
+		}
+	}
+
 	private static class Announcement {
 
 		private final String contents;
@@ -61,6 +61,21 @@ public class AvatarChatMessages {
 	
 	public static final FormattedMessage MSG_XPSET_SUCCESS = newChatMessage(CFG, "avatar.cmd.xpset", "player", "ability", "spec");
 	
+	public static final FormattedMessage MSG_PET_CHUNKS = newChatMessage(CFG, "avatar.cmd.petchunks", "chunks", "bison", "max");
+	public static final FormattedMessage MSG_PET_CHUNKS_PLAYER = newChatMessage(CFG, "avatar.cmd.petchunks.player", "player", "chunks", "max");
+	
+	public static final FormattedMessage MSG_NETSTATS = newChatMessage(CFG, "avatar.cmd.netstats", "seconds", "messages", "bytes");
+	public static final FormattedMessage MSG_NETSTATS_TYPES = newChatMessage(CFG, "avatar.cmd.netstats.types");
+	public static final FormattedMessage MSG_NETSTATS_CATEGORIES = newChatMessage(CFG, "avatar.cmd.netstats.categories");
+	public static final FormattedMessage MSG_NETSTATS_PLAYERS = newChatMessage(CFG, "avatar.cmd.netstats.players");
+	public static final FormattedMessage MSG_NETSTATS_ENTRY = newChatMessage(CFG, "avatar.cmd.netstats.entry", "name", "messages", "bytes");
+	public static final FormattedMessage MSG_NETSTATS_TRACE_ON = newChatMessage(CFG, "avatar.cmd.netstats.trace.on", "file");
+	public static final FormattedMessage MSG_NETSTATS_TRACE_OFF = newChatMessage(CFG, "avatar.cmd.netstats.trace.off");
+	public static final FormattedMessage MSG_NETSTATS_TRACE_FAILED = newChatMessage(CFG, "avatar.cmd.netstats.trace.failed");
+	public static final FormattedMessage MSG_NETSTATS_INBOUND = newChatMessage(CFG, "avatar.cmd.netstats.inbound");
+	public static final FormattedMessage MSG_NETSTATS_INBOUND_ENTRY = newChatMessage(CFG, "avatar.cmd.netstats.inbound.entry", "name", "received", "collapsed", "latency", "handling");
+	public static final FormattedMessage MSG_NETSTATS_INPUTS = newChatMessage(CFG, "avatar.cmd.netstats.inputs", "received", "duplicates", "discarded");
+	
 	public static final FormattedMessage MSG_PROGRESS_POINT_ADDED = newChatMessage(CFG, "avatar.cmd.pp.add", "player", "pps", "bending");
 	public static final FormattedMessage MSG_PROGRESS_POINT_GET = newChatMessage(CFG, "avatar.cmd.pp.get", "player", "pps", "bending");
 	public static final FormattedMessage MSG_PROGRESS_POINT_SET = newChatMessage(CFG, "avatar.cmd.pp.set", "player", "pps", "bending");
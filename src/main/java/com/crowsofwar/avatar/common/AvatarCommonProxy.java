@@ -21,6 +21,7 @@ import com.crowsofwar.avatar.AvatarMod;
 import com.crowsofwar.avatar.common.controls.IControlsHandler;
 import com.crowsofwar.avatar.common.controls.KeybindingWrapper;
 import com.crowsofwar.avatar.common.data.AvatarPlayerData;
+import com.crowsofwar.avatar.common.data.DataCategory;
 import com.crowsofwar.avatar.common.gui.AvatarGui;
 import com.crowsofwar.avatar.common.network.IPacketHandler;
 import com.crowsofwar.gorecore.data.PlayerDataFetcher;
@@ -28,6 +29,9 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.world.World;
 
+import java.util.Collection;
+import java.util.UUID;
+
 /**
  * Allows calling of side-specific code by using a common base class and
  * side-specific subclasses. It can be referenced via {@link AvatarMod#proxy}.
@@ -97,4 +101,11 @@ public interface AvatarCommonProxy {
 
 	boolean isOptifinePresent();
 
+	/**
+	 * Called on the client thread once bending data which the server sent for a player has been
+	 * read, so the client can update anything derived from it, like the HUD. Does nothing on the
+	 * server.
+	 */
+	void onPlayerDataChanged(UUID playerId, Collection<DataCategory> changed);
+
 }
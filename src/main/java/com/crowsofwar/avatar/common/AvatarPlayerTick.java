@@ -44,6 +44,9 @@ public class AvatarPlayerTick {
 
 			if (e.phase == Phase.START) {
 				bender.onUpdate();
+				if (!player.world.isRemote) {
+					PlayerInputBuffer.process(player, bender);
+				}
 			}
 
 		}
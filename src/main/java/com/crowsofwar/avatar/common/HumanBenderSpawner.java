@@ -22,25 +22,47 @@ import com.crowsofwar.avatar.common.entity.mob.EntityFirebender;
 import com.crowsofwar.avatar.common.entity.mob.EntityHumanBender;
 import net.minecraft.entity.passive.EntityVillager;
 import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
-import net.minecraft.village.Village;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.gen.structure.MapGenVillage;
 import net.minecraftforge.event.terraingen.InitMapGenEvent;
 import net.minecraftforge.event.terraingen.InitMapGenEvent.EventType;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Random;
+import java.util.*;
 
 /**
+ * Adds humanbenders to villages.
+ * <p>
+ * Villages are generated while their chunks are being populated, which is a bad time to look for
+ * villagers; not all of the village's chunks might be ready, and generation of new chunks is
+ * already slow. Instead, the chunks where a village was generated are queued, and looked at
+ * during world ticks once they have been populated. Only a few queued chunks are handled each
+ * tick, and villagers are found using only that chunk's entity lists.
+ *
  * @author CrowsOfWar
  */
 @Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
 public class HumanBenderSpawner {
 
+	/**
+	 * Maximum amount of queued chunks to handle each tick
+	 */
+	private static final int SPAWN_BUDGET = 2;
+
+	/**
+	 * Chunks which are still not populated (or have been unloaded) after this many ticks are
+	 * dropped from the queue
+	 */
+	private static final int MAX_WAIT_TICKS = 600;
+
+	private static final Map<World, Queue<PendingSpawn>> pendingSpawns = new WeakHashMap<>();
+
 	@SubscribeEvent
 	public static void modifyVillageSpawner(InitMapGenEvent e) {
 
@@ -51,56 +73,118 @@ public class HumanBenderSpawner {
 
 	}
 
-	private static class MapGenVillageWithHumanbenders extends MapGenVillage {
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent e) {
 
-		public MapGenVillageWithHumanbenders() {
-			super();
+		if (e.phase != TickEvent.Phase.END || e.world.isRemote) {
+			return;
 		}
 
-		public MapGenVillageWithHumanbenders(Map<String, String> map) {
-			super(map);
+		Queue<PendingSpawn> queue = pendingSpawns.get(e.world);
+		if (queue == null || queue.isEmpty()) {
+			return;
 		}
 
-		@Override
-		public synchronized boolean generateStructure(World worldIn, Random randomIn, ChunkPos chunkCoord) {
-			boolean result = super.generateStructure(worldIn, randomIn, chunkCoord);
-			if (result) {
+		long time = e.world.getTotalWorldTime();
+		int handled = 0;
+		int remaining = queue.size();
 
-				// This list contains villagers in that structure
-				List<EntityVillager> villagers = worldIn.getEntities(EntityVillager.class, villager -> {
-					return new ChunkPos(villager.getPosition()).equals(chunkCoord);
-				});
+		// Chunks which aren't ready yet go to the back of the queue, so each one is looked at at
+		// most once per tick
+		while (handled < SPAWN_BUDGET && remaining-- > 0) {
 
-				// To attempt to have all humanbenders be same type, check if
-				// there are nearby humanbenders
-				// If there are just copy their type
-				AxisAlignedBB aabb = new AxisAlignedBB(chunkCoord.getBlock(-30, 50, -30),
-						chunkCoord.getBlock(30, 150, 30));
-				List<EntityHumanBender> nearbyBenders = worldIn.getEntitiesWithinAABB(EntityHumanBender.class,
-						aabb);
+			PendingSpawn pending = queue.poll();
+			BlockPos pos = pending.chunkPos.getBlock(0, 0, 0);
+			Chunk chunk = e.world.isBlockLoaded(pos) ? e.world.getChunkFromBlockCoords(pos) : null;
 
-				double chance = 100;
-				Random rand = new Random();
-				if (!villagers.isEmpty() && rand.nextDouble() * 100 < chance) {
+			if (chunk != null && chunk.isTerrainPopulated()) {
+				trySpawnBender(e.world, chunk, pending.chunkPos);
+				handled++;
+			} else if (time - pending.queuedTime < MAX_WAIT_TICKS) {
+				queue.add(pending);
+			}
 
-					Village village = worldIn.getVillageCollection()
-							.getNearestVillage(chunkCoord.getBlock(0, 0, 0), 200);
+		}
 
-					boolean firebender;
+	}
 
-					if (nearbyBenders.isEmpty()) {
-						firebender = new Random().nextBoolean();
-					} else {
-						firebender = nearbyBenders.get(0) instanceof EntityFirebender;
-					}
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload e) {
+		pendingSpawns.remove(e.getWorld());
+	}
 
-					EntityHumanBender bender = firebender ? new EntityFirebender(worldIn)
-							: new EntityAirbender(worldIn);
-					bender.copyLocationAndAnglesFrom(villagers.get(0));
-					worldIn.spawnEntity(bender);
+	private static void queueSpawn(World world, ChunkPos chunkPos) {
+		pendingSpawns.computeIfAbsent(world, w -> new ArrayDeque<>())
+				.add(new PendingSpawn(chunkPos, world.getTotalWorldTime()));
+	}
+
+	/**
+	 * Spawns a humanbender at the first villager in that chunk, if there are any villagers there.
+	 */
+	private static void trySpawnBender(World world, Chunk chunk, ChunkPos chunkCoord) {
+
+		// This list contains villagers in that chunk of the structure
+		List<EntityVillager> villagers = new ArrayList<>();
+		AxisAlignedBB chunkBox = new AxisAlignedBB(chunkCoord.getXStart(), 0, chunkCoord.getZStart(),
+				chunkCoord.getXEnd() + 1, world.getHeight(), chunkCoord.getZEnd() + 1);
+		chunk.getEntitiesOfTypeWithinAABB(EntityVillager.class, chunkBox, villagers, null);
+
+		double chance = 100;
+		Random rand = world.rand;
+		if (!villagers.isEmpty() && rand.nextDouble() * 100 < chance) {
+
+			// To attempt to have all humanbenders be same type, check if
+			// there are nearby humanbenders
+			// If there are just copy their type
+			AxisAlignedBB aabb = new AxisAlignedBB(chunkCoord.getBlock(-30, 50, -30),
+					chunkCoord.getBlock(30, 150, 30));
+			List<EntityHumanBender> nearbyBenders = world.getEntitiesWithinAABB(EntityHumanBender.class,
+					aabb);
+
+			boolean firebender;
+
+			if (nearbyBenders.isEmpty()) {
+				firebender = rand.nextBoolean();
+			} else {
+				firebender = nearbyBenders.get(0) instanceof EntityFirebender;
+			}
 
-				}
+			EntityHumanBender bender = firebender ? new EntityFirebender(world)
+					: new EntityAirbender(world);
+			bender.copyLocationAndAnglesFrom(villagers.get(0));
+			world.spawnEntity(bender);
+
+		}
 
+	}
+
+	private static class PendingSpawn {
+
+		private final ChunkPos chunkPos;
+		private final long queuedTime;
+
+		private PendingSpawn(ChunkPos chunkPos, long queuedTime) {
+			this.chunkPos = chunkPos;
+			this.queuedTime = queuedTime;
+		}
+
+	}
+
+	private static class MapGenVillageWithHumanbenders extends MapGenVillage {
+
+		public MapGenVillageWithHumanbenders() {
+			super();
+		}
+
+		public MapGenVillageWithHumanbenders(Map<String, String> map) {
+			super(map);
+		}
+
+		@Override
+		public synchronized boolean generateStructure(World worldIn, Random randomIn, ChunkPos chunkCoord) {
+			boolean result = super.generateStructure(worldIn, randomIn, chunkCoord);
+			if (result) {
+				queueSpawn(worldIn, chunkCoord);
 			}
 			return result;
 		}
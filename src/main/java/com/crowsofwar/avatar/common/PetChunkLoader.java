@@ -0,0 +1,302 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
+import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.entity.mob.EntitySkyBison;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraftforge.common.ForgeChunkManager;
+import net.minecraftforge.common.ForgeChunkManager.Ticket;
+import net.minecraftforge.common.ForgeChunkManager.Type;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.util.*;
+
+import static com.crowsofwar.avatar.common.config.ConfigMobs.MOBS_CONFIG;
+
+/**
+ * Keeps the chunks around owned sky bison loaded, so they can keep flying while their owner is
+ * far away.
+ * <p>
+ * Each bison gets its own ticket, which forces a small square of chunks centered on the bison.
+ * The square moves with the bison, so chunks it has left are unforced again. Chunks are only
+ * loaded while the bison's owner is online and in the same dimension, and the total amount of
+ * chunks, both per player and on the whole server, is limited by the mobs config. Those totals are
+ * kept up to date whenever a ticket's chunks change, so they don't have to be counted again.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class PetChunkLoader {
+
+	/**
+	 * How often, in ticks, to check whether the owner is still online and whether bison have
+	 * been removed
+	 */
+	private static final int CHECK_INTERVAL = 20;
+
+	/**
+	 * Not weak, so the totals can't miss a loader; bison which are gone are removed every tick
+	 */
+	private static final Map<EntitySkyBison, Loader> loaders = new HashMap<>();
+	private static final Map<UUID, Integer> chunksByOwner = new HashMap<>();
+	private static int loadedChunks;
+
+	private static boolean warnedNoTickets = false;
+
+	/**
+	 * Updates the chunks loaded by the bison. Should be called every tick on the server.
+	 */
+	public static void update(EntitySkyBison bison) {
+
+		Loader loader = loaders.get(bison);
+
+		if (loader == null || bison.ticksExisted % CHECK_INTERVAL == 0) {
+			if (!shouldLoadChunks(bison)) {
+				release(bison);
+				return;
+			}
+		}
+
+		if (loader == null) {
+			Ticket ticket = ForgeChunkManager.requestTicket(AvatarMod.instance, bison.world, Type.ENTITY);
+			if (ticket == null) {
+				if (!warnedNoTickets) {
+					AvatarLog.warn(WarningType.CONFIGURATION, "Out of chunk loading tickets; sky bison " +
+							"won't keep chunks loaded. Increase maximumTicketCount for avatarmod in " +
+							"forgeChunkLoading.cfg to fix this");
+					warnedNoTickets = true;
+				}
+				return;
+			}
+			ticket.bindEntity(bison);
+			ticket.getModData().setUniqueId("BisonId", bison.getUniqueID());
+			loader = new Loader(ticket);
+			track(bison, loader);
+		}
+
+		ChunkPos center = new ChunkPos(bison.getPosition());
+		if (!center.equals(loader.center) || bison.ticksExisted % CHECK_INTERVAL == 0) {
+			loader.center = center;
+			moveWindow(bison, loader);
+		}
+
+	}
+
+	/**
+	 * Stops loading any chunks for that bison.
+	 */
+	public static void release(EntitySkyBison bison) {
+		Loader loader = loaders.remove(bison);
+		if (loader != null) {
+			untrack(loader);
+			ForgeChunkManager.releaseTicket(loader.ticket);
+		}
+	}
+
+	public static boolean isLoadingChunks(EntitySkyBison bison) {
+		return loaders.containsKey(bison);
+	}
+
+	/**
+	 * Called when the tickets of a world are loaded from a save. Tickets of bison are reused,
+	 * and the bison force their chunks again once they update; any other tickets are released.
+	 */
+	public static void onTicketsLoaded(List<Ticket> tickets, World world) {
+		for (Ticket ticket : tickets) {
+			Entity entity = ticket.getEntity();
+			if (entity instanceof EntitySkyBison && !loaders.containsKey(entity)) {
+				track((EntitySkyBison) entity, new Loader(ticket));
+			} else {
+				ForgeChunkManager.releaseTicket(ticket);
+			}
+		}
+	}
+
+	/**
+	 * Gets the amount of chunks currently being kept loaded by sky bison.
+	 */
+	public static int getLoadedChunks() {
+		return loadedChunks;
+	}
+
+	/**
+	 * Gets the amount of bison which are currently keeping chunks loaded.
+	 */
+	public static int getLoadingBison() {
+		return loaders.size();
+	}
+
+	/**
+	 * Gets the amount of chunks being kept loaded by each player's bison.
+	 */
+	public static Map<UUID, Integer> getLoadedChunksByOwner() {
+		return new HashMap<>(chunksByOwner);
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent e) {
+
+		if (e.phase != TickEvent.Phase.END || loaders.isEmpty()) {
+			return;
+		}
+
+		// Bison which were removed without dying (e.g. /kill) or unloaded with their chunk (which
+		// doesn't mark them as dead) won't update again to release their tickets
+		Iterator<Map.Entry<EntitySkyBison, Loader>> iterator = loaders.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<EntitySkyBison, Loader> entry = iterator.next();
+			EntitySkyBison bison = entry.getKey();
+			if (bison.isDead || bison.world.getEntityByID(bison.getEntityId()) != bison) {
+				untrack(entry.getValue());
+				ForgeChunkManager.releaseTicket(entry.getValue().ticket);
+				iterator.remove();
+			}
+		}
+
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload e) {
+		// Forge saves the tickets with the world, so only forget about them here
+		Iterator<Map.Entry<EntitySkyBison, Loader>> iterator = loaders.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<EntitySkyBison, Loader> entry = iterator.next();
+			if (entry.getKey().world == e.getWorld()) {
+				untrack(entry.getValue());
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Starts keeping track of the loader, adding the chunks its ticket already has to the totals.
+	 */
+	private static void track(EntitySkyBison bison, Loader loader) {
+		loaders.put(bison, loader);
+		loader.owner = bison.getOwnerId();
+		setChunks(loader, loader.ticket.getChunkList().size());
+	}
+
+	private static void untrack(Loader loader) {
+		setChunks(loader, 0);
+	}
+
+	/**
+	 * Updates the totals after the amount of chunks loaded by the loader has changed.
+	 */
+	private static void setChunks(Loader loader, int chunks) {
+		int change = chunks - loader.chunks;
+		loader.chunks = chunks;
+		loadedChunks += change;
+		if (loader.owner != null && change != 0) {
+			chunksByOwner.merge(loader.owner, change, (a, b) -> a + b == 0 ? null : a + b);
+		}
+	}
+
+	private static boolean shouldLoadChunks(EntitySkyBison bison) {
+
+		if (bison.isDead || bison.getHealth() <= 0 || bison.getOwnerId() == null) {
+			return false;
+		}
+
+		MinecraftServer server = bison.world.getMinecraftServer();
+		EntityPlayerMP owner = server == null ? null : server.getPlayerList().getPlayerByUUID(bison
+				.getOwnerId());
+		return owner != null && owner.dimension == bison.dimension;
+
+	}
+
+	/**
+	 * Forces the chunks closest to the bison, as many as the limits allow, and unforces any
+	 * other chunks of its ticket.
+	 */
+	private static void moveWindow(EntitySkyBison bison, Loader loader) {
+
+		Ticket ticket = loader.ticket;
+		ChunkPos center = loader.center;
+
+		// The bison was given to another player; its chunks count for them now
+		UUID owner = bison.getOwnerId();
+		if (!Objects.equals(owner, loader.owner)) {
+			int chunks = loader.chunks;
+			setChunks(loader, 0);
+			loader.owner = owner;
+			setChunks(loader, chunks);
+		}
+
+		int radius = MOBS_CONFIG.bisonChunkLoadRadius;
+		List<ChunkPos> window = new ArrayList<>();
+		for (int x = -radius; x <= radius; x++) {
+			for (int z = -radius; z <= radius; z++) {
+				window.add(new ChunkPos((center.getXStart() >> 4) + x, (center.getZStart() >> 4) + z));
+			}
+		}
+		window.sort(Comparator.comparingInt(chunk -> Math.max(Math.abs(chunk.getXStart() - center
+				.getXStart()), Math.abs(chunk.getZStart() - center.getZStart()))));
+
+		// How many chunks this bison may load, not counting the ones it has already loaded
+		int ownChunks = loader.chunks;
+		int ownerChunks = chunksByOwner.getOrDefault(owner, 0);
+		int allowed = Math.min(ticket.getMaxChunkListDepth(), window.size());
+		allowed = Math.min(allowed, MOBS_CONFIG.bisonMaxLoadedChunksPerPlayer - (ownerChunks - ownChunks));
+		allowed = Math.min(allowed, MOBS_CONFIG.bisonMaxLoadedChunks - (loadedChunks - ownChunks));
+
+		Set<ChunkPos> wanted = new HashSet<>(window.subList(0, Math.max(allowed, 0)));
+
+		for (ChunkPos chunk : new ArrayList<>(ticket.getChunkList())) {
+			if (!wanted.contains(chunk)) {
+				ForgeChunkManager.unforceChunk(ticket, chunk);
+			}
+		}
+		for (ChunkPos chunk : wanted) {
+			if (!ticket.getChunkList().contains(chunk)) {
+				ForgeChunkManager.forceChunk(ticket, chunk);
+			}
+		}
+		setChunks(loader, ticket.getChunkList().size());
+
+	}
+
+	private static class Loader {
+
+		private final Ticket ticket;
+		private ChunkPos center;
+		/**
+		 * The owner and amount of chunks which this loader is counted with in the totals
+		 */
+		private UUID owner;
+		private int chunks;
+
+		private Loader(Ticket ticket) {
+			this.ticket = ticket;
+		}
+
+	}
+
+}
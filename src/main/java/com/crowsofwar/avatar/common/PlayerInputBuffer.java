@@ -0,0 +1,189 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common;
+
+import com.crowsofwar.avatar.common.analytics.AvatarAnalytics;
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.bending.BendingStyles;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.data.AbilityData;
+import com.crowsofwar.avatar.common.data.Bender;
+import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.data.ctx.BendingContext;
+import com.crowsofwar.avatar.common.util.Raytrace;
+import net.minecraft.entity.player.EntityPlayer;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.crowsofwar.avatar.common.AvatarChatMessages.*;
+import static com.crowsofwar.avatar.common.analytics.AnalyticEvents.getAbilityExecutionEvent;
+
+/**
+ * Collects the ability and status control keypresses which a player sent during a tick, and
+ * processes them all at once during the player's next tick.
+ * <p>
+ * Identical requests within the same tick are collapsed into one, using the latest raytrace.
+ * Requests which would certainly do nothing, such as using an ability which is already queued
+ * because of a cooldown, are discarded before any world work is done.
+ * <p>
+ * Buffers are only accessed from the server thread. The counters can be read from any thread,
+ * e.g. by <code>/av netstats inbound</code> or JMX.
+ *
+ * @author CrowsOfWar
+ */
+public class PlayerInputBuffer {
+
+	private static final Map<EntityPlayer, PlayerInputBuffer> buffers = new WeakHashMap<>();
+
+	private static final LongAdder received = new LongAdder(), duplicates = new LongAdder(),
+			discarded = new LongAdder();
+
+	private final Map<Ability, Raytrace.Result> abilities = new LinkedHashMap<>();
+	private final Map<StatusControl, Raytrace.Result> statusControls = new LinkedHashMap<>();
+
+	private PlayerInputBuffer() {
+	}
+
+	public static PlayerInputBuffer get(EntityPlayer player) {
+		return buffers.computeIfAbsent(player, p -> new PlayerInputBuffer());
+	}
+
+	/**
+	 * Requests the ability to be used during the player's next tick.
+	 */
+	public void addAbility(Ability ability, Raytrace.Result raytrace) {
+		received.increment();
+		if (abilities.put(ability, raytrace) != null) {
+			duplicates.increment();
+		}
+	}
+
+	/**
+	 * Requests the status control to be used during the player's next tick.
+	 */
+	public void addStatusControl(StatusControl statusControl, Raytrace.Result raytrace) {
+		received.increment();
+		if (statusControls.put(statusControl, raytrace) != null) {
+			duplicates.increment();
+		}
+	}
+
+	/**
+	 * Processes all inputs which were received since the last tick. Called from the player's
+	 * tick on the server.
+	 */
+	public static void process(EntityPlayer player, Bender bender) {
+		PlayerInputBuffer buffer = buffers.get(player);
+		if (buffer != null) {
+			buffer.process(bender);
+		}
+	}
+
+	private void process(Bender bender) {
+
+		if (!abilities.isEmpty()) {
+			for (Map.Entry<Ability, Raytrace.Result> entry : abilities.entrySet()) {
+				useAbility(bender, entry.getKey(), entry.getValue());
+			}
+			abilities.clear();
+		}
+
+		if (!statusControls.isEmpty()) {
+			BendingData data = bender.getData();
+			for (Map.Entry<StatusControl, Raytrace.Result> entry : statusControls.entrySet()) {
+				useStatusControl(bender, data, entry.getKey(), entry.getValue());
+			}
+			statusControls.clear();
+		}
+
+	}
+
+	private void useAbility(Bender bender, Ability ability, Raytrace.Result raytrace) {
+
+		EntityPlayer player = (EntityPlayer) bender.getEntity();
+		BendingData data = bender.getData();
+
+		// While on cooldown, the ability would only be queued again
+		if (data.getMiscData().getAbilityCooldown() > 0
+				&& QueuedAbilityExecutionHandler.isQueued(player, ability)) {
+			discarded.increment();
+			return;
+		}
+
+		bender.executeAbility(ability, raytrace);
+
+		// Send analytics
+		String abilityName = ability.getName();
+		AbilityData abilityData = data.getAbilityData(abilityName);
+		AvatarAnalytics.INSTANCE.pushEvent(getAbilityExecutionEvent(abilityName,
+				abilityData.getLevelDesc()));
+
+		// If player just got to 100% XP so they can upgrade, send them a message
+		boolean notLevel4 = abilityData.getLevel() < 3;
+		if (abilityData.getXp() == 100 && abilityData.getLastXp() < 100 && notLevel4) {
+
+			UUID bendingId = ability.getBendingId();
+
+			MSG_CAN_UPGRADE_ABILITY.send(player, abilityName, abilityData.getLevel() + 2);
+			MSG_CAN_UPGRADE_ABILITY_2.send(player);
+			MSG_CAN_UPGRADE_ABILITY_3.send(player, BendingStyles.getName(bendingId));
+
+			// Prevent this message from appearing again by updating lastXp to show current Xp
+			abilityData.resetLastXp();
+
+		}
+
+	}
+
+	private void useStatusControl(Bender bender, BendingData data, StatusControl sc,
+								  Raytrace.Result raytrace) {
+
+		if (!data.hasStatusControl(sc)) {
+			discarded.increment();
+			return;
+		}
+
+		if (sc.execute(new BendingContext(data, bender.getEntity(), raytrace))) {
+			data.removeStatusControl(sc);
+		}
+
+	}
+
+	/**
+	 * Gets the total number of ability and status control inputs received.
+	 */
+	public static long getReceived() {
+		return received.sum();
+	}
+
+	/**
+	 * Gets the number of inputs which were collapsed into an identical input from the same tick.
+	 */
+	public static long getDuplicates() {
+		return duplicates.sum();
+	}
+
+	/**
+	 * Gets the number of inputs which were dropped because they couldn't have had any effect.
+	 */
+	public static long getDiscarded() {
+		return discarded.sum();
+	}
+
+}
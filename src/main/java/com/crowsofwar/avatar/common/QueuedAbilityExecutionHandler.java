@@ -5,76 +5,109 @@ import com.crowsofwar.avatar.common.bending.Ability;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.data.ctx.AbilityContext;
 import com.crowsofwar.avatar.common.util.Raytrace;
+import com.crowsofwar.avatar.common.util.TimerWheel.Timer;
 import net.minecraft.entity.EntityLivingBase;
-import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
 
 /**
  * Sometimes ability executions are blocked due to cooldown, but should still be fired after the
  * cooldown is over. This class manages these on-hold ability executions, and performs them when
  * ready.
+ * <p>
+ * Executions are scheduled through {@link ScheduledActions}, so they are checked again once the
+ * cooldown would have run out. Each entity can only have one queued execution per ability; queueing
+ * it again replaces the earlier execution.
+ * <p>
+ * Queued executions don't reference their entity (or its bending data), so that they don't keep
+ * it loaded; executions of entities which died are forgotten straight away.
  *
  * @author CrowsOfWar
  */
 @Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
 public class QueuedAbilityExecutionHandler {
 
-	private static final List<QueuedAbilityExecution> abilityExecutions = new ArrayList<>();
+	private static final Map<EntityLivingBase, Map<Ability, Timer>> queued = new WeakHashMap<>();
 
 	private QueuedAbilityExecutionHandler() {
 	}
 
-	@SubscribeEvent
-	public static void tick(TickEvent.WorldTickEvent e) {
-		World world = e.world;
-		if (e.phase == TickEvent.Phase.START && !world.isRemote) {
-			Iterator<QueuedAbilityExecution> iterator = abilityExecutions.iterator();
-			while (iterator.hasNext()) {
-				QueuedAbilityExecution par = iterator.next();
-				par.ticks--;
-				if (par.ticks <= 0 && par.data.getMiscData().getAbilityCooldown() == 0 && par
-						.data.getMiscData().getCanUseAbilities()) {
-					par.ability.execute(new AbilityContext(par.data, par.raytrace, par.ability,
-							par.entity, par.powerRating));
-					iterator.remove();
-				}
-			}
-		}
-	}
-
 	public static void queueAbilityExecution(EntityLivingBase entity, BendingData data, Ability
 			ability, Raytrace.Result raytrace, double powerRating) {
 
-		abilityExecutions.add(new QueuedAbilityExecution(data.getMiscData().getAbilityCooldown(), entity, data,
-				ability, raytrace, powerRating));
+		Map<Ability, Timer> entityQueue = queued.computeIfAbsent(entity, e -> new HashMap<>());
+		Timer previous = entityQueue.get(ability);
+		if (previous != null) {
+			previous.cancel();
+		}
+		// Executions which were skipped because the entity was gone can't run anymore
+		entityQueue.values().removeIf(timer -> !timer.isPending());
+
+		QueuedAbilityExecution execution = new QueuedAbilityExecution(entityQueue, ability,
+				raytrace, powerRating);
+		execution.schedule(entity, data);
 
 	}
 
-	private static class QueuedAbilityExecution {
+	/**
+	 * Returns whether the entity already has a queued execution of that ability.
+	 */
+	public static boolean isQueued(EntityLivingBase entity, Ability ability) {
+		Map<Ability, Timer> entityQueue = queued.get(entity);
+		if (entityQueue == null) {
+			return false;
+		}
+		Timer timer = entityQueue.get(ability);
+		return timer != null && timer.isPending();
+	}
 
-		private final EntityLivingBase entity;
-		private final BendingData data;
+	@SubscribeEvent
+	public static void onDeath(LivingDeathEvent e) {
+		// ScheduledActions cancels the timers themselves
+		if (!e.getEntity().world.isRemote) {
+			queued.remove(e.getEntityLiving());
+		}
+	}
+
+	private static class QueuedAbilityExecution implements Consumer<EntityLivingBase> {
+
+		private final Map<Ability, Timer> entityQueue;
 		private final Ability ability;
 		private final Raytrace.Result raytrace;
 		private final double powerRating;
-		private int ticks;
 
-		public QueuedAbilityExecution(int ticks, EntityLivingBase entity, BendingData data,
-									  Ability ability, Raytrace.Result raytrace, double powerRating) {
-			this.ticks = ticks;
-			this.entity = entity;
-			this.data = data;
+		public QueuedAbilityExecution(Map<Ability, Timer> entityQueue, Ability ability,
+									  Raytrace.Result raytrace, double powerRating) {
+			this.entityQueue = entityQueue;
 			this.ability = ability;
 			this.raytrace = raytrace;
 			this.powerRating = powerRating;
 		}
 
+		private void schedule(EntityLivingBase entity, BendingData data) {
+			int delay = data.getMiscData().getAbilityCooldown();
+			entityQueue.put(ability, ScheduledActions.schedule(entity, delay, this));
+		}
+
+		@Override
+		public void accept(EntityLivingBase entity) {
+			BendingData data = BendingData.get(entity);
+			if (data.getMiscData().getAbilityCooldown() == 0 && data.getMiscData()
+					.getCanUseAbilities()) {
+				entityQueue.remove(ability);
+				ability.execute(new AbilityContext(data, raytrace, ability, entity, powerRating));
+			} else {
+				// Cooldown was reset in the meantime; wait for it again
+				schedule(entity, data);
+			}
+		}
+
 	}
 
 }
@@ -0,0 +1,135 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.common.util.TimerWheel;
+import com.crowsofwar.avatar.common.util.TimerWheel.Timer;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Schedules actions which an entity performs after a delay, such as delayed ability executions or
+ * follow-up attacks. Each server world keeps its actions in a {@link TimerWheel}.
+ * <p>
+ * Actions don't keep their entity loaded. If the entity dies, the action is cancelled; if the
+ * entity was unloaded or moved to another world, the action is skipped when it's due. For this to
+ * work, the action itself must not keep a strong reference to the entity (or its bending data)
+ * while it's pending; it is given the entity when it runs.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class ScheduledActions {
+
+	private static final Map<World, TimerWheel> wheels = new WeakHashMap<>();
+	private static final Map<EntityLivingBase, Set<Timer>> timersByEntity = new WeakHashMap<>();
+
+	private ScheduledActions() {
+	}
+
+	/**
+	 * Schedules the entity to perform the action after the given number of ticks. Server-side
+	 * only.
+	 *
+	 * @return A timer which can be used to cancel the action
+	 */
+	public static Timer schedule(EntityLivingBase entity, int delay,
+								 Consumer<EntityLivingBase> action) {
+
+		if (entity.world.isRemote) {
+			throw new IllegalStateException("Can only schedule actions on the server");
+		}
+
+		World world = entity.world;
+		WeakReference<EntityLivingBase> reference = new WeakReference<>(entity);
+		Set<Timer> entityTimers = timersByEntity.computeIfAbsent(entity, e -> new HashSet<>());
+
+		Timer[] timer = new Timer[1];
+		timer[0] = wheels.computeIfAbsent(world, w -> new TimerWheel()).schedule(delay, () -> {
+			EntityLivingBase owner = reference.get();
+			if (owner != null) {
+				entityTimers.remove(timer[0]);
+				if (isPresent(owner, world)) {
+					action.accept(owner);
+				}
+			}
+		});
+		entityTimers.add(timer[0]);
+
+		return timer[0];
+
+	}
+
+	/**
+	 * Cancels all actions which the entity has scheduled.
+	 */
+	public static void cancelAll(EntityLivingBase entity) {
+		Set<Timer> entityTimers = timersByEntity.remove(entity);
+		if (entityTimers != null) {
+			for (Timer timer : entityTimers) {
+				timer.cancel();
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of pending actions in that world.
+	 */
+	public static int getPendingActions(World world) {
+		TimerWheel wheel = wheels.get(world);
+		return wheel == null ? 0 : wheel.size();
+	}
+
+	private static boolean isPresent(EntityLivingBase entity, World world) {
+		return !entity.isDead && entity.world == world
+				&& world.getEntityByID(entity.getEntityId()) == entity;
+	}
+
+	@SubscribeEvent
+	public static void onWorldTick(TickEvent.WorldTickEvent e) {
+		if (e.phase == TickEvent.Phase.START && !e.world.isRemote) {
+			TimerWheel wheel = wheels.get(e.world);
+			if (wheel != null) {
+				wheel.advance();
+			}
+		}
+	}
+
+	@SubscribeEvent
+	public static void onDeath(LivingDeathEvent e) {
+		if (!e.getEntity().world.isRemote) {
+			cancelAll(e.getEntityLiving());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload e) {
+		wheels.remove(e.getWorld());
+	}
+
+}
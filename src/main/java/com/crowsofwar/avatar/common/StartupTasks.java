@@ -0,0 +1,199 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common;
+
+import com.crowsofwar.avatar.AvatarLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the work done while AvatarMod is starting up, and keeps track of how long each part of it
+ * took.
+ * <p>
+ * Startup is divided into phases (preInit, init, postInit), each of which contains tasks. Tasks
+ * which only read their own files, such as loading separate configuration files, can be
+ * {@link #runParallel(Task...) run in parallel}; the phase continues once all of them have
+ * finished. Tasks which depend on the network should be {@link #runInBackground(String, Runnable)
+ * run in the background} so that startup never has to wait for them.
+ * <p>
+ * Once startup is over, {@link #logReport()} prints how long every phase and task took.
+ *
+ * @author CrowsOfWar
+ */
+public class StartupTasks {
+
+	private static final AtomicInteger threadNumber = new AtomicInteger();
+
+	private static final List<String> report = new ArrayList<>();
+	private static String currentPhase;
+	private static long phaseStart;
+
+	/**
+	 * Marks that the given phase of startup has begun. Any previous phase which wasn't ended is
+	 * ended now.
+	 */
+	public static void beginPhase(String phase) {
+		if (currentPhase != null) {
+			endPhase();
+		}
+		currentPhase = phase;
+		phaseStart = System.nanoTime();
+	}
+
+	/**
+	 * Marks that the current phase of startup has finished, adding its total time to the report.
+	 */
+	public static void endPhase() {
+		if (currentPhase == null) {
+			return;
+		}
+		record(currentPhase, "total", System.nanoTime() - phaseStart);
+		currentPhase = null;
+	}
+
+	/**
+	 * Runs the task on this thread, adding how long it took to the report.
+	 */
+	public static void run(String name, Runnable task) {
+		long start = System.nanoTime();
+		task.run();
+		record(currentPhase, name, System.nanoTime() - start);
+	}
+
+	/**
+	 * Runs all of the tasks at the same time and waits for them to finish. The tasks must not
+	 * depend on each other, or on anything else which is changing during this time.
+	 * <p>
+	 * If any task fails, its exception is thrown here once the other tasks have finished.
+	 */
+	public static void runParallel(Task... tasks) {
+
+		long start = System.nanoTime();
+
+		// Startup tasks mostly wait on files, so each gets its own thread regardless of core count
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(tasks.length, 1), runnable -> {
+			Thread thread = new Thread(runnable, "Avatar Startup #" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		List<Future<Long>> futures = new ArrayList<>();
+		for (Task task : tasks) {
+			futures.add(executor.submit(() -> {
+				long taskStart = System.nanoTime();
+				task.runnable.run();
+				return System.nanoTime() - taskStart;
+			}));
+		}
+		executor.shutdown();
+
+		Throwable failure = null;
+		for (int i = 0; i < tasks.length; i++) {
+			try {
+				record(currentPhase, tasks[i].name, futures.get(i).get());
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for startup tasks", e);
+			}
+		}
+
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new RuntimeException(failure);
+		}
+
+		record(currentPhase, tasks.length + " parallel tasks", System.nanoTime() - start);
+
+	}
+
+	/**
+	 * Starts the task on a background thread and returns immediately. Nothing waits for the task to
+	 * finish, so it must be able to handle running at any time after startup and must keep its own
+	 * timeouts. The task's time is logged once it finishes.
+	 */
+	public static void runInBackground(String name, Runnable task) {
+		Thread thread = new Thread(() -> {
+			long start = System.nanoTime();
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				AvatarLog.error("Background startup task '" + name + "' failed", e);
+			}
+			AvatarLog.info("Background startup task '" + name + "' finished in " + millis(System
+					.nanoTime() - start) + " ms");
+		}, "Avatar Startup - " + name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Logs the time taken by each phase and the tasks inside of it.
+	 */
+	public static void logReport() {
+		endPhase();
+		synchronized (report) {
+			AvatarLog.info("Startup timings:");
+			for (String line : report) {
+				AvatarLog.info("  " + line);
+			}
+			report.clear();
+		}
+	}
+
+	public static Task task(String name, Runnable runnable) {
+		return new Task(name, runnable);
+	}
+
+	private static void record(String phase, String task, long nanos) {
+		synchronized (report) {
+			report.add((phase == null ? "" : phase + " / ") + task + ": " + millis(nanos) + " ms");
+		}
+	}
+
+	private static String millis(long nanos) {
+		return String.format("%.1f", nanos / 1000000.0);
+	}
+
+	public static class Task {
+
+		private final String name;
+		private final Runnable runnable;
+
+		private Task(String name, Runnable runnable) {
+			this.name = name;
+			this.runnable = runnable;
+		}
+
+	}
+
+}
@@ -25,9 +25,16 @@ public class AnalyticEvent {
 	}
 
 	AnalyticEvent(String category, String name, @Nullable String label) {
+		this(category, name, label, System.currentTimeMillis());
+	}
+
+	/**
+	 * Recreates an event which happened earlier, e.g. when reading spilled events
+	 */
+	AnalyticEvent(String category, String name, @Nullable String label, long creationTime) {
 		this.category = category;
 		this.name = name;
-		this.creationTime = System.currentTimeMillis();
+		this.creationTime = creationTime;
 		this.label = label;
 	}
 
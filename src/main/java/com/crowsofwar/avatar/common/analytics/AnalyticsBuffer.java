@@ -0,0 +1,98 @@
+package com.crowsofwar.avatar.common.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue of analytic events, which any thread can push to without waiting for
+ * the upload thread. When the buffer is full, new events are rejected rather than blocking the
+ * game.
+ * <p>
+ * Each slot has a sequence number which tells whether it is ready to be written or read, so
+ * writers and readers only need to compare-and-set their position.
+ *
+ * @author CrowsOfWar
+ */
+class AnalyticsBuffer {
+
+	private final AtomicReferenceArray<AnalyticEvent> events;
+	private final AtomicLongArray sequences;
+	private final int mask;
+
+	/**
+	 * Position of the next event to write
+	 */
+	private final AtomicLong tail = new AtomicLong();
+	/**
+	 * Position of the next event to read
+	 */
+	private final AtomicLong head = new AtomicLong();
+
+	/**
+	 * @param capacity Maximum number of events; must be a power of two
+	 */
+	AnalyticsBuffer(int capacity) {
+		if (Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+		}
+		events = new AtomicReferenceArray<>(capacity);
+		sequences = new AtomicLongArray(capacity);
+		mask = capacity - 1;
+		for (int i = 0; i < capacity; i++) {
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Adds the event to the buffer, returning false if the buffer was full.
+	 */
+	boolean offer(AnalyticEvent event) {
+		long pos = tail.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					events.set(index, event);
+					sequences.set(index, pos + 1);
+					return true;
+				}
+			} else if (diff < 0) {
+				return false;
+			}
+			pos = tail.get();
+		}
+	}
+
+	/**
+	 * Removes and returns the oldest event, or null if the buffer is empty.
+	 */
+	AnalyticEvent poll() {
+		long pos = head.get();
+		while (true) {
+			int index = (int) (pos & mask);
+			long diff = sequences.get(index) - (pos + 1);
+			if (diff == 0) {
+				if (head.compareAndSet(pos, pos + 1)) {
+					AnalyticEvent event = events.get(index);
+					events.set(index, null);
+					sequences.set(index, pos + mask + 1);
+					return event;
+				}
+			} else if (diff < 0) {
+				return null;
+			}
+			pos = head.get();
+		}
+	}
+
+	/**
+	 * Returns the approximate number of events in the buffer.
+	 */
+	int size() {
+		long size = tail.get() - head.get();
+		return (int) Math.max(0, Math.min(size, mask + 1));
+	}
+
+}
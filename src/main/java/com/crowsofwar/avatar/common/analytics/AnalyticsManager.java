@@ -1,49 +1,344 @@
 package com.crowsofwar.avatar.common.analytics;
 
-import com.crowsofwar.avatar.AvatarInfo;
-import net.minecraftforge.fml.common.Mod;
-import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.common.config.ConfigAnalytics;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.crowsofwar.avatar.common.analytics.AvatarAnalytics.MAX_BULK_EVENTS;
 
 /**
- * Manages the relation between analytics and the game; sends analytics at the right time to do so.
+ * Uploads analytic events on a single background thread.
+ * <p>
+ * Events are pushed into a bounded {@link AnalyticsBuffer}; when it is full, events are dropped.
+ * The upload thread sends a batch when enough events are waiting or some time has passed since
+ * the last upload. If an upload fails, it's retried with exponential backoff, and after several
+ * failures, waiting events are written to a spill file. Spilled events, including those left over
+ * from an earlier session, are sent again after the next successful upload.
  *
  * @author CrowsOfWar
  */
-@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
 public class AnalyticsManager {
 
+	private static final int BUFFER_CAPACITY = 1024;
+	/**
+	 * Upload waiting events at least this often, even if there are less than MAX_BULK_EVENTS
+	 */
+	private static final long FLUSH_INTERVAL = 10000;
+	private static final long MIN_BACKOFF = 5000;
+	private static final long MAX_BACKOFF = 10 * 60 * 1000;
+	/**
+	 * Number of failed uploads until the waiting events are written to the spill file
+	 */
+	private static final int FAILURES_BEFORE_SPILL = 3;
+	private static final long MAX_SPILL_BYTES = 256 * 1024;
+	/**
+	 * Google Analytics ignores events which are older than 4 hours
+	 */
+	private static final long MAX_EVENT_AGE = 4 * 60 * 60 * 1000;
+	/**
+	 * Rough length of one event's parameters, to presize the request
+	 */
+	private static final int EVENT_LENGTH_ESTIMATE = 192;
+
+	private static final File SPILL_FILE = new File("config/avatar/analytics_spill.txt");
+
+	private static final AnalyticsBuffer buffer = new AnalyticsBuffer(BUFFER_CAPACITY);
+	private static final AtomicBoolean flushRequested = new AtomicBoolean();
+	private static final LongAdder pushed = new LongAdder(), dropped = new LongAdder(), sent =
+			new LongAdder(), failedUploads = new LongAdder(), spilled = new LongAdder();
+	private static volatile long latestEventTime;
+	private static volatile ScheduledExecutorService executor;
+	/**
+	 * Size of the batch below, which other threads may read
+	 */
+	private static volatile int batchSize;
+
+	// Only accessed on the upload thread
+	private static final List<AnalyticEvent> batch = new ArrayList<>(MAX_BULK_EVENTS);
+	private static long lastFlushTime = System.currentTimeMillis();
+	private static long retryTime;
+	private static int failures;
+
+	private AnalyticsManager() {
+	}
+
+	/**
+	 * Starts the upload thread.
+	 */
+	static synchronized void start() {
+		if (executor == null) {
+			executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "Avatar Analytics");
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.scheduleWithFixedDelay(() -> flush(false, System.currentTimeMillis()), 1, 1,
+					TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Stops the upload thread and writes any waiting events to the spill file, so they can be
+	 * sent next time.
+	 * <p>
+	 * The spill file is written on the upload thread after it has finished its current upload,
+	 * since the waiting batch may only be touched there. This waits a little for that to happen,
+	 * but doesn't block until an upload times out.
+	 */
+	static void stop() {
+		ScheduledExecutorService executor;
+		synchronized (AnalyticsManager.class) {
+			executor = AnalyticsManager.executor;
+			AnalyticsManager.executor = null;
+		}
+		if (executor == null) {
+			return;
+		}
+
+		// Runs after any upload that is already in progress; the periodic flush is cancelled
+		executor.execute(AnalyticsManager::spillWaitingEvents);
+		executor.shutdown();
+		try {
+			if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+				AvatarLog.warn(AvatarLog.WarningType.UNKNOWN, "Analytics upload is still in "
+						+ "progress; waiting events will be spilled when it finishes");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Adds the event to be uploaded. Never blocks; if too many events are waiting, the event is
+	 * dropped.
+	 */
+	static void push(AnalyticEvent event) {
+		if (!ConfigAnalytics.ANALYTICS_CONFIG.isAnalyticsEnabled()) {
+			return;
+		}
+
+		pushed.increment();
+		if (!buffer.offer(event)) {
+			dropped.increment();
+			return;
+		}
+		latestEventTime = event.getCreationTime();
+
+		if (buffer.size() >= MAX_BULK_EVENTS) {
+			requestFlush();
+		}
+	}
+
+	/**
+	 * Asks the upload thread to upload all waiting events as soon as possible.
+	 */
+	static void requestFlush() {
+		ScheduledExecutorService executor = AnalyticsManager.executor;
+		if (executor != null && flushRequested.compareAndSet(false, true)) {
+			executor.execute(() -> {
+				flushRequested.set(false);
+				flush(true, System.currentTimeMillis());
+			});
+		}
+	}
+
+	static int getWaitingEvents() {
+		return buffer.size() + batchSize;
+	}
+
+	static long getLatestEventTime() {
+		return latestEventTime;
+	}
+
+	/**
+	 * Uploads waiting events if a batch is full, the flush interval has passed, or it is forced.
+	 * Called on the upload thread.
+	 *
+	 * @param now Current time in milliseconds, used for the flush interval and retry backoff
+	 */
+	static void flush(boolean force, long now) {
+
+		if (now < retryTime) {
+			return;
+		}
+		boolean due = force || buffer.size() >= MAX_BULK_EVENTS || now - lastFlushTime >=
+				FLUSH_INTERVAL;
+		if (!due) {
+			return;
+		}
+		lastFlushTime = now;
+
+		while (true) {
+
+			// A failed batch is kept and retried first
+			if (batch.isEmpty()) {
+				AnalyticEvent event;
+				while (batch.size() < MAX_BULK_EVENTS && (event = buffer.poll()) != null) {
+					batch.add(event);
+				}
+				batchSize = batch.size();
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+
+			if (upload(batch)) {
+
+				sent.add(batch.size());
+				batch.clear();
+				batchSize = 0;
+				failures = 0;
+				// The spill file may also be left over from an earlier session
+				resendSpilledEvents();
+
+			} else {
+
+				failures++;
+				failedUploads.increment();
+				retryTime = now + Math.min(MAX_BACKOFF, MIN_BACKOFF << Math.min(failures - 1, 16));
+				if (failures >= FAILURES_BEFORE_SPILL) {
+					spillWaitingEvents();
+				}
+				return;
+
+			}
+
+		}
+
+	}
+
 	/**
-	 * Last time since data was sent
+	 * Sends the events in one request. Returns whether it was successful.
 	 */
-	private static long lastSendTime = System.currentTimeMillis();
+	private static boolean upload(List<AnalyticEvent> events) {
+
+		StringBuilder params = new StringBuilder(events.size() * EVENT_LENGTH_ESTIMATE);
+		for (AnalyticEvent event : events) {
+			AvatarAnalytics.appendEventParameters(params, event);
+			params.append('\n');
+		}
+
+		// In case there's only 1 being sent, just use regular endpoint
+		// For multiple, use batch endpoint
+		if (events.size() == 1) {
+			return AnalyticsUtils.makeSingleApiRequest(params.toString());
+		} else {
+			return AnalyticsUtils.makeBatchApiRequest(params.toString());
+		}
 
-	@SubscribeEvent
-	public static void onTick(TickEvent e) {
+	}
+
+	/**
+	 * Moves the failed batch and all buffered events into the spill file.
+	 */
+	private static synchronized void spillWaitingEvents() {
 
-		if (e.phase != TickEvent.Phase.START) {
+		List<AnalyticEvent> events = new ArrayList<>(batch);
+		batch.clear();
+		batchSize = 0;
+		AnalyticEvent event;
+		while ((event = buffer.poll()) != null) {
+			events.add(event);
+		}
+		if (events.isEmpty()) {
 			return;
 		}
-		if (e instanceof TickEvent.ClientTickEvent || e instanceof TickEvent.ServerTickEvent) {
 
-			int unsent = AvatarAnalytics.INSTANCE.getUnsentEventsAmount();
+		if (SPILL_FILE.length() > MAX_SPILL_BYTES) {
+			dropped.add(events.size());
+			return;
+		}
 
-			if (unsent >= 10) {
-				uploadEvents();
+		SPILL_FILE.getParentFile().mkdirs();
+		try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream
+				(SPILL_FILE, true), StandardCharsets.UTF_8))) {
+
+			for (AnalyticEvent spill : events) {
+				writer.write(spill.getCreationTime() + "\t" + clean(spill.getCategory()) + "\t"
+						+ clean(spill.getAction()) + "\t" + (spill.hasLabel() ? clean(spill
+						.getLabel()) : "") + "\n");
 			}
+			spilled.add(events.size());
+
+		} catch (IOException e) {
+			AvatarLog.warn(AvatarLog.WarningType.UNKNOWN, "Couldn't write analytics spill file");
+			dropped.add(events.size());
+		}
+
+	}
+
+	/**
+	 * Reads events from the spill file back into the buffer, and deletes the file. Events which
+	 * don't fit into the buffer are dropped.
+	 */
+	private static synchronized void resendSpilledEvents() {
+
+		if (!SPILL_FILE.exists()) {
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(new
+				FileInputStream(SPILL_FILE), StandardCharsets.UTF_8))) {
+
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] split = line.split("\t", -1);
+				if (split.length != 4) continue;
+
+				long creationTime = Long.parseLong(split[0]);
+				if (now - creationTime > MAX_EVENT_AGE) continue;
 
-			if (unsent > 0 && AvatarAnalytics.INSTANCE.getLatestEventTime() > 10000) {
-				uploadEvents();
+				String label = split[3].isEmpty() ? null : split[3];
+				if (!buffer.offer(new AnalyticEvent(split[1], split[2], label, creationTime))) {
+					dropped.increment();
+				}
 			}
 
+		} catch (IOException | NumberFormatException e) {
+			AvatarLog.warn(AvatarLog.WarningType.UNKNOWN, "Couldn't read analytics spill file");
 		}
 
+		if (!SPILL_FILE.delete()) {
+			AvatarLog.warn(AvatarLog.WarningType.UNKNOWN, "Couldn't delete analytics spill file");
+		}
+
+	}
+
+	private static String clean(String field) {
+		return field.replace('\t', ' ').replace('\n', ' ');
+	}
+
+	public static long getPushedEvents() {
+		return pushed.sum();
+	}
+
+	/**
+	 * Gets the number of events which were dropped because too many events were waiting.
+	 */
+	public static long getDroppedEvents() {
+		return dropped.sum();
+	}
+
+	public static long getSentEvents() {
+		return sent.sum();
+	}
+
+	public static long getFailedUploads() {
+		return failedUploads.sum();
 	}
 
-	private static void uploadEvents() {
-		lastSendTime = System.currentTimeMillis();
-		Runnable runnable = () -> AvatarAnalytics.INSTANCE.uploadEvents();
-		new Thread(runnable).start();
+	public static long getSpilledEvents() {
+		return spilled.sum();
 	}
 
 }
@@ -1,5 +1,7 @@
 package com.crowsofwar.avatar.common.analytics;
 
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
 import com.crowsofwar.avatar.common.config.ConfigAnalytics;
 
 import java.io.OutputStream;
@@ -14,36 +16,61 @@ public class AnalyticsUtils {
 
 	public static final String GA_TRACKING_ID = "UA-110529537-1";
 
+	/**
+	 * Connect and read timeout for requests, in milliseconds
+	 */
+	private static final int TIMEOUT = 10000;
+
+	/**
+	 * Base URL of the GA API; tests point this at a local server
+	 */
+	static String endpoint = "https://www.google-analytics.com";
+
 	/**
 	 * Gets the basic parameters to be sent in any GA API request. Then other parameters can be
 	 * added like type, event category, etc. depending on the purpose.
 	 */
 	public static String getBasicParameters() {
-		String params = "v=1";
-		params += "&tid=" + GA_TRACKING_ID;
-		params += "&cid=" + ConfigAnalytics.ANALYTICS_CONFIG.analyticsId;
-		return params;
+		StringBuilder params = new StringBuilder(64);
+		appendBasicParameters(params);
+		return params.toString();
 	}
 
 	/**
-	 * Makes a request to the GA API
+	 * Same as {@link #getBasicParameters()}, but appends the parameters to the builder.
 	 */
-	public static void makeSingleApiRequest(String params) {
+	public static void appendBasicParameters(StringBuilder params) {
+		params.append("v=1");
+		params.append("&tid=").append(GA_TRACKING_ID);
+		params.append("&cid=").append(ConfigAnalytics.ANALYTICS_CONFIG.analyticsId);
+	}
+
+	/**
+	 * Makes a request to the GA API. Returns false if the request failed; if analytics are
+	 * disabled, nothing is sent and returns true.
+	 */
+	public static boolean makeSingleApiRequest(String params) {
 		if (ConfigAnalytics.ANALYTICS_CONFIG.isAnalyticsEnabled()) {
-			post("https://www.google-analytics.com/collect", params);
+			return post(endpoint + "/collect", params);
 		}
+		return true;
 	}
 
 	/**
-	 * Makes a request to the GA API
+	 * Makes a request to the GA API. Returns false if the request failed; if analytics are
+	 * disabled, nothing is sent and returns true.
 	 */
-	public static void makeBatchApiRequest(String params) {
+	public static boolean makeBatchApiRequest(String params) {
 		if (ConfigAnalytics.ANALYTICS_CONFIG.isAnalyticsEnabled()) {
-			post("https://www.google-analytics.com/batch", params);
+			return post(endpoint + "/batch", params);
 		}
+		return true;
 	}
 
-	public static void post(String url, String payload) {
+	/**
+	 * Sends a POST request, returning whether the server accepted it.
+	 */
+	public static boolean post(String url, String payload) {
 
 		// We can't use Apache HTTP libraries here because for some reason they aren't loaded on the
 		// server
@@ -55,6 +82,8 @@ public class AnalyticsUtils {
 			URL urlObject = new URL(url);
 			connection = (HttpURLConnection) urlObject.openConnection();
 			connection.setRequestMethod("POST");
+			connection.setConnectTimeout(TIMEOUT);
+			connection.setReadTimeout(TIMEOUT);
 			connection.setDoOutput(true);
 
 			byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
@@ -67,8 +96,12 @@ public class AnalyticsUtils {
 			outputStream.write(payloadBytes);
 			outputStream.flush();
 
+			int responseCode = connection.getResponseCode();
+			return responseCode >= 200 && responseCode < 300;
+
 		} catch (Exception e) {
-			e.printStackTrace();
+			AvatarLog.warn(WarningType.UNKNOWN, "Error sending analytics: " + e);
+			return false;
 		} finally {
 
 			if (connection != null) {
@@ -32,12 +32,30 @@ public class Abilities {
 
 	private static final List<Ability> abilities = new ArrayList<>();
 	private static final Map<String, Ability> abilitiesByName = new HashMap<>();
+	private static final Map<String, Integer> networkIdsByName = new HashMap<>();
 
 	@Nullable
 	public static Ability get(String name) {
 		return abilitiesByName.get(name);
 	}
 
+	/**
+	 * Gets the ability with that network ID, as returned by {@link #getNetworkId(String)}.
+	 */
+	@Nullable
+	public static Ability get(int networkId) {
+		return networkId >= 0 && networkId < abilities.size() ? abilities.get(networkId) : null;
+	}
+
+	/**
+	 * Gets the ID used to refer to the ability over the network, or -1 if there is no ability
+	 * with that name. IDs are assigned in registration order.
+	 */
+	public static int getNetworkId(String name) {
+		Integer id = networkIdsByName.get(name);
+		return id == null ? -1 : id;
+	}
+
 	@Nullable
 	public static BendingAi getAi(String name, EntityLiving entity, Bender bender) {
 		Ability ability = get(name);
@@ -53,6 +71,7 @@ public class Abilities {
 	}
 
 	public static void register(Ability ability) {
+		networkIdsByName.put(ability.getName(), abilities.size());
 		abilities.add(ability);
 		abilitiesByName.put(ability.getName(), ability);
 	}
@@ -25,6 +25,11 @@ public class BattlePerformanceScore {
 	public static final double SCORE_MOD_MEDIUM = 30;
 	public static final double SCORE_MOD_LARGE = 50;
 
+	// Minimum / maximum score change per second, where min. change occurs when score is near 0,
+	// and max. change occurs when score is at 100
+	private static final double MIN_CHANGE = 2;
+	private static final double MAX_CHANGE = 4;
+
 	private final BendingData data;
 	private double score;
 
@@ -67,16 +72,11 @@ public class BattlePerformanceScore {
 	 */
 	private static final double getScoreChangePerSecond(double currentScore) {
 
-		// Minimum / maximum score change per second, where min. change occurs when score is near 0,
-		// and max. change occurs when score is at 100
-		final double min = 2;
-		final double max = 4;
-
 		// Generates a curve from minimum to maximum
 
 		// not sure how to explain this but got it using math. K then...
-		double k = 10000 / (max - min);
-		return -Math.signum(currentScore) * (currentScore * currentScore + k * min) / k;
+		double k = 10000 / (MAX_CHANGE - MIN_CHANGE);
+		return -Math.signum(currentScore) * (currentScore * currentScore + k * MIN_CHANGE) / k;
 
 	}
 
@@ -88,6 +88,26 @@ public class BattlePerformanceScore {
 		modifyScore(changePerSecond / 20);
 	}
 
+	/**
+	 * Updates the battle performance number as if {@link #update()} had been called for the
+	 * given number of ticks, e.g. when a bender which wasn't updated for a while catches up. Once
+	 * the score reaches zero, it stays there.
+	 */
+	public void update(int ticks) {
+
+		if (ticks <= 0 || score == 0) {
+			return;
+		}
+
+		// The score follows dS/dt = -(S^2 + a^2) / k towards zero, where a^2 = k * MIN_CHANGE, so
+		// after t seconds S = a * tan(atan(S0 / a) - a * t / k)
+		double k = 10000 / (MAX_CHANGE - MIN_CHANGE);
+		double a = Math.sqrt(k * MIN_CHANGE);
+		double angle = Math.atan(Math.abs(score) / a) - a * (ticks / 20.0) / k;
+		setScore(angle <= 0 ? 0 : Math.signum(score) * a * Math.tan(angle));
+
+	}
+
 	/**
 	 * Add or subtract a certain amount of score from the bender.
 	 */
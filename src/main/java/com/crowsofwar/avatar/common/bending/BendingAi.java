@@ -19,6 +19,8 @@ package com.crowsofwar.avatar.common.bending;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.data.ctx.BendingContext;
+import com.crowsofwar.avatar.common.entity.mob.EntityBender;
+import com.crowsofwar.avatar.common.entity.mob.EntityBender.ActivityTier;
 import com.crowsofwar.avatar.common.util.Raytrace;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -76,9 +78,19 @@ public abstract class BendingAi extends EntityAIBase {
 
 	@Override
 	public final boolean shouldExecute() {
+
+		// Benders don't use abilities unless a player is close by
+		if (entity instanceof EntityBender && ((EntityBender) entity).getActivityTier() != ActivityTier.ACTIVE) {
+			return false;
+		}
+		if (bender.getData().getMiscData().getAbilityCooldown() != 0) {
+			return false;
+		}
+
 		EntityLivingBase target = entity.getAttackTarget();
 		boolean targetInRange = target == null || entity.getDistanceSqToEntity(target) < 12 * 12;
-		return bender.getData().getMiscData().getAbilityCooldown() == 0 && targetInRange && shouldExec();
+		return targetInRange && shouldExec();
+
 	}
 
 	protected abstract boolean shouldExec();
@@ -103,6 +103,10 @@ public abstract class StatusControl {
 
 	}
 
+	public static List<StatusControl> all() {
+		return allControls;
+	}
+
 	public static StatusControl lookup(int id) {
 		id--;
 		return id >= 0 && id < allControls.size() ? allControls.get(id) : null;
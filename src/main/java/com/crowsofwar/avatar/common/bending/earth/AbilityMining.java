@@ -27,6 +27,7 @@ import com.crowsofwar.gorecore.util.Vector;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockOre;
 import net.minecraft.block.BlockRedstoneOre;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
 import net.minecraft.util.EnumFacing;
@@ -217,10 +218,10 @@ public class AbilityMining extends Ability {
 	private boolean breakBlock(BlockPos pos, AbilityContext ctx, int delay, int fortune) {
 
 		World world = ctx.getWorld();
-		Block block = world.getBlockState(pos).getBlock();
+		IBlockState state = world.getBlockState(pos);
 		AvatarWorldData wd = AvatarWorldData.getDataFromWorld(world);
 
-		boolean bendable = STATS_CONFIG.bendableBlocks.contains(block) && block != AIR;
+		boolean bendable = STATS_CONFIG.bendableBlocks.matches(state) && state.getBlock() != AIR;
 		if (bendable) {
 
 			boolean drop = !ctx.getBender().isCreativeMode();
@@ -102,7 +102,7 @@ public class AbilityPickUpBlock extends Ability {
 		IBlockState ibs = world.getBlockState(pos);
 		Block block = ibs.getBlock();
 
-		if (!world.isAirBlock(pos) && STATS_CONFIG.bendableBlocks.contains(block)) {
+		if (!world.isAirBlock(pos) && STATS_CONFIG.bendableBlocks.matches(ibs)) {
 
 			if (bender.consumeChi(STATS_CONFIG.chiPickUpBlock)) {
 
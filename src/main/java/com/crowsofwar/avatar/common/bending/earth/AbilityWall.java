@@ -114,7 +114,7 @@ public class AbilityWall extends Ability {
 				for (int j = EntityWallSegment.SEGMENT_HEIGHT - 1; j >= 0; j--) {
 					BlockPos pos = new BlockPos(x, y + j, z);
 					IBlockState state = world.getBlockState(pos);
-					boolean bendable = STATS_CONFIG.bendableBlocks.contains(state.getBlock());
+					boolean bendable = STATS_CONFIG.bendableBlocks.matches(state);
 					if (!bendable || dontBreakMore) {
 						state = Blocks.AIR.getDefaultState();
 						dontBreakMore = true;
@@ -52,7 +52,7 @@ public class EarthbendingEvents {
 		World world = player.world;
 
 		IBlockState state = e.getState();
-		if (STATS_CONFIG.bendableBlocks.contains(state.getBlock())) {
+		if (STATS_CONFIG.bendableBlocks.matches(state)) {
 			e.setNewSpeed(e.getOriginalSpeed() * 2);
 		}
 
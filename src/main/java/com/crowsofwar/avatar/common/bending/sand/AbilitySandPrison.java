@@ -1,13 +1,14 @@
 package com.crowsofwar.avatar.common.bending.sand;
 
 import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.config.BlockMatcher;
 import com.crowsofwar.avatar.common.config.ConfigStats;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.ctx.AbilityContext;
 import com.crowsofwar.avatar.common.entity.EntitySandPrison;
 import com.crowsofwar.avatar.common.util.Raytrace;
 import com.crowsofwar.gorecore.util.Vector;
-import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.SoundEvents;
@@ -79,16 +80,16 @@ public class AbilitySandPrison extends Ability {
 	private boolean canImprison(EntityLivingBase target, boolean allowEarthbendable) {
 		BlockPos pos = target.getPosition().down();
 		World world = target.world;
-		Block standingOn = world.getBlockState(pos).getBlock();
+		IBlockState standingOn = world.getBlockState(pos);
 
-		List<Block> blocksList;
+		BlockMatcher blocksList;
 		if (allowEarthbendable) {
 			blocksList = ConfigStats.STATS_CONFIG.bendableBlocks;
 		} else {
 			blocksList = ConfigStats.STATS_CONFIG.sandBlocks;
 		}
 
-		return blocksList.contains(standingOn) || true;
+		return blocksList.matches(standingOn) || true;
 
 	}
 
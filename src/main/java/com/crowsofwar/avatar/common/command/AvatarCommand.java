@@ -85,7 +85,8 @@ public class AvatarCommand extends TreeCommand {
 		NodeBranch branchAbility = new NodeBranch(branchHelpDefault, "ability", new NodeAbilityGet(),
 				new NodeAbilitySet());
 
-		return new ICommandNode[]{branchBending, new NodeConfig(), branchAbility, new NodeXpSet()};
+		return new ICommandNode[]{branchBending, new NodeConfig(), branchAbility, new NodeXpSet(),
+				new NodePetChunks(), new NodeNetStats()};
 
 	}
 
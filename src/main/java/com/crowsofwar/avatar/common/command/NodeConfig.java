@@ -46,36 +46,23 @@ public class NodeConfig extends NodeFunctional {
 		ArgumentList list = call.popArguments(this);
 		String key = list.get(argKey);
 		String val = list.get(argVal);
-		if (key.equals("") || val.equals("")) {
+		if (key.equals("reload") || key.equals("") || val.equals("")) {
 
 			ICommandSender from = call.getFrom();
-			boolean exception = false;
 
 			try {
 
-				ConfigStats.load();
-				ConfigSkills.load();
-				ConfigClient.load();
-				ConfigChi.load();
-				ConfigMobs.load();
-				ConfigStats.STATS_CONFIG.loadBlocks();
-				ConfigAnalytics.load();
+				ConfigReloader.reloadAll();
+				MSG_CONFIG_SUCCESS.send(from);
 
 			} catch (ConfigurationException e) {
 
-				exception = true;
 				MSG_CONFIG_EXCEPTION_1.send(from);
-				MSG_CONFIG_EXCEPTION_2.send(from, e.getCause().toString());
+				MSG_CONFIG_EXCEPTION_2.send(from, e.getCause() == null ? e.toString() : e.getCause().toString());
 				e.printStackTrace();
 
 			}
 
-			if (!exception) {
-
-				MSG_CONFIG_SUCCESS.send(from);
-
-			}
-
 		} else {
 			// AvatarConfig.set(key, new Yaml().load(val));
 			// AvatarConfig.save();
@@ -0,0 +1,164 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.command;
+
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.common.PlayerInputBuffer;
+import com.crowsofwar.avatar.common.network.NetworkStats;
+import com.crowsofwar.avatar.common.network.NetworkStats.Counter;
+import com.crowsofwar.avatar.common.network.PacketDispatcher;
+import com.crowsofwar.gorecore.format.FormattedMessage;
+import com.crowsofwar.gorecore.tree.*;
+import net.minecraft.command.ICommandSender;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.crowsofwar.avatar.common.AvatarChatMessages.*;
+
+/**
+ * Shows how much Avatar traffic was sent recently, broken down by packet type, data category
+ * and player. Can also start or stop writing a per-tick trace file, or show the packets and
+ * inputs which the server received.
+ *
+ * @author CrowsOfWar
+ * @see NetworkStats
+ */
+public class NodeNetStats extends NodeFunctional {
+
+	private static final int TOP_ENTRIES = 5;
+
+	private final IArgument<String> argAction;
+	private final IArgument<Integer> argSeconds;
+
+	public NodeNetStats() {
+		super("netstats", true);
+
+		argAction = new ArgumentOptions<>(ITypeConverter.CONVERTER_STRING, "action", "show", "trace",
+				"inbound")
+				.setOptional("show");
+		argSeconds = new ArgumentRangeInteger("seconds", 1, NetworkStats.WINDOW_SECONDS - 1, 10);
+
+		addArguments(argAction, argSeconds);
+
+	}
+
+	@Override
+	protected ICommandNode doFunction(CommandCall call, List<String> options) {
+
+		ArgumentList args = call.popArguments(this);
+		ICommandSender from = call.getFrom();
+
+		if (args.get(argAction).equals("trace")) {
+			toggleTrace(from);
+			return null;
+		}
+		if (args.get(argAction).equals("inbound")) {
+			sendInbound(from);
+			return null;
+		}
+
+		int seconds = args.get(argSeconds);
+		NetworkStats.Totals totals = NetworkStats.getTotals(seconds);
+
+		Counter total = totals.getTotal();
+		MSG_NETSTATS.send(from, seconds, formatRate(total.getMessages(), seconds), total.getBytes()
+				/ seconds);
+
+		sendTop(from, MSG_NETSTATS_TYPES, totals.getByType(), seconds);
+		sendTop(from, MSG_NETSTATS_CATEGORIES, totals.getByCategory(), seconds);
+		sendTop(from, MSG_NETSTATS_PLAYERS, totals.getByPlayer(), seconds);
+
+		return null;
+
+	}
+
+	private void toggleTrace(ICommandSender from) {
+		if (NetworkStats.isTracing()) {
+			NetworkStats.stopTrace();
+			MSG_NETSTATS_TRACE_OFF.send(from);
+		} else {
+			try {
+				File file = NetworkStats.startTrace(from.getServer());
+				MSG_NETSTATS_TRACE_ON.send(from, file.getPath());
+			} catch (IOException e) {
+				AvatarLog.error("Couldn't create network trace file", e);
+				MSG_NETSTATS_TRACE_FAILED.send(from);
+			}
+		}
+	}
+
+	/**
+	 * Sends the packet types which the server received most often, and how many inputs were
+	 * collapsed or discarded.
+	 */
+	private void sendInbound(ICommandSender from) {
+
+		List<Map.Entry<Class<?>, PacketDispatcher.Statistics>> entries = new ArrayList<>
+				(PacketDispatcher.SERVER.getStatistics().entrySet());
+		entries.sort((a, b) -> Long.compare(b.getValue().getReceived(), a.getValue()
+				.getReceived()));
+
+		MSG_NETSTATS_INBOUND.send(from);
+		for (Map.Entry<Class<?>, PacketDispatcher.Statistics> entry : entries.subList(0, Math.min
+				(TOP_ENTRIES, entries.size()))) {
+			PacketDispatcher.Statistics stats = entry.getValue();
+			MSG_NETSTATS_INBOUND_ENTRY.send(from, entry.getKey().getSimpleName(), stats
+					.getReceived(), stats.getCollapsed(), formatMillis(stats.getAverageLatency()),
+					formatMillis(stats.getAverageHandlingTime()));
+		}
+
+		MSG_NETSTATS_INPUTS.send(from, PlayerInputBuffer.getReceived(), PlayerInputBuffer
+				.getDuplicates(), PlayerInputBuffer.getDiscarded());
+
+	}
+
+	/**
+	 * Sends the entries which used the most bytes.
+	 */
+	private void sendTop(ICommandSender from, FormattedMessage header, Map<String, Counter>
+			counters, int seconds) {
+
+		if (counters.isEmpty()) {
+			return;
+		}
+
+		List<Map.Entry<String, Counter>> entries = new ArrayList<>(counters.entrySet());
+		entries.sort((a, b) -> Long.compare(b.getValue().getBytes(), a.getValue().getBytes()));
+
+		header.send(from);
+		for (Map.Entry<String, Counter> entry : entries.subList(0, Math.min(TOP_ENTRIES, entries
+				.size()))) {
+			Counter counter = entry.getValue();
+			MSG_NETSTATS_ENTRY.send(from, entry.getKey(), formatRate(counter.getMessages(), seconds),
+					counter.getBytes() / seconds);
+		}
+
+	}
+
+	private static String formatRate(long amount, int seconds) {
+		return String.format("%.1f", (double) amount / seconds);
+	}
+
+	private static String formatMillis(double nanos) {
+		return String.format("%.3f", nanos / 1000000);
+	}
+
+}
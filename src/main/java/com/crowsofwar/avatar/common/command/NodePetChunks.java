@@ -0,0 +1,66 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.command;
+
+import com.crowsofwar.avatar.common.PetChunkLoader;
+import com.crowsofwar.gorecore.tree.*;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.crowsofwar.avatar.common.AvatarChatMessages.MSG_PET_CHUNKS;
+import static com.crowsofwar.avatar.common.AvatarChatMessages.MSG_PET_CHUNKS_PLAYER;
+import static com.crowsofwar.avatar.common.config.ConfigMobs.MOBS_CONFIG;
+
+/**
+ * Shows how many chunks are being kept loaded by sky bison, in total and for each player.
+ *
+ * @author CrowsOfWar
+ */
+public class NodePetChunks extends NodeFunctional {
+
+	public NodePetChunks() {
+		super("petchunks", true);
+	}
+
+	@Override
+	protected ICommandNode doFunction(CommandCall call, List<String> options) {
+
+		ICommandSender from = call.getFrom();
+		MinecraftServer server = from.getServer();
+
+		MSG_PET_CHUNKS.send(from, PetChunkLoader.getLoadedChunks(), PetChunkLoader.getLoadingBison(),
+				MOBS_CONFIG.bisonMaxLoadedChunks);
+
+		for (Map.Entry<UUID, Integer> entry : PetChunkLoader.getLoadedChunksByOwner().entrySet()) {
+			EntityPlayerMP player = server == null ? null : server.getPlayerList().getPlayerByUUID(entry
+					.getKey());
+			String name = player == null ? entry.getKey().toString() : player.getName();
+			MSG_PET_CHUNKS_PLAYER.send(from, name, entry.getValue(),
+					MOBS_CONFIG.bisonMaxLoadedChunksPerPlayer);
+		}
+
+		return null;
+
+	}
+
+}
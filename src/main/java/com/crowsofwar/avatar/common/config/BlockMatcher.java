@@ -0,0 +1,160 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.config;
+
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.oredict.OreDictionary;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A set of blocks compiled from a list of config entries, which can be checked in constant time.
+ * Each entry can be:
+ * <ul>
+ * <li><code>minecraft:stone</code> - every state of a block</li>
+ * <li><code>minecraft:stone:1</code> - only the block with that metadata</li>
+ * <li><code>minecraft:stone:1-3</code> - the block with metadata in that range (inclusive)</li>
+ * <li><code>#oreIron</code> - every block in that ore dictionary entry</li>
+ * <li><code>#ore*</code> - every block in ore dictionary entries starting with "ore", i.e. all
+ * ores</li>
+ * </ul>
+ * Matchers are compiled after all blocks are registered, and again when the config is reloaded.
+ *
+ * @author CrowsOfWar
+ */
+public class BlockMatcher {
+
+	/**
+	 * Block IDs where every state matches
+	 */
+	private final BitSet blocks = new BitSet();
+	/**
+	 * State IDs (see {@link Block#getStateId(IBlockState)}) of individual matching states
+	 */
+	private final BitSet states = new BitSet();
+
+	private BlockMatcher() {
+	}
+
+	/**
+	 * Compiles the config entries into a block matcher. Invalid entries are skipped with a
+	 * warning.
+	 */
+	public static BlockMatcher compile(List<String> entries) {
+		BlockMatcher matcher = new BlockMatcher();
+		for (String entry : entries) {
+			if (!matcher.add(entry.trim())) {
+				AvatarLog.warn(WarningType.CONFIGURATION,
+						"Invalid blocks entry: " + entry + "; this block does not exist");
+			}
+		}
+		return matcher;
+	}
+
+	public boolean matches(@Nullable IBlockState state) {
+		if (state == null) {
+			return false;
+		}
+		Block block = state.getBlock();
+		return blocks.get(Block.getIdFromBlock(block)) || states.get(Block.getStateId(state));
+	}
+
+	private boolean add(String entry) {
+
+		if (entry.startsWith("#")) {
+			return addOreDictionary(entry.substring(1));
+		}
+
+		String[] split = entry.split(":");
+		if (split.length > 3) {
+			return false;
+		}
+
+		Block block = Block.REGISTRY.getObject(new ResourceLocation(split[0] + (split.length > 1 ?
+				":" + split[1] : "")));
+		if (block == Blocks.AIR && !entry.equals("minecraft:air")) {
+			// The registry returns air for unknown names
+			return false;
+		}
+
+		if (split.length < 3) {
+			blocks.set(Block.getIdFromBlock(block));
+			return true;
+		}
+
+		try {
+			String[] range = split[2].split("-");
+			int min = Integer.parseInt(range[0]);
+			int max = range.length > 1 ? Integer.parseInt(range[1]) : min;
+			for (int meta = Math.max(min, 0); meta <= Math.min(max, 15); meta++) {
+				addState(block, meta);
+			}
+			return min <= max;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+
+	}
+
+	private boolean addOreDictionary(String name) {
+
+		boolean prefix = name.endsWith("*");
+		if (prefix) {
+			name = name.substring(0, name.length() - 1);
+		}
+
+		boolean found = false;
+		for (String oreName : OreDictionary.getOreNames()) {
+			if (prefix ? oreName.startsWith(name) : oreName.equals(name)) {
+				for (ItemStack stack : OreDictionary.getOres(oreName, false)) {
+
+					Block block = Block.getBlockFromItem(stack.getItem());
+					if (block != Blocks.AIR) {
+						if (stack.getMetadata() == OreDictionary.WILDCARD_VALUE) {
+							blocks.set(Block.getIdFromBlock(block));
+						} else {
+							addState(block, stack.getMetadata());
+						}
+						found = true;
+					}
+
+				}
+			}
+		}
+		return found;
+
+	}
+
+	@SuppressWarnings("deprecation")
+	private void addState(Block block, int meta) {
+		try {
+			states.set(Block.getStateId(block.getStateFromMeta(meta)));
+		} catch (RuntimeException e) {
+			// Some blocks throw for metadata they don't use; there is no such state to match
+		}
+	}
+
+}
@@ -23,8 +23,14 @@ public class ConfigAnalytics {
 	}
 
 	public static void load() {
-		ConfigLoader.load(ANALYTICS_CONFIG, "avatar/analytics.yml", true);
-		ANALYTICS_CONFIG.setupAnalyticsId();
+		ConfigLoader.copy(read(), ANALYTICS_CONFIG);
+	}
+
+	static ConfigAnalytics read() {
+		ConfigAnalytics config = ConfigLoader.copyOf(ANALYTICS_CONFIG);
+		ConfigLoader.load(config, "avatar/analytics.yml", true);
+		config.setupAnalyticsId();
+		return config;
 	}
 
 	private void setupAnalyticsId() {
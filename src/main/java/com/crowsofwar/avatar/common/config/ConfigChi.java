@@ -38,7 +38,14 @@ public class ConfigChi {
 	}
 
 	public static void load() {
-		ConfigLoader.load(CHI_CONFIG, "avatar/chi.yml");
+		ConfigLoader.copy(read(), CHI_CONFIG);
+	}
+
+	static ConfigChi read() {
+		ConfigChi config = ConfigLoader.copyOf(CHI_CONFIG);
+		ConfigLoader.load(config, "avatar/chi.yml");
+		ConfigValidator.checkNonNegative("avatar/chi.yml", config);
+		return config;
 	}
 
 }
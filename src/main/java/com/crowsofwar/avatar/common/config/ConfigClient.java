@@ -32,6 +32,12 @@ public class ConfigClient {
 
 	public static ConfigClient CLIENT_CONFIG = new ConfigClient();
 
+	/**
+	 * Incremented when the keymappings or conflicts are edited in-place, so that anything derived
+	 * from them knows to update
+	 */
+	private static int keymappingsVersion;
+
 	@Load
 	public float radialMenuAlpha = 0.75f;
 
@@ -51,10 +57,32 @@ public class ConfigClient {
 	private Map<String, Boolean> nameConflicts = new HashMap<>();
 
 	public static void load() {
-		ConfigLoader.load(CLIENT_CONFIG, "avatar/cosmetic.yml");
+		ConfigLoader.copy(read(), CLIENT_CONFIG);
+	}
+
+	static ConfigClient read() {
+		ConfigClient config = ConfigLoader.copyOf(CLIENT_CONFIG);
+		ConfigLoader.load(config, "avatar/cosmetic.yml");
+		config.validate();
+		config.loadKeymappings();
+		return config;
+	}
+
+	private void validate() {
+		String file = "avatar/cosmetic.yml";
+		ConfigValidator.checkRange(file, "radialMenuAlpha", radialMenuAlpha, 0, 1);
+		ConfigValidator.checkRange(file, "chiBarAlpha", chiBarAlpha, 0, 1);
+		ConfigValidator.checkRange(file, "bendingCycleAlpha", bendingCycleAlpha, 0, 1);
+	}
+
+	/**
+	 * Converts the keymappings and conflicts which were loaded by ability name into maps by
+	 * ability. New maps are created so a copy doesn't share them with the current configuration.
+	 */
+	private void loadKeymappings() {
 
-		CLIENT_CONFIG.keymappings.clear();
-		Set<Map.Entry<String, Integer>> entries = CLIENT_CONFIG.nameKeymappings.entrySet();
+		keymappings = new HashMap<>();
+		Set<Map.Entry<String, Integer>> entries = nameKeymappings.entrySet();
 		for (Map.Entry<String, Integer> entry : entries) {
 			Ability ability = null;
 			for (Ability a : Abilities.all()) {
@@ -64,11 +92,11 @@ public class ConfigClient {
 				}
 			}
 			if (ability != null) {
-				CLIENT_CONFIG.keymappings.put(ability, entry.getValue());
+				keymappings.put(ability, entry.getValue());
 			}
 		}
-		CLIENT_CONFIG.conflicts.clear();
-		Set<Map.Entry<String, Boolean>> entries2 = CLIENT_CONFIG.nameConflicts.entrySet();
+		conflicts = new HashMap<>();
+		Set<Map.Entry<String, Boolean>> entries2 = nameConflicts.entrySet();
 		for (Map.Entry<String, Boolean> entry : entries2) {
 			Ability ability = null;
 			for (Ability a : Abilities.all()) {
@@ -78,14 +106,24 @@ public class ConfigClient {
 				}
 			}
 			if (ability != null) {
-				CLIENT_CONFIG.conflicts.put(ability, entry.getValue());
+				conflicts.put(ability, entry.getValue());
 			}
 		}
 
 	}
 
+	/**
+	 * Gets a number which changes whenever the keymappings or conflicts have been edited. If the
+	 * maps themselves are replaced, e.g. by reloading the config, this doesn't change.
+	 */
+	public static int getKeymappingsVersion() {
+		return keymappingsVersion;
+	}
+
 	public static void save() {
 
+		keymappingsVersion++;
+
 		CLIENT_CONFIG.nameKeymappings.clear();
 		Set<Map.Entry<Ability, Integer>> entries = CLIENT_CONFIG.keymappings.entrySet();
 		for (Map.Entry<Ability, Integer> entry : entries) {
@@ -20,6 +20,7 @@ import com.crowsofwar.avatar.AvatarLog;
 import com.crowsofwar.avatar.AvatarLog.WarningType;
 import com.crowsofwar.avatar.common.item.ItemScroll.ScrollType;
 import com.crowsofwar.gorecore.config.ConfigLoader;
+import com.crowsofwar.gorecore.config.ConfigurationException;
 import com.crowsofwar.gorecore.config.Load;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityList;
@@ -109,6 +110,15 @@ public class ConfigMobs {
 	@Load
 	public float bisonBreedMinMinutes = 60, bisonBreedMaxMinutes = 120;
 
+	/**
+	 * Humanbenders further than this many blocks from a player are only partially updated
+	 */
+	@Load
+	public double benderActiveRange = 32;
+
+	@Load
+	public int bisonChunkLoadRadius = 1, bisonMaxLoadedChunksPerPlayer = 18, bisonMaxLoadedChunks = 100;
+
 	@Load
 	private Map<String, Integer> bisonFoods;
 	private Map<Item, Integer> bisonFoodList;
@@ -119,11 +129,36 @@ public class ConfigMobs {
 	private Map<String, String> scrollType;
 
 	public static void load() {
-		MOBS_CONFIG.bisonFoods = DEFAULT_FOODS;
-		MOBS_CONFIG.scrollDropChance = DEFAULT_SCROLL_DROP;
-		MOBS_CONFIG.scrollType = DEFAULT_SCROLL_TYPE;
-		ConfigLoader.load(MOBS_CONFIG, "avatar/mobs.yml");
-		MOBS_CONFIG.loadLists();
+		ConfigLoader.copy(read(), MOBS_CONFIG);
+	}
+
+	static ConfigMobs read() {
+		ConfigMobs config = ConfigLoader.copyOf(MOBS_CONFIG);
+		config.bisonFoods = DEFAULT_FOODS;
+		config.scrollDropChance = DEFAULT_SCROLL_DROP;
+		config.scrollType = DEFAULT_SCROLL_TYPE;
+		ConfigLoader.load(config, "avatar/mobs.yml");
+		config.validate();
+		config.loadLists();
+		return config;
+	}
+
+	private void validate() {
+		String file = "avatar/mobs.yml";
+		ConfigValidator.checkNonNegative(file, this);
+		ConfigValidator.checkAtLeast(file, "bisonMaxDomestication", bisonMaxDomestication,
+				bisonMinDomestication);
+		ConfigValidator.checkAtLeast(file, "bisonBreedMaxMinutes", bisonBreedMaxMinutes,
+				bisonBreedMinMinutes);
+		for (Map.Entry<String, ?> entry : scrollDropChance.entrySet()) {
+			Object chance = entry.getValue();
+			if (!(chance instanceof Number)) {
+				throw new ConfigurationException.UserMistake("In config/" + file + ", " +
+						"scrollDropChance." + entry.getKey() + " must be a number");
+			}
+			ConfigValidator.checkRange(file, "scrollDropChance." + entry.getKey(), ((Number)
+					chance).doubleValue(), 0, 100);
+		}
 	}
 
 	private void loadLists() {
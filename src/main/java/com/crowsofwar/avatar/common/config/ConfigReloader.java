@@ -0,0 +1,90 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.config;
+
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.gorecore.config.ConfigLoader;
+import com.crowsofwar.gorecore.config.ConfigurationException;
+import net.minecraft.util.IThreadListener;
+
+import static com.crowsofwar.avatar.common.config.ConfigAnalytics.ANALYTICS_CONFIG;
+import static com.crowsofwar.avatar.common.config.ConfigChi.CHI_CONFIG;
+import static com.crowsofwar.avatar.common.config.ConfigClient.CLIENT_CONFIG;
+import static com.crowsofwar.avatar.common.config.ConfigMobs.MOBS_CONFIG;
+import static com.crowsofwar.avatar.common.config.ConfigSkills.SKILLS_CONFIG;
+import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
+
+/**
+ * Reloads all of the configuration files while the game is running.
+ * <p>
+ * Each file is first loaded and validated into a copy of its configuration. Only once every file
+ * has loaded successfully are the copies applied to the real configurations, so a mistake in one
+ * file leaves all of the configurations as they were, instead of some being reloaded and others
+ * not.
+ * <p>
+ * The copies are applied field by field, so another thread reading a configuration at the same
+ * time could see some old and some new values. The server configurations are applied on the
+ * server thread, which is the one reading them during ticks, and the client configuration is
+ * applied on the client thread.
+ *
+ * @author CrowsOfWar
+ */
+public class ConfigReloader {
+
+	/**
+	 * Reloads every configuration file. Should be called on the server thread, which is the one
+	 * that reads the configurations during ticks. If there is a client, its configuration is
+	 * applied once the client thread gets to it.
+	 *
+	 * @throws ConfigurationException if any of the files couldn't be loaded or contained invalid
+	 *                                values, in which case no configuration has changed
+	 */
+	public static void reloadAll() {
+
+		long start = System.nanoTime();
+
+		ConfigStats stats = ConfigStats.read();
+		stats.loadBlocks();
+		ConfigSkills skills = ConfigSkills.read();
+		ConfigClient client = ConfigClient.read();
+		ConfigChi chi = ConfigChi.read();
+		ConfigMobs mobs = ConfigMobs.read();
+		ConfigAnalytics analytics = ConfigAnalytics.read();
+
+		// Everything loaded, so it's safe to apply
+		ConfigLoader.copy(stats, STATS_CONFIG);
+		ConfigLoader.copy(skills, SKILLS_CONFIG);
+		ConfigLoader.copy(chi, CHI_CONFIG);
+		ConfigLoader.copy(mobs, MOBS_CONFIG);
+		ConfigLoader.copy(analytics, ANALYTICS_CONFIG);
+
+		// Rendering reads the client configuration on the client thread
+		IThreadListener clientThread = AvatarMod.proxy.getClientThreadListener();
+		if (clientThread != null) {
+			clientThread.addScheduledTask(() -> ConfigLoader.copy(client, CLIENT_CONFIG));
+		} else {
+			ConfigLoader.copy(client, CLIENT_CONFIG);
+		}
+
+		AvatarLog.info("Reloaded configuration in " + String.format("%.1f", (System.nanoTime() -
+				start) / 1000000.0) + " ms");
+
+	}
+
+}
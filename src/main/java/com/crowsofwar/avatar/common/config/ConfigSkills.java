@@ -66,7 +66,14 @@ public class ConfigSkills {
 	// @formatter:on
 
 	public static void load() {
-		ConfigLoader.load(SKILLS_CONFIG, "avatar/skills.yml");
+		ConfigLoader.copy(read(), SKILLS_CONFIG);
+	}
+
+	static ConfigSkills read() {
+		ConfigSkills config = ConfigLoader.copyOf(SKILLS_CONFIG);
+		ConfigLoader.load(config, "avatar/skills.yml");
+		ConfigValidator.checkNonNegative("avatar/skills.yml", config);
+		return config;
 	}
 
 }
@@ -17,14 +17,9 @@
 
 package com.crowsofwar.avatar.common.config;
 
-import com.crowsofwar.avatar.AvatarLog;
-import com.crowsofwar.avatar.AvatarLog.WarningType;
 import com.crowsofwar.gorecore.config.ConfigLoader;
 import com.crowsofwar.gorecore.config.Load;
-import net.minecraft.block.Block;
-import net.minecraft.util.ResourceLocation;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -122,6 +117,12 @@ public class ConfigStats {
 	@Load
 	public boolean allowMultiAirbendingWalljump = false;
 
+	@Load
+	public int environmentCheckInterval = 4;
+
+	@Load
+	public int floodFillBudgetMicros = 500;
+
 	@Load
 	public List<String> sandBlocksNames = Arrays.asList(
 			"minecraft:sand",
@@ -150,39 +151,36 @@ public class ConfigStats {
 			"minecraft:grass",
 			"minecraft:grass_path");
 
-	public List<Block> bendableBlocks;
-	public List<Block> sandBlocks;
+	public BlockMatcher bendableBlocks;
+	public BlockMatcher sandBlocks;
 
 	private ConfigStats() {
 	}
 
 	public static void load() {
-		ConfigLoader.load(STATS_CONFIG, "avatar/stats.yml");
-	}
-
-	public void loadBlocks() {
-		bendableBlocks = STATS_CONFIG.loadBlocksList(bendableBlocksNames);
-		sandBlocks = STATS_CONFIG.loadBlocksList(sandBlocksNames);
+		ConfigLoader.copy(read(), STATS_CONFIG);
 	}
 
 	/**
-	 * Converts a list of block names to the Block instances.
+	 * Loads the configuration file into a copy of the current configuration, leaving the current
+	 * one untouched.
 	 */
-	private List<Block> loadBlocksList(List<String> blocksNames) {
-		List<Block> blocks = new ArrayList<>();
-
-		for (String blockName : blocksNames) {
-			Block b = Block.REGISTRY.getObject(new ResourceLocation(blockName));
-			if (b == null) {
-				AvatarLog.warn(WarningType.CONFIGURATION,
-						"Invalid blocks entry: " + blockName + "; this block does not exist");
-			} else {
-				blocks.add(b);
-			}
-		}
+	static ConfigStats read() {
+		ConfigStats config = ConfigLoader.copyOf(STATS_CONFIG);
+		ConfigLoader.load(config, "avatar/stats.yml");
+		config.validate();
+		return config;
+	}
 
-		return blocks;
+	private void validate() {
+		String file = "avatar/stats.yml";
+		ConfigValidator.checkNonNegative(file, this);
+		ConfigValidator.checkAtLeast(file, "environmentCheckInterval", environmentCheckInterval, 1);
+	}
 
+	public void loadBlocks() {
+		bendableBlocks = BlockMatcher.compile(bendableBlocksNames);
+		sandBlocks = BlockMatcher.compile(sandBlocksNames);
 	}
 
 	public static class AttackSettings {
@@ -0,0 +1,100 @@
+/*
+  This file is part of AvatarMod.
+
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.config;
+
+import com.crowsofwar.gorecore.config.ConfigurationException;
+import com.crowsofwar.gorecore.config.Load;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Checks the values of a configuration after it has been read, so that a mistake in a file is
+ * reported when loading it instead of reaching gameplay code. Each check throws a
+ * {@link ConfigurationException.UserMistake} naming the file and the value.
+ *
+ * @author CrowsOfWar
+ */
+class ConfigValidator {
+
+	private ConfigValidator() {
+	}
+
+	/**
+	 * Checks that the value is between min and max, inclusive.
+	 */
+	static void checkRange(String file, String name, double value, double min, double max) {
+		if (!(value >= min && value <= max)) {
+			throw new ConfigurationException.UserMistake("In config/" + file + ", " + name + " is "
+					+ value + " but must be between " + min + " and " + max);
+		}
+	}
+
+	/**
+	 * Checks that the value is at least min.
+	 */
+	static void checkAtLeast(String file, String name, double value, double min) {
+		if (!(value >= min)) {
+			throw new ConfigurationException.UserMistake("In config/" + file + ", " + name + " is "
+					+ value + " but must be at least " + min);
+		}
+	}
+
+	/**
+	 * Checks that every number loaded into the configuration is zero or more, including the
+	 * numbers of loaded objects such as attack settings.
+	 */
+	static void checkNonNegative(String file, Object config) {
+		checkNonNegative(file, "", config);
+	}
+
+	private static void checkNonNegative(String file, String prefix, Object obj) {
+
+		for (Field field : obj.getClass().getDeclaredFields()) {
+			if (!field.isAnnotationPresent(Load.class) || Modifier.isStatic(field.getModifiers())) {
+				continue;
+			}
+
+			Object value;
+			try {
+				field.setAccessible(true);
+				value = field.get(obj);
+			} catch (IllegalAccessException e) {
+				throw new ConfigurationException.ReflectionException("Couldn't check field " +
+						field.getName(), e);
+			}
+
+			if (value instanceof Number) {
+				checkAtLeast(file, prefix + field.getName(), ((Number) value).doubleValue(), 0);
+			} else if (value != null && hasLoadedFields(value.getClass())) {
+				checkNonNegative(file, prefix + field.getName() + ".", value);
+			}
+		}
+
+	}
+
+	private static boolean hasLoadedFields(Class<?> cls) {
+		for (Field field : cls.getDeclaredFields()) {
+			if (field.isAnnotationPresent(Load.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
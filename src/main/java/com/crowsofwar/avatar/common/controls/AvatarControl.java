@@ -57,6 +57,7 @@ public class AvatarControl {
 		CONTROL_SHIFT;
 	// @formatter:off
 	private final String name;
+	private final int index;
 	private KeybindingWrapper kb;
 	private boolean needsKeybinding;
 	/**
@@ -65,6 +66,7 @@ public class AvatarControl {
 	private AvatarControl(String name, boolean keybinding) {
 		this.name = name;
 		this.needsKeybinding = keybinding;
+		this.index = ALL_CONTROLS.size();
 		ALL_CONTROLS.add(this);
 	}
 	
@@ -97,6 +99,14 @@ public class AvatarControl {
 		return name;
 	}
 	
+	/**
+	 * Get the position of this control in {@link #ALL_CONTROLS}, which can be used to store
+	 * controls in a bitset.
+	 */
+	public int index() {
+		return index;
+	}
+	
 	/**
 	 * Get the keybinding for this control. Returns null for controls that aren't linked to a keybinding.
 	 */
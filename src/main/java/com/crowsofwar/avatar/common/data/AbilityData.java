@@ -19,7 +19,7 @@ package com.crowsofwar.avatar.common.data;
 
 import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.bending.Ability;
-import com.crowsofwar.gorecore.util.GoreCoreByteBufUtil;
+import com.crowsofwar.avatar.common.network.NetworkIds;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.nbt.NBTTagCompound;
@@ -63,13 +63,14 @@ public class AbilityData {
 	}
 
 	/**
-	 * Reads ability data from the network.
+	 * Reads ability data from the network. Returns null if the server sent an invalid ability ID.
 	 */
+	@Nullable
 	public static AbilityData createFromBytes(ByteBuf buf, BendingData data) {
-		String abilityName = GoreCoreByteBufUtil.readString(buf);
+		String abilityName = NetworkIds.readAbilityFromServer(buf);
 		AbilityData abilityData = new AbilityData(data, abilityName);
 		abilityData.fromBytes(buf);
-		return abilityData;
+		return abilityName == null ? null : abilityData;
 	}
 
 	public static AbilityData get(EntityLivingBase entity, String abilityName) {
@@ -284,7 +285,7 @@ public class AbilityData {
 	}
 
 	public void toBytes(ByteBuf buf) {
-		GoreCoreByteBufUtil.writeString(buf, abilityName);
+		NetworkIds.writeAbilityToClient(buf, abilityName);
 		buf.writeFloat(xp);
 		buf.writeInt(level);
 		buf.writeInt(path.id());
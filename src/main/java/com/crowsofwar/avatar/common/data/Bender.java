@@ -311,6 +311,48 @@ public abstract class Bender {
 
 	}
 
+	/**
+	 * Applies the passive bookkeeping of {@link #onUpdate()} for the given amount of ticks at
+	 * once, for a bender which wasn't updated during that time. Cooldown, chi and the battle
+	 * performance score are caught up exactly, and power rating modifiers are counted down by the
+	 * elapsed ticks. Tick handlers are not run, so this should only be used when there aren't
+	 * any.
+	 */
+	public void catchUp(int ticks) {
+
+		if (ticks <= 0) {
+			return;
+		}
+
+		BendingData data = getData();
+		World world = getWorld();
+
+		MiscData miscData = data.getMiscData();
+		if (miscData.getAbilityCooldown() > 0) {
+			miscData.setAbilityCooldown(Math.max(miscData.getAbilityCooldown() - ticks, 0));
+		}
+
+		if (!world.isRemote) {
+			Chi chi = data.chi();
+			chi.changeTotalChi(CHI_CONFIG.regenPerSecond * ticks / 20f);
+
+			float missing = CHI_CONFIG.maxAvailableChi - chi.getAvailableChi();
+			if (missing > 0) {
+				chi.changeAvailableChi(Math.min(CHI_CONFIG.availablePerSecond * ticks / 20f, missing));
+			}
+
+			PrModifierHandler.addPowerRatingModifiers(this);
+		}
+
+		BendingContext ctx = new BendingContext(data, getEntity(), this, new Raytrace.Result());
+		for (PowerRatingManager manager : data.getPowerRatingManagers()) {
+			manager.tickModifiers(ctx, ticks);
+		}
+
+		data.getPerformance().update(ticks);
+
+	}
+
 	public void onDeath() {
 
 		BendingContext ctx = new BendingContext(getData(), getEntity(), new Raytrace.Result());
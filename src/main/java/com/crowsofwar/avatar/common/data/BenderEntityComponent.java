@@ -1,5 +1,6 @@
 package com.crowsofwar.avatar.common.data;
 
+import com.crowsofwar.avatar.common.entity.data.EntityBenderData;
 import com.crowsofwar.avatar.common.entity.mob.EntityBender;
 import net.minecraft.entity.EntityLivingBase;
 
@@ -17,9 +18,7 @@ public class BenderEntityComponent extends Bender {
 
 	public BenderEntityComponent(EntityBender entity) {
 		this.entity = entity;
-		this.data = new BendingData(category -> {
-		}, () -> {
-		}); // mc automatically saves entity
+		this.data = new EntityBenderData(entity, entity.getBendingProfile());
 	}
 
 	@Override
@@ -42,11 +42,11 @@ public class BendingData {
 	private static final int CURRENT_SAVE_VERSION = 1;
 	private final Consumer<DataCategory> saveCategory;
 	private final Runnable saveAll;
-	private final Set<UUID> bendings;
-	private final Set<StatusControl> statusControls;
-	private final Map<String, AbilityData> abilityData;
-	private final Set<TickHandler> tickHandlers;
-	private final Map<TickHandler, Integer> tickHandlerDuration;
+	private Set<UUID> bendings;
+	private Set<StatusControl> statusControls;
+	private Map<String, AbilityData> abilityData;
+	private Set<TickHandler> tickHandlers;
+	private Map<TickHandler, Integer> tickHandlerDuration;
 	private BattlePerformanceScore performance;
 	private UUID activeBending;
 	private Chi chi;
@@ -60,19 +60,45 @@ public class BendingData {
 	 * @param saveAll      Function to save all data
 	 */
 	public BendingData(Consumer<DataCategory> saveCategory, Runnable saveAll) {
+		this(saveCategory, saveAll, true);
+	}
+
+	/**
+	 * Create a new BendingData, which might not have its collections yet. Without them, only chi,
+	 * misc data and battle performance are available; subclasses which leave them out must override
+	 * every other method until they call {@link #createCollections()}.
+	 *
+	 * @param saveCategory      Function to save data in one category
+	 * @param saveAll           Function to save all data
+	 * @param createCollections Whether to create the collections for bending styles, status
+	 *                          controls, ability data, tick handlers and power rating managers
+	 */
+	protected BendingData(Consumer<DataCategory> saveCategory, Runnable saveAll, boolean
+			createCollections) {
 		this.saveCategory = saveCategory;
 		this.saveAll = saveAll;
 
-		bendings = new HashSet<>();
-		statusControls = new HashSet<>();
-		abilityData = new HashMap<>();
-		tickHandlers = new HashSet<>();
-		tickHandlerDuration = new HashMap<>();
 		activeBending = null;
 		chi = new Chi(this);
 		miscData = new MiscData(() -> save(DataCategory.MISC_DATA));
-		powerRatingManagers = new HashMap<>();
 		performance = new BattlePerformanceScore(this);
+		if (createCollections) {
+			createCollections();
+		}
+	}
+
+	/**
+	 * Creates the (empty) collections if they weren't created by the constructor.
+	 */
+	protected void createCollections() {
+		if (bendings == null) {
+			bendings = new HashSet<>();
+			statusControls = new HashSet<>();
+			abilityData = new HashMap<>();
+			tickHandlers = new HashSet<>();
+			tickHandlerDuration = new HashMap<>();
+			powerRatingManagers = new HashMap<>();
+		}
 	}
 
 	// static methods
@@ -396,6 +422,10 @@ public class BendingData {
 		}
 	}
 
+	public boolean hasTickHandlers() {
+		return !tickHandlers.isEmpty();
+	}
+
 	public List<TickHandler> getAllTickHandlers() {
 		return new ArrayList<>(tickHandlers);
 	}
@@ -17,42 +17,35 @@
 
 package com.crowsofwar.avatar.common.data;
 
-import com.crowsofwar.gorecore.util.AccountUUIDs;
 import io.netty.buffer.ByteBuf;
 import net.minecraft.entity.Entity;
-import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.UUID;
 
 /**
  * Represents an entity which is stored by its UUID but also cached for
- * performance. Can also store no entity.
+ * performance. Can also store no entity. Lookups go through an
+ * {@link EntityHandle}, so they never scan the world's entity list.
  *
  * @author CrowsOfWar
  */
 public class CachedEntity<T extends Entity> {
 
-	private T cachedEntity;
-	private UUID entityId;
+	private final EntityHandle<T> handle;
 
 	public CachedEntity(@Nullable UUID id) {
-		this.entityId = id;
-	}
-
-	private static UUID getId(Entity entity) {
-		return entity instanceof EntityPlayer ? AccountUUIDs.getId(entity.getName()).getUUID()
-				: entity.getUniqueID();
+		this.handle = new EntityHandle<>(id);
 	}
 
 	public void readFromNbt(NBTTagCompound nbt) {
-		entityId = nbt.getBoolean("NoEntity") ? null : nbt.getUniqueId("EntityUuid");
+		handle.setUuid(nbt.getBoolean("NoEntity") ? null : nbt.getUniqueId("EntityUuid"));
 	}
 
 	public void writeToNbt(NBTTagCompound nbt) {
+		UUID entityId = handle.getUuid();
 		nbt.setBoolean("NoEntity", entityId == null);
 		if (entityId != null) {
 			nbt.setUniqueId("EntityUuid", entityId);
@@ -60,10 +53,11 @@ public class CachedEntity<T extends Entity> {
 	}
 
 	public void fromBytes(ByteBuf buf) {
-		entityId = buf.readBoolean() ? null : new UUID(buf.readLong(), buf.readLong());
+		handle.setUuid(buf.readBoolean() ? null : new UUID(buf.readLong(), buf.readLong()));
 	}
 
 	public void toBytes(ByteBuf buf) {
+		UUID entityId = handle.getUuid();
 		buf.writeBoolean(entityId == null);
 		if (entityId != null) {
 			buf.writeLong(entityId.getMostSignificantBits());
@@ -73,40 +67,23 @@ public class CachedEntity<T extends Entity> {
 
 	@Nullable
 	public UUID getEntityId() {
-		return entityId;
+		return handle.getUuid();
 	}
 
 	public void setEntityId(@Nullable UUID entityId) {
-		this.entityId = entityId;
+		handle.setUuid(entityId);
 	}
 
 	/**
-	 * Finds the entity through the cache or searching for it.
+	 * Finds the entity through the cache or looking it up.
 	 */
-	@SuppressWarnings("unchecked")
 	@Nullable
 	public T getEntity(World world) {
-		if (isCacheInvalid()) {
-			List<Entity> list = world.getEntities(Entity.class, entity -> getId(entity).equals(entityId));
-			cachedEntity = list.isEmpty() ? null : (T) list.get(0);
-		}
-		return cachedEntity;
+		return handle.resolve(world);
 	}
 
 	public void setEntity(@Nullable T entity) {
-		cachedEntity = entity;
-		entityId = entity == null ? null : getId(entity);
-	}
-
-	/**
-	 * Checks whether the cached entity is invalid (null or dead). If so, sets
-	 * to null and returns true. Else returns false.
-	 *
-	 * @return whether cache is invalid; if true the cached entity is null
-	 */
-	private boolean isCacheInvalid() {
-		return cachedEntity == null || cachedEntity.isDead || cachedEntity.getUniqueID() !=
-				entityId;
+		handle.setEntity(entity);
 	}
 
 }
@@ -0,0 +1,157 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.data;
+
+import com.crowsofwar.gorecore.util.AccountUUIDs;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.UUID;
+
+/**
+ * A stable reference to an entity. The entity is identified by its UUID (for players, their
+ * account UUID), but the handle also remembers its runtime entity ID and keeps a weak reference
+ * to the entity once found, so resolving it is normally just a map lookup.
+ * <p>
+ * The handle never scans the world's full entity list. On a cache miss it looks up the entity by
+ * runtime ID, then by UUID through the world's UUID map ({@link WorldServer#getEntityFromUuid(UUID)}
+ * on the server, {@link EntityUuidIndex} on the client).
+ * <p>
+ * A cached entity is only returned while it is still present in that world, so unloading, dying,
+ * changing dimension and respawning are all detected.
+ *
+ * @author CrowsOfWar
+ */
+public class EntityHandle<T extends Entity> {
+
+	private UUID uuid;
+	private int runtimeId;
+	private WeakReference<T> cached;
+
+	public EntityHandle(@Nullable UUID uuid) {
+		this.uuid = uuid;
+		this.runtimeId = -1;
+		this.cached = null;
+	}
+
+	public static <T extends Entity> EntityHandle<T> of(@Nullable T entity) {
+		EntityHandle<T> handle = new EntityHandle<>(null);
+		handle.setEntity(entity);
+		return handle;
+	}
+
+	/**
+	 * Gets the UUID used to identify the entity. For players, this is their account id.
+	 */
+	public static UUID getId(Entity entity) {
+		return entity instanceof EntityPlayer ? AccountUUIDs.getId(entity.getName()).getUUID()
+				: entity.getUniqueID();
+	}
+
+	@Nullable
+	public UUID getUuid() {
+		return uuid;
+	}
+
+	/**
+	 * Changes which entity is referenced. Does nothing if the UUID is unchanged, so the cache is
+	 * kept when the same id is set repeatedly (e.g. from the DataManager each tick).
+	 */
+	public void setUuid(@Nullable UUID uuid) {
+		if (uuid == null ? this.uuid != null : !uuid.equals(this.uuid)) {
+			this.uuid = uuid;
+			this.runtimeId = -1;
+			this.cached = null;
+		}
+	}
+
+	public int getRuntimeId() {
+		return runtimeId;
+	}
+
+	public void setEntity(@Nullable T entity) {
+		if (entity == null) {
+			uuid = null;
+			runtimeId = -1;
+			cached = null;
+		} else {
+			uuid = getId(entity);
+			runtimeId = entity.getEntityId();
+			cached = new WeakReference<>(entity);
+		}
+	}
+
+	/**
+	 * Finds the referenced entity in that world, or null if there is no reference or the entity
+	 * isn't currently loaded there.
+	 */
+	@Nullable
+	public T resolve(World world) {
+		if (uuid == null) {
+			return null;
+		}
+
+		T entity = cached == null ? null : cached.get();
+		if (entity != null && isPresent(entity, world)) {
+			return entity;
+		}
+		cached = null;
+
+		entity = find(world);
+		if (entity != null) {
+			runtimeId = entity.getEntityId();
+			cached = new WeakReference<>(entity);
+		}
+		return entity;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private T find(World world) {
+
+		if (runtimeId != -1) {
+			Entity byId = world.getEntityByID(runtimeId);
+			if (byId != null && !byId.isDead && uuid.equals(getId(byId))) {
+				return (T) byId;
+			}
+		}
+
+		Entity byUuid = world instanceof WorldServer ? ((WorldServer) world).getEntityFromUuid(uuid)
+				: EntityUuidIndex.lookup(world, uuid);
+		if (byUuid != null && isPresent(byUuid, world)) {
+			return (T) byUuid;
+		}
+
+		// Account ids differ from entity ids in offline mode
+		return (T) AccountUUIDs.findEntityFromUUID(world, uuid);
+
+	}
+
+	/**
+	 * Whether the entity is still alive and loaded in that world. Vanilla removes entities from
+	 * the runtime ID map when they unload or leave the world, which makes this a cheap check.
+	 */
+	private static boolean isPresent(Entity entity, World world) {
+		return !entity.isDead && entity.world == world && world.getEntityByID(entity.getEntityId()) == entity;
+	}
+
+}
@@ -0,0 +1,98 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.data;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import net.minecraft.entity.Entity;
+import net.minecraft.world.World;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+/**
+ * Keeps a map of entity UUID -> entity for each client world, which (unlike the server world) has
+ * no such lookup. Used by {@link EntityHandle} to avoid scanning all loaded entities.
+ * <p>
+ * Entries only hold weak references and are validated by the caller, so stale entries are
+ * harmless; they are pruned when the map grows.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class EntityUuidIndex {
+
+	private static final Map<World, Index> indices = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private EntityUuidIndex() {
+	}
+
+	@Nullable
+	public static Entity lookup(World world, UUID id) {
+		Index index = indices.get(world);
+		return index == null ? null : index.get(id);
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOWEST)
+	public static void onEntityJoin(EntityJoinWorldEvent e) {
+		World world = e.getWorld();
+		if (world.isRemote && !e.isCanceled()) {
+			Index index = indices.get(world);
+			if (index == null) {
+				index = new Index();
+				indices.put(world, index);
+			}
+			index.put(e.getEntity());
+		}
+	}
+
+	@SubscribeEvent
+	public static void onWorldUnload(WorldEvent.Unload e) {
+		indices.remove(e.getWorld());
+	}
+
+	private static class Index {
+
+		private final Map<UUID, WeakReference<Entity>> entities = new HashMap<>();
+		private int pruneThreshold = 256;
+
+		@Nullable
+		Entity get(UUID id) {
+			WeakReference<Entity> ref = entities.get(id);
+			return ref == null ? null : ref.get();
+		}
+
+		void put(Entity entity) {
+			entities.put(entity.getUniqueID(), new WeakReference<>(entity));
+			if (entities.size() > pruneThreshold) {
+				entities.values().removeIf(ref -> {
+					Entity entity = ref.get();
+					return entity == null || entity.isDead;
+				});
+				pruneThreshold = Math.max(256, entities.size() * 2);
+			}
+		}
+
+	}
+
+}
@@ -66,13 +66,24 @@ public class PowerRatingManager {
 	 * removes them if necessary.
 	 */
 	public void tickModifiers(BendingContext ctx) {
+		tickModifiers(ctx, 1);
+	}
+
+	/**
+	 * Counts down each modifier's time left by the given amount of ticks at once, and removes the
+	 * modifiers which ran out during that time. Each modifier is still updated tick by tick, since
+	 * some modifiers remove themselves under other conditions than the countdown.
+	 */
+	public void tickModifiers(BendingContext ctx, int ticks) {
 		Iterator<PowerRatingModifier> iterator = modifiers.iterator();
-		//noinspection Java8CollectionRemoveIf
 		while (iterator.hasNext()) {
 			PowerRatingModifier modifier = iterator.next();
-			if (modifier.onUpdate(ctx)) {
-				modifier.onRemoval(ctx);
-				iterator.remove();
+			for (int i = 0; i < ticks; i++) {
+				if (modifier.onUpdate(ctx)) {
+					modifier.onRemoval(ctx);
+					iterator.remove();
+					break;
+				}
 			}
 		}
 	}
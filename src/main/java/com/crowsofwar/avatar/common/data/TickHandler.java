@@ -29,6 +29,7 @@ import com.crowsofwar.avatar.common.bending.water.WaterSkateHandler;
 import com.crowsofwar.avatar.common.data.ctx.BendingContext;
 import com.crowsofwar.avatar.common.entity.mob.BisonSummonHandler;
 import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -67,7 +68,7 @@ public abstract class TickHandler {
 	}
 
 	public static TickHandler fromBytes(ByteBuf buf) {
-		return fromId(buf.readInt());
+		return fromId(ByteBufUtils.readVarInt(buf, 5));
 	}
 
 	/**
@@ -80,7 +81,7 @@ public abstract class TickHandler {
 	}
 
 	public void toBytes(ByteBuf buf) {
-		buf.writeInt(id);
+		ByteBufUtils.writeVarInt(buf, id, 5);
 	}
 
 }
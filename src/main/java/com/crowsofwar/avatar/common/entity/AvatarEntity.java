@@ -18,7 +18,9 @@
 package com.crowsofwar.avatar.common.entity;
 
 import com.crowsofwar.avatar.common.data.AvatarWorldData;
+import com.crowsofwar.avatar.common.entity.data.EnvironmentSense;
 import com.crowsofwar.avatar.common.entity.data.SyncedEntity;
+import com.crowsofwar.avatar.common.network.NetworkStats;
 import com.crowsofwar.avatar.common.particle.ClientParticleSpawner;
 import com.crowsofwar.avatar.common.particle.NetworkParticleSpawner;
 import com.crowsofwar.avatar.common.particle.ParticleSpawner;
@@ -63,9 +65,20 @@ public abstract class AvatarEntity extends Entity {
 
 	protected boolean putsOutFires;
 	protected boolean flammable;
+	/**
+	 * Whether {@link #onMinorWaterContact()} should be called in the rain. Entities which don't
+	 * react to rain leave this false to skip the rain check entirely.
+	 */
+	protected boolean sensesRain;
+	/**
+	 * Whether {@link #onFireContact()} should be called when touching fire or lava. Entities
+	 * which don't react to fire leave this false to skip the block check entirely.
+	 */
+	protected boolean sensesFire;
 	private double powerRating;
 
 	private SyncedEntity<EntityLivingBase> ownerRef;
+	private final EnvironmentSense environment;
 
 	/**
 	 * @param world
@@ -74,8 +87,11 @@ public abstract class AvatarEntity extends Entity {
 		super(world);
 
 		this.ownerRef = new SyncedEntity<>(this, SYNC_OWNER);
+		this.environment = new EnvironmentSense(this);
 		this.putsOutFires = false;
 		this.flammable = false;
+		this.sensesRain = false;
+		this.sensesFire = false;
 
 	}
 
@@ -221,6 +237,14 @@ public abstract class AvatarEntity extends Entity {
 		ownerRef.writeToNbt(nbt);
 	}
 
+	@Override
+	public void notifyDataManagerChange(DataParameter<?> key) {
+		super.notifyDataManagerChange(key);
+		if (world != null && !world.isRemote) {
+			NetworkStats.onMetadataChanged(this, key);
+		}
+	}
+
 	@Override
 	public boolean canBeCollidedWith() {
 		return true;
@@ -256,10 +280,11 @@ public abstract class AvatarEntity extends Entity {
 		if (inWater) {
 			onMajorWaterContact();
 		}
-		if (world.isRainingAt(getPosition())) {
+		environment.update(sensesRain, sensesFire);
+		if (environment.isInRain()) {
 			onMinorWaterContact();
 		}
-		if (world.isFlammableWithin(this.getEntityBoundingBox().shrink(0.001D))) {
+		if (environment.isTouchingFire()) {
 			onFireContact();
 		}
 
@@ -40,7 +40,6 @@ public class ControlPoint {
 	private Vector internalVelocity;
 	private Vector internalPosition;
 	private Vector lastPos;
-	private AxisAlignedBB hitbox;
 
 	public ControlPoint(EntityArc arc, float size, double x, double y, double z) {
 		internalPosition = new Vector();
@@ -48,12 +47,6 @@ public class ControlPoint {
 		this.arc = arc;
 		this.world = arc.world;
 		this.size = size;
-
-		double sizeHalfed = size / 2;
-		hitbox = new AxisAlignedBB(position().x() - sizeHalfed, position().y() - sizeHalfed,
-				position().z() - sizeHalfed, position().x() + sizeHalfed, position().y() + sizeHalfed,
-				position().z() + sizeHalfed);
-
 		lastPos = new Vector();
 
 	}
@@ -101,8 +94,14 @@ public class ControlPoint {
 		arc.setDead();
 	}
 
+	/**
+	 * Creates the hitbox of this control point. Not stored, since most arcs never use it.
+	 */
 	public AxisAlignedBB getBoundingBox() {
-		return hitbox;
+		double sizeHalfed = size / 2;
+		return new AxisAlignedBB(position().x() - sizeHalfed, position().y() - sizeHalfed,
+				position().z() - sizeHalfed, position().x() + sizeHalfed, position().y() + sizeHalfed,
+				position().z() + sizeHalfed);
 	}
 
 	public float size() {
@@ -111,11 +110,6 @@ public class ControlPoint {
 
 	public void onUpdate() {
 
-		double sizeHalfed = size / 2;
-		hitbox = new AxisAlignedBB(position().x() - sizeHalfed, position().y() - sizeHalfed,
-				position().z() - sizeHalfed, position().x() + sizeHalfed, position().y() + sizeHalfed,
-				position().z() + sizeHalfed);
-
 		lastPos = position();
 		move(velocity().times(0.05));
 		setVelocity(velocity().times(0.4));
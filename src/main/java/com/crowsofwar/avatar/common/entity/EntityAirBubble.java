@@ -19,6 +19,7 @@ package com.crowsofwar.avatar.common.entity;
 import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.util.AvatarDataSerializers;
 import com.crowsofwar.avatar.common.util.AvatarUtils;
 import com.crowsofwar.gorecore.util.Vector;
 import net.minecraft.block.material.Material;
@@ -55,7 +56,7 @@ public class EntityAirBubble extends EntityShield {
 	public static final DataParameter<Boolean> SYNC_HOVERING = EntityDataManager
 			.createKey(EntityAirBubble.class, DataSerializers.BOOLEAN);
 	public static final DataParameter<Float> SYNC_SIZE = EntityDataManager.createKey(EntityAirBubble.class,
-			DataSerializers.FLOAT);
+			AvatarDataSerializers.SERIALIZER_HALF_FLOAT);
 
 	public static final UUID SLOW_ATTR_ID = UUID.fromString("40354c68-6e88-4415-8a6b-e3ddc56d6f50");
 	public static final AttributeModifier SLOW_ATTR = new AttributeModifier(SLOW_ATTR_ID,
@@ -97,7 +98,7 @@ public class EntityAirBubble extends EntityShield {
 	}
 
 	public void setSize(float size) {
-		dataManager.set(SYNC_SIZE, size);
+		dataManager.set(SYNC_SIZE, AvatarDataSerializers.quantize(size));
 	}
 
 	@Override
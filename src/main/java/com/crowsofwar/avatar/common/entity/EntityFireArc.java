@@ -44,6 +44,7 @@ public class EntityFireArc extends EntityArc<EntityFireArc.FireControlPoint> {
 	public EntityFireArc(World world) {
 		super(world);
 		this.damageMult = 1;
+		this.sensesRain = true;
 	}
 
 	@Override
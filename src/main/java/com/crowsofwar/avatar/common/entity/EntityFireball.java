@@ -60,6 +60,7 @@ public class EntityFireball extends AvatarEntity {
 	public EntityFireball(World world) {
 		super(world);
 		setSize(.8f, .8f);
+		this.sensesRain = true;
 	}
 
 	@Override
@@ -55,6 +55,7 @@ public class EntityFlames extends AvatarEntity {
 	public EntityFlames(World worldIn) {
 		super(worldIn);
 		setSize(0.1f, 0.1f);
+		this.sensesRain = true;
 	}
 
 	public EntityFlames(World world, EntityLivingBase owner) {
@@ -71,6 +71,7 @@ public class EntityIcePrison extends AvatarEntity {
 		super(world);
 		imprisonedAttr = new SyncedEntity<>(this, SYNC_IMPRISONED);
 		setSize(3, 4);
+		this.sensesFire = true;
 	}
 
 	public static boolean isImprisoned(EntityLivingBase entity) {
@@ -54,6 +54,7 @@ public class EntityIceShield extends EntityShield {
 
 	public EntityIceShield(World world) {
 		super(world);
+		this.sensesFire = true;
 	}
 
 	public void shatter() {
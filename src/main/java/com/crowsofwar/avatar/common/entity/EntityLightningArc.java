@@ -20,9 +20,7 @@ import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.world.World;
-import org.joml.Matrix4d;
 import org.joml.SimplexNoise;
-import org.joml.Vector4d;
 
 import javax.annotation.Nullable;
 import java.util.List;
@@ -36,13 +34,13 @@ import static com.crowsofwar.gorecore.util.Vector.getEntityPos;
 public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningControlPoint> {
 
 	private static final DataParameter<Vector> SYNC_ENDPOS = EntityDataManager.createKey
-			(EntityLightningArc.class, AvatarDataSerializers.SERIALIZER_VECTOR);
+			(EntityLightningArc.class, AvatarDataSerializers.SERIALIZER_COMPACT_VECTOR);
 
 	private static final DataParameter<Float> SYNC_TURBULENCE = EntityDataManager.createKey
-			(EntityLightningArc.class, DataSerializers.FLOAT);
+			(EntityLightningArc.class, AvatarDataSerializers.SERIALIZER_HALF_FLOAT);
 
 	private static final DataParameter<Float> SYNC_SIZE = EntityDataManager.createKey
-			(EntityLightningArc.class, DataSerializers.FLOAT);
+			(EntityLightningArc.class, AvatarDataSerializers.SERIALIZER_HALF_FLOAT);
 
 	private static final DataParameter<Boolean> SYNC_MAIN_ARC = EntityDataManager.createKey
 			(EntityLightningArc.class, DataSerializers.BOOLEAN);
@@ -90,10 +88,19 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 
 	private LightningFloodFill floodFill;
 
+	/**
+	 * Positions of all control points at {@link #pointsTicks}, as x, y, z triples. Reused so that
+	 * the points are only computed once per tick (or frame), rather than once per control point.
+	 */
+	private final double[] pointsBuffer;
+	private float pointsTicks;
+
 	public EntityLightningArc(World world) {
 		super(world);
 		setSize(0.5f, 0.5f);
 		damage = 8;
+		pointsBuffer = new double[getAmountOfControlPoints() * 3];
+		pointsTicks = Float.NaN;
 	}
 
 	@Override
@@ -156,6 +163,9 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 
 		setSize(0.33f * getSizeMultiplier(), 0.33f * getSizeMultiplier());
 
+		// Position, rotation or end position may have changed after the points were computed
+		pointsTicks = Float.NaN;
+
 	}
 
 	/**
@@ -192,6 +202,25 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 		}
 	}
 
+	/**
+	 * Computes the positions of all control points at that time, or returns the already computed
+	 * positions if nothing changed.
+	 *
+	 * @see LightningArcShape
+	 */
+	private double[] computeControlPoints(float ticks) {
+		if (ticks != pointsTicks) {
+			float partialTicks = ticks - (int) ticks;
+			Vector endPos = getEndPos();
+			LightningArcShape.compute(pointsBuffer, getAmountOfControlPoints(),
+					posX + motionX * partialTicks, posY + motionY * partialTicks,
+					posZ + motionZ * partialTicks, endPos.x(), endPos.y(), endPos.z(), rotationYaw,
+					rotationPitch, getTurbulence(), getEntityId(), ticks);
+			pointsTicks = ticks;
+		}
+		return pointsBuffer;
+	}
+
 	@Override
 	protected void onCollideWithEntity(Entity entity) {
 		if (stuckTo == null && entity instanceof EntityLivingBase) {
@@ -303,7 +332,7 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 	}
 
 	public void setEndPos(Vector endPos) {
-		dataManager.set(SYNC_ENDPOS, endPos);
+		dataManager.set(SYNC_ENDPOS, AvatarDataSerializers.quantize(endPos));
 	}
 
 	public float getTurbulence() {
@@ -311,7 +340,7 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 	}
 
 	public void setTurbulence(float turbulence) {
-		dataManager.set(SYNC_TURBULENCE, turbulence);
+		dataManager.set(SYNC_TURBULENCE, AvatarDataSerializers.quantize(turbulence));
 	}
 
 	public float getDamage() {
@@ -327,7 +356,7 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 	}
 
 	public void setSizeMultiplier(float sizeMultiplier) {
-		dataManager.set(SYNC_SIZE, sizeMultiplier);
+		dataManager.set(SYNC_SIZE, AvatarDataSerializers.quantize(sizeMultiplier));
 	}
 
 	/**
@@ -364,35 +393,8 @@ public class EntityLightningArc extends EntityArc<EntityLightningArc.LightningCo
 		}
 
 		public Vector getPosition(float ticks) {
-
-			float partialTicks = ticks - (int) ticks;
-			Vector arcPos = arc.position().plus(arc.velocity().dividedBy(20).times(partialTicks));
-
-			double targetDist = arcPos.dist(getEndPos()) / getControlPoints().size();
-			Vector dir = Vector.getLookRectangular(arc);
-
-			Vector normalPosition = arcPos.plus(dir.times(targetDist).times(index));
-			Vector randomize = Vector.ZERO;
-
-			if (index != arc.getControlPoints().size() - 1 && index != 0) {
-				double actualOffX = SimplexNoise.noise(ticks / 25f * getTurbulence() + index / 1f,
-						getEntityId
-								() *
-								1000) * getTurbulence();
-				double actualOffY = SimplexNoise.noise(ticks / 25f * getTurbulence() + index / 1f,
-						getEntityId() *
-								2000) * getTurbulence();
-
-				Matrix4d matrix = new Matrix4d();
-				matrix.rotate(Math.toRadians(rotationYaw), 0, 1, 0);
-				matrix.rotate(Math.toRadians(rotationPitch), 1, 0, 0);
-				Vector4d randomJoml = new Vector4d(actualOffX, actualOffY, 0, 1);
-				randomJoml.mul(matrix);
-
-				randomize = new Vector(randomJoml.x, randomJoml.y, randomJoml.z);
-			}
-
-			return normalPosition.plus(randomize);
+			double[] points = computeControlPoints(ticks);
+			return new Vector(points[index * 3], points[index * 3 + 1], points[index * 3 + 2]);
 		}
 
 		@Override
@@ -23,7 +23,6 @@ import com.crowsofwar.avatar.common.config.ConfigStats;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.util.AvatarUtils;
 import com.crowsofwar.gorecore.util.Vector;
-import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -120,17 +119,17 @@ public class EntityRavine extends AvatarEntity {
 		}
 
 		BlockPos below = getPosition().offset(EnumFacing.DOWN);
-		Block belowBlock = world.getBlockState(below).getBlock();
+		IBlockState belowState = world.getBlockState(below);
 
 		if (ticksExisted % 3 == 0) world.playSound(posX, posY, posZ,
-				world.getBlockState(below).getBlock().getSoundType().getBreakSound(),
+				belowState.getBlock().getSoundType().getBreakSound(),
 				SoundCategory.PLAYERS, 1, 1, false);
 
-		if (!world.getBlockState(below).isNormalCube()) {
+		if (!belowState.isNormalCube()) {
 			setDead();
 		}
 
-		if (!world.isRemote && !ConfigStats.STATS_CONFIG.bendableBlocks.contains(belowBlock)) {
+		if (!world.isRemote && !ConfigStats.STATS_CONFIG.bendableBlocks.matches(belowState)) {
 			setDead();
 		}
 
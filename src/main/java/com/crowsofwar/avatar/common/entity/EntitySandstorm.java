@@ -7,7 +7,6 @@ import com.crowsofwar.avatar.common.data.AbilityData;
 import com.crowsofwar.avatar.common.data.SandstormMovementHandler;
 import com.crowsofwar.avatar.common.util.AvatarUtils;
 import com.crowsofwar.gorecore.util.Vector;
-import net.minecraft.block.Block;
 import net.minecraft.block.BlockLiquid;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.Entity;
@@ -93,9 +92,8 @@ public class EntitySandstorm extends AvatarEntity {
 
 		if (!world.isRemote) {
 			IBlockState groundBlockState = getGroundBlock();
-			Block groundBlock = groundBlockState == null ? null : groundBlockState.getBlock();
 
-			if (STATS_CONFIG.sandBlocks.contains(groundBlock)) {
+			if (STATS_CONFIG.sandBlocks.matches(groundBlockState)) {
 				setStrength(getStrength() - 0.003f);
 				setVelocityMultiplier(getVelocityMultiplier() - 0.001f);
 			} else {
@@ -4,6 +4,7 @@ import com.crowsofwar.avatar.common.AvatarDamageSource;
 import com.crowsofwar.avatar.common.bending.BattlePerformanceScore;
 import com.crowsofwar.avatar.common.data.AbilityData;
 import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.util.AvatarDataSerializers;
 import com.crowsofwar.avatar.common.util.AvatarUtils;
 import com.crowsofwar.avatar.common.util.Raytrace;
 import com.crowsofwar.gorecore.util.Vector;
@@ -11,7 +12,6 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.SoundEvents;
 import net.minecraft.network.datasync.DataParameter;
-import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.util.DamageSource;
 import net.minecraft.util.SoundCategory;
@@ -26,7 +26,7 @@ import static com.crowsofwar.gorecore.util.Vector.getEntityPos;
 public class EntityWaterCannon extends EntityArc<EntityWaterCannon.CannonControlPoint> {
 
 	private static final DataParameter<Float> SYNC_SIZE = EntityDataManager.createKey
-			(EntityWaterCannon.class, DataSerializers.FLOAT);
+			(EntityWaterCannon.class, AvatarDataSerializers.SERIALIZER_HALF_FLOAT);
 
 	/**
 	 * If the water cannon hits an entity, the water cannon "sticks to" that entity and continues to
@@ -185,7 +185,7 @@ public class EntityWaterCannon extends EntityArc<EntityWaterCannon.CannonControl
 	}
 
 	public void setSizeMultiplier(float sizeMultiplier) {
-		dataManager.set(SYNC_SIZE, sizeMultiplier);
+		dataManager.set(SYNC_SIZE, AvatarDataSerializers.quantize(sizeMultiplier));
 	}
 
 	public class CannonControlPoint extends ControlPoint {
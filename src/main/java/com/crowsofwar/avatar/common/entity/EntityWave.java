@@ -20,12 +20,12 @@ package com.crowsofwar.avatar.common.entity;
 import com.crowsofwar.avatar.common.AvatarDamageSource;
 import com.crowsofwar.avatar.common.bending.BattlePerformanceScore;
 import com.crowsofwar.avatar.common.data.AbilityData;
+import com.crowsofwar.avatar.common.util.AvatarDataSerializers;
 import com.crowsofwar.gorecore.util.Vector;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.datasync.DataParameter;
-import net.minecraft.network.datasync.DataSerializers;
 import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.world.World;
 
@@ -37,7 +37,7 @@ import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
 public class EntityWave extends AvatarEntity {
 
 	private static final DataParameter<Float> SYNC_SIZE = EntityDataManager.createKey(EntityWave.class,
-			DataSerializers.FLOAT);
+			AvatarDataSerializers.SERIALIZER_HALF_FLOAT);
 
 	private float damageMult;
 	private boolean createExplosion;
@@ -63,7 +63,7 @@ public class EntityWave extends AvatarEntity {
 	}
 
 	public void setWaveSize(float size) {
-		dataManager.set(SYNC_SIZE, size);
+		dataManager.set(SYNC_SIZE, AvatarDataSerializers.quantize(size));
 	}
 
 	@Override
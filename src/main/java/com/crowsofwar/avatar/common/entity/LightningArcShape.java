@@ -0,0 +1,95 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.entity;
+
+import org.joml.SimplexNoise;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.sin;
+import static java.lang.Math.toRadians;
+
+/**
+ * Computes the control point positions of a lightning arc. The shape only depends on the
+ * arguments, so the server and client generate identical points from the same synced state (arc
+ * position, end position, rotations, turbulence, seed and tick); no control point positions need
+ * to be sent.
+ * <p>
+ * Results are written into a caller-supplied array, so no objects are allocated.
+ *
+ * @author CrowsOfWar
+ */
+public final class LightningArcShape {
+
+	private LightningArcShape() {
+	}
+
+	/**
+	 * Writes the position of each control point into <code>out</code>, as consecutive x, y, z
+	 * triples.
+	 *
+	 * @param out        Array of at least <code>points * 3</code> length
+	 * @param points     Amount of control points
+	 * @param x          Position of the arc (the first control point)
+	 * @param endX       Position of the end of the arc
+	 * @param yaw        Yaw of the arc in degrees
+	 * @param pitch      Pitch of the arc in degrees
+	 * @param turbulence How much the arc deviates from a straight line
+	 * @param seed       Seed for the noise, so arcs fired at once don't look the same
+	 * @param ticks      Age of the arc in ticks, including partial ticks
+	 */
+	public static void compute(double[] out, int points, double x, double y, double z, double endX,
+							   double endY, double endZ, float yaw, float pitch, float turbulence,
+							   int seed, float ticks) {
+
+		double dx = endX - x, dy = endY - y, dz = endZ - z;
+		double targetDist = Math.sqrt(dx * dx + dy * dy + dz * dz) / points;
+
+		double sinYaw = sin(toRadians(yaw)), cosYaw = cos(toRadians(yaw));
+		double sinPitch = sin(toRadians(pitch)), cosPitch = cos(toRadians(pitch));
+
+		// Look direction
+		double dirX = -sinYaw * cosPitch;
+		double dirY = -sinPitch;
+		double dirZ = cosYaw * cosPitch;
+
+		for (int i = 0; i < points; i++) {
+
+			double px = x + dirX * targetDist * i;
+			double py = y + dirY * targetDist * i;
+			double pz = z + dirZ * targetDist * i;
+
+			// Ends of the arc stay in place; others are randomly offset perpendicular to the arc
+			if (i != 0 && i != points - 1) {
+				double offX = SimplexNoise.noise(ticks / 25f * turbulence + i, seed * 1000) * turbulence;
+				double offY = SimplexNoise.noise(ticks / 25f * turbulence + i, seed * 2000) * turbulence;
+
+				// Rotate the offset by pitch, then yaw
+				px += offX * cosYaw + offY * sinPitch * sinYaw;
+				py += offY * cosPitch;
+				pz += -offX * sinYaw + offY * sinPitch * cosYaw;
+			}
+
+			out[i * 3] = px;
+			out[i * 3 + 1] = py;
+			out[i * 3 + 2] = pz;
+
+		}
+
+	}
+
+}
@@ -23,10 +23,28 @@ import net.minecraft.network.datasync.DataParameter;
 import static com.crowsofwar.avatar.common.config.ConfigMobs.MOBS_CONFIG;
 
 /**
+ * Keeps track of an animal's needs: food, domestication, age and breeding.
+ * <p>
+ * On the server, the values are kept in fields. Food and age change nearly every tick, so they
+ * are only sent to clients in coarse steps which clients can actually see: food in
+ * {@link #FOOD_BUCKETS} steps, and age in steps of the growth in size while a child, or whole
+ * days once an adult. The values returned on the client are these rounded values.
+ *
  * @author CrowsOfWar
  */
 public class AnimalCondition {
 
+	/**
+	 * Amount of steps that food points are rounded to before being synced
+	 */
+	private static final int FOOD_BUCKETS = 20;
+
+	/**
+	 * Amount of steps that a child's age is rounded to before being synced; size grows in this
+	 * many steps
+	 */
+	private static final int GROWTH_BUCKETS = 64;
+
 	private final DataParameter<Float> syncFood;
 	private final DataParameter<Integer> syncDomestication;
 	private final DataParameter<Integer> syncAge;
@@ -37,6 +55,17 @@ public class AnimalCondition {
 	private int breedTimer;
 	private boolean sterile;
 
+	// Server-side values
+	private float foodPoints;
+	private int domestication;
+	private int age;
+
+	/**
+	 * The values which were last sent to clients
+	 */
+	private float syncedFoodPoints = Float.NaN;
+	private int syncedAge;
+
 	public AnimalCondition(EntityCreature animal, float maxFoodPoints, float foodRegenPoints,
 						   DataParameter<Float> syncFood, DataParameter<Integer> syncDomestication,
 						   DataParameter<Integer> syncAge) {
@@ -51,6 +80,12 @@ public class AnimalCondition {
 		this.breedTimer = -1;
 		this.sterile = true;
 
+		// Data parameters have been registered with the starting values by now
+		this.foodPoints = animal.getDataManager().get(syncFood);
+		this.domestication = animal.getDataManager().get(syncDomestication);
+		this.age = animal.getDataManager().get(syncAge);
+		this.syncedAge = age;
+
 	}
 
 	public void writeToNbt(NBTTagCompound nbt) {
@@ -71,6 +106,12 @@ public class AnimalCondition {
 	}
 
 	public void onUpdate() {
+
+		// Clients only see the synced values
+		if (animal.world.isRemote) {
+			return;
+		}
+
 		float distance = animal.distanceWalkedModified;
 		// Rarely, an error can occur where distance is NaN (divide by 0)
 		if (Float.isNaN(distance)) {
@@ -81,19 +122,21 @@ public class AnimalCondition {
 
 		lastDistance = distance;
 
-		if (!animal.world.isRemote) {
-			boolean enoughFood = getFoodPoints() >= foodRegenPoints;
-			boolean correctTime = animal.ticksExisted % 40 == 0;
-			if (enoughFood && correctTime) {
-				animal.heal(1);
-				addHunger(1);
-			}
-			addAge(1);
-			if (!isSterile() && isAdult()) {
-				addBreedTimer(-1);
-			}
+		boolean enoughFood = getFoodPoints() >= foodRegenPoints;
+		boolean correctTime = animal.ticksExisted % 40 == 0;
+		if (enoughFood && correctTime) {
+			animal.heal(1);
+			addHunger(1);
 		}
+		addAge(1);
+		if (!isSterile() && isAdult()) {
+			addBreedTimer(-1);
+		}
+
+	}
 
+	private boolean isClient() {
+		return animal.world.isRemote;
 	}
 
 	// ================================================================================
@@ -101,13 +144,16 @@ public class AnimalCondition {
 	// ================================================================================
 
 	public int getDomestication() {
-		return animal.getDataManager().get(syncDomestication);
+		return isClient() ? animal.getDataManager().get(syncDomestication) : domestication;
 	}
 
 	public void setDomestication(int domestication) {
 		if (domestication < 0) domestication = 0;
 		if (domestication > 1000) domestication = 1000;
-		animal.getDataManager().set(syncDomestication, domestication);
+		if (domestication != this.domestication) {
+			this.domestication = domestication;
+			animal.getDataManager().set(syncDomestication, domestication);
+		}
 	}
 
 	public void addDomestication(int domestication) {
@@ -146,11 +192,18 @@ public class AnimalCondition {
 	// ================================================================================
 
 	public float getFoodPoints() {
-		return animal.getDataManager().get(syncFood);
+		return isClient() ? animal.getDataManager().get(syncFood) : foodPoints;
 	}
 
 	public void setFoodPoints(float points) {
-		animal.getDataManager().set(syncFood, points);
+		foodPoints = points;
+
+		// Round up so that the client sees no food only when there really is none
+		float synced = (float) Math.ceil(points / maxFoodPoints * FOOD_BUCKETS) * maxFoodPoints / FOOD_BUCKETS;
+		if (synced != syncedFoodPoints) {
+			syncedFoodPoints = synced;
+			animal.getDataManager().set(syncFood, synced);
+		}
 	}
 
 	/**
@@ -190,12 +243,21 @@ public class AnimalCondition {
 	 * Gets the age in ticks
 	 */
 	public int getAge() {
-		return animal.getDataManager().get(syncAge);
+		return isClient() ? animal.getDataManager().get(syncAge) : age;
 	}
 
 	public void setAge(int age) {
 		if (age < 0) age = 0;
-		animal.getDataManager().set(syncAge, age);
+		this.age = age;
+
+		// Adult age is a whole amount of days, so the synced age is only adult once really adult
+		int adultTicks = getAdultAge() * 24000;
+		int bucket = age < adultTicks ? adultTicks / GROWTH_BUCKETS : 24000;
+		int synced = age - age % bucket;
+		if (synced != syncedAge) {
+			syncedAge = synced;
+			animal.getDataManager().set(syncAge, synced);
+		}
 	}
 
 	public void addAge(int age) {
@@ -211,7 +273,9 @@ public class AnimalCondition {
 	}
 
 	public float getSizeMultiplier() {
-		return isAdult() ? 1 : 0.1f + getAgeDays() / getAdultAge() * 0.9f;
+		// Use the synced age on both sides, so that the server and client agree on the size
+		float ageDays = (isClient() ? animal.getDataManager().get(syncAge) : syncedAge) / 24000f;
+		return ageDays >= getAdultAge() ? 1 : 0.1f + ageDays / getAdultAge() * 0.9f;
 	}
 
 	public boolean isAdult() {
@@ -16,28 +16,549 @@
 */
 package com.crowsofwar.avatar.common.entity.data;
 
+import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.bending.BendingStyle;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.data.AbilityData;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.data.DataCategory;
+import com.crowsofwar.avatar.common.data.PowerRatingManager;
+import com.crowsofwar.avatar.common.data.TickHandler;
+import com.crowsofwar.avatar.common.data.Vision;
 import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import javax.annotation.Nullable;
+import java.util.*;
 
 /**
+ * Bending data of a mob. Mobs start out with the abilities in their {@link NpcBendingProfile},
+ * which is shared by every mob of that kind; ability data is only created once the mob actually
+ * uses the ability, and only saved if it differs from the profile. Other than that, only the
+ * state which changes during a fight is kept: chi, ability cooldown, status controls and tick
+ * handlers.
+ * <p>
+ * Mobs don't have the collections of a player's bending data. Ability data, status controls and
+ * tick handlers are kept in small collections here, which are only created when they are needed.
+ * If the mob is given bending styles or visions, which the compact format can't describe, it is
+ * promoted: the full collections are created, the compact state is moved into them, and the mob
+ * is saved the same way as a player from then on.
+ *
  * @author CrowsOfWar
  */
 public class EntityBenderData extends BendingData {
 
 	private final EntityLivingBase entity;
+	private final NpcBendingProfile profile;
+
+	/**
+	 * Whether this mob has been promoted to a full profile, so the state is kept by the superclass
+	 * and must be saved in the full format
+	 */
+	private boolean promoted;
+
+	// Compact state; only used until the mob is promoted, and null while empty
+	private Map<String, AbilityData> abilities;
+	private List<StatusControl> statusControls;
+	private Map<TickHandler, Integer> tickHandlers;
 
-	public EntityBenderData(EntityLivingBase entity) {
+	public EntityBenderData(EntityLivingBase entity, NpcBendingProfile profile) {
 		super(dataCategory -> {
 		}, () -> {
-		});
+		}, false);
 		// Entities are saved automatically; no dirty flag etc.
 
 		this.entity = entity;
+		this.profile = profile;
 	}
 
 	@Override
 	public void save(DataCategory category) {
 	}
 
+	public NpcBendingProfile getProfile() {
+		return profile;
+	}
+
+	public boolean isPromoted() {
+		return promoted;
+	}
+
+	/**
+	 * Creates the full collections and moves the compact state into them.
+	 */
+	private void promote() {
+
+		if (promoted) {
+			return;
+		}
+		promoted = true;
+		createCollections();
+
+		if (abilities != null) {
+			super.setAbilityDataMap(abilities);
+		}
+		if (statusControls != null) {
+			super.setAllStatusControls(statusControls);
+		}
+		if (tickHandlers != null) {
+			for (Map.Entry<TickHandler, Integer> entry : tickHandlers.entrySet()) {
+				super.addTickHandler(entry.getKey());
+				super.setTickHandlerDuration(entry.getKey(), entry.getValue());
+			}
+		}
+
+		abilities = null;
+		statusControls = null;
+		tickHandlers = null;
+
+	}
+
+	// Bending styles and visions; mobs without them don't need anything stored
+
+	@Override
+	public boolean hasBendingId(UUID bendingId) {
+		return promoted && super.hasBendingId(bendingId);
+	}
+
+	@Override
+	public void addBendingId(UUID bendingId) {
+		promote();
+		super.addBendingId(bendingId);
+	}
+
+	@Override
+	public void removeBendingId(UUID bendingId) {
+		if (promoted) {
+			super.removeBendingId(bendingId);
+		}
+	}
+
+	@Override
+	public List<BendingStyle> getAllBending() {
+		return promoted ? super.getAllBending() : new ArrayList<>();
+	}
+
+	@Override
+	public List<UUID> getAllBendingIds() {
+		return promoted ? super.getAllBendingIds() : new ArrayList<>();
+	}
+
+	@Override
+	public void setAllBendingIds(List<UUID> bendingIds) {
+		if (!bendingIds.isEmpty()) {
+			promote();
+		}
+		if (promoted) {
+			super.setAllBendingIds(bendingIds);
+		}
+	}
+
+	@Override
+	public void clearBending() {
+		if (promoted) {
+			super.clearBending();
+		}
+	}
+
+	@Nullable
+	@Override
+	public UUID getActiveBendingId() {
+		return promoted ? super.getActiveBendingId() : null;
+	}
+
+	@Override
+	public void setActiveBendingId(UUID id) {
+		if (promoted) {
+			super.setActiveBendingId(id);
+		}
+	}
+
+	@Nullable
+	@Override
+	public PowerRatingManager getPowerRatingManager(UUID bendingId) {
+		return promoted ? super.getPowerRatingManager(bendingId) : null;
+	}
+
+	@Override
+	public List<PowerRatingManager> getPowerRatingManagers() {
+		return promoted ? super.getPowerRatingManagers() : Collections.emptyList();
+	}
+
+	@Override
+	public void setVision(@Nullable Vision vision) {
+		if (vision != null) {
+			promote();
+		}
+		super.setVision(vision);
+	}
+
+	// Status controls
+
+	@Override
+	public boolean hasStatusControl(StatusControl control) {
+		if (promoted) {
+			return super.hasStatusControl(control);
+		}
+		return statusControls != null && statusControls.contains(control);
+	}
+
+	@Override
+	public void addStatusControl(StatusControl control) {
+		if (promoted) {
+			super.addStatusControl(control);
+		} else if (statusControls == null) {
+			statusControls = new ArrayList<>(2);
+			statusControls.add(control);
+		} else if (!statusControls.contains(control)) {
+			statusControls.add(control);
+		}
+	}
+
+	@Override
+	public void removeStatusControl(StatusControl control) {
+		if (promoted) {
+			super.removeStatusControl(control);
+		} else if (statusControls != null && statusControls.remove(control) && statusControls
+				.isEmpty()) {
+			statusControls = null;
+		}
+	}
+
+	@Override
+	public List<StatusControl> getAllStatusControls() {
+		if (promoted) {
+			return super.getAllStatusControls();
+		}
+		return statusControls == null ? new ArrayList<>() : new ArrayList<>(statusControls);
+	}
+
+	@Override
+	public void setAllStatusControls(List<StatusControl> controls) {
+		if (promoted) {
+			super.setAllStatusControls(controls);
+		} else {
+			clearStatusControls();
+			controls.forEach(this::addStatusControl);
+		}
+	}
+
+	@Override
+	public void clearStatusControls() {
+		if (promoted) {
+			super.clearStatusControls();
+		} else {
+			statusControls = null;
+		}
+	}
+
+	// Ability data
+
+	@Override
+	public boolean hasAbilityData(String abilityName) {
+		return profile.hasAbility(abilityName) || hasCreatedAbilityData(abilityName);
+	}
+
+	private boolean hasCreatedAbilityData(String abilityName) {
+		if (promoted) {
+			return super.hasAbilityData(abilityName);
+		}
+		return abilities != null && abilities.containsKey(abilityName);
+	}
+
+	@Override
+	public AbilityData getAbilityData(String abilityName) {
+		if (!hasCreatedAbilityData(abilityName)) {
+			setAbilityData(abilityName, profile.hasAbility(abilityName)
+					? profile.createAbilityData(this, abilityName)
+					: new AbilityData(this, Abilities.get(abilityName)));
+		}
+		return promoted ? super.getAbilityData(abilityName) : abilities.get(abilityName);
+	}
+
+	@Override
+	public void setAbilityData(String abilityName, AbilityData data) {
+		if (promoted) {
+			super.setAbilityData(abilityName, data);
+		} else {
+			if (abilities == null) {
+				abilities = new HashMap<>();
+			}
+			abilities.put(abilityName, data);
+		}
+	}
+
+	@Override
+	public List<AbilityData> getAllAbilityData() {
+		createProfileAbilityData();
+		return getCreatedAbilityData();
+	}
+
+	@Override
+	public Map<String, AbilityData> getAbilityDataMap() {
+		createProfileAbilityData();
+		if (promoted) {
+			return super.getAbilityDataMap();
+		}
+		return abilities == null ? new HashMap<>() : new HashMap<>(abilities);
+	}
+
+	@Override
+	public void setAbilityDataMap(Map<String, AbilityData> map) {
+		if (promoted) {
+			super.setAbilityDataMap(map);
+		} else {
+			abilities = map.isEmpty() ? null : new HashMap<>(map);
+		}
+	}
+
+	@Override
+	public void clearAbilityData() {
+		if (promoted) {
+			super.clearAbilityData();
+		} else {
+			abilities = null;
+		}
+	}
+
+	/**
+	 * Ensures that ability data exists for every ability in the profile, which is only necessary
+	 * when all ability data is looked at.
+	 */
+	private void createProfileAbilityData() {
+		for (String abilityName : profile.getAbilityNames()) {
+			getAbilityData(abilityName);
+		}
+	}
+
+	/**
+	 * Gets the ability data which was actually created, without creating the rest.
+	 */
+	private List<AbilityData> getCreatedAbilityData() {
+		if (promoted) {
+			return super.getAllAbilityData();
+		}
+		return abilities == null ? new ArrayList<>() : new ArrayList<>(abilities.values());
+	}
+
+	// Tick handlers
+
+	@Override
+	public boolean hasTickHandler(TickHandler handler) {
+		if (promoted) {
+			return super.hasTickHandler(handler);
+		}
+		return tickHandlers != null && tickHandlers.containsKey(handler);
+	}
+
+	@Override
+	public int getTickHandlerDuration(TickHandler handler) {
+		if (promoted) {
+			return super.getTickHandlerDuration(handler);
+		}
+		return tickHandlers == null ? -1 : tickHandlers.getOrDefault(handler, -1);
+	}
+
+	@Override
+	public void setTickHandlerDuration(TickHandler handler, int duration) {
+		if (promoted) {
+			super.setTickHandlerDuration(handler, duration);
+		} else if (hasTickHandler(handler)) {
+			tickHandlers.put(handler, duration);
+		}
+	}
+
+	@Override
+	public void addTickHandler(TickHandler handler) {
+		if (promoted) {
+			super.addTickHandler(handler);
+		} else {
+			if (tickHandlers == null) {
+				tickHandlers = new HashMap<>(4);
+			}
+			tickHandlers.putIfAbsent(handler, 0);
+		}
+	}
+
+	@Override
+	public void removeTickHandler(TickHandler handler) {
+		if (promoted) {
+			super.removeTickHandler(handler);
+		} else if (tickHandlers != null && tickHandlers.remove(handler) != null && tickHandlers
+				.isEmpty()) {
+			tickHandlers = null;
+		}
+	}
+
+	@Override
+	public boolean hasTickHandlers() {
+		return promoted ? super.hasTickHandlers() : tickHandlers != null;
+	}
+
+	@Override
+	public List<TickHandler> getAllTickHandlers() {
+		if (promoted) {
+			return super.getAllTickHandlers();
+		}
+		return tickHandlers == null ? new ArrayList<>() : new ArrayList<>(tickHandlers.keySet());
+	}
+
+	@Override
+	public void setAllTickHandlers(List<TickHandler> handlers) {
+		if (promoted) {
+			super.setAllTickHandlers(handlers);
+		} else {
+			clearTickHandlers();
+			handlers.forEach(this::addTickHandler);
+		}
+	}
+
+	@Override
+	public void clearTickHandlers() {
+		if (promoted) {
+			super.clearTickHandlers();
+		} else {
+			tickHandlers = null;
+		}
+	}
+
+	// Saving
+
+	@Override
+	public void writeToNbt(NBTTagCompound writeTo) {
+
+		if (promoted) {
+			super.writeToNbt(writeTo);
+			return;
+		}
+
+		NBTTagCompound nbt = new NBTTagCompound();
+
+		// Only go through ability data which was actually created, to avoid creating the rest
+		NBTTagList abilityList = new NBTTagList();
+		for (AbilityData abilityData : getCreatedAbilityData()) {
+			if (!profile.isUnchanged(abilityData)) {
+				NBTTagCompound abilityNbt = new NBTTagCompound();
+				abilityNbt.setString("Name", abilityData.getAbilityName());
+				abilityData.writeToNbt(abilityNbt);
+				abilityList.appendTag(abilityNbt);
+			}
+		}
+		if (!abilityList.hasNoTags()) {
+			nbt.setTag("Abilities", abilityList);
+		}
+
+		if (chi().getMaxChi() != 0 || chi().getTotalChi() != 0) {
+			chi().writeToNBT(nbt);
+		}
+
+		int cooldown = getMiscData().getAbilityCooldown();
+		if (cooldown != 0) {
+			nbt.setInteger("Cooldown", cooldown);
+		}
+		if (!getMiscData().getCanUseAbilities()) {
+			nbt.setBoolean("CannotUseAbilities", true);
+		}
+
+		List<StatusControl> controls = getAllStatusControls();
+		if (!controls.isEmpty()) {
+			nbt.setIntArray("StatusControls", controls.stream().mapToInt(StatusControl::id).toArray());
+		}
+
+		List<TickHandler> handlers = getAllTickHandlers();
+		if (!handlers.isEmpty()) {
+			nbt.setIntArray("TickHandlers", handlers.stream().mapToInt(TickHandler::id).toArray());
+		}
+
+		double performance = getPerformance().getScore();
+		if (performance != 0) {
+			nbt.setDouble("Performance", performance);
+		}
+
+		writeTo.setTag("BendingProfile", nbt);
+
+	}
+
+	@Override
+	public void readFromNbt(NBTTagCompound readFrom) {
+
+		// Mobs saved before compact profiles existed, or which were promoted, use the full format
+		if (!readFrom.hasKey("BendingProfile")) {
+			readFullFormat(readFrom);
+			return;
+		}
+
+		NBTTagCompound nbt = readFrom.getCompoundTag("BendingProfile");
+
+		NBTTagList abilityList = nbt.getTagList("Abilities", 10);
+		for (int i = 0; i < abilityList.tagCount(); i++) {
+			NBTTagCompound abilityNbt = abilityList.getCompoundTagAt(i);
+			String abilityName = abilityNbt.getString("Name");
+			AbilityData abilityData = new AbilityData(this, abilityName);
+			abilityData.readFromNbt(abilityNbt);
+			setAbilityData(abilityName, abilityData);
+		}
+
+		chi().readFromNBT(nbt);
+
+		getMiscData().setAbilityCooldown(nbt.getInteger("Cooldown"));
+		getMiscData().setCanUseAbilities(!nbt.getBoolean("CannotUseAbilities"));
+
+		clearStatusControls();
+		for (int id : nbt.getIntArray("StatusControls")) {
+			StatusControl statusControl = StatusControl.lookup(id);
+			if (statusControl != null) {
+				addStatusControl(statusControl);
+			}
+		}
+
+		clearTickHandlers();
+		for (int id : nbt.getIntArray("TickHandlers")) {
+			TickHandler tickHandler = TickHandler.fromId(id);
+			if (tickHandler != null) {
+				addTickHandler(tickHandler);
+			}
+		}
+
+		getPerformance().setScore(nbt.getDouble("Performance"));
+
+	}
+
+	/**
+	 * Reads data which was saved in the full format. Unless the mob actually needs to be promoted,
+	 * the data is read into a temporary bending data first, and then only the compact state is
+	 * taken from it.
+	 */
+	private void readFullFormat(NBTTagCompound readFrom) {
+
+		BendingData full = new BendingData(category -> {
+		}, () -> {
+		});
+		full.readFromNbt(readFrom);
+
+		if (promoted || !full.getAllBendingIds().isEmpty()) {
+			promote();
+			super.readFromNbt(readFrom);
+			return;
+		}
+
+		clearAbilityData();
+		for (AbilityData fullAbilityData : full.getAllAbilityData()) {
+			NBTTagCompound abilityNbt = new NBTTagCompound();
+			fullAbilityData.writeToNbt(abilityNbt);
+			AbilityData abilityData = new AbilityData(this, fullAbilityData.getAbilityName());
+			abilityData.readFromNbt(abilityNbt);
+			setAbilityData(abilityData.getAbilityName(), abilityData);
+		}
+
+		chi().readFromNBT(readFrom);
+		getMiscData().setAbilityCooldown(full.getMiscData().getAbilityCooldown());
+		getMiscData().setCanUseAbilities(full.getMiscData().getCanUseAbilities());
+		setAllStatusControls(full.getAllStatusControls());
+		setAllTickHandlers(full.getAllTickHandlers());
+		getPerformance().setScore(full.getPerformance().getScore());
+
+	}
+
 }
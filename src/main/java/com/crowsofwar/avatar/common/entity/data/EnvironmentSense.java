@@ -0,0 +1,153 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.entity.data;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.*;
+
+import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
+
+/**
+ * Samples the surroundings of an entity (rain, fire and lava) only every few ticks or when the
+ * entity moves into a new block, instead of every tick. The last results are kept in between
+ * samples.
+ * <p>
+ * Rain is cached per block column for the current tick and shared by all entities in the same
+ * world, so a burst of flames only checks each column once.
+ *
+ * @author CrowsOfWar
+ */
+public class EnvironmentSense {
+
+	private static final Map<World, RainCache> rainCaches = Collections.synchronizedMap(new
+			WeakHashMap<>());
+
+	private final Entity entity;
+
+	private long lastSampledPos;
+	private int lastSampledTick;
+	private boolean inRain, touchingFire;
+
+	public EnvironmentSense(Entity entity) {
+		this.entity = entity;
+		this.lastSampledPos = Long.MIN_VALUE;
+		this.lastSampledTick = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Re-samples the surroundings if the entity moved into another block or the
+	 * {@link com.crowsofwar.avatar.common.config.ConfigStats#environmentCheckInterval interval}
+	 * has passed. Should be called every tick.
+	 *
+	 * @param sensesRain Whether to check for rain at all; entities which don't react to rain
+	 *                   should pass false
+	 * @param sensesFire Whether to check for fire and lava at all
+	 */
+	public void update(boolean sensesRain, boolean sensesFire) {
+
+		if (!sensesRain && !sensesFire) {
+			inRain = false;
+			touchingFire = false;
+			return;
+		}
+
+		long pos = entity.getPosition().toLong();
+		int interval = Math.max(1, STATS_CONFIG.environmentCheckInterval);
+		if (pos == lastSampledPos && entity.ticksExisted - lastSampledTick < interval) {
+			return;
+		}
+		lastSampledPos = pos;
+		lastSampledTick = entity.ticksExisted;
+
+		World world = entity.world;
+		inRain = sensesRain && isRainingAt(world, entity.getPosition());
+		touchingFire = sensesFire && world.isFlammableWithin(entity.getEntityBoundingBox().shrink(0.001));
+
+	}
+
+	public boolean isInRain() {
+		return inRain;
+	}
+
+	public boolean isTouchingFire() {
+		return touchingFire;
+	}
+
+	/**
+	 * Same as {@link World#isRainingAt(BlockPos)}, but only checks each column once per tick.
+	 * The column is checked at the lowest position exposed to rain, so any position at or above
+	 * that is considered to be in the rain.
+	 */
+	private static boolean isRainingAt(World world, BlockPos pos) {
+
+		if (!world.isRaining()) {
+			return false;
+		}
+
+		RainCache cache = rainCaches.get(world);
+		if (cache == null) {
+			cache = new RainCache();
+			rainCaches.put(world, cache);
+		}
+
+		long time = world.getTotalWorldTime();
+		if (cache.time != time) {
+			cache.time = time;
+			cache.columns.clear();
+		}
+
+		long column = ChunkPos.asLong(pos.getX(), pos.getZ());
+		int lowestRainY = cache.columns.get(column);
+		if (lowestRainY == RainCache.UNKNOWN) {
+			int skyY = world.getHeight(pos.getX(), pos.getZ());
+			int precipitationY = world.getPrecipitationHeight(pos).getY();
+			BlockPos exposed = new BlockPos(pos.getX(), Math.max(skyY, precipitationY), pos.getZ());
+			lowestRainY = world.isRainingAt(exposed) ? exposed.getY() : Integer.MAX_VALUE;
+			cache.columns.put(column, lowestRainY);
+		}
+
+		return pos.getY() >= lowestRainY;
+
+	}
+
+	private static class RainCache {
+
+		/**
+		 * Returned for columns which weren't checked yet this tick
+		 */
+		private static final int UNKNOWN = Integer.MIN_VALUE;
+
+		/**
+		 * Lowest Y exposed to rain of each column, keyed by packed column position. Primitive, so
+		 * checking a column doesn't box anything.
+		 */
+		private final Long2IntOpenHashMap columns = new Long2IntOpenHashMap();
+		private long time = -1;
+
+		private RainCache() {
+			columns.defaultReturnValue(UNKNOWN);
+		}
+
+	}
+
+}
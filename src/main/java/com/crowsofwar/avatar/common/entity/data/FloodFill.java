@@ -0,0 +1,369 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.entity.data;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * A flood fill which spreads outwards from an origin through blocks matching a predicate, up to
+ * a maximum radius. Some work is done each tick, limited by a time budget rather than a fixed
+ * amount of blocks.
+ * <p>
+ * Blocks are handled as packed longs: visited blocks are kept in an open-addressed hash set, and
+ * the blocks to process in a bucket queue ordered by distance from the origin, so the fill grows
+ * evenly as a sphere. Besides reading block states, the fill doesn't allocate anything per block.
+ * <p>
+ * Users can find out which blocks were reached in the last tick through
+ * {@link #getFilledBoundsThisTick()} and {@link #wasFilledThisTick(int, int, int)}, e.g. to look
+ * up entities with a single query per tick.
+ *
+ * @author CrowsOfWar
+ */
+public class FloodFill {
+
+	/**
+	 * Once the server takes this many milliseconds per tick, the fill only processes the minimum
+	 * amount of blocks.
+	 */
+	private static final double OVERLOADED_MSPT = 50;
+	/**
+	 * Below this many milliseconds per tick, the full budget is used.
+	 */
+	private static final double HEALTHY_MSPT = 25;
+
+	private final World world;
+	private final Predicate<IBlockState> canSpread;
+	private final int originX, originY, originZ;
+	private final int radius, radiusSq;
+
+	private final LongSet visited;
+	private final LongBucketQueue queue;
+	private final LongSet filledThisTick;
+	private final BlockPos.MutableBlockPos mutablePos;
+
+	private int minX, minY, minZ, maxX, maxY, maxZ;
+
+	/**
+	 * @param origin    Where the fill starts. This block is always filled.
+	 * @param radius    Maximum distance from the origin
+	 * @param canSpread Whether the fill can spread into a block with that state
+	 */
+	public FloodFill(World world, BlockPos origin, int radius, Predicate<IBlockState> canSpread) {
+		this.world = world;
+		this.canSpread = canSpread;
+		this.originX = origin.getX();
+		this.originY = origin.getY();
+		this.originZ = origin.getZ();
+		this.radius = radius;
+		this.radiusSq = radius * radius;
+
+		this.visited = new LongSet(64);
+		this.queue = new LongBucketQueue(radius + 1);
+		this.filledThisTick = new LongSet(32);
+		this.mutablePos = new BlockPos.MutableBlockPos();
+
+		long packed = pack(originX, originY, originZ);
+		visited.add(packed);
+		queue.add(packed, 0);
+	}
+
+	/**
+	 * Gets a per-tick time budget for flood fills, which shrinks as the server's mean tick time
+	 * rises. Returns the full budget on the client or if the tick time is unknown.
+	 *
+	 * @param budgetMicros Budget for a healthy server, in microseconds
+	 * @return Budget in nanoseconds
+	 */
+	public static long getAdaptiveBudget(World world, int budgetMicros) {
+
+		MinecraftServer server = world.getMinecraftServer();
+		long budgetNanos = budgetMicros * 1000L;
+		if (world.isRemote || server == null) {
+			return budgetNanos;
+		}
+
+		long total = 0;
+		for (long tickTime : server.tickTimeArray) {
+			total += tickTime;
+		}
+		double mspt = total / (double) server.tickTimeArray.length / 1000000;
+
+		double factor = (OVERLOADED_MSPT - mspt) / (OVERLOADED_MSPT - HEALTHY_MSPT);
+		factor = Math.max(0, Math.min(1, factor));
+		return (long) (budgetNanos * factor);
+
+	}
+
+	/**
+	 * Continues the flood fill until it is finished or the time budget runs out. At least one
+	 * block is processed each tick, so the fill always progresses. Returns true if the flood fill
+	 * has finished.
+	 */
+	public boolean tick(long budgetNanos) {
+
+		filledThisTick.clear();
+		minX = minY = minZ = Integer.MAX_VALUE;
+		maxX = maxY = maxZ = Integer.MIN_VALUE;
+
+		long deadline = System.nanoTime() + budgetNanos;
+		int processed = 0;
+		while (!queue.isEmpty()) {
+			processBlock(queue.poll());
+			processed++;
+			// Checking the time is relatively costly, so only do that every few blocks
+			if ((processed & 7) == 0 && System.nanoTime() >= deadline) {
+				break;
+			}
+		}
+
+		return queue.isEmpty();
+
+	}
+
+	public boolean isFinished() {
+		return queue.isEmpty();
+	}
+
+	/**
+	 * Whether any blocks were filled during the last tick.
+	 */
+	public boolean hasFilledThisTick() {
+		return filledThisTick.size() > 0;
+	}
+
+	/**
+	 * Gets a bounding box enclosing all blocks filled during the last tick. Only valid if
+	 * {@link #hasFilledThisTick()} is true.
+	 */
+	public AxisAlignedBB getFilledBoundsThisTick() {
+		return new AxisAlignedBB(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1);
+	}
+
+	/**
+	 * Whether that block was filled during the last tick.
+	 */
+	public boolean wasFilledThisTick(int x, int y, int z) {
+		return filledThisTick.contains(pack(x, y, z));
+	}
+
+	/**
+	 * Whether that block has been reached by the flood fill, and was either filled already or
+	 * will be filled.
+	 */
+	public boolean isVisited(int x, int y, int z) {
+		return visited.contains(pack(x, y, z));
+	}
+
+	private void processBlock(long packed) {
+
+		int x = unpackX(packed), y = unpackY(packed), z = unpackZ(packed);
+
+		filledThisTick.add(packed);
+		minX = Math.min(minX, x);
+		minY = Math.min(minY, y);
+		minZ = Math.min(minZ, z);
+		maxX = Math.max(maxX, x);
+		maxY = Math.max(maxY, y);
+		maxZ = Math.max(maxZ, z);
+
+		trySpread(x + 1, y, z);
+		trySpread(x - 1, y, z);
+		trySpread(x, y + 1, z);
+		trySpread(x, y - 1, z);
+		trySpread(x, y, z + 1);
+		trySpread(x, y, z - 1);
+
+	}
+
+	private void trySpread(int x, int y, int z) {
+
+		int dx = x - originX, dy = y - originY, dz = z - originZ;
+		int distSq = dx * dx + dy * dy + dz * dz;
+		if (distSq > radiusSq) {
+			return;
+		}
+
+		long packed = pack(x, y, z);
+		if (visited.contains(packed)) {
+			return;
+		}
+
+		mutablePos.setPos(x, y, z);
+		if (!world.isBlockLoaded(mutablePos)) {
+			return;
+		}
+
+		if (canSpread.test(world.getBlockState(mutablePos))) {
+			visited.add(packed);
+			queue.add(packed, Math.min(radius, (int) Math.sqrt(distSq)));
+		}
+
+	}
+
+	/**
+	 * Packs the position into a long, using the same layout as {@link BlockPos#toLong()}.
+	 */
+	private static long pack(int x, int y, int z) {
+		return ((long) x & 0x3FFFFFF) << 38 | ((long) y & 0xFFF) << 26 | ((long) z & 0x3FFFFFF);
+	}
+
+	private static int unpackX(long packed) {
+		return (int) (packed >> 38);
+	}
+
+	private static int unpackY(long packed) {
+		return (int) (packed << 26 >> 52);
+	}
+
+	private static int unpackZ(long packed) {
+		return (int) (packed << 38 >> 38);
+	}
+
+	/**
+	 * Set of longs using open addressing with linear probing.
+	 */
+	private static class LongSet {
+
+		/**
+		 * Marks an empty slot. Can't be a real packed position since it lies outside the world
+		 * border.
+		 */
+		private static final long EMPTY = Long.MIN_VALUE;
+
+		private long[] slots;
+		private int size;
+
+		LongSet(int expected) {
+			int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+			slots = new long[capacity];
+			Arrays.fill(slots, EMPTY);
+		}
+
+		boolean contains(long value) {
+			int mask = slots.length - 1;
+			for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+				long slot = slots[i];
+				if (slot == value) return true;
+				if (slot == EMPTY) return false;
+			}
+		}
+
+		void add(long value) {
+			if ((size + 1) * 2 > slots.length) {
+				rehash(slots.length * 2);
+			}
+			int mask = slots.length - 1;
+			for (int i = hash(value) & mask; ; i = (i + 1) & mask) {
+				long slot = slots[i];
+				if (slot == value) return;
+				if (slot == EMPTY) {
+					slots[i] = value;
+					size++;
+					return;
+				}
+			}
+		}
+
+		void clear() {
+			if (size > 0) {
+				Arrays.fill(slots, EMPTY);
+				size = 0;
+			}
+		}
+
+		int size() {
+			return size;
+		}
+
+		private void rehash(int capacity) {
+			long[] old = slots;
+			slots = new long[capacity];
+			Arrays.fill(slots, EMPTY);
+			size = 0;
+			for (long value : old) {
+				if (value != EMPTY) add(value);
+			}
+		}
+
+		private static int hash(long value) {
+			long h = value * 0x9E3779B97F4A7C15L;
+			return (int) (h ^ (h >>> 32));
+		}
+
+	}
+
+	/**
+	 * Queue of longs sorted into buckets by a small integer priority (lowest first). Values in the
+	 * same bucket are returned in insertion order.
+	 */
+	private static class LongBucketQueue {
+
+		private final long[][] buckets;
+		private final int[] heads, tails;
+		private int lowest;
+		private int size;
+
+		LongBucketQueue(int priorities) {
+			buckets = new long[priorities][];
+			heads = new int[priorities];
+			tails = new int[priorities];
+			for (int i = 0; i < priorities; i++) {
+				buckets[i] = new long[16];
+			}
+			lowest = priorities;
+		}
+
+		void add(long value, int priority) {
+			long[] bucket = buckets[priority];
+			if (tails[priority] == bucket.length) {
+				// Reclaim space of already polled values before growing
+				int remaining = tails[priority] - heads[priority];
+				long[] target = remaining * 2 > bucket.length ? new long[bucket.length * 2] : bucket;
+				System.arraycopy(bucket, heads[priority], target, 0, remaining);
+				buckets[priority] = bucket = target;
+				heads[priority] = 0;
+				tails[priority] = remaining;
+			}
+			bucket[tails[priority]++] = value;
+			lowest = Math.min(lowest, priority);
+			size++;
+		}
+
+		long poll() {
+			while (heads[lowest] == tails[lowest]) {
+				heads[lowest] = tails[lowest] = 0;
+				lowest++;
+			}
+			size--;
+			return buckets[lowest][heads[lowest]++];
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+	}
+
+}
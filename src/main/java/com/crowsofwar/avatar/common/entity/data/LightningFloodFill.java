@@ -2,18 +2,23 @@ package com.crowsofwar.avatar.common.entity.data;
 
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.init.Blocks;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
 
-import java.util.*;
+import java.util.List;
 import java.util.function.Consumer;
 
+import static com.crowsofwar.avatar.common.config.ConfigStats.STATS_CONFIG;
+
 /**
  * Manages lightning hurting nearby entities when in water, by using a flood-fill algorithm,
  * where some computation is done each tick.
  * <p>
+ * Entities are found with one query per tick over the area which was filled that tick, instead
+ * of one query per water block.
+ * <p>
  * This should be used on the server side
  *
  * @author CrowsOfWar
@@ -22,30 +27,14 @@ public class LightningFloodFill {
 
 	private final World world;
 	private final Consumer<EntityLivingBase> entityCallback;
-	private final BlockPos originalPos;
-	private final int expansionSq;
-
-	/**
-	 * Queue of water blocks to process
-	 */
-	private final Queue<BlockPos> waterBlocksQueue;
-	/**
-	 * Any BlockPos's which shouldn't be processed - have either already been processed or queued
-	 * to be processed (in {@link #waterBlocksQueue})
-	 */
-	private final Set<BlockPos> processedBlocks;
+	private final FloodFill floodFill;
 
 	public LightningFloodFill(World world, BlockPos initialPos, int expansion,
 							  Consumer<EntityLivingBase> entityCallback) {
 		this.world = world;
-		this.waterBlocksQueue = new PriorityQueue<>(expansion * expansion * expansion);
-		this.processedBlocks = new TreeSet<>();
 		this.entityCallback = entityCallback;
-		this.originalPos = initialPos;
-		this.expansionSq = expansion * expansion;
-
-		waterBlocksQueue.add(initialPos);
-		processedBlocks.add(initialPos);
+		this.floodFill = new FloodFill(world, initialPos, expansion,
+				state -> state.getBlock() == Blocks.WATER);
 	}
 
 	/**
@@ -53,40 +42,47 @@ public class LightningFloodFill {
 	 */
 	public boolean tick() {
 
-		for (int i = 0; i < 20 && !waterBlocksQueue.isEmpty(); i++) {
-			processBlock();
+		if (floodFill.isFinished()) {
+			return true;
 		}
 
-		return waterBlocksQueue.isEmpty();
-
-	}
-
-	private void processBlock() {
-
-		BlockPos pos = waterBlocksQueue.poll();
-
-		// Detect entities at this BlockPos
+		long budget = FloodFill.getAdaptiveBudget(world, STATS_CONFIG.floodFillBudgetMicros);
+		boolean finished = floodFill.tick(budget);
 
-		List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class, new
-				AxisAlignedBB(pos));
-		for (EntityLivingBase entity : entities) {
-			entityCallback.accept(entity);
+		if (floodFill.hasFilledThisTick()) {
+			List<EntityLivingBase> entities = world.getEntitiesWithinAABB(EntityLivingBase.class,
+					floodFill.getFilledBoundsThisTick());
+			for (EntityLivingBase entity : entities) {
+				if (touchesFilledBlock(entity)) {
+					entityCallback.accept(entity);
+				}
+			}
 		}
 
-		// Add more BlockPos to check
-		for (EnumFacing facing : EnumFacing.values()) {
-			BlockPos searchPos = pos.offset(facing);
+		return finished;
 
-			if (searchPos.distanceSq(originalPos) <= expansionSq) {
-				boolean waterBlock = world.getBlockState(searchPos).getBlock() == Blocks.WATER;
-				boolean processedHere = processedBlocks.contains(searchPos);
-				if (waterBlock && !processedHere) {
-					waterBlocksQueue.add(searchPos);
-					processedBlocks.add(searchPos);
+	}
+
+	/**
+	 * Whether the entity's hitbox overlaps any block filled during this tick.
+	 */
+	private boolean touchesFilledBlock(EntityLivingBase entity) {
+
+		AxisAlignedBB box = entity.getEntityBoundingBox();
+		int minX = MathHelper.floor(box.minX), maxX = MathHelper.ceil(box.maxX) - 1;
+		int minY = MathHelper.floor(box.minY), maxY = MathHelper.ceil(box.maxY) - 1;
+		int minZ = MathHelper.floor(box.minZ), maxZ = MathHelper.ceil(box.maxZ) - 1;
+
+		for (int x = minX; x <= maxX; x++) {
+			for (int y = minY; y <= maxY; y++) {
+				for (int z = minZ; z <= maxZ; z++) {
+					if (floodFill.wasFilledThisTick(x, y, z)) {
+						return true;
+					}
 				}
 			}
-
 		}
+		return false;
 
 	}
 
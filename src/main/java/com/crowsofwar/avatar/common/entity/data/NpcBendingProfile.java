@@ -0,0 +1,112 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.entity.data;
+
+import com.crowsofwar.avatar.common.data.AbilityData;
+import com.crowsofwar.avatar.common.data.AbilityData.AbilityTreePath;
+import com.crowsofwar.avatar.common.data.BendingData;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Describes the abilities which every mob of one kind starts out with. One profile is shared by
+ * all mobs of that kind, so their {@link EntityBenderData} only needs to store what has changed
+ * since they were spawned.
+ * <p>
+ * Profiles can't be changed once they are built.
+ *
+ * @author CrowsOfWar
+ */
+public class NpcBendingProfile {
+
+	/**
+	 * A profile without any abilities, for mobs whose abilities aren't known in advance
+	 */
+	public static final NpcBendingProfile EMPTY = new NpcBendingProfile(Collections.emptyMap());
+
+	/**
+	 * Level which ability data has when it is created, which is locked
+	 */
+	private static final int DEFAULT_LEVEL = -1;
+
+	private final Map<String, Integer> abilityLevels;
+
+	private NpcBendingProfile(Map<String, Integer> abilityLevels) {
+		this.abilityLevels = Collections.unmodifiableMap(abilityLevels);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public boolean hasAbility(String abilityName) {
+		return abilityLevels.containsKey(abilityName);
+	}
+
+	public Set<String> getAbilityNames() {
+		return abilityLevels.keySet();
+	}
+
+	/**
+	 * Creates new ability data for the given ability, as a mob with this profile starts out with.
+	 */
+	public AbilityData createAbilityData(BendingData data, String abilityName) {
+		AbilityData abilityData = new AbilityData(data, abilityName);
+		abilityData.setLevel(abilityLevels.getOrDefault(abilityName, DEFAULT_LEVEL));
+		return abilityData;
+	}
+
+	/**
+	 * Returns whether the ability data is still the same as when it was created by
+	 * {@link #createAbilityData(BendingData, String)}, in which case it doesn't need to be saved.
+	 */
+	public boolean isUnchanged(AbilityData abilityData) {
+		int level = abilityLevels.getOrDefault(abilityData.getAbilityName(), DEFAULT_LEVEL);
+		// Reaching max level puts the ability on the first path, see AbilityData#checkPath
+		AbilityTreePath path = level == AbilityData.MAX_LEVEL ? AbilityTreePath.FIRST : AbilityTreePath.MAIN;
+		return abilityData.getLevel() == level && abilityData.getXp() == 0 && abilityData.getPath() == path;
+	}
+
+	public static class Builder {
+
+		private final Map<String, Integer> abilityLevels = new HashMap<>();
+
+		private Builder() {
+		}
+
+		/**
+		 * Adds the ability at its default level
+		 */
+		public Builder ability(String abilityName) {
+			return ability(abilityName, DEFAULT_LEVEL);
+		}
+
+		public Builder ability(String abilityName, int level) {
+			abilityLevels.put(abilityName, level);
+			return this;
+		}
+
+		public NpcBendingProfile build() {
+			return new NpcBendingProfile(new HashMap<>(abilityLevels));
+		}
+
+	}
+
+}
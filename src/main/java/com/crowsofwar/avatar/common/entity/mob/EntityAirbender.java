@@ -17,6 +17,7 @@
 package com.crowsofwar.avatar.common.entity.mob;
 
 import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.entity.data.NpcBendingProfile;
 import com.crowsofwar.avatar.common.item.ItemScroll.ScrollType;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
@@ -32,6 +33,12 @@ public class EntityAirbender extends EntityHumanBender {
 	public static final ResourceLocation LOOT_TABLE = LootTableList
 			.register(new ResourceLocation("avatarmod", "airbender"));
 
+	private static final NpcBendingProfile PROFILE = NpcBendingProfile.builder()
+			.ability("air_bubble")
+			.ability("air_gust")
+			.ability("airblade")
+			.build();
+
 	/**
 	 * @param world
 	 */
@@ -45,6 +52,11 @@ public class EntityAirbender extends EntityHumanBender {
 		this.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED).setBaseValue(0.35);
 	}
 
+	@Override
+	public NpcBendingProfile getBendingProfile() {
+		return PROFILE;
+	}
+
 	@Override
 	protected void addBendingTasks() {
 		this.tasks.addTask(1, Abilities.getAi("air_bubble", this, getBender()));
@@ -19,17 +19,46 @@ package com.crowsofwar.avatar.common.entity.mob;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.BenderEntityComponent;
 import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.entity.data.NpcBendingProfile;
+import com.crowsofwar.avatar.common.network.NetworkStats;
 import net.minecraft.entity.EntityCreature;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.datasync.DataParameter;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.World;
 
+import static com.crowsofwar.avatar.common.config.ConfigMobs.MOBS_CONFIG;
+
 /**
+ * A mob which can use bending.
+ * <p>
+ * Benders which {@link #canReduceActivity() allow it} are only fully updated while a player is
+ * close enough to notice them; see {@link ActivityTier}.
+ *
  * @author CrowsOfWar
  */
 public abstract class EntityBender extends EntityCreature {
 
+	/**
+	 * How often, in ticks, the activity tier is re-checked
+	 */
+	private static final int TIER_CHECK_INTERVAL = 20;
+
+	/**
+	 * While idle, bending is updated once every this many ticks
+	 */
+	private static final int IDLE_UPDATE_INTERVAL = 10;
+
 	private Bender bender;
 
+	private ActivityTier activityTier = ActivityTier.ACTIVE;
+
+	/**
+	 * Amount of ticks since bending was last updated, which will be caught up on next update
+	 */
+	private int skippedTicks;
+
 	/**
 	 * @param world
 	 */
@@ -41,6 +70,14 @@ public abstract class EntityBender extends EntityCreature {
 		return new BenderEntityComponent(this);
 	}
 
+	/**
+	 * Gets the abilities which this mob starts out with. This is called before the constructor
+	 * has run, so it should return a constant.
+	 */
+	public NpcBendingProfile getBendingProfile() {
+		return NpcBendingProfile.EMPTY;
+	}
+
 	@Override
 	protected void entityInit() {
 		super.entityInit();
@@ -64,7 +101,93 @@ public abstract class EntityBender extends EntityCreature {
 	@Override
 	public void onUpdate() {
 		super.onUpdate();
-		bender.onUpdate();
+
+		if (world.isRemote || !canReduceActivity()) {
+			bender.onUpdate();
+			return;
+		}
+
+		if (needsFullUpdates()) {
+			setActivityTier(ActivityTier.ACTIVE);
+		} else if ((ticksExisted + getEntityId()) % TIER_CHECK_INTERVAL == 0) {
+			setActivityTier(findActivityTier());
+		}
+
+		if (activityTier == ActivityTier.ACTIVE) {
+			bender.onUpdate();
+		} else {
+			skippedTicks++;
+			if (activityTier == ActivityTier.IDLE && skippedTicks >= IDLE_UPDATE_INTERVAL) {
+				bender.catchUp(skippedTicks);
+				skippedTicks = 0;
+			}
+		}
+
+	}
+
+	@Override
+	public void notifyDataManagerChange(DataParameter<?> key) {
+		super.notifyDataManagerChange(key);
+		if (world != null && !world.isRemote) {
+			NetworkStats.onMetadataChanged(this, key);
+		}
+	}
+
+	/**
+	 * While frozen, the bender doesn't run its AI or move, like vanilla mobs in unloaded areas.
+	 */
+	@Override
+	public boolean isServerWorld() {
+		return super.isServerWorld() && activityTier != ActivityTier.FROZEN;
+	}
+
+	/**
+	 * Whether this bender may be updated less often when no players are nearby. Benders which
+	 * need to act when nobody is watching (e.g. pets) shouldn't allow this.
+	 */
+	protected boolean canReduceActivity() {
+		return false;
+	}
+
+	/**
+	 * Whether the bender is busy with something which needs to be updated every tick, regardless
+	 * of whether players are nearby
+	 */
+	private boolean needsFullUpdates() {
+		return getAttackTarget() != null || hurtTime > 0 || bender.getData().hasTickHandlers();
+	}
+
+	private ActivityTier findActivityTier() {
+
+		EntityPlayer player = world.getClosestPlayerToEntity(this, getViewDistance());
+		if (player == null) {
+			return ActivityTier.FROZEN;
+		}
+
+		double activeRange = MOBS_CONFIG.benderActiveRange;
+		return getDistanceSqToEntity(player) < activeRange * activeRange ? ActivityTier.ACTIVE :
+				ActivityTier.IDLE;
+
+	}
+
+	private double getViewDistance() {
+		MinecraftServer server = world.getMinecraftServer();
+		return server == null ? 160 : server.getPlayerList().getViewDistance() * 16;
+	}
+
+	private void setActivityTier(ActivityTier tier) {
+		if (tier != activityTier) {
+			// Catch up on the time which was skipped, unless the bender is still skipping time
+			if (tier != ActivityTier.FROZEN) {
+				bender.catchUp(skippedTicks);
+				skippedTicks = 0;
+			}
+			activityTier = tier;
+		}
+	}
+
+	public ActivityTier getActivityTier() {
+		return activityTier;
 	}
 
 	public Bender getBender() {
@@ -75,4 +198,28 @@ public abstract class EntityBender extends EntityCreature {
 		return bender.getData();
 	}
 
+	/**
+	 * How much of a bender is updated, based on how close the nearest player is.
+	 */
+	public enum ActivityTier {
+
+		/**
+		 * A player is nearby, or the bender is fighting; everything is updated every tick.
+		 */
+		ACTIVE,
+
+		/**
+		 * A player might see the bender, but is too far away to fight it. The bender moves
+		 * normally, but its bending is only updated every few ticks and it doesn't use abilities.
+		 */
+		IDLE,
+
+		/**
+		 * No player can see the bender. It doesn't move or update its bending; the skipped time is
+		 * caught up once a player comes back.
+		 */
+		FROZEN
+
+	}
+
 }
@@ -17,6 +17,7 @@
 package com.crowsofwar.avatar.common.entity.mob;
 
 import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.entity.data.NpcBendingProfile;
 import com.crowsofwar.avatar.common.item.ItemScroll.ScrollType;
 import net.minecraft.entity.SharedMonsterAttributes;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
@@ -32,14 +33,17 @@ public class EntityFirebender extends EntityHumanBender {
 	public static final ResourceLocation LOOT_TABLE = LootTableList
 			.register(new ResourceLocation("avatarmod", "firebender"));
 
+	private static final NpcBendingProfile PROFILE = NpcBendingProfile.builder()
+			.ability("flamethrower", 2)
+			.ability("fireball")
+			.ability("fire_arc")
+			.build();
+
 	/**
 	 * @param world
 	 */
 	public EntityFirebender(World world) {
 		super(world);
-
-		getData().getAbilityData("flamethrower").setLevel(2);
-
 	}
 
 	@Override
@@ -48,6 +52,11 @@ public class EntityFirebender extends EntityHumanBender {
 		this.getEntityAttribute(SharedMonsterAttributes.MAX_HEALTH).setBaseValue(50);
 	}
 
+	@Override
+	public NpcBendingProfile getBendingProfile() {
+		return PROFILE;
+	}
+
 	@Override
 	protected void addBendingTasks() {
 		this.tasks.addTask(1, Abilities.getAi("flamethrower", this, getBender()));
@@ -142,6 +142,11 @@ public abstract class EntityHumanBender extends EntityBender {
 		return livingdata;
 	}
 
+	@Override
+	protected boolean canReduceActivity() {
+		return true;
+	}
+
 	@Override
 	protected boolean canDespawn() {
 		return false;
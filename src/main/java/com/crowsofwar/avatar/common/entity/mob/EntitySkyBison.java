@@ -17,7 +17,7 @@
 package com.crowsofwar.avatar.common.entity.mob;
 
 import com.crowsofwar.avatar.AvatarLog;
-import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.PetChunkLoader;
 import com.crowsofwar.avatar.common.analytics.AnalyticEvents;
 import com.crowsofwar.avatar.common.analytics.AvatarAnalytics;
 import com.crowsofwar.avatar.common.bending.Abilities;
@@ -67,12 +67,9 @@ import net.minecraft.util.DamageSource;
 import net.minecraft.util.EnumHand;
 import net.minecraft.util.EnumParticleTypes;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.DifficultyInstance;
 import net.minecraft.world.World;
-import net.minecraftforge.common.ForgeChunkManager;
-import net.minecraftforge.common.ForgeChunkManager.Type;
 
 import javax.annotation.Nullable;
 import java.lang.reflect.Field;
@@ -137,10 +134,10 @@ public class EntitySkyBison extends EntityBender implements IEntityOwnable, IInv
 	private EntityAiBisonEatGrass aiEatGrass;
 	private int riderTicks;
 
-	private ForgeChunkManager.Ticket ticket;
 	private InventoryBisonChest chest;
 
 	private boolean wasTouchingGround;
+	private float lastSizeMultiplier = -1;
 
 	/**
 	 * @param world
@@ -438,23 +435,11 @@ public class EntitySkyBison extends EntityBender implements IEntityOwnable, IInv
 	// CHUNK LOADING
 	// ================================================================================
 
+	/**
+	 * Whether this bison is keeping the chunks around it loaded; see {@link PetChunkLoader}.
+	 */
 	public boolean isForceLoadingChunks() {
-		return ticket != null;
-	}
-
-	public void beginForceLoadingChunks() {
-		if (!isForceLoadingChunks()) {
-			ticket = ForgeChunkManager.requestTicket(AvatarMod.instance, world, Type.ENTITY);
-			ticket.bindEntity(this);
-			ticket.getModData().setUniqueId("BisonId", getUniqueID());
-		}
-	}
-
-	public void stopForceLoadingChunks() {
-		if (isForceLoadingChunks()) {
-			ForgeChunkManager.releaseTicket(ticket);
-			ticket = null;
-		}
+		return PetChunkLoader.isLoadingChunks(this);
 	}
 
 	// ================================================================================
@@ -867,6 +852,8 @@ public class EntitySkyBison extends EntityBender implements IEntityOwnable, IInv
 				}
 			}
 
+			PetChunkLoader.release(this);
+
 			// Log bison kills
 			if (cause.getTrueSource() instanceof EntityPlayer) {
 				AvatarLog.info("Bison " + getName() + " (owned by " + getOwner() + ") was just killed" +
@@ -909,8 +896,12 @@ public class EntitySkyBison extends EntityBender implements IEntityOwnable, IInv
 
 		}
 
+		// Size only changes when the synced age reaches the next growth step
 		float sizeMult = condition.getSizeMultiplier();
-		setSize(2.5f * sizeMult, 2 * sizeMult);
+		if (sizeMult != lastSizeMultiplier) {
+			setSize(2.5f * sizeMult, 2 * sizeMult);
+			lastSizeMultiplier = sizeMult;
+		}
 
 		condition.onUpdate();
 		if (condition.getFoodPoints() == 0 && getOwner() != null) {
@@ -919,14 +910,8 @@ public class EntitySkyBison extends EntityBender implements IEntityOwnable, IInv
 			setSitting(false);
 		}
 
-		if (!isForceLoadingChunks() && hasOwner()) {
-			beginForceLoadingChunks();
-		}
-		if (isForceLoadingChunks()) {
-			ForgeChunkManager.forceChunk(ticket, new ChunkPos(getPosition()));
-			if (!hasOwner() || getHealth() <= 0) {
-				stopForceLoadingChunks();
-			}
+		if (!world.isRemote) {
+			PetChunkLoader.update(this);
 		}
 
 		if (!world.isRemote) {
@@ -19,6 +19,7 @@ package com.crowsofwar.avatar.common.entity.mob;
 import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.BenderEntityComponent;
+import com.crowsofwar.avatar.common.entity.data.NpcBendingProfile;
 import com.crowsofwar.avatar.common.item.ItemScroll.ScrollType;
 import net.minecraft.entity.ai.EntityAIAttackMelee;
 import net.minecraft.util.ResourceLocation;
@@ -33,6 +34,10 @@ public class EntityWaterbender extends EntityHumanBender {
 	public static final ResourceLocation LOOT_TABLE = LootTableList
 			.register(new ResourceLocation("avatarmod", "waterbender"));
 
+	private static final NpcBendingProfile PROFILE = NpcBendingProfile.builder()
+			.ability("wave")
+			.build();
+
 	public EntityWaterbender(World world) {
 		super(world);
 	}
@@ -42,6 +47,11 @@ public class EntityWaterbender extends EntityHumanBender {
 		return new WaterbenderBenderComponent();
 	}
 
+	@Override
+	public NpcBendingProfile getBendingProfile() {
+		return PROFILE;
+	}
+
 	@Override
 	protected void addBendingTasks() {
 		this.tasks.addTask(1, Abilities.get("wave").getAi(this, getBender()));
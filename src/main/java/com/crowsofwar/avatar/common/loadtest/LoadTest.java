@@ -0,0 +1,291 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.loadtest;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.common.bending.BendingStyle;
+import com.crowsofwar.avatar.common.bending.BendingStyles;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.DumperOptions.FlowStyle;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Fills the server with {@link ScriptedBender scripted benders} fighting each other, and measures
+ * how the server copes. This is used to reproduce lag from large fights without needing real
+ * players; it is not used in normal play.
+ * <p>
+ * The load test is started when the server has started, if the <code>avatar.loadtest</code>
+ * system property contains a scenario. A scenario lists how many benders of each bending to
+ * spawn, e.g. <code>firebending:30,earthbending:30</code>. The benders stand in a ring around the
+ * world spawn, so a flat world is recommended. Other system properties:
+ * <ul>
+ * <li><code>avatar.loadtest.warmup</code> - ticks to wait before measuring, default 200</li>
+ * <li><code>avatar.loadtest.ticks</code> - ticks to measure, default 6000</li>
+ * <li><code>avatar.loadtest.interval</code> - ticks between each bender's abilities, default
+ * 20</li>
+ * <li><code>avatar.loadtest.name</code> - name of the report, default is the current time</li>
+ * <li><code>avatar.loadtest.exit</code> - whether to stop the server afterwards, default
+ * false</li>
+ * </ul>
+ * The results are written to <code>loadtest/&lt;name&gt;.yml</code> in the server directory, so
+ * that runs of different builds can be compared.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class LoadTest {
+
+	private static final String PROPERTY = "avatar.loadtest";
+
+	private static LoadTest running;
+
+	private final MinecraftServer server;
+	private final String scenario;
+	private final int warmupTicks, measuredTicks, interval;
+	private final String name;
+	private final boolean exitWhenDone;
+
+	private final List<ScriptedBender> benders = new ArrayList<>();
+	private final LoadTestMetrics metrics;
+	private int tick;
+
+	private LoadTest(MinecraftServer server, String scenario) {
+		this.server = server;
+		this.scenario = scenario;
+		this.warmupTicks = Integer.getInteger(PROPERTY + ".warmup", 200);
+		this.measuredTicks = Integer.getInteger(PROPERTY + ".ticks", 6000);
+		this.interval = Math.max(2, Integer.getInteger(PROPERTY + ".interval", 20));
+		this.name = System.getProperty(PROPERTY + ".name", new SimpleDateFormat("yyyyMMdd-HHmmss")
+				.format(new Date()));
+		this.exitWhenDone = Boolean.getBoolean(PROPERTY + ".exit");
+		this.metrics = new LoadTestMetrics(measuredTicks);
+	}
+
+	/**
+	 * Starts the load test if a scenario was given in the system properties. Called once the
+	 * server has started.
+	 */
+	public static void startIfRequested() {
+
+		String scenario = System.getProperty(PROPERTY);
+		if (scenario == null || scenario.isEmpty()) {
+			return;
+		}
+
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		try {
+			LoadTest loadTest = new LoadTest(server, scenario);
+			loadTest.spawnBenders(parseScenario(scenario));
+			running = loadTest;
+			AvatarLog.info("Started load test " + loadTest.name + " with " + loadTest.benders.size()
+					+ " benders: " + scenario);
+		} catch (IllegalArgumentException e) {
+			AvatarLog.error("Couldn't start load test: " + e.getMessage());
+		}
+
+	}
+
+	/**
+	 * Stops the running load test early, still writing a report of what was measured so far.
+	 * Called when the server is stopping.
+	 */
+	public static void stop() {
+		if (running != null) {
+			running.finish(false);
+		}
+	}
+
+	/**
+	 * Reads how many benders of each bending style the scenario contains.
+	 *
+	 * @throws IllegalArgumentException if the scenario is invalid
+	 */
+	private static Map<BendingStyle, Integer> parseScenario(String scenario) {
+
+		Map<BendingStyle, Integer> counts = new LinkedHashMap<>();
+
+		for (String part : scenario.split(",")) {
+
+			String[] split = part.trim().split(":");
+			if (split.length != 2) {
+				throw new IllegalArgumentException("Expected <bending>:<count>, but got " + part);
+			}
+
+			BendingStyle style = BendingStyles.get(split[0].trim());
+			if (style == null) {
+				throw new IllegalArgumentException("Unknown bending " + split[0]);
+			}
+
+			int count;
+			try {
+				count = Integer.parseInt(split[1].trim());
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid count " + split[1]);
+			}
+
+			counts.merge(style, count, Integer::sum);
+
+		}
+
+		return counts;
+
+	}
+
+	private void spawnBenders(Map<BendingStyle, Integer> counts) {
+
+		WorldServer world = DimensionManager.getWorld(0);
+		BlockPos spawn = world.getSpawnPoint();
+
+		int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+		// About 2 blocks between each bender
+		double radius = Math.max(8, total / Math.PI);
+
+		int number = 0;
+		for (Map.Entry<BendingStyle, Integer> entry : counts.entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+
+				double angle = 2 * Math.PI * number / total;
+				double x = spawn.getX() + 0.5 + radius * Math.cos(angle);
+				double z = spawn.getZ() + 0.5 + radius * Math.sin(angle);
+				// Face the center of the ring
+				float yaw = (float) Math.toDegrees(angle) + 90;
+
+				ScriptedBender bender = new ScriptedBender(server, world, number, entry.getKey(), x,
+						z, yaw, number * interval / total);
+				bender.join();
+				benders.add(bender);
+				number++;
+
+			}
+		}
+
+	}
+
+	@SubscribeEvent
+	public static void onServerTick(TickEvent.ServerTickEvent e) {
+		if (running != null) {
+			if (e.phase == TickEvent.Phase.START) {
+				running.onTickStart();
+			} else {
+				running.onTickEnd();
+			}
+		}
+	}
+
+	private boolean isMeasuring() {
+		return tick >= warmupTicks;
+	}
+
+	private void onTickStart() {
+
+		if (isMeasuring()) {
+			metrics.startTick();
+		}
+
+		for (ScriptedBender bender : benders) {
+			bender.tick(tick, interval);
+		}
+
+	}
+
+	private void onTickEnd() {
+
+		boolean measuring = isMeasuring();
+
+		// Before anything else, so that measuring doesn't count towards the tick's time
+		if (measuring) {
+			metrics.endTick();
+		}
+
+		for (ScriptedBender bender : benders) {
+			bender.drainPackets(measuring ? metrics : null);
+		}
+
+		if (measuring) {
+			metrics.recordEntities(DimensionManager.getWorlds(), tick % 20 == 0);
+		}
+
+		tick++;
+		if (tick >= warmupTicks + measuredTicks) {
+			finish(true);
+		}
+
+	}
+
+	private void finish(boolean completed) {
+
+		running = null;
+
+		for (ScriptedBender bender : benders) {
+			bender.leave();
+		}
+
+		writeReport(completed);
+
+		if (completed && exitWhenDone) {
+			server.initiateShutdown();
+		}
+
+	}
+
+	private void writeReport(boolean completed) {
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("scenario", scenario);
+		report.put("benders", benders.size());
+		report.put("abilityInterval", interval);
+		report.put("warmupTicks", warmupTicks);
+		report.put("measuredTicks", metrics.getTicks());
+		report.put("completed", completed);
+		// Including deaths while warming up
+		report.put("deaths", benders.stream().mapToInt(ScriptedBender::getDeaths).sum());
+		report.putAll(metrics.createReport(benders.size()));
+
+		DumperOptions options = new DumperOptions();
+		options.setDefaultFlowStyle(FlowStyle.BLOCK);
+
+		File file = server.getFile("loadtest/" + name + ".yml");
+		try {
+			Files.createDirectories(file.getParentFile().toPath());
+			try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				new Yaml(options).dump(report, writer);
+			}
+			AvatarLog.info("Wrote load test report to " + file.getAbsolutePath());
+		} catch (IOException e) {
+			AvatarLog.error("Couldn't write load test report to " + file, e);
+		}
+
+	}
+
+}
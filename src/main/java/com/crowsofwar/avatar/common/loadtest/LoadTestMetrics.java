@@ -0,0 +1,277 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.loadtest;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.entity.AvatarEntity;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.Entity;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Collects the measurements of a {@link LoadTest}: how long each tick took, what was sent to the
+ * scripted benders, how many entities there were and how much the server thread allocated.
+ * <p>
+ * Only accessed from the server thread.
+ *
+ * @author CrowsOfWar
+ */
+public class LoadTestMetrics {
+
+	private static final String AVATAR_CHANNEL = AvatarInfo.MOD_ID + "_Network";
+
+	private final long[] tickNanos;
+	private int ticks;
+
+	private final Map<String, Traffic> traffic = new TreeMap<>();
+	private final ByteBuf scratch = Unpooled.buffer();
+
+	private long loadedEntitiesSum;
+	private int peakLoadedEntities, peakAvatarEntities;
+	private final Map<String, Integer> peakEntitiesByType = new TreeMap<>();
+
+	private long tickStart, allocationStart, allocatedBytes;
+
+	public LoadTestMetrics(int maxTicks) {
+		this.tickNanos = new long[maxTicks];
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Marks that the server has started a tick.
+	 */
+	public void startTick() {
+		tickStart = System.nanoTime();
+		allocationStart = getAllocatedBytes();
+	}
+
+	/**
+	 * Marks that the server has finished the tick which was {@link #startTick() started}. This
+	 * should be called before any other measuring work is done for the tick.
+	 */
+	public void endTick() {
+		long end = System.nanoTime();
+		long allocated = getAllocatedBytes();
+		if (ticks < tickNanos.length) {
+			tickNanos[ticks++] = end - tickStart;
+			if (allocationStart >= 0 && allocated >= 0) {
+				allocatedBytes += allocated - allocationStart;
+			}
+		}
+	}
+
+	/**
+	 * Counts a packet which was sent to a scripted bender. Avatar packets are sorted by their
+	 * type, other mods' packets by their channel; their size is the payload size. Vanilla
+	 * packets are encoded again to find their size.
+	 */
+	public void recordPacket(Packet<?> packet) {
+
+		String category, type;
+		int bytes;
+
+		if (packet instanceof FMLProxyPacket) {
+
+			FMLProxyPacket proxy = (FMLProxyPacket) packet;
+			PacketBuffer payload = proxy.payload();
+			bytes = payload.readableBytes();
+
+			if (proxy.channel().equals(AVATAR_CHANNEL) && bytes > 0) {
+				Class<?> packetType = AvatarMod.getPacketType(payload.getUnsignedByte(payload
+						.readerIndex()));
+				category = "avatar";
+				type = packetType == null ? "unknown" : packetType.getSimpleName();
+			} else {
+				category = "mod";
+				type = proxy.channel();
+			}
+
+		} else {
+
+			scratch.clear();
+			try {
+				packet.writePacketData(new PacketBuffer(scratch));
+			} catch (IOException e) {
+				// Still count the packet, even though its size is unknown
+			}
+			bytes = scratch.writerIndex();
+			category = "vanilla";
+			type = packet.getClass().getSimpleName();
+
+		}
+
+		traffic.computeIfAbsent(category + "/" + type, key -> new Traffic()).add(bytes);
+
+	}
+
+	/**
+	 * Counts the entities in the worlds. Types are only counted when requested, since that takes
+	 * longer.
+	 */
+	public void recordEntities(WorldServer[] worlds, boolean countTypes) {
+
+		int loaded = 0, avatar = 0;
+		Map<String, Integer> byType = countTypes ? new HashMap<>() : null;
+
+		for (WorldServer world : worlds) {
+			loaded += world.loadedEntityList.size();
+			for (Entity entity : world.loadedEntityList) {
+				if (entity instanceof AvatarEntity) {
+					avatar++;
+					if (countTypes) {
+						byType.merge(entity.getClass().getSimpleName(), 1, Integer::sum);
+					}
+				}
+			}
+		}
+
+		loadedEntitiesSum += loaded;
+		peakLoadedEntities = Math.max(peakLoadedEntities, loaded);
+		peakAvatarEntities = Math.max(peakAvatarEntities, avatar);
+		if (countTypes) {
+			byType.forEach((type, count) -> peakEntitiesByType.merge(type, count, Math::max));
+		}
+
+	}
+
+	/**
+	 * Creates the report of all measurements, which can be written as YAML.
+	 */
+	public Map<String, Object> createReport(int benders) {
+
+		Map<String, Object> report = new LinkedHashMap<>();
+
+		long[] sorted = Arrays.copyOf(tickNanos, ticks);
+		Arrays.sort(sorted);
+		long total = 0;
+		for (long nanos : sorted) {
+			total += nanos;
+		}
+
+		Map<String, Object> mspt = new LinkedHashMap<>();
+		mspt.put("mean", ticks == 0 ? 0 : toMillis(total / ticks));
+		mspt.put("p50", toMillis(percentile(sorted, 0.5)));
+		mspt.put("p90", toMillis(percentile(sorted, 0.9)));
+		mspt.put("p99", toMillis(percentile(sorted, 0.99)));
+		mspt.put("max", toMillis(ticks == 0 ? 0 : sorted[ticks - 1]));
+		report.put("mspt", mspt);
+
+		Map<String, Object> allocation = new LinkedHashMap<>();
+		if (getAllocatedBytes() >= 0 && ticks > 0) {
+			allocation.put("bytesPerTick", allocatedBytes / ticks);
+			// At 20 ticks per second
+			allocation.put("megabytesPerSecond", allocatedBytes * 20.0 / ticks / 1e6);
+		} else {
+			allocation.put("unavailable", true);
+		}
+		report.put("allocation", allocation);
+
+		Map<String, Object> entities = new LinkedHashMap<>();
+		entities.put("averageLoaded", ticks == 0 ? 0 : loadedEntitiesSum / ticks);
+		entities.put("peakLoaded", peakLoadedEntities);
+		entities.put("peakAvatar", peakAvatarEntities);
+		entities.put("peakAvatarByType", new LinkedHashMap<>(peakEntitiesByType));
+		report.put("entities", entities);
+
+		Map<String, Object> network = new LinkedHashMap<>();
+		Map<String, Traffic> byCategory = new TreeMap<>();
+		Map<String, Object> byType = new LinkedHashMap<>();
+		Traffic all = new Traffic();
+		for (Map.Entry<String, Traffic> entry : traffic.entrySet()) {
+			Traffic typeTraffic = entry.getValue();
+			String category = entry.getKey().substring(0, entry.getKey().indexOf('/'));
+			byCategory.computeIfAbsent(category, key -> new Traffic()).add(typeTraffic);
+			all.add(typeTraffic);
+			byType.put(entry.getKey(), typeTraffic.toReport(ticks, benders));
+		}
+		network.put("total", all.toReport(ticks, benders));
+		Map<String, Object> categories = new LinkedHashMap<>();
+		byCategory.forEach((category, categoryTraffic) -> categories.put(category, categoryTraffic
+				.toReport(ticks, benders)));
+		network.put("byCategory", categories);
+		network.put("byType", byType);
+		report.put("network", network);
+
+		return report;
+
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	private static double toMillis(long nanos) {
+		return Math.round(nanos / 1e4) / 100.0;
+	}
+
+	/**
+	 * Gets the total bytes allocated by the current thread, or -1 if the JVM doesn't support
+	 * measuring that.
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread
+					.currentThread().getId());
+		}
+		return -1;
+	}
+
+	private static class Traffic {
+
+		private long packets, bytes;
+
+		void add(int bytes) {
+			this.packets++;
+			this.bytes += bytes;
+		}
+
+		void add(Traffic other) {
+			this.packets += other.packets;
+			this.bytes += other.bytes;
+		}
+
+		Map<String, Object> toReport(int ticks, int benders) {
+			Map<String, Object> report = new LinkedHashMap<>();
+			report.put("packets", packets);
+			report.put("bytes", bytes);
+			if (ticks > 0 && benders > 0) {
+				report.put("bytesPerBenderSecond", bytes * 20 / ticks / benders);
+			}
+			return report;
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.loadtest;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.GenericFutureListener;
+import net.minecraft.network.EnumPacketDirection;
+import net.minecraft.network.NetworkManager;
+import net.minecraft.network.Packet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.common.network.handshake.NetworkDispatcher;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stands in for the network connection of a {@link ScriptedBender}. Instead of being written to
+ * a socket, every packet sent to the bender is kept until the end of the tick, when the load test
+ * counts it.
+ * <p>
+ * The manager is attached to an embedded channel which carries an FML network dispatcher, so
+ * packets sent through a SimpleNetworkWrapper (such as Avatar packets) arrive here just like
+ * vanilla packets do.
+ *
+ * @author CrowsOfWar
+ */
+public class LoadTestNetworkManager extends NetworkManager {
+
+	private final List<Packet<?>> sent = new ArrayList<>();
+
+	public LoadTestNetworkManager(MinecraftServer server) {
+		super(EnumPacketDirection.SERVERBOUND);
+		// Activating the channel makes this manager use it
+		EmbeddedChannel channel = new EmbeddedChannel(this);
+		channel.attr(NetworkDispatcher.FML_DISPATCHER).set(new NetworkDispatcher(this, server
+				.getPlayerList()));
+	}
+
+	@Override
+	public boolean isChannelOpen() {
+		return true;
+	}
+
+	@Override
+	public void sendPacket(Packet<?> packet) {
+		sent.add(packet);
+	}
+
+	@Override
+	public void sendPacket(Packet<?> packet, GenericFutureListener<? extends Future<? super Void>>
+			listener, GenericFutureListener<? extends Future<? super Void>>... listeners) {
+		sent.add(packet);
+	}
+
+	/**
+	 * Passes every packet sent since the last call to the metrics, then forgets them. If the
+	 * metrics are null, such as while warming up, the packets are only forgotten.
+	 */
+	public void drainTo(@Nullable LoadTestMetrics metrics) {
+		if (metrics != null) {
+			for (Packet<?> packet : sent) {
+				metrics.recordPacket(packet);
+			}
+		}
+		sent.clear();
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+  This file is part of AvatarMod.
+
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.loadtest;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.scoreboard.Team;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.ForgeHooks;
+import net.minecraftforge.common.util.FakePlayer;
+
+/**
+ * The player of a {@link ScriptedBender}. A FakePlayer can't be hurt, attacked or killed, so this
+ * undoes that; scripted benders take damage, knockback and die like players in survival, and
+ * their deaths cause the same events as a player's.
+ *
+ * @author CrowsOfWar
+ */
+public class LoadTestPlayer extends FakePlayer {
+
+	public LoadTestPlayer(WorldServer world, GameProfile profile) {
+		super(world, profile);
+	}
+
+	@Override
+	public boolean isEntityInvulnerable(DamageSource source) {
+		return false;
+	}
+
+	@Override
+	public boolean canAttackPlayer(EntityPlayer other) {
+		if (!getServer().isPVPEnabled()) {
+			return false;
+		}
+		Team team = getTeam();
+		return team == null || !team.isSameTeam(other.getTeam()) || team.getAllowFriendlyFire();
+	}
+
+	@Override
+	public void onDeath(DamageSource cause) {
+		if (ForgeHooks.onLivingDeath(this, cause)) {
+			return;
+		}
+		if (world.getGameRules().getBoolean("showDeathMessages")) {
+			getServer().getPlayerList().sendMessage(getCombatTracker().getDeathMessage());
+		}
+		// Plays the death animation for players nearby
+		world.setEntityState(this, (byte) 3);
+	}
+
+	@Override
+	public Vec3d getPositionVector() {
+		return new Vec3d(posX, posY, posZ);
+	}
+
+}
@@ -0,0 +1,230 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.loadtest;
+
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.bending.BendingStyle;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.data.Bender;
+import com.crowsofwar.avatar.common.data.BendingData;
+import com.crowsofwar.avatar.common.data.Chi;
+import com.crowsofwar.avatar.common.data.ctx.BendingContext;
+import com.crowsofwar.avatar.common.util.Raytrace;
+import com.mojang.authlib.GameProfile;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A fake player in a {@link LoadTest} which uses its bending's abilities in turn, like a player
+ * in combat would. Between abilities, it uses any status controls it has, e.g. to throw the fire
+ * it just created. Scripted benders can hurt and kill each other; dead benders respawn where they
+ * first stood.
+ * <p>
+ * Scripted benders have a {@link LoadTestNetworkManager} as their connection, so everything the
+ * server would send to a real player is captured.
+ *
+ * @author CrowsOfWar
+ */
+public class ScriptedBender {
+
+	private final MinecraftServer server;
+	private final WorldServer world;
+	private final BendingStyle style;
+	/**
+	 * Ticks to add to the current tick, so that the benders don't all use their abilities at once.
+	 */
+	private final int offset;
+
+	private final double x, y, z;
+	private final float yaw;
+
+	private final LoadTestPlayer player;
+	private final LoadTestNetworkManager network;
+	private final Bender bender;
+
+	private int nextAbility;
+	private int deaths;
+
+	/**
+	 * Creates the bender, which will stand at the given position and look at the given angle.
+	 * The bender doesn't join the world until {@link #join()} is called.
+	 */
+	public ScriptedBender(MinecraftServer server, WorldServer world, int number, BendingStyle style,
+						  double x, double z, float yaw, int offset) {
+
+		this.server = server;
+		this.world = world;
+		this.style = style;
+		this.offset = offset;
+
+		UUID id = UUID.nameUUIDFromBytes(("AvatarLoadTest:" + number).getBytes(StandardCharsets
+				.UTF_8));
+		this.player = new LoadTestPlayer(world, new GameProfile(id, "LoadTest" + number));
+		this.network = new LoadTestNetworkManager(server);
+		// Also sets the player's connection
+		new NetHandlerPlayServer(server, network, player);
+
+		this.x = x;
+		this.y = world.getHeight(new BlockPos(x, 0, z)).getY();
+		this.z = z;
+		this.yaw = yaw;
+		moveToStart();
+
+		this.bender = Bender.get(player);
+
+	}
+
+	/**
+	 * Gives the bender only its bending, then logs it in like any other player, so that it joins
+	 * the world and can be found in the player list.
+	 */
+	public void join() {
+
+		// The data is saved with the world, so clear anything from earlier runs
+		BendingData data = bender.getData();
+		data.clearBending();
+		data.clearStatusControls();
+		data.clearTickHandlers();
+		data.addBending(style);
+		data.setActiveBending(style);
+		for (Ability ability : style.getAllAbilities()) {
+			data.getAbilityData(ability).unlockAbility();
+		}
+
+		server.getPlayerList().playerLoggedIn(player);
+		FMLCommonHandler.instance().firePlayerLoggedIn(player);
+
+	}
+
+	/**
+	 * Logs the bender out, which removes it from the world and the player list.
+	 */
+	public void leave() {
+		server.getPlayerList().playerLoggedOut(player);
+	}
+
+	/**
+	 * Updates the bender, using an ability every <code>interval</code> ticks and status controls
+	 * halfway in between. Fake players are not updated by the world, so this also runs the
+	 * player's own update.
+	 */
+	public void tick(int tick, int interval) {
+
+		// The world removes players once their death animation is over
+		if (player.isDead) {
+			respawn();
+		}
+
+		player.onUpdateEntity();
+		if (player.getHealth() <= 0) {
+			return;
+		}
+
+		int step = (tick + offset) % interval;
+		if (step == 0) {
+			useNextAbility();
+		} else if (step == interval / 2) {
+			useStatusControls();
+		}
+
+	}
+
+	/**
+	 * Brings the dead bender back at its starting position, like a player clicking respawn would.
+	 */
+	private void respawn() {
+
+		deaths++;
+
+		world.getPlayerChunkMap().removePlayer(player);
+		player.isDead = false;
+		player.deathTime = 0;
+		player.setHealth(player.getMaxHealth());
+		player.clearActivePotions();
+		player.extinguish();
+		player.fallDistance = 0;
+		moveToStart();
+
+		world.spawnEntity(player);
+		world.getPlayerChunkMap().addPlayer(player);
+		FMLCommonHandler.instance().firePlayerRespawnEvent(player, false);
+
+	}
+
+	private void moveToStart() {
+		player.setLocationAndAngles(x, y, z, yaw, 0);
+		player.rotationYawHead = yaw;
+		player.motionX = player.motionY = player.motionZ = 0;
+	}
+
+	private void useNextAbility() {
+
+		List<Ability> abilities = style.getAllAbilities();
+		if (abilities.isEmpty()) {
+			return;
+		}
+		Ability ability = abilities.get(nextAbility++ % abilities.size());
+
+		// Scripted benders never run out of chi, so every ability actually gets used
+		Chi chi = bender.getData().chi();
+		chi.setTotalChi(chi.getMaxChi());
+		chi.setAvailableChi(chi.getAvailableMaxChi());
+
+		// Alternate between aiming at the other benders and at the ground in front of them
+		player.rotationPitch = nextAbility % 2 == 0 ? 0 : 30;
+
+		bender.executeAbility(ability);
+
+	}
+
+	private void useStatusControls() {
+
+		BendingData data = bender.getData();
+		for (StatusControl statusControl : data.getAllStatusControls()) {
+			Raytrace.Result raytrace = Raytrace.getTargetBlock(player, statusControl.getRaytrace());
+			if (statusControl.execute(new BendingContext(data, player, raytrace))) {
+				data.removeStatusControl(statusControl);
+			}
+		}
+
+	}
+
+	/**
+	 * Gets how many times the bender has died and respawned.
+	 */
+	public int getDeaths() {
+		return deaths;
+	}
+
+	/**
+	 * Passes the packets which were sent to this bender to the metrics.
+	 *
+	 * @see LoadTestNetworkManager#drainTo(LoadTestMetrics)
+	 */
+	public void drainPackets(@Nullable LoadTestMetrics metrics) {
+		network.drainTo(metrics);
+	}
+
+}
@@ -0,0 +1,125 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.network;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.Packet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.network.NetworkRegistry.TargetPoint;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+
+/**
+ * The network channel of AvatarMod. Works like a regular SimpleNetworkWrapper, except that
+ * messages sent to clients are encoded once and then sent to each receiving player directly, so
+ * that the {@link NetworkStats} can record how many bytes each player was sent.
+ * <p>
+ * Receivers are chosen the same way that FML does.
+ *
+ * @author CrowsOfWar
+ */
+public class AvatarNetworkWrapper extends SimpleNetworkWrapper {
+
+	public AvatarNetworkWrapper(String channelName) {
+		super(channelName);
+	}
+
+	@Override
+	public void sendTo(IMessage message, EntityPlayerMP player) {
+		Packet<?> packet = getPacketFrom(message);
+		send(message, packet, getSize(packet), player);
+	}
+
+	@Override
+	public void sendToAll(IMessage message) {
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		if (server == null) {
+			return;
+		}
+
+		Packet<?> packet = getPacketFrom(message);
+		int size = getSize(packet);
+		for (EntityPlayerMP player : server.getPlayerList().getPlayers()) {
+			send(message, packet, size, player);
+		}
+	}
+
+	@Override
+	public void sendToAllAround(IMessage message, TargetPoint point) {
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		if (server == null) {
+			return;
+		}
+
+		Packet<?> packet = null;
+		int size = 0;
+		for (EntityPlayerMP player : server.getPlayerList().getPlayers()) {
+			if (player.dimension == point.dimension) {
+
+				double dx = point.x - player.posX;
+				double dy = point.y - player.posY;
+				double dz = point.z - player.posZ;
+
+				if (dx * dx + dy * dy + dz * dz < point.range * point.range) {
+					// Nobody might be around, so only encode the message once somebody is found
+					if (packet == null) {
+						packet = getPacketFrom(message);
+						size = getSize(packet);
+					}
+					send(message, packet, size, player);
+				}
+
+			}
+		}
+	}
+
+	@Override
+	public void sendToDimension(IMessage message, int dimensionId) {
+		MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+		if (server == null) {
+			return;
+		}
+
+		Packet<?> packet = null;
+		int size = 0;
+		for (EntityPlayerMP player : server.getPlayerList().getPlayers()) {
+			if (player.dimension == dimensionId) {
+				if (packet == null) {
+					packet = getPacketFrom(message);
+					size = getSize(packet);
+				}
+				send(message, packet, size, player);
+			}
+		}
+	}
+
+	private void send(IMessage message, Packet<?> packet, int size, EntityPlayerMP player) {
+		// Fake players from other mods usually don't have a connection
+		if (player.connection != null) {
+			player.connection.sendPacket(packet);
+			NetworkStats.recordMessage(message, size, player);
+		}
+	}
+
+	private static int getSize(Packet<?> packet) {
+		return packet instanceof FMLProxyPacket ? ((FMLProxyPacket) packet).payload().readableBytes()
+				: 0;
+	}
+
+}
@@ -23,6 +23,7 @@ import com.crowsofwar.avatar.common.bending.BattlePerformanceScore;
 import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.data.*;
 import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 
 import java.util.*;
 
@@ -66,7 +67,7 @@ public class DataTransmitters {
 				@Override
 				public void write(ByteBuf buf, Map<String, AbilityData> t) {
 					Set<Map.Entry<String, AbilityData>> entries = t.entrySet();
-					buf.writeInt(entries.size());
+					ByteBufUtils.writeVarInt(buf, entries.size(), 5);
 					for (Map.Entry<String, AbilityData> entry : entries) {
 						entry.getValue().toBytes(buf);
 					}
@@ -75,7 +76,7 @@ public class DataTransmitters {
 				@Override
 				public Map<String, AbilityData> read(ByteBuf buf, BendingData data) {
 					Map<String, AbilityData> out = new HashMap<>();
-					int size = buf.readInt();
+					int size = ByteBufUtils.readVarInt(buf, 5);
 					for (int i = 0; i < size; i++) {
 						AbilityData abilityData = AbilityData.createFromBytes(buf, data);
 						if (abilityData == null) {
@@ -92,18 +93,18 @@ public class DataTransmitters {
 
 		@Override
 		public void write(ByteBuf buf, List<StatusControl> t) {
-			buf.writeInt(t.size());
+			ByteBufUtils.writeVarInt(buf, t.size(), 5);
 			for (StatusControl sc : t) {
-				buf.writeInt(sc.id());
+				ByteBufUtils.writeVarInt(buf, sc.id(), 5);
 			}
 		}
 
 		@Override
 		public List<StatusControl> read(ByteBuf buf, BendingData data) {
-			int size = buf.readInt();
+			int size = ByteBufUtils.readVarInt(buf, 5);
 			List<StatusControl> out = new ArrayList<>();
 			for (int i = 0; i < size; i++) {
-				StatusControl sc = StatusControl.lookup(buf.readInt());
+				StatusControl sc = StatusControl.lookup(ByteBufUtils.readVarInt(buf, 5));
 				if (sc == null)
 					AvatarLog.warn(WarningType.WEIRD_PACKET, "Invalid status control id");
 				else
@@ -145,16 +146,16 @@ public class DataTransmitters {
 
 		@Override
 		public void write(ByteBuf buf, List<TickHandler> list) {
-			buf.writeInt(list.size());
+			ByteBufUtils.writeVarInt(buf, list.size(), 5);
 			for (TickHandler handler : list) {
-				buf.writeInt(handler.id());
+				handler.toBytes(buf);
 			}
 		}
 
 		@Override
 		public List<TickHandler> read(ByteBuf buf, BendingData data) {
 			List<TickHandler> list = new ArrayList<>();
-			int length = buf.readInt();
+			int length = ByteBufUtils.readVarInt(buf, 5);
 			for (int i = 0; i < length; i++) {
 				list.add(TickHandler.fromBytes(buf));
 			}
@@ -0,0 +1,184 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.network;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
+import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.network.packets.PacketCNetworkIds;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Writes abilities to the network as small numeric IDs instead of their names.
+ * <p>
+ * The server's {@link Abilities#getNetworkId(String) network IDs} are used in both directions.
+ * When a player joins, the server sends its ID table to the client before any other Avatar
+ * packet. Until the table has arrived, the client assumes the server registered the same
+ * abilities as itself. If an ability has no ID on the other side (e.g. mismatched mod versions),
+ * its name is written instead, so nothing is misinterpreted.
+ * <p>
+ * On the wire, an ability is a varint: 0 means the name follows as a string, otherwise it's the
+ * network ID plus one.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class NetworkIds {
+
+	/**
+	 * Client side: Names of the server's abilities, indexed by network ID. Null until the table
+	 * is received.
+	 */
+	@Nullable
+	private static volatile List<String> serverAbilities;
+	/**
+	 * Client side: The server's network IDs by ability name. Null until the table is received.
+	 */
+	@Nullable
+	private static volatile Map<String, Integer> serverAbilityIds;
+
+	/**
+	 * Server side: Connections which were already sent the ID table.
+	 */
+	private static final Set<NetHandlerPlayServer> sentTables = Collections.newSetFromMap(new
+			WeakHashMap<>());
+
+	private NetworkIds() {
+	}
+
+	/**
+	 * Client side: Writes the ability for a packet sent to the server.
+	 */
+	public static void writeAbilityToServer(ByteBuf buf, Ability ability) {
+		Map<String, Integer> ids = serverAbilityIds;
+		Integer id = ids == null ? Integer.valueOf(Abilities.getNetworkId(ability.getName())) : ids.get
+				(ability.getName());
+		writeAbility(buf, id == null ? -1 : id, ability.getName());
+	}
+
+	/**
+	 * Server side: Reads an ability written by {@link #writeAbilityToServer(ByteBuf, Ability)}.
+	 * Returns null if the server doesn't have that ability.
+	 */
+	@Nullable
+	public static Ability readAbilityFromClient(ByteBuf buf) {
+		int id = ByteBufUtils.readVarInt(buf, 5);
+		return id == 0 ? Abilities.get(ByteBufUtils.readUTF8String(buf)) : Abilities.get(id - 1);
+	}
+
+	/**
+	 * Server side: Writes the ability for a packet sent to clients.
+	 */
+	public static void writeAbilityToClient(ByteBuf buf, String abilityName) {
+		writeAbility(buf, Abilities.getNetworkId(abilityName), abilityName);
+	}
+
+	/**
+	 * Client side: Reads the name of an ability written by
+	 * {@link #writeAbilityToClient(ByteBuf, String)}. The client might not have that ability
+	 * itself. Returns null if the ID is invalid.
+	 */
+	@Nullable
+	public static String readAbilityFromServer(ByteBuf buf) {
+		int id = ByteBufUtils.readVarInt(buf, 5);
+		if (id == 0) {
+			return ByteBufUtils.readUTF8String(buf);
+		}
+
+		List<String> names = serverAbilities;
+		if (names != null) {
+			return id - 1 < names.size() ? names.get(id - 1) : null;
+		}
+
+		Ability ability = Abilities.get(id - 1);
+		return ability == null ? null : ability.getName();
+	}
+
+	/**
+	 * Client side: Called when the server's ID table has been received.
+	 */
+	public static void receiveServerIds(String serverVersion, List<String> abilityNames) {
+
+		Map<String, Integer> ids = new HashMap<>();
+		for (int i = 0; i < abilityNames.size(); i++) {
+			ids.put(abilityNames.get(i), i);
+		}
+		serverAbilityIds = ids;
+		serverAbilities = abilityNames;
+
+		if (!serverVersion.equals(AvatarInfo.VERSION)) {
+			AvatarLog.warn(WarningType.WEIRD_PACKET, "Server is running Avatar Mod " +
+					serverVersion + " but client has " + AvatarInfo.VERSION + "; status controls " +
+					"and tick handlers may not match up");
+		}
+
+	}
+
+	private static void writeAbility(ByteBuf buf, int id, String name) {
+		if (id == -1) {
+			ByteBufUtils.writeVarInt(buf, 0, 5);
+			ByteBufUtils.writeUTF8String(buf, name);
+		} else {
+			ByteBufUtils.writeVarInt(buf, id + 1, 5);
+		}
+	}
+
+	/**
+	 * Sends the ID table when a player joins, which happens before any other Avatar packets are
+	 * sent to them.
+	 */
+	@SubscribeEvent(priority = EventPriority.HIGHEST)
+	public static void onPlayerJoin(EntityJoinWorldEvent e) {
+		if (e.getEntity() instanceof EntityPlayerMP && !(e.getEntity() instanceof FakePlayer)) {
+
+			EntityPlayerMP player = (EntityPlayerMP) e.getEntity();
+			if (player.connection != null && sentTables.add(player.connection)) {
+
+				List<String> names = new ArrayList<>();
+				for (Ability ability : Abilities.all()) {
+					names.add(ability.getName());
+				}
+				AvatarMod.network.sendTo(new PacketCNetworkIds(AvatarInfo.VERSION, names), player);
+
+			}
+
+		}
+	}
+
+	@SubscribeEvent
+	public static void onDisconnect(FMLNetworkEvent.ClientDisconnectionFromServerEvent e) {
+		serverAbilities = null;
+		serverAbilityIds = null;
+	}
+
+}
@@ -0,0 +1,458 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.network;
+
+import com.crowsofwar.avatar.AvatarInfo;
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
+import com.crowsofwar.avatar.common.PlayerInputBuffer;
+import com.crowsofwar.avatar.common.data.DataCategory;
+import com.crowsofwar.avatar.common.network.packets.PacketCPlayerData;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.datasync.DataParameter;
+import net.minecraft.network.datasync.DataSerializers;
+import net.minecraft.network.datasync.EntityDataManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps track of how much AvatarMod sends to each player, so that abilities which use too much
+ * bandwidth can be found on a live server.
+ * <p>
+ * Everything sent through the {@link AvatarNetworkWrapper} is recorded by packet type and by
+ * receiving player; player data packets are also split up by {@link DataCategory}. Changes to the
+ * entity metadata of Avatar entities are recorded as well, as type <code>metadata/&lt;entity
+ * class&gt;</code>. Their size is estimated from the changed values, since vanilla sends the
+ * metadata itself.
+ * <p>
+ * Statistics are kept for each second of the last {@link #WINDOW_SECONDS} seconds. They can be
+ * viewed with <code>/av netstats</code> or through JMX, and can also be written for each tick to
+ * a trace file. The JMX bean also has the inbound statistics of the server's
+ * {@link PacketDispatcher} and {@link PlayerInputBuffer}.
+ *
+ * @author CrowsOfWar
+ */
+@Mod.EventBusSubscriber(modid = AvatarInfo.MOD_ID)
+public class NetworkStats {
+
+	public static final int WINDOW_SECONDS = 60;
+
+	private static final Totals[] seconds = new Totals[WINDOW_SECONDS];
+	private static int currentSecond, ticksThisSecond;
+
+	private static final Map<Entity, Set<DataParameter<?>>> changedMetadata = new IdentityHashMap<>();
+	private static final ByteBuf scratch = Unpooled.buffer();
+
+	private static final Map<String, Counter> traceTick = new TreeMap<>();
+	private static Writer trace;
+
+	static {
+		for (int i = 0; i < WINDOW_SECONDS; i++) {
+			seconds[i] = new Totals();
+		}
+	}
+
+	/**
+	 * Records that the message was sent to the player. The size is the encoded size of the
+	 * message.
+	 */
+	public static synchronized void recordMessage(IMessage message, int bytes, EntityPlayerMP
+			receiver) {
+
+		String type = message.getClass().getSimpleName();
+		Totals totals = seconds[currentSecond];
+		totals.record(type, receiver.getName(), bytes);
+
+		if (message instanceof PacketCPlayerData) {
+			int[] sizes = ((PacketCPlayerData) message).getCategorySizes();
+			if (sizes != null) {
+				for (DataCategory category : DataCategory.values()) {
+					if (sizes[category.ordinal()] > 0) {
+						totals.recordCategory(category.name(), sizes[category.ordinal()]);
+					}
+				}
+			}
+		}
+
+		if (trace != null) {
+			traceTick.computeIfAbsent(type, key -> new Counter()).add(bytes);
+		}
+
+	}
+
+	/**
+	 * Records that a value of the entity's metadata changed. Only called server-side. The
+	 * metadata is counted at the end of the tick, once for each player tracking the entity.
+	 */
+	public static synchronized void onMetadataChanged(Entity entity, DataParameter<?> key) {
+		changedMetadata.computeIfAbsent(entity, e -> new HashSet<>()).add(key);
+	}
+
+	private static void recordChangedMetadata() {
+
+		Totals totals = seconds[currentSecond];
+
+		for (Map.Entry<Entity, Set<DataParameter<?>>> entry : changedMetadata.entrySet()) {
+
+			Entity entity = entry.getKey();
+			if (entity.isDead || !(entity.world instanceof WorldServer)) {
+				continue;
+			}
+
+			Set<? extends EntityPlayer> receivers = ((WorldServer) entity.world).getEntityTracker()
+					.getTrackingPlayers(entity);
+			if (receivers.isEmpty()) {
+				continue;
+			}
+
+			// Entity id, then each value, then the end marker
+			int bytes = PacketBuffer.getVarIntSize(entity.getEntityId()) + 1;
+			for (DataParameter<?> key : entry.getValue()) {
+				bytes += 1 + PacketBuffer.getVarIntSize(DataSerializers.getSerializerId(key
+						.getSerializer()));
+				bytes += getValueSize(entity.getDataManager(), key);
+			}
+
+			String type = "metadata/" + entity.getClass().getSimpleName();
+			for (EntityPlayer receiver : receivers) {
+				totals.record(type, receiver.getName(), bytes);
+			}
+			if (trace != null) {
+				Counter counter = traceTick.computeIfAbsent(type, key -> new Counter());
+				for (int i = 0; i < receivers.size(); i++) {
+					counter.add(bytes);
+				}
+			}
+
+		}
+
+		changedMetadata.clear();
+
+	}
+
+	private static <T> int getValueSize(EntityDataManager dataManager, DataParameter<T> key) {
+		scratch.clear();
+		key.getSerializer().write(new PacketBuffer(scratch), dataManager.get(key));
+		return scratch.writerIndex();
+	}
+
+	@SubscribeEvent
+	public static synchronized void onServerTick(TickEvent.ServerTickEvent e) {
+
+		if (e.phase != TickEvent.Phase.END) {
+			return;
+		}
+
+		if (!changedMetadata.isEmpty()) {
+			recordChangedMetadata();
+		}
+
+		if (trace != null) {
+			writeTrace(FMLCommonHandler.instance().getMinecraftServerInstance().getTickCounter());
+		}
+
+		ticksThisSecond++;
+		if (ticksThisSecond >= 20) {
+			ticksThisSecond = 0;
+			currentSecond = (currentSecond + 1) % WINDOW_SECONDS;
+			seconds[currentSecond] = new Totals();
+		}
+
+	}
+
+	/**
+	 * Gets the total traffic of the last few seconds, not counting the second which is in
+	 * progress.
+	 *
+	 * @param secondCount How many seconds, up to {@link #WINDOW_SECONDS} - 1
+	 */
+	public static synchronized Totals getTotals(int secondCount) {
+		Totals totals = new Totals();
+		secondCount = Math.min(secondCount, WINDOW_SECONDS - 1);
+		for (int i = 1; i <= secondCount; i++) {
+			totals.add(seconds[(currentSecond - i + WINDOW_SECONDS) % WINDOW_SECONDS]);
+		}
+		return totals;
+	}
+
+	public static synchronized boolean isTracing() {
+		return trace != null;
+	}
+
+	/**
+	 * Starts writing the traffic of each tick to a new trace file in the server's
+	 * <code>netstats</code> folder. Each line contains the tick, packet type, message count and
+	 * bytes, separated by commas.
+	 *
+	 * @return The trace file
+	 */
+	public static synchronized File startTrace(MinecraftServer server) throws IOException {
+
+		stopTrace();
+
+		String time = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+		File file = server.getFile("netstats/trace-" + time + ".csv");
+		Files.createDirectories(file.getParentFile().toPath());
+
+		trace = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+		trace.write("tick,type,messages,bytes\n");
+		return file;
+
+	}
+
+	/**
+	 * Stops writing the trace file, if one is being written.
+	 */
+	public static synchronized void stopTrace() {
+		if (trace != null) {
+			try {
+				trace.close();
+			} catch (IOException e) {
+				AvatarLog.error("Couldn't close network trace", e);
+			}
+			trace = null;
+			traceTick.clear();
+		}
+	}
+
+	private static void writeTrace(int tick) {
+		try {
+			for (Map.Entry<String, Counter> entry : traceTick.entrySet()) {
+				Counter counter = entry.getValue();
+				trace.write(tick + "," + entry.getKey() + "," + counter.messages + "," + counter
+						.bytes + "\n");
+			}
+			traceTick.clear();
+		} catch (IOException e) {
+			AvatarLog.error("Couldn't write network trace, stopping it", e);
+			stopTrace();
+		}
+	}
+
+	/**
+	 * Makes the statistics available through JMX, as <code>com.crowsofwar.avatar:type=
+	 * NetworkStats</code>.
+	 */
+	public static void registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName("com.crowsofwar.avatar:type=NetworkStats");
+			if (!server.isRegistered(name)) {
+				server.registerMBean(new Bean(), name);
+			}
+		} catch (JMException e) {
+			AvatarLog.warn(WarningType.UNKNOWN, "Couldn't register network statistics with JMX", e);
+		}
+	}
+
+	/**
+	 * Messages and bytes sent.
+	 */
+	public static class Counter {
+
+		private long messages, bytes;
+
+		private void add(long bytes) {
+			this.messages++;
+			this.bytes += bytes;
+		}
+
+		private void add(Counter other) {
+			this.messages += other.messages;
+			this.bytes += other.bytes;
+		}
+
+		public long getMessages() {
+			return messages;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+
+	}
+
+	/**
+	 * All traffic sent during a period of time, in total and broken down by packet type, data
+	 * category and receiving player.
+	 */
+	public static class Totals {
+
+		private final Counter total = new Counter();
+		private final Map<String, Counter> byType = new HashMap<>();
+		private final Map<String, Counter> byCategory = new HashMap<>();
+		private final Map<String, Counter> byPlayer = new HashMap<>();
+
+		private void record(String type, String player, int bytes) {
+			total.add(bytes);
+			byType.computeIfAbsent(type, key -> new Counter()).add(bytes);
+			byPlayer.computeIfAbsent(player, key -> new Counter()).add(bytes);
+		}
+
+		private void recordCategory(String category, int bytes) {
+			byCategory.computeIfAbsent(category, key -> new Counter()).add(bytes);
+		}
+
+		private void add(Totals other) {
+			total.add(other.total);
+			add(byType, other.byType);
+			add(byCategory, other.byCategory);
+			add(byPlayer, other.byPlayer);
+		}
+
+		private static void add(Map<String, Counter> to, Map<String, Counter> from) {
+			for (Map.Entry<String, Counter> entry : from.entrySet()) {
+				to.computeIfAbsent(entry.getKey(), key -> new Counter()).add(entry.getValue());
+			}
+		}
+
+		public Counter getTotal() {
+			return total;
+		}
+
+		public Map<String, Counter> getByType() {
+			return Collections.unmodifiableMap(byType);
+		}
+
+		public Map<String, Counter> getByCategory() {
+			return Collections.unmodifiableMap(byCategory);
+		}
+
+		public Map<String, Counter> getByPlayer() {
+			return Collections.unmodifiableMap(byPlayer);
+		}
+
+	}
+
+	/**
+	 * Statistics for JMX. Outbound rates are averages over the last 10 seconds.
+	 */
+	private static class Bean implements NetworkStatsMXBean {
+
+		private static final int SECONDS = 10;
+
+		@Override
+		public double getMessagesPerSecond() {
+			return (double) getTotals(SECONDS).getTotal().getMessages() / SECONDS;
+		}
+
+		@Override
+		public long getBytesPerSecond() {
+			return getTotals(SECONDS).getTotal().getBytes() / SECONDS;
+		}
+
+		@Override
+		public Map<String, Long> getBytesPerSecondByType() {
+			return perSecond(getTotals(SECONDS).getByType());
+		}
+
+		@Override
+		public Map<String, Long> getBytesPerSecondByCategory() {
+			return perSecond(getTotals(SECONDS).getByCategory());
+		}
+
+		@Override
+		public Map<String, Long> getBytesPerSecondByPlayer() {
+			return perSecond(getTotals(SECONDS).getByPlayer());
+		}
+
+		@Override
+		public boolean isTracing() {
+			return NetworkStats.isTracing();
+		}
+
+		@Override
+		public Map<String, Long> getPacketsReceivedByType() {
+			Map<String, Long> map = new TreeMap<>();
+			PacketDispatcher.SERVER.getStatistics().forEach((type, stats) -> map.put(type
+					.getSimpleName(), stats.getReceived()));
+			return map;
+		}
+
+		@Override
+		public Map<String, Long> getPacketsCollapsedByType() {
+			Map<String, Long> map = new TreeMap<>();
+			PacketDispatcher.SERVER.getStatistics().forEach((type, stats) -> map.put(type
+					.getSimpleName(), stats.getCollapsed()));
+			return map;
+		}
+
+		@Override
+		public Map<String, Double> getAveragePacketLatencyByType() {
+			return micros(PacketDispatcher.Statistics::getAverageLatency);
+		}
+
+		@Override
+		public Map<String, Double> getAveragePacketHandlingTimeByType() {
+			return micros(PacketDispatcher.Statistics::getAverageHandlingTime);
+		}
+
+		@Override
+		public long getInputsReceived() {
+			return PlayerInputBuffer.getReceived();
+		}
+
+		@Override
+		public long getDuplicateInputs() {
+			return PlayerInputBuffer.getDuplicates();
+		}
+
+		@Override
+		public long getDiscardedInputs() {
+			return PlayerInputBuffer.getDiscarded();
+		}
+
+		private static Map<String, Long> perSecond(Map<String, Counter> counters) {
+			Map<String, Long> map = new TreeMap<>();
+			counters.forEach((key, counter) -> map.put(key, counter.getBytes() / SECONDS));
+			return map;
+		}
+
+		private static Map<String, Double> micros(ToDoubleFunction<PacketDispatcher.Statistics>
+														  nanos) {
+			Map<String, Double> map = new TreeMap<>();
+			PacketDispatcher.SERVER.getStatistics().forEach((type, stats) -> map.put(type
+					.getSimpleName(), nanos.applyAsDouble(stats) / 1000));
+			return map;
+		}
+
+	}
+
+}
@@ -0,0 +1,57 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.network;
+
+import java.util.Map;
+
+/**
+ * Network statistics exposed through JMX. Outbound rates are averaged over the last 10 seconds;
+ * inbound packet and input counts are totals since the server started, and times are in
+ * microseconds.
+ *
+ * @author CrowsOfWar
+ * @see NetworkStats
+ */
+public interface NetworkStatsMXBean {
+
+	double getMessagesPerSecond();
+
+	long getBytesPerSecond();
+
+	Map<String, Long> getBytesPerSecondByType();
+
+	Map<String, Long> getBytesPerSecondByCategory();
+
+	Map<String, Long> getBytesPerSecondByPlayer();
+
+	boolean isTracing();
+
+	Map<String, Long> getPacketsReceivedByType();
+
+	Map<String, Long> getPacketsCollapsedByType();
+
+	Map<String, Double> getAveragePacketLatencyByType();
+
+	Map<String, Double> getAveragePacketHandlingTimeByType();
+
+	long getInputsReceived();
+
+	long getDuplicateInputs();
+
+	long getDiscardedInputs();
+
+}
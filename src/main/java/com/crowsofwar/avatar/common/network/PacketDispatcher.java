@@ -0,0 +1,272 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.network;
+
+import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.network.packets.AvatarPacket;
+import com.crowsofwar.avatar.common.network.packets.AvatarPacket.ThreadPolicy;
+import net.minecraft.util.IThreadListener;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the handlers of received {@link AvatarPacket AvatarPackets} according to their
+ * {@link ThreadPolicy}, and keeps statistics about each packet type.
+ * <p>
+ * Rather than scheduling a separate task for every packet, packets for the main thread are
+ * queued and the whole queue is run by a single scheduled task. Batched packets which have the
+ * same {@link AvatarPacket#getBatchKey() batch key} and sender replace each other while they
+ * are waiting in the queue, so only the latest one is handled.
+ * <p>
+ * There is one dispatcher for each side, since the integrated server and client run in the
+ * same JVM.
+ *
+ * @author CrowsOfWar
+ */
+public class PacketDispatcher {
+
+	public static final PacketDispatcher SERVER = new PacketDispatcher();
+	public static final PacketDispatcher CLIENT = new PacketDispatcher();
+
+	private final Map<Class<?>, Statistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * Packets waiting to be handled on the main thread. Guarded by synchronizing on the queue.
+	 */
+	private final Queue<PendingPacket> queue = new ArrayDeque<>();
+	/**
+	 * Batched packets in the queue, for finding the packet to replace. Guarded by synchronizing
+	 * on the queue.
+	 */
+	private final Map<BatchKey, PendingPacket> batched = new HashMap<>();
+	/**
+	 * Whether a task to drain the queue is already scheduled. Guarded by synchronizing on the
+	 * queue.
+	 */
+	private boolean drainScheduled;
+
+	private PacketDispatcher() {
+	}
+
+	public static PacketDispatcher get(MessageContext ctx) {
+		return ctx.side.isServer() ? SERVER : CLIENT;
+	}
+
+	/**
+	 * Dispatches the packet. Called on the network thread.
+	 */
+	public <MSG extends IMessage> void dispatch(MSG message, MessageContext ctx,
+												AvatarPacket.Handler<MSG> handler, ThreadPolicy policy) {
+
+		Statistics stats = getStatistics(message.getClass());
+		stats.received.increment();
+
+		if (policy == ThreadPolicy.NETWORK_THREAD) {
+			handle(new PendingPacket<>(message, ctx, handler, stats));
+			return;
+		}
+
+		IThreadListener mainThread = ctx.side.isServer()
+				? ctx.getServerHandler().player.getServerWorld()
+				: AvatarMod.proxy.getClientThreadListener();
+
+		synchronized (queue) {
+
+			if (policy == ThreadPolicy.BATCHED) {
+				Object sender = ctx.side.isServer() ? ctx.getServerHandler() : null;
+				BatchKey key = new BatchKey(sender, message.getClass(),
+						((AvatarPacket<?>) message).getBatchKey());
+
+				PendingPacket existing = batched.get(key);
+				if (existing != null) {
+					existing.replace(message, ctx);
+					stats.collapsed.increment();
+					return;
+				}
+
+				PendingPacket<MSG> pending = new PendingPacket<>(message, ctx, handler, stats);
+				batched.put(key, pending);
+				queue.add(pending);
+
+			} else {
+				queue.add(new PendingPacket<>(message, ctx, handler, stats));
+			}
+
+			if (!drainScheduled) {
+				drainScheduled = true;
+				mainThread.addScheduledTask(this::drainQueue);
+			}
+
+		}
+
+	}
+
+	/**
+	 * Handles every queued packet. Called on the main thread.
+	 */
+	private void drainQueue() {
+
+		List<PendingPacket> drained;
+		synchronized (queue) {
+			drained = new ArrayList<>(queue);
+			queue.clear();
+			batched.clear();
+			drainScheduled = false;
+		}
+
+		for (PendingPacket pending : drained) {
+			handle(pending);
+		}
+
+	}
+
+	@SuppressWarnings("unchecked")
+	private void handle(PendingPacket pending) {
+
+		long start = System.nanoTime();
+		IMessage followup = pending.handler.onMessageRecieved(pending.message, pending.ctx);
+		long end = System.nanoTime();
+
+		pending.stats.handled.increment();
+		pending.stats.latencyNanos.add(start - pending.receivedAt);
+		pending.stats.handlingNanos.add(end - start);
+
+		if (followup != null) {
+			if (pending.ctx.side.isClient()) {
+				AvatarMod.network.sendToServer(followup);
+			} else {
+				AvatarMod.network.sendTo(followup, pending.ctx.getServerHandler().player);
+			}
+		}
+
+	}
+
+	private Statistics getStatistics(Class<?> packetType) {
+		return statistics.computeIfAbsent(packetType, type -> new Statistics());
+	}
+
+	/**
+	 * Gets the statistics of every packet type which was received on this side so far.
+	 */
+	public Map<Class<?>, Statistics> getStatistics() {
+		return Collections.unmodifiableMap(statistics);
+	}
+
+	/**
+	 * Throughput and latency counters for one packet type.
+	 */
+	public static class Statistics {
+
+		private final LongAdder received = new LongAdder();
+		private final LongAdder handled = new LongAdder();
+		private final LongAdder collapsed = new LongAdder();
+		private final LongAdder latencyNanos = new LongAdder();
+		private final LongAdder handlingNanos = new LongAdder();
+
+		public long getReceived() {
+			return received.sum();
+		}
+
+		public long getHandled() {
+			return handled.sum();
+		}
+
+		/**
+		 * Gets the number of batched packets which were replaced by a later packet before they
+		 * could be handled.
+		 */
+		public long getCollapsed() {
+			return collapsed.sum();
+		}
+
+		/**
+		 * Gets the average time between receiving a packet and starting to handle it, in
+		 * nanoseconds.
+		 */
+		public double getAverageLatency() {
+			long handled = getHandled();
+			return handled == 0 ? 0 : (double) latencyNanos.sum() / handled;
+		}
+
+		/**
+		 * Gets the average time spent in the packet's handler, in nanoseconds.
+		 */
+		public double getAverageHandlingTime() {
+			long handled = getHandled();
+			return handled == 0 ? 0 : (double) handlingNanos.sum() / handled;
+		}
+
+	}
+
+	private static class PendingPacket<MSG extends IMessage> {
+
+		private final AvatarPacket.Handler<MSG> handler;
+		private final Statistics stats;
+		private final long receivedAt;
+		private MSG message;
+		private MessageContext ctx;
+
+		PendingPacket(MSG message, MessageContext ctx, AvatarPacket.Handler<MSG> handler,
+					  Statistics stats) {
+			this.message = message;
+			this.ctx = ctx;
+			this.handler = handler;
+			this.stats = stats;
+			this.receivedAt = System.nanoTime();
+		}
+
+		@SuppressWarnings("unchecked")
+		void replace(IMessage message, MessageContext ctx) {
+			this.message = (MSG) message;
+			this.ctx = ctx;
+		}
+
+	}
+
+	private static class BatchKey {
+
+		private final Object sender;
+		private final Class<?> packetType;
+		private final Object key;
+
+		BatchKey(Object sender, Class<?> packetType, Object key) {
+			this.sender = sender;
+			this.packetType = packetType;
+			this.key = key;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof BatchKey)) return false;
+			BatchKey other = (BatchKey) obj;
+			return sender == other.sender && packetType == other.packetType
+					&& Objects.equals(key, other.key);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(sender), packetType, key);
+		}
+
+	}
+
+}
@@ -19,6 +19,7 @@ package com.crowsofwar.avatar.common.network;
 
 import com.crowsofwar.avatar.AvatarLog;
 import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.PlayerInputBuffer;
 import com.crowsofwar.avatar.common.TransferConfirmHandler;
 import com.crowsofwar.avatar.common.analytics.AnalyticEvent;
 import com.crowsofwar.avatar.common.analytics.AnalyticEvents;
@@ -26,13 +27,11 @@ import com.crowsofwar.avatar.common.analytics.AvatarAnalytics;
 import com.crowsofwar.avatar.common.bending.Ability;
 import com.crowsofwar.avatar.common.bending.BendingStyle;
 import com.crowsofwar.avatar.common.bending.BendingStyles;
-import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.data.AbilityData;
 import com.crowsofwar.avatar.common.data.AbilityData.AbilityTreePath;
 import com.crowsofwar.avatar.common.data.Bender;
 import com.crowsofwar.avatar.common.data.BendingData;
 import com.crowsofwar.avatar.common.data.WallJumpManager;
-import com.crowsofwar.avatar.common.data.ctx.BendingContext;
 import com.crowsofwar.avatar.common.entity.mob.EntitySkyBison;
 import com.crowsofwar.avatar.common.gui.AvatarGuiHandler;
 import com.crowsofwar.avatar.common.gui.ContainerGetBending;
@@ -51,12 +50,7 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
 import net.minecraftforge.fml.relauncher.Side;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.UUID;
-
-import static com.crowsofwar.avatar.common.AvatarChatMessages.*;
-import static com.crowsofwar.avatar.common.analytics.AnalyticEvents.getAbilityExecutionEvent;
+import java.util.*;
 
 /**
  * Implements IPacketHandler. Acts as a packet handler for integrated and
@@ -70,48 +64,41 @@ public class PacketHandlerServer implements IPacketHandler {
 		instance = new PacketHandlerServer();
 	}
 
+	private final Map<Class<? extends IMessage>, AvatarPacket.Handler<?>> handlers = new HashMap<>();
+
 	private PacketHandlerServer() {
+		registerHandler(PacketSUseAbility.class, this::handleKeypress);
+		registerHandler(PacketSRequestData.class, this::handleRequestData);
+		registerHandler(PacketSUseStatusControl.class, this::handleUseStatusControl);
+		registerHandler(PacketSWallJump.class, this::handleWallJump);
+		registerHandler(PacketSSkillsMenu.class, this::handleSkillsMenu);
+		registerHandler(PacketSUseScroll.class, this::handleUseScroll);
+		registerHandler(PacketSBisonInventory.class, this::handleInventory);
+		registerHandler(PacketSOpenUnlockGui.class, this::handleGetBending);
+		registerHandler(PacketSUnlockBending.class, this::handleUnlockBending);
+		registerHandler(PacketSConfirmTransfer.class, this::handleConfirmTransfer);
+		registerHandler(PacketSCycleBending.class, this::handleCycleBending);
+		registerHandler(PacketSUseInputs.class, this::handleUseInputs);
 	}
 
 	public static void register() {
 		MinecraftForge.EVENT_BUS.register(instance);
 	}
 
+	private <MSG extends AvatarPacket<MSG>> void registerHandler(Class<MSG> packetType,
+																 AvatarPacket.Handler<MSG> handler) {
+		handlers.put(packetType, handler);
+	}
+
 	@Override
+	@SuppressWarnings("unchecked")
 	public IMessage onPacketReceived(IMessage packet, MessageContext ctx) {
 		AvatarLog.debug("Server: Received a packet");
 
-		if (packet instanceof PacketSUseAbility)
-			return handleKeypress((PacketSUseAbility) packet, ctx);
-
-		if (packet instanceof PacketSRequestData)
-			return handleRequestData((PacketSRequestData) packet, ctx);
-
-		if (packet instanceof PacketSUseStatusControl)
-			return handleUseStatusControl((PacketSUseStatusControl) packet, ctx);
-
-		if (packet instanceof PacketSWallJump) return handleWallJump((PacketSWallJump) packet, ctx);
-
-		if (packet instanceof PacketSSkillsMenu)
-			return handleSkillsMenu((PacketSSkillsMenu) packet, ctx);
-
-		if (packet instanceof PacketSUseScroll)
-			return handleUseScroll((PacketSUseScroll) packet, ctx);
-
-		if (packet instanceof PacketSBisonInventory)
-			return handleInventory((PacketSBisonInventory) packet, ctx);
-
-		if (packet instanceof PacketSOpenUnlockGui)
-			return handleGetBending((PacketSOpenUnlockGui) packet, ctx);
-
-		if (packet instanceof PacketSUnlockBending)
-			return handleUnlockBending((PacketSUnlockBending) packet, ctx);
-
-		if (packet instanceof PacketSConfirmTransfer)
-			return handleConfirmTransfer((PacketSConfirmTransfer) packet, ctx);
-
-		if (packet instanceof PacketSCycleBending)
-			return handleCycleBending((PacketSCycleBending) packet, ctx);
+		AvatarPacket.Handler handler = handlers.get(packet.getClass());
+		if (handler != null) {
+			return handler.onMessageRecieved(packet, ctx);
+		}
 
 		AvatarLog.warn("Unknown packet recieved: " + packet.getClass().getName());
 		return null;
@@ -125,32 +112,23 @@ public class PacketHandlerServer implements IPacketHandler {
 	private IMessage handleKeypress(PacketSUseAbility packet, MessageContext ctx) {
 
 		EntityPlayerMP player = ctx.getServerHandler().player;
-		Bender bender = Bender.get(player);
-		if (bender != null) {
-
-			bender.executeAbility(packet.getAbility(), packet.getRaytrace());
-
-			// Send analytics
-			String abilityName = packet.getAbility().getName();
-			String level = AbilityData.get(player, abilityName).getLevelDesc();
-			AvatarAnalytics.INSTANCE.pushEvent(getAbilityExecutionEvent(abilityName, level));
-
-			// If player just got to 100% XP so they can upgrade, send them a message
-			AbilityData abilityData = AbilityData.get(player, abilityName);
-			boolean notLevel4 = abilityData.getLevel() < 3;
-			if (abilityData.getXp() == 100 && abilityData.getLastXp() < 100 && notLevel4) {
-
-				UUID bendingId = packet.getAbility().getBendingId();
+		if (packet.getAbility() != null) {
+			PlayerInputBuffer.get(player).addAbility(packet.getAbility(), packet.getRaytrace());
+		}
 
-				MSG_CAN_UPGRADE_ABILITY.send(player, abilityName, abilityData.getLevel() + 2);
-				MSG_CAN_UPGRADE_ABILITY_2.send(player);
-				MSG_CAN_UPGRADE_ABILITY_3.send(player, BendingStyles.getName(bendingId));
+		return null;
+	}
 
-				// Prevent this message from appearing again by updating lastXp to show current Xp
-				abilityData.resetLastXp();
+	private IMessage handleUseInputs(PacketSUseInputs packet, MessageContext ctx) {
 
-			}
+		EntityPlayerMP player = ctx.getServerHandler().player;
+		PlayerInputBuffer buffer = PlayerInputBuffer.get(player);
 
+		for (int i = 0; i < packet.getAbilities().size(); i++) {
+			buffer.addAbility(packet.getAbilities().get(i), packet.getAbilityRaytraces().get(i));
+		}
+		for (int i = 0; i < packet.getStatusControls().size(); i++) {
+			buffer.addStatusControl(packet.getStatusControls().get(i), packet.getStatusControlRaytraces().get(i));
 		}
 
 		return null;
@@ -184,18 +162,11 @@ public class PacketHandlerServer implements IPacketHandler {
 	 * @return
 	 */
 	private IMessage handleUseStatusControl(PacketSUseStatusControl packet, MessageContext ctx) {
-		EntityPlayerMP player = ctx.getServerHandler().player;
-
-		BendingData data = BendingData.get(player);
-
-		if (data != null) {
-			StatusControl sc = packet.getStatusControl();
-			if (data.hasStatusControl(sc)) {
-				if (sc.execute(new BendingContext(data, player, packet.getRaytrace()))) {
-					data.removeStatusControl(packet.getStatusControl());
-				}
-			}
 
+		EntityPlayerMP player = ctx.getServerHandler().player;
+		if (packet.getStatusControl() != null) {
+			PlayerInputBuffer.get(player).addStatusControl(packet.getStatusControl(),
+					packet.getRaytrace());
 		}
 
 		return null;
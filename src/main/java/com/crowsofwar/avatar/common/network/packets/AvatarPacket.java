@@ -19,9 +19,8 @@ package com.crowsofwar.avatar.common.network.packets;
 
 import com.crowsofwar.avatar.AvatarLog;
 import com.crowsofwar.avatar.AvatarLog.WarningType;
-import com.crowsofwar.avatar.AvatarMod;
+import com.crowsofwar.avatar.common.network.PacketDispatcher;
 import io.netty.buffer.ByteBuf;
-import net.minecraft.util.IThreadListener;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
 import net.minecraftforge.fml.common.network.simpleimpl.MessageContext;
@@ -38,23 +37,7 @@ public abstract class AvatarPacket<MSG extends IMessage> implements IMessage, IM
 	@Override
 	public final IMessage onMessage(MSG message, MessageContext ctx) {
 
-		Handler<MSG> handler = getPacketHandler();
-
-		IThreadListener mainThread = getReceivedSide().isServer()
-				? ctx.getServerHandler().player.getServerWorld()
-				: AvatarMod.proxy.getClientThreadListener();
-
-		mainThread.addScheduledTask(() -> {
-			IMessage followup = handler.onMessageRecieved(message, ctx);
-			if (followup != null) {
-				if (ctx.side.isClient()) {
-					AvatarMod.network.sendToServer(followup);
-				} else {
-					AvatarMod.network.sendTo(followup, ctx.getServerHandler().player);
-				}
-			}
-		});
-
+		PacketDispatcher.get(ctx).dispatch(message, ctx, getPacketHandler(), getThreadPolicy());
 		return null;
 
 	}
@@ -94,6 +77,23 @@ public abstract class AvatarPacket<MSG extends IMessage> implements IMessage, IM
 	 */
 	protected abstract Handler<MSG> getPacketHandler();
 
+	/**
+	 * Returns which thread the packet handler is run on. By default, packets are handled on the
+	 * main thread.
+	 */
+	protected ThreadPolicy getThreadPolicy() {
+		return ThreadPolicy.MAIN_THREAD;
+	}
+
+	/**
+	 * For {@link ThreadPolicy#BATCHED batched} packets, returns a key which identifies
+	 * duplicate packets. When packets of the same type and key are received from the same
+	 * sender in one tick, only the last one is handled.
+	 */
+	public Object getBatchKey() {
+		return null;
+	}
+
 	/**
 	 * An interface to handle the packet being received.
 	 * <p>
@@ -120,4 +120,28 @@ public abstract class AvatarPacket<MSG extends IMessage> implements IMessage, IM
 
 	}
 
+	/**
+	 * Describes which thread a packet is handled on.
+	 */
+	public enum ThreadPolicy {
+
+		/**
+		 * The packet is handled on the main (server or client) thread during the next tick.
+		 */
+		MAIN_THREAD,
+		/**
+		 * The packet is handled directly on the network thread. Only for handlers which don't
+		 * touch the world, or which were already finished in fromBytes.
+		 */
+		NETWORK_THREAD,
+		/**
+		 * The packet is handled on the main thread during the next tick, but duplicate packets
+		 * received before then are collapsed into the last one.
+		 *
+		 * @see AvatarPacket#getBatchKey()
+		 */
+		BATCHED
+
+	}
+
 }
@@ -0,0 +1,87 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.network.packets;
+
+import com.crowsofwar.avatar.common.network.NetworkIds;
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.relauncher.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packet from server -> client which is sent when the player logs in, telling the client which
+ * network IDs the server uses for abilities.
+ *
+ * @author CrowsOfWar
+ * @see NetworkIds
+ */
+public class PacketCNetworkIds extends AvatarPacket<PacketCNetworkIds> {
+
+	private String version;
+	private List<String> abilityNames;
+
+	public PacketCNetworkIds() {
+	}
+
+	public PacketCNetworkIds(String version, List<String> abilityNames) {
+		this.version = version;
+		this.abilityNames = abilityNames;
+	}
+
+	@Override
+	protected void avatarFromBytes(ByteBuf buf) {
+		version = ByteBufUtils.readUTF8String(buf);
+		int size = ByteBufUtils.readVarInt(buf, 5);
+		abilityNames = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			abilityNames.add(ByteBufUtils.readUTF8String(buf));
+		}
+
+		// Apply the IDs now rather than on the main thread, so they are already known when the
+		// next packets are read
+		NetworkIds.receiveServerIds(version, abilityNames);
+	}
+
+	@Override
+	protected void avatarToBytes(ByteBuf buf) {
+		ByteBufUtils.writeUTF8String(buf, version);
+		ByteBufUtils.writeVarInt(buf, abilityNames.size(), 5);
+		for (String name : abilityNames) {
+			ByteBufUtils.writeUTF8String(buf, name);
+		}
+	}
+
+	@Override
+	protected Side getReceivedSide() {
+		return Side.CLIENT;
+	}
+
+	@Override
+	protected Handler<PacketCNetworkIds> getPacketHandler() {
+		// Nothing to do; IDs were already applied in avatarFromBytes
+		return (msg, ctx) -> null;
+	}
+
+	@Override
+	protected ThreadPolicy getThreadPolicy() {
+		return ThreadPolicy.NETWORK_THREAD;
+	}
+
+}
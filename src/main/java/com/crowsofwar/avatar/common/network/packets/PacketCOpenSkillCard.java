@@ -2,32 +2,35 @@ package com.crowsofwar.avatar.common.network.packets;
 
 import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.network.NetworkIds;
 import com.crowsofwar.avatar.common.network.PacketRedirector;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.relauncher.Side;
 
+import javax.annotation.Nullable;
+
 /**
  * @author CrowsOfWar
  */
 public class PacketCOpenSkillCard extends AvatarPacket<PacketCOpenSkillCard> {
 
-	private int abilityId;
+	private String abilityName;
 
 	public PacketCOpenSkillCard() {
 	}
 
 	public PacketCOpenSkillCard(Ability ability) {
-		this.abilityId = Abilities.all().indexOf(ability);
+		this.abilityName = ability.getName();
 	}
 
 	@Override
 	protected void avatarFromBytes(ByteBuf buf) {
-		abilityId = buf.readInt();
+		abilityName = NetworkIds.readAbilityFromServer(buf);
 	}
 
 	@Override
 	protected void avatarToBytes(ByteBuf buf) {
-		buf.writeInt(abilityId);
+		NetworkIds.writeAbilityToClient(buf, abilityName);
 	}
 
 	@Override
@@ -40,8 +43,9 @@ public class PacketCOpenSkillCard extends AvatarPacket<PacketCOpenSkillCard> {
 		return PacketRedirector::redirectMessage;
 	}
 
+	@Nullable
 	public Ability getAbility() {
-		return Abilities.all().get(abilityId);
+		return abilityName == null ? null : Abilities.get(abilityName);
 	}
 
 }
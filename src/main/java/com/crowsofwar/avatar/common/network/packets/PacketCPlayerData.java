@@ -27,6 +27,7 @@ import com.crowsofwar.gorecore.GoreCore;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.relauncher.Side;
 
+import javax.annotation.Nullable;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.UUID;
@@ -53,6 +54,12 @@ public class PacketCPlayerData extends AvatarPacket<PacketCPlayerData> {
 	// which would probably cause bugs/crashing
 	private SortedSet<DataCategory> changed;
 
+	/**
+	 * Bytes written for each category, indexed by ordinal. Set server-side once the packet has
+	 * been encoded, for network statistics.
+	 */
+	private int[] categorySizes;
+
 	public PacketCPlayerData() {
 	}
 
@@ -88,6 +95,7 @@ public class PacketCPlayerData extends AvatarPacket<PacketCPlayerData> {
 				for (DataCategory category : changed) {
 					category.read(copyBuf, data);
 				}
+				AvatarMod.proxy.onPlayerDataChanged(playerId, changed);
 			});
 
 		} else {
@@ -126,12 +134,24 @@ public class PacketCPlayerData extends AvatarPacket<PacketCPlayerData> {
 		}
 
 		// The "real" payload - player data
+		categorySizes = new int[DataCategory.values().length];
 		for (DataCategory category : changed) {
+			int start = buf.writerIndex();
 			category.write(buf, data);
+			categorySizes[category.ordinal()] = buf.writerIndex() - start;
 		}
 
 	}
 
+	/**
+	 * Gets how many bytes of the packet each category took up, indexed by ordinal. Categories
+	 * which weren't sent are zero. Returns null if the packet hasn't been encoded yet.
+	 */
+	@Nullable
+	public int[] getCategorySizes() {
+		return categorySizes;
+	}
+
 	@Override
 	protected Side getReceivedSide() {
 		return Side.CLIENT;
@@ -147,6 +167,11 @@ public class PacketCPlayerData extends AvatarPacket<PacketCPlayerData> {
 		return (msg, ctx) -> null;
 	}
 
+	@Override
+	protected ThreadPolicy getThreadPolicy() {
+		return ThreadPolicy.NETWORK_THREAD;
+	}
+
 	public UUID getPlayerId() {
 		return playerId;
 	}
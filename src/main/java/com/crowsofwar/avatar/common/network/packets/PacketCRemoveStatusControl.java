@@ -20,6 +20,7 @@ package com.crowsofwar.avatar.common.network.packets;
 import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.network.PacketRedirector;
 import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.relauncher.Side;
 
 /**
@@ -38,12 +39,12 @@ public class PacketCRemoveStatusControl extends AvatarPacket<PacketCRemoveStatus
 
 	@Override
 	public void avatarFromBytes(ByteBuf buf) {
-		control = StatusControl.lookup(buf.readInt());
+		control = StatusControl.lookup(ByteBufUtils.readVarInt(buf, 5));
 	}
 
 	@Override
 	public void avatarToBytes(ByteBuf buf) {
-		buf.writeInt(control.id());
+		ByteBufUtils.writeVarInt(buf, control.id(), 5);
 	}
 
 	@Override
@@ -17,12 +17,11 @@
 
 package com.crowsofwar.avatar.common.network.packets;
 
-import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.bending.Ability;
 import com.crowsofwar.avatar.common.controls.AvatarControl;
+import com.crowsofwar.avatar.common.network.NetworkIds;
 import com.crowsofwar.avatar.common.network.PacketRedirector;
 import com.crowsofwar.avatar.common.util.Raytrace;
-import com.crowsofwar.gorecore.util.GoreCoreByteBufUtil;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.relauncher.Side;
 
@@ -47,16 +46,16 @@ public class PacketSUseAbility extends AvatarPacket<PacketSUseAbility> {
 
 	@Override
 	public void avatarFromBytes(ByteBuf buf) {
-		ability = Abilities.get(GoreCoreByteBufUtil.readString(buf));
+		ability = NetworkIds.readAbilityFromClient(buf);
 		if (ability == null) {
-			throw new NullPointerException("Server sent invalid ability over network: ID " + ability);
+			throw new NullPointerException("Client sent invalid ability over network");
 		}
 		raytrace = Raytrace.Result.fromBytes(buf);
 	}
 
 	@Override
 	public void avatarToBytes(ByteBuf buf) {
-		GoreCoreByteBufUtil.writeString(buf, ability.getName());
+		NetworkIds.writeAbilityToServer(buf, ability);
 		raytrace.toBytes(buf);
 	}
 
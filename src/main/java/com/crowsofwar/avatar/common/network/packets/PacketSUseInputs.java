@@ -0,0 +1,141 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.network.packets;
+
+import com.crowsofwar.avatar.AvatarLog;
+import com.crowsofwar.avatar.AvatarLog.WarningType;
+import com.crowsofwar.avatar.common.bending.Abilities;
+import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.bending.StatusControl;
+import com.crowsofwar.avatar.common.network.NetworkIds;
+import com.crowsofwar.avatar.common.network.PacketRedirector;
+import com.crowsofwar.avatar.common.util.Raytrace;
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.relauncher.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packet which tells the server about all of the abilities and status controls that the client
+ * used during one tick. Replaces sending a {@link PacketSUseAbility} or
+ * {@link PacketSUseStatusControl} for each of them.
+ *
+ * @author CrowsOfWar
+ */
+public class PacketSUseInputs extends AvatarPacket<PacketSUseInputs> {
+
+	private final List<Ability> abilities = new ArrayList<>();
+	private final List<Raytrace.Result> abilityRaytraces = new ArrayList<>();
+	private final List<StatusControl> statusControls = new ArrayList<>();
+	private final List<Raytrace.Result> statusControlRaytraces = new ArrayList<>();
+
+	public PacketSUseInputs() {
+	}
+
+	public void addAbility(Ability ability, Raytrace.Result raytrace) {
+		abilities.add(ability);
+		abilityRaytraces.add(raytrace);
+	}
+
+	public void addStatusControl(StatusControl statusControl, Raytrace.Result raytrace) {
+		statusControls.add(statusControl);
+		statusControlRaytraces.add(raytrace);
+	}
+
+	@Override
+	public void avatarFromBytes(ByteBuf buf) {
+
+		int abilityCount = ByteBufUtils.readVarInt(buf, 5);
+		if (abilityCount > Abilities.all().size()) {
+			AvatarLog.warn(WarningType.BAD_CLIENT_PACKET, "Player sent UseInputs packet with " +
+					abilityCount + " abilities, but there are only " + Abilities.all().size());
+			return;
+		}
+		for (int i = 0; i < abilityCount; i++) {
+			Ability ability = NetworkIds.readAbilityFromClient(buf);
+			Raytrace.Result raytrace = Raytrace.Result.fromBytes(buf);
+			if (ability != null) {
+				addAbility(ability, raytrace);
+			}
+		}
+
+		int statusControlCount = ByteBufUtils.readVarInt(buf, 5);
+		if (statusControlCount > StatusControl.all().size()) {
+			AvatarLog.warn(WarningType.BAD_CLIENT_PACKET, "Player sent UseInputs packet with " +
+					statusControlCount + " status controls, but there are only " + StatusControl.all().size());
+			return;
+		}
+		for (int i = 0; i < statusControlCount; i++) {
+			int id = ByteBufUtils.readVarInt(buf, 5);
+			StatusControl statusControl = StatusControl.lookup(id);
+			Raytrace.Result raytrace = Raytrace.Result.fromBytes(buf);
+			if (statusControl != null) {
+				addStatusControl(statusControl, raytrace);
+			} else {
+				AvatarLog.warn(WarningType.BAD_CLIENT_PACKET,
+						"Player sent UseInputs packet with invalid status control id " + id);
+			}
+		}
+
+	}
+
+	@Override
+	public void avatarToBytes(ByteBuf buf) {
+
+		ByteBufUtils.writeVarInt(buf, abilities.size(), 5);
+		for (int i = 0; i < abilities.size(); i++) {
+			NetworkIds.writeAbilityToServer(buf, abilities.get(i));
+			abilityRaytraces.get(i).toBytes(buf);
+		}
+
+		ByteBufUtils.writeVarInt(buf, statusControls.size(), 5);
+		for (int i = 0; i < statusControls.size(); i++) {
+			ByteBufUtils.writeVarInt(buf, statusControls.get(i).id(), 5);
+			statusControlRaytraces.get(i).toBytes(buf);
+		}
+
+	}
+
+	@Override
+	protected Side getReceivedSide() {
+		return Side.SERVER;
+	}
+
+	@Override
+	protected AvatarPacket.Handler<PacketSUseInputs> getPacketHandler() {
+		return PacketRedirector::redirectMessage;
+	}
+
+	public List<Ability> getAbilities() {
+		return abilities;
+	}
+
+	public List<Raytrace.Result> getAbilityRaytraces() {
+		return abilityRaytraces;
+	}
+
+	public List<StatusControl> getStatusControls() {
+		return statusControls;
+	}
+
+	public List<Raytrace.Result> getStatusControlRaytraces() {
+		return statusControlRaytraces;
+	}
+
+}
@@ -16,10 +16,9 @@
 */
 package com.crowsofwar.avatar.common.network.packets;
 
-import com.crowsofwar.avatar.common.bending.Abilities;
 import com.crowsofwar.avatar.common.bending.Ability;
+import com.crowsofwar.avatar.common.network.NetworkIds;
 import com.crowsofwar.avatar.common.network.PacketRedirector;
-import com.crowsofwar.gorecore.util.GoreCoreByteBufUtil;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.relauncher.Side;
 
@@ -39,13 +38,12 @@ public class PacketSUseScroll extends AvatarPacket<PacketSUseScroll> {
 
 	@Override
 	public void avatarFromBytes(ByteBuf buf) {
-		ability = Abilities.get(GoreCoreByteBufUtil.readString(buf));
+		ability = NetworkIds.readAbilityFromClient(buf);
 	}
 
 	@Override
 	public void avatarToBytes(ByteBuf buf) {
-		GoreCoreByteBufUtil.writeString(buf, ability.getName
-				());
+		NetworkIds.writeAbilityToServer(buf, ability);
 	}
 
 	@Override
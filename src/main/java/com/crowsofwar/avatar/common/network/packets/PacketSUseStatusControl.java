@@ -23,6 +23,7 @@ import com.crowsofwar.avatar.common.bending.StatusControl;
 import com.crowsofwar.avatar.common.network.PacketRedirector;
 import com.crowsofwar.avatar.common.util.Raytrace;
 import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
 import net.minecraftforge.fml.relauncher.Side;
 
 /**
@@ -43,7 +44,7 @@ public class PacketSUseStatusControl extends AvatarPacket<PacketSUseStatusContro
 
 	@Override
 	public void avatarFromBytes(ByteBuf buf) {
-		int id = buf.readInt();
+		int id = ByteBufUtils.readVarInt(buf, 5);
 		statusControl = StatusControl.lookup(id);
 		if (statusControl == null) {
 			AvatarLog.warn(WarningType.BAD_CLIENT_PACKET,
@@ -57,7 +58,7 @@ public class PacketSUseStatusControl extends AvatarPacket<PacketSUseStatusContro
 
 	@Override
 	public void avatarToBytes(ByteBuf buf) {
-		buf.writeInt(statusControl.id());
+		ByteBufUtils.writeVarInt(buf, statusControl.id(), 5);
 		raytrace.toBytes(buf);
 	}
 
@@ -43,4 +43,9 @@ public class PacketSWallJump extends AvatarPacket<PacketSWallJump> {
 		return PacketRedirector::redirectMessage;
 	}
 
+	@Override
+	protected ThreadPolicy getThreadPolicy() {
+		return ThreadPolicy.BATCHED;
+	}
+
 }
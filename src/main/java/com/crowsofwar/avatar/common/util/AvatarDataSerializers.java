@@ -151,12 +151,162 @@ public class AvatarDataSerializers {
 		}
 	};
 
+	/**
+	 * Writes vectors as fixed-point numbers with a precision of 1/{@value #FIXED_POINT_SCALE} of
+	 * a block, encoded as variable-length integers. Coordinates within a few thousand blocks of
+	 * the origin take 3 bytes per axis rather than the 8 used by {@link #SERIALIZER_VECTOR}.
+	 * <p>
+	 * To avoid resending values which only changed below the precision, setters should pass the
+	 * value through {@link #quantize(Vector)} before giving it to the DataManager.
+	 */
+	public static final DataSerializer<Vector> SERIALIZER_COMPACT_VECTOR = new AvatarSerializer<Vector>() {
+
+		@Override
+		public void write(PacketBuffer buf, Vector value) {
+			writeFixedPoint(buf, value.x());
+			writeFixedPoint(buf, value.y());
+			writeFixedPoint(buf, value.z());
+		}
+
+		@Override
+		public Vector read(PacketBuffer buf) throws IOException {
+			return new Vector(readFixedPoint(buf), readFixedPoint(buf), readFixedPoint(buf));
+		}
+
+		@Override
+		public DataParameter<Vector> createKey(int id) {
+			return new DataParameter<>(id, this);
+		}
+
+		@Override
+		public Vector copyValue(Vector vec) {
+			return vec;
+		}
+	};
+	/**
+	 * Writes floats with half precision (2 bytes instead of 4). Suitable for sizes and
+	 * multipliers which only affect visuals or don't need more than ~3 significant digits.
+	 * <p>
+	 * Setters should pass the value through {@link #quantize(float)} first, so both sides use the
+	 * same value and tiny changes don't mark the parameter dirty.
+	 */
+	public static final DataSerializer<Float> SERIALIZER_HALF_FLOAT = new AvatarSerializer<Float>() {
+
+		@Override
+		public void write(PacketBuffer buf, Float value) {
+			buf.writeShort(toHalf(value));
+		}
+
+		@Override
+		public Float read(PacketBuffer buf) throws IOException {
+			return fromHalf(buf.readShort());
+		}
+
+		@Override
+		public DataParameter<Float> createKey(int id) {
+			return new DataParameter<>(id, this);
+		}
+
+		@Override
+		public Float copyValue(Float value) {
+			return value;
+		}
+	};
+
+	/**
+	 * Scale of the fixed point numbers used by {@link #SERIALIZER_COMPACT_VECTOR}.
+	 */
+	public static final int FIXED_POINT_SCALE = 256;
+
 	public static void register() {
 		DataSerializers.registerSerializer(SERIALIZER_BLOCK);
 		DataSerializers.registerSerializer(SERIALIZER_VECTOR);
 		DataSerializers.registerSerializer(SERIALIZER_BENDER);
 		DataSerializers.registerSerializer(SERIALIZER_SADDLE);
 		DataSerializers.registerSerializer(SERIALIZER_ARMOR);
+		DataSerializers.registerSerializer(SERIALIZER_COMPACT_VECTOR);
+		DataSerializers.registerSerializer(SERIALIZER_HALF_FLOAT);
+	}
+
+	/**
+	 * Rounds the vector to the precision of {@link #SERIALIZER_COMPACT_VECTOR}.
+	 */
+	public static Vector quantize(Vector vec) {
+		return new Vector(quantize(vec.x()), quantize(vec.y()), quantize(vec.z()));
+	}
+
+	/**
+	 * Rounds the float to the precision of {@link #SERIALIZER_HALF_FLOAT}.
+	 */
+	public static float quantize(float value) {
+		return fromHalf(toHalf(value));
+	}
+
+	private static double quantize(double value) {
+		return Math.round(value * FIXED_POINT_SCALE) / (double) FIXED_POINT_SCALE;
+	}
+
+	private static void writeFixedPoint(PacketBuffer buf, double value) {
+		long fixed = Math.round(value * FIXED_POINT_SCALE);
+		// Zigzag encoding so that small negative numbers are also short
+		buf.writeVarLong((fixed << 1) ^ (fixed >> 63));
+	}
+
+	private static double readFixedPoint(PacketBuffer buf) {
+		long zigzag = buf.readVarLong();
+		long fixed = (zigzag >>> 1) ^ -(zigzag & 1);
+		return fixed / (double) FIXED_POINT_SCALE;
+	}
+
+	/**
+	 * Converts the float to IEEE 754 half precision, rounding to nearest. Values too large for
+	 * half precision become infinity.
+	 */
+	private static short toHalf(float value) {
+		int bits = Float.floatToIntBits(value);
+		int sign = (bits >>> 16) & 0x8000;
+		int exponent = (bits >>> 23) & 0xff;
+		int mantissa = bits & 0x7fffff;
+
+		if (exponent == 0xff) {
+			// NaN or infinity
+			return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0));
+		}
+
+		int halfExponent = exponent - 127 + 15;
+		if (halfExponent >= 0x1f) {
+			return (short) (sign | 0x7c00);
+		}
+		if (halfExponent <= 0) {
+			if (halfExponent < -10) {
+				return (short) sign;
+			}
+			// Subnormal half
+			mantissa |= 0x800000;
+			int shift = 14 - halfExponent;
+			int rounded = (mantissa + (1 << (shift - 1))) >> shift;
+			return (short) (sign | rounded);
+		}
+
+		// Rounding may carry into the exponent, which is still correct
+		int half = (halfExponent << 10) | (mantissa >> 13);
+		half += (mantissa >> 12) & 1;
+		return (short) (sign | Math.min(half, 0x7c00));
+	}
+
+	private static float fromHalf(short half) {
+		int sign = (half & 0x8000) << 16;
+		int exponent = (half >>> 10) & 0x1f;
+		int mantissa = half & 0x3ff;
+
+		if (exponent == 0x1f) {
+			return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+		}
+		if (exponent == 0) {
+			float subnormal = mantissa / 16777216f; // mantissa * 2^-24
+			return sign == 0 ? subnormal : -subnormal;
+		}
+		return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
 	}
 
 	private static abstract class AvatarSerializer<T> implements DataSerializer<T> {
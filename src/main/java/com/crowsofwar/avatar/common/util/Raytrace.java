@@ -27,13 +27,11 @@ import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.util.EnumFacing;
-import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
@@ -94,17 +92,13 @@ public class Raytrace {
 
 		if (range == -1) range = getReachDistance(entity);
 
-		Vector eyePos = Vector.getEyePos(entity);
-		Vector look = new Vector(entity.getLookVec());
-		Vector end = eyePos.plus(look.times(range));
-		RayTraceResult res = entity.world.rayTraceBlocks(eyePos.toMinecraft(), end.toMinecraft(),
-				!raycastLiquids, raycastLiquids, true);
+		Vec3d look = entity.getLookVec();
+		VoxelRaytracer.Hit hit = new VoxelRaytracer.Hit();
+		double eyeY = entity.posY + entity.getEyeHeight();
+		VoxelRaytracer.get().traceBlocks(entity.world, entity.posX, eyeY, entity.posZ, look.x * range,
+				look.y * range, look.z * range, !raycastLiquids, raycastLiquids, hit);
+		return hit.toResult();
 
-		if (res != null && res.typeOfHit == RayTraceResult.Type.BLOCK) {
-			return new Result(new VectorI(res.getBlockPos()), res.sideHit, new Vector(res.hitVec));
-		} else {
-			return new Result();
-		}
 	}
 
 	/**
@@ -135,46 +129,37 @@ public class Raytrace {
 	public static Result raytrace(World world, Vector start, Vector direction, double range,
 								  boolean raycastLiquids) {
 
-		RayTraceResult res = world.rayTraceBlocks(start.toMinecraft(),
-				start.plus(direction.times(range)).toMinecraft(), !raycastLiquids, raycastLiquids, true);
+		VoxelRaytracer.Hit hit = new VoxelRaytracer.Hit();
+		VoxelRaytracer.get().traceBlocks(world, start.x(), start.y(), start.z(), direction.x() *
+				range, direction.y() * range, direction.z() * range, !raycastLiquids, raycastLiquids, hit);
+		return hit.toResult();
 
-		if (res != null && res.typeOfHit == RayTraceResult.Type.BLOCK) {
-			return new Result(new VectorI(res.getBlockPos()), res.sideHit, new Vector(res.hitVec));
-		} else {
-			return new Result();
-		}
 	}
 
 	/**
 	 * Custom raytrace which allows you to specify a (Bi)Predicate to determine
-	 * if the block has been hit. Unfortunately, this implementation does not
-	 * correctly report the side hit (always is {@link EnumFacing#DOWN}).
+	 * if the block has been hit. Every block along the ray is checked once, in
+	 * order. The side hit is the side the ray entered the block through.
 	 *
 	 * @param world     The world
 	 * @param start     Starting position to raytrace
-	 * @param direction Normalized vector to specify direction
+	 * @param direction Vector to specify direction
 	 * @param range     How many meters (blocks) to raytrace
-	 * @param verify    A BiPredicate used to verify if that block is correct
+	 * @param verify    A BiPredicate used to verify if that block is correct. The
+	 *                  position is reused, so don't keep it after the call.
 	 */
 	public static Result predicateRaytrace(World world, Vector start, Vector direction, double range,
 										   BiPredicate<BlockPos, IBlockState> verify) {
 
 		if (range == -1) range = 3;
 
-		Vector currentPosition = start;
-		Vector increment = direction.times(0.2);
-		while (currentPosition.sqrDist(start) <= range * range) {
+		double length = direction.magnitude();
+		double scale = length == 0 ? 0 : range / length;
 
-			BlockPos pos = currentPosition.toBlockPos();
-			IBlockState blockState = world.getBlockState(pos);
-			if (verify.test(pos, blockState)) {
-				return new Result(new VectorI(pos), EnumFacing.DOWN, currentPosition);
-			}
-
-			currentPosition = currentPosition.plus(increment);
-
-		}
-		return new Result();
+		VoxelRaytracer.Hit hit = new VoxelRaytracer.Hit();
+		VoxelRaytracer.get().tracePredicate(world, start.x(), start.y(), start.z(), direction.x() *
+				scale, direction.y() * scale, direction.z() * scale, verify, hit);
+		return hit.toResult();
 
 	}
 
@@ -183,35 +168,29 @@ public class Raytrace {
 		return entityRaytrace(world, start, direction, maxDistance, entity -> true);
 	}
 
+	/**
+	 * Finds the entities along the ray which match the filter, stopping at the first block in the
+	 * way (liquids don't stop it).
+	 */
 	public static List<Entity> entityRaytrace(World world, Vector start, Vector direction, double maxRange,
 											  Predicate<Entity> filter) {
 
-		// Detect correct range- avoid obstructions from walls
-		double range = maxRange;
-		Result raytrace = raytrace(world, start, direction, maxRange, true);
-		if (raytrace.hitSomething()) {
-			Vector stopAt = raytrace.posPrecise;
-			range = start.minus(stopAt).magnitude();
-		}
-
-		List<Entity> hit = new ArrayList<>();
-
-		Vector end = start.plus(direction.times(range));
-		AxisAlignedBB aabb = new AxisAlignedBB(start.x(), start.y(), start.z(), end.x(), end.y(), end.z());
-		List<Entity> entities = world.getEntitiesWithinAABB(Entity.class, aabb);
+		double deltaX = direction.x() * maxRange;
+		double deltaY = direction.y() * maxRange;
+		double deltaZ = direction.z() * maxRange;
 
-		for (Entity entity : entities) {
-			if (filter.test(entity)) {
-				AxisAlignedBB collisionBox = entity.getEntityBoundingBox();
-				RayTraceResult result = collisionBox.calculateIntercept(start.toMinecraft(),
-						end.toMinecraft());
-				if (result != null) {
-					hit.add(entity);
-				}
-			}
+		// Detect correct range- avoid obstructions from walls
+		VoxelRaytracer tracer = VoxelRaytracer.get();
+		VoxelRaytracer.Hit hit = new VoxelRaytracer.Hit();
+		if (tracer.traceBlocks(world, start.x(), start.y(), start.z(), deltaX, deltaY, deltaZ, false,
+				true, hit)) {
+			deltaX *= hit.getFraction();
+			deltaY *= hit.getFraction();
+			deltaZ *= hit.getFraction();
 		}
 
-		return hit;
+		return tracer.traceEntities(world, start.x(), start.y(), start.z(), deltaX, deltaY, deltaZ,
+				filter);
 
 	}
 
@@ -0,0 +1,176 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.avatar.common.util;
+
+/**
+ * A hierarchical timer wheel, which runs tasks after a delay of ticks. Scheduling and cancelling a
+ * task are constant time, and advancing the wheel by a tick only looks at tasks which are due (and
+ * occasionally moves far-away tasks to a lower wheel).
+ * <p>
+ * There are 4 wheels of 64 slots each. Tasks due within 64 ticks are kept in the lowest wheel,
+ * tasks due within 64^2 ticks in the next one, and so on. Delays are limited to 64^4 ticks (about
+ * 9 days).
+ * <p>
+ * Not thread-safe.
+ *
+ * @author CrowsOfWar
+ */
+public class TimerWheel {
+
+	private static final int BITS = 6;
+	private static final int SLOTS = 1 << BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final long MAX_DELAY = (1L << (BITS * LEVELS)) - 1;
+
+	/**
+	 * Each slot is the first timer of a doubly linked list, or null
+	 */
+	private final Timer[][] wheels = new Timer[LEVELS][SLOTS];
+	private long tick;
+	private int size;
+
+	/**
+	 * Schedules the task to run once after the given number of ticks. Delays below 1 are treated as
+	 * 1.
+	 */
+	public Timer schedule(long delay, Runnable task) {
+		Timer timer = new Timer(this, task);
+		timer.deadline = tick + Math.max(1, Math.min(delay, MAX_DELAY));
+		insert(timer);
+		size++;
+		return timer;
+	}
+
+	/**
+	 * Advances the wheel by one tick, running all tasks which are now due.
+	 */
+	public void advance() {
+		tick++;
+
+		// Move timers from higher wheels down when the lower wheel has completed a revolution
+		for (int level = 1; level < LEVELS; level++) {
+			if ((tick & ((1L << (BITS * level)) - 1)) != 0) {
+				break;
+			}
+			int slot = (int) ((tick >>> (BITS * level)) & MASK);
+			Timer timer;
+			while ((timer = wheels[level][slot]) != null) {
+				unlink(timer);
+				insert(timer);
+			}
+		}
+
+		int slot = (int) (tick & MASK);
+		Timer timer;
+		while ((timer = wheels[0][slot]) != null) {
+			unlink(timer);
+			timer.wheel = null;
+			size--;
+			// Don't let finished timers keep whatever the task references
+			Runnable task = timer.task;
+			timer.task = null;
+			task.run();
+		}
+	}
+
+	/**
+	 * Returns the number of scheduled tasks.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public long getTick() {
+		return tick;
+	}
+
+	private void insert(Timer timer) {
+		long delay = timer.deadline - tick;
+		int level = 0;
+		while (level < LEVELS - 1 && delay >= 1L << (BITS * (level + 1))) {
+			level++;
+		}
+		int slot = (int) ((timer.deadline >>> (BITS * level)) & MASK);
+
+		timer.level = level;
+		timer.slot = slot;
+		timer.prev = null;
+		timer.next = wheels[level][slot];
+		if (timer.next != null) {
+			timer.next.prev = timer;
+		}
+		wheels[level][slot] = timer;
+	}
+
+	private void unlink(Timer timer) {
+		if (timer.prev == null) {
+			wheels[timer.level][timer.slot] = timer.next;
+		} else {
+			timer.prev.next = timer.next;
+		}
+		if (timer.next != null) {
+			timer.next.prev = timer.prev;
+		}
+		timer.prev = null;
+		timer.next = null;
+	}
+
+	/**
+	 * A handle to a scheduled task, which can be used to cancel it.
+	 */
+	public static class Timer {
+
+		private Runnable task;
+		/**
+		 * The wheel which this timer is scheduled in; null when it was run or cancelled
+		 */
+		private TimerWheel wheel;
+		private long deadline;
+		private int level, slot;
+		private Timer prev, next;
+
+		private Timer(TimerWheel wheel, Runnable task) {
+			this.wheel = wheel;
+			this.task = task;
+		}
+
+		/**
+		 * Cancels the task, if it hasn't run yet. Returns whether it was cancelled.
+		 */
+		public boolean cancel() {
+			if (wheel == null) {
+				return false;
+			}
+			wheel.unlink(this);
+			wheel.size--;
+			wheel = null;
+			task = null;
+			return true;
+		}
+
+		/**
+		 * Returns whether the task is still waiting to be run.
+		 */
+		public boolean isPending() {
+			return wheel != null;
+		}
+
+	}
+
+}
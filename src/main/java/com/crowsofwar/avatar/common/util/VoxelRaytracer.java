@@ -0,0 +1,515 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.util;
+
+import com.crowsofwar.gorecore.util.Vector;
+import com.crowsofwar.gorecore.util.VectorI;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.RayTraceResult;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * The engine behind {@link Raytrace}. Rays are traced through the block grid with the voxel
+ * traversal algorithm of Amanatides and Woo, which visits every block the ray passes through
+ * exactly once, in order, reading each block state only once. Block states are read straight from
+ * the chunk sections, keeping the current chunk between blocks.
+ * <p>
+ * A tracer doesn't allocate while traversing. Hits are written into a {@link Hit} which the caller
+ * supplies and can reuse, so code which traces many rays per tick can avoid creating
+ * {@link Raytrace.Result results}. Tracers keep state during a trace, so each thread uses its own
+ * one, obtained from {@link #get()}. A trace may start another trace (for example, from a predicate
+ * or a block's <code>collisionRayTrace</code>), but only with a tracer from {@link #get()}, which
+ * is a separate one while the thread's tracer is busy.
+ * <p>
+ * Rays are given as a start position and a delta to the end position; distances along the ray
+ * are fractions of that delta, from 0 to 1.
+ *
+ * @author CrowsOfWar
+ */
+public class VoxelRaytracer {
+
+	private static final ThreadLocal<VoxelRaytracer> instances = ThreadLocal.withInitial
+			(VoxelRaytracer::new);
+
+	/**
+	 * Entity ray traces query the world in pieces of at most this many blocks, so that only the
+	 * chunk sections near the ray are searched instead of a box around the whole ray.
+	 */
+	private static final double ENTITY_SEGMENT_LENGTH = 16;
+
+	/**
+	 * Whether blocks of that class use the default <code>collisionRayTrace</code>, which hits their
+	 * bounding box. Only those blocks can take the shortcut for full cubes.
+	 */
+	private static final ClassValue<Boolean> defaultRayTrace = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> c = type; c != Block.class && c != null; c = c.getSuperclass()) {
+				if (declares(c, "collisionRayTrace") || declares(c, "func_180636_a")) {
+					return false;
+				}
+			}
+			return true;
+		}
+	};
+
+	private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+	private boolean busy;
+
+	// Chunk cache; only valid during a trace
+	private Chunk chunk;
+	private int chunkX, chunkZ;
+
+	// Parameters of the current block trace
+	private boolean predicateMode;
+	private BiPredicate<BlockPos, IBlockState> predicate;
+	private boolean stopOnLiquid, ignoreNoBoundingBox;
+	private double startX, startY, startZ, deltaX, deltaY, deltaZ;
+	private Vec3d startVec, endVec;
+
+	// Result of the last segment-box intersection
+	private double enter, exit;
+
+	private VoxelRaytracer() {
+	}
+
+	/**
+	 * Gets the tracer of the current thread, or a new tracer if that one is in the middle of a
+	 * trace.
+	 */
+	public static VoxelRaytracer get() {
+		VoxelRaytracer tracer = instances.get();
+		return tracer.busy ? new VoxelRaytracer() : tracer;
+	}
+
+	/**
+	 * Traces a ray against blocks the same way that vanilla's <code>World#rayTraceBlocks</code>
+	 * does, hitting the actual bounding boxes of blocks.
+	 *
+	 * @param stopOnLiquid        Whether liquids are hit
+	 * @param ignoreNoBoundingBox Whether blocks without a collision box (e.g. tall grass) are
+	 *                            passed through
+	 * @param hit                 Receives where the ray hit, if it hit anything
+	 * @return Whether a block was hit
+	 */
+	public boolean traceBlocks(World world, double startX, double startY, double startZ, double
+			deltaX, double deltaY, double deltaZ, boolean stopOnLiquid, boolean ignoreNoBoundingBox,
+							   Hit hit) {
+		begin();
+		try {
+			this.predicateMode = false;
+			this.stopOnLiquid = stopOnLiquid;
+			this.ignoreNoBoundingBox = ignoreNoBoundingBox;
+			return traverse(world, startX, startY, startZ, deltaX, deltaY, deltaZ, hit);
+		} finally {
+			end();
+		}
+	}
+
+	/**
+	 * Traces a ray and stops at the first block which matches the predicate. The position given to
+	 * the predicate is reused, so it is only valid during the call. The hit position is where the
+	 * ray enters the block.
+	 *
+	 * @param hit Receives where the ray hit, if it hit anything
+	 * @return Whether a matching block was found
+	 */
+	public boolean tracePredicate(World world, double startX, double startY, double startZ, double
+			deltaX, double deltaY, double deltaZ, BiPredicate<BlockPos, IBlockState> predicate,
+								  Hit hit) {
+		begin();
+		try {
+			this.predicateMode = true;
+			this.predicate = predicate;
+			return traverse(world, startX, startY, startZ, deltaX, deltaY, deltaZ, hit);
+		} finally {
+			this.predicate = null;
+			end();
+		}
+	}
+
+	/**
+	 * Finds all entities whose bounding box the ray passes through, roughly in order of distance.
+	 */
+	public List<Entity> traceEntities(World world, double startX, double startY, double startZ,
+									  double deltaX, double deltaY, double deltaZ, Predicate<Entity>
+											  filter) {
+
+		begin();
+		try {
+			return findEntities(world, startX, startY, startZ, deltaX, deltaY, deltaZ, filter);
+		} finally {
+			end();
+		}
+
+	}
+
+	private List<Entity> findEntities(World world, double startX, double startY, double startZ,
+									  double deltaX, double deltaY, double deltaZ, Predicate<Entity>
+											  filter) {
+
+		List<Entity> hit = new ArrayList<>();
+
+		double length = Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ);
+		int segments = Math.max(1, (int) Math.ceil(length / ENTITY_SEGMENT_LENGTH));
+
+		for (int i = 0; i < segments; i++) {
+
+			double from = (double) i / segments;
+			double to = (double) (i + 1) / segments;
+			boolean last = i == segments - 1;
+
+			AxisAlignedBB box = new AxisAlignedBB(startX + deltaX * from, startY + deltaY * from,
+					startZ + deltaZ * from, startX + deltaX * to, startY + deltaY * to, startZ +
+					deltaZ * to);
+
+			// Entities crossing several segments are only added by the segment where the ray
+			// enters them
+			hit.addAll(world.getEntitiesWithinAABB(Entity.class, box, entity -> filter.test(entity)
+					&& intersect(entity.getEntityBoundingBox(), startX, startY, startZ, deltaX, deltaY,
+					deltaZ) && enter >= from && (enter < to || last)));
+
+		}
+
+		return hit;
+
+	}
+
+	/**
+	 * Marks the tracer as busy, since its fields would be overwritten by a nested trace.
+	 */
+	private void begin() {
+		if (busy) {
+			throw new IllegalStateException("Tracer is already tracing; use VoxelRaytracer.get() "
+					+ "for nested traces");
+		}
+		busy = true;
+	}
+
+	private void end() {
+		busy = false;
+		chunk = null;
+	}
+
+	/**
+	 * Finds where the ray enters the box, storing it in {@link #enter}. Rays starting inside the
+	 * box enter it at 0.
+	 */
+	private boolean intersect(AxisAlignedBB box, double startX, double startY, double startZ,
+							  double deltaX, double deltaY, double deltaZ) {
+		enter = 0;
+		exit = 1;
+		return clip(box.minX, box.maxX, startX, deltaX) && clip(box.minY, box.maxY, startY, deltaY)
+				&& clip(box.minZ, box.maxZ, startZ, deltaZ);
+	}
+
+	/**
+	 * Narrows the part of the ray inside the box using one axis. Returns false if nothing is left.
+	 */
+	private boolean clip(double min, double max, double start, double delta) {
+		if (delta == 0) {
+			return start >= min && start <= max;
+		}
+		double t1 = (min - start) / delta;
+		double t2 = (max - start) / delta;
+		enter = Math.max(enter, Math.min(t1, t2));
+		exit = Math.min(exit, Math.max(t1, t2));
+		return enter <= exit;
+	}
+
+	private boolean traverse(World world, double startX, double startY, double startZ, double
+			deltaX, double deltaY, double deltaZ, Hit hit) {
+
+		hit.clear();
+		chunk = null;
+		startVec = null;
+		endVec = null;
+
+		if (Double.isNaN(startX + startY + startZ + deltaX + deltaY + deltaZ)) {
+			return false;
+		}
+
+		this.startX = startX;
+		this.startY = startY;
+		this.startZ = startZ;
+		this.deltaX = deltaX;
+		this.deltaY = deltaY;
+		this.deltaZ = deltaZ;
+
+		int x = MathHelper.floor(startX);
+		int y = MathHelper.floor(startY);
+		int z = MathHelper.floor(startZ);
+		int endX = MathHelper.floor(startX + deltaX);
+		int endY = MathHelper.floor(startY + deltaY);
+		int endZ = MathHelper.floor(startZ + deltaZ);
+
+		int stepX = (int) Math.signum(deltaX);
+		int stepY = (int) Math.signum(deltaY);
+		int stepZ = (int) Math.signum(deltaZ);
+
+		// How far along the ray it takes to cross one block on each axis
+		double tDeltaX = stepX == 0 ? Double.POSITIVE_INFINITY : stepX / deltaX;
+		double tDeltaY = stepY == 0 ? Double.POSITIVE_INFINITY : stepY / deltaY;
+		double tDeltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : stepZ / deltaZ;
+
+		// How far along the ray the next block boundary is on each axis
+		double tMaxX = boundary(startX, deltaX, stepX, x);
+		double tMaxY = boundary(startY, deltaY, stepY, y);
+		double tMaxZ = boundary(startZ, deltaZ, stepZ, z);
+
+		double t = 0;
+		EnumFacing entered = null;
+
+		// Guards against rounding errors; a ray can't pass more blocks than this
+		int maxBlocks = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z) + 1;
+
+		for (int i = 0; i < maxBlocks; i++) {
+
+			if (visit(world, x, y, z, entered, t, hit)) {
+				return true;
+			}
+
+			if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+				t = tMaxX;
+				x += stepX;
+				tMaxX += tDeltaX;
+				entered = stepX > 0 ? EnumFacing.WEST : EnumFacing.EAST;
+			} else if (tMaxY < tMaxZ) {
+				t = tMaxY;
+				y += stepY;
+				tMaxY += tDeltaY;
+				entered = stepY > 0 ? EnumFacing.DOWN : EnumFacing.UP;
+			} else {
+				t = tMaxZ;
+				z += stepZ;
+				tMaxZ += tDeltaZ;
+				entered = stepZ > 0 ? EnumFacing.NORTH : EnumFacing.SOUTH;
+			}
+
+			if (t > 1) {
+				return false;
+			}
+
+		}
+
+		return false;
+
+	}
+
+	/**
+	 * Checks the block the ray is in.
+	 *
+	 * @param entered The side of the block the ray entered through, or null for the block the ray
+	 *                starts in
+	 * @param t       How far along the ray the block was entered
+	 */
+	private boolean visit(World world, int x, int y, int z, EnumFacing entered, double t, Hit hit) {
+
+		IBlockState state = getBlockState(world, x, y, z);
+		pos.setPos(x, y, z);
+
+		if (predicateMode) {
+
+			if (predicate.test(pos, state)) {
+				EnumFacing side = entered != null ? entered : EnumFacing.getFacingFromVector((float)
+						-deltaX, (float) -deltaY, (float) -deltaZ);
+				hit.set(x, y, z, side, startX + deltaX * t, startY + deltaY * t, startZ + deltaZ *
+						t, t);
+				return true;
+			}
+			return false;
+
+		}
+
+		// Same checks as vanilla
+		if (ignoreNoBoundingBox && state.getCollisionBoundingBox(world, pos) == Block.NULL_AABB) {
+			return false;
+		}
+		if (!state.getBlock().canCollideCheck(state, stopOnLiquid)) {
+			return false;
+		}
+
+		// Full blocks are hit where the ray enters them. This isn't true for the block the ray
+		// starts in, since vanilla counts where the ray leaves it. Blocks with their own ray trace
+		// (e.g. stairs) can have a full bounding box without being hit by it.
+		if (entered != null && defaultRayTrace.get(state.getBlock().getClass()) && state
+				.getBoundingBox(world, pos) == Block.FULL_BLOCK_AABB) {
+			hit.set(x, y, z, entered, startX + deltaX * t, startY + deltaY * t, startZ + deltaZ * t,
+					t);
+			return true;
+		}
+
+		if (startVec == null) {
+			startVec = new Vec3d(startX, startY, startZ);
+			endVec = new Vec3d(startX + deltaX, startY + deltaY, startZ + deltaZ);
+		}
+		RayTraceResult result = state.collisionRayTrace(world, pos, startVec, endVec);
+		if (result != null && result.typeOfHit == RayTraceResult.Type.BLOCK) {
+			Vec3d vec = result.hitVec;
+			double lengthSq = deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ;
+			double hitT = lengthSq == 0 ? 0 : ((vec.x - startX) * deltaX + (vec.y - startY) *
+					deltaY + (vec.z - startZ) * deltaZ) / lengthSq;
+			hit.set(x, y, z, result.sideHit, vec.x, vec.y, vec.z, hitT);
+			return true;
+		}
+		return false;
+
+	}
+
+	/**
+	 * Reads the block state from the chunk's sections directly, keeping the chunk for the next
+	 * block. Blocks outside the world are air, like in <code>World#getBlockState</code>.
+	 */
+	private IBlockState getBlockState(World world, int x, int y, int z) {
+
+		if (y < 0 || y >= 256) {
+			return Blocks.AIR.getDefaultState();
+		}
+
+		int cx = x >> 4, cz = z >> 4;
+		if (chunk == null || cx != chunkX || cz != chunkZ) {
+			chunk = world.getChunkFromChunkCoords(cx, cz);
+			chunkX = cx;
+			chunkZ = cz;
+		}
+
+		ExtendedBlockStorage section = chunk.getBlockStorageArray()[y >> 4];
+		return section == Chunk.NULL_BLOCK_STORAGE ? Blocks.AIR.getDefaultState()
+				: section.get(x & 15, y & 15, z & 15);
+
+	}
+
+	private static boolean declares(Class<?> type, String method) {
+		try {
+			type.getDeclaredMethod(method, IBlockState.class, World.class, BlockPos.class, Vec3d
+					.class, Vec3d.class);
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		} catch (LinkageError e) {
+			// Some method of the class can't be resolved; don't trust it to be a plain block
+			return true;
+		}
+	}
+
+	/**
+	 * Finds how far along the ray its first block boundary on that axis is.
+	 */
+	private static double boundary(double start, double delta, int step, int block) {
+		if (step > 0) {
+			return (block + 1 - start) / delta;
+		} else if (step < 0) {
+			return (block - start) / delta;
+		} else {
+			return Double.POSITIVE_INFINITY;
+		}
+	}
+
+	/**
+	 * Where a ray hit a block. Can be reused for any number of traces.
+	 */
+	public static class Hit {
+
+		private boolean hit;
+		private int x, y, z;
+		private EnumFacing side;
+		private double hitX, hitY, hitZ;
+		private double fraction;
+
+		private void clear() {
+			hit = false;
+			side = null;
+		}
+
+		private void set(int x, int y, int z, EnumFacing side, double hitX, double hitY, double
+				hitZ, double fraction) {
+			this.hit = true;
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			this.side = side;
+			this.hitX = hitX;
+			this.hitY = hitY;
+			this.hitZ = hitZ;
+			this.fraction = fraction;
+		}
+
+		public boolean hitSomething() {
+			return hit;
+		}
+
+		public int getX() {
+			return x;
+		}
+
+		public int getY() {
+			return y;
+		}
+
+		public int getZ() {
+			return z;
+		}
+
+		public EnumFacing getSide() {
+			return side;
+		}
+
+		public double getHitX() {
+			return hitX;
+		}
+
+		public double getHitY() {
+			return hitY;
+		}
+
+		public double getHitZ() {
+			return hitZ;
+		}
+
+		/**
+		 * Gets how far along the ray the hit was, from 0 to 1.
+		 */
+		public double getFraction() {
+			return fraction;
+		}
+
+		/**
+		 * Creates a raytrace result for this hit.
+		 */
+		public Raytrace.Result toResult() {
+			return hit ? new Raytrace.Result(new VectorI(x, y, z), side, new Vector(hitX, hitY, hitZ))
+					: new Raytrace.Result();
+		}
+
+	}
+
+}
@@ -21,6 +21,7 @@ import com.crowsofwar.avatar.common.AvatarCommonProxy;
 import com.crowsofwar.avatar.common.controls.IControlsHandler;
 import com.crowsofwar.avatar.common.controls.KeybindingWrapper;
 import com.crowsofwar.avatar.common.data.AvatarPlayerData;
+import com.crowsofwar.avatar.common.data.DataCategory;
 import com.crowsofwar.avatar.common.gui.AvatarGui;
 import com.crowsofwar.avatar.common.network.IPacketHandler;
 import com.crowsofwar.gorecore.data.PlayerDataFetcher;
@@ -28,6 +29,9 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.IThreadListener;
 import net.minecraft.world.World;
 
+import java.util.Collection;
+import java.util.UUID;
+
 public class AvatarServerProxy implements AvatarCommonProxy {
 
 	private AvatarKeybindingServer keys;
@@ -91,4 +95,8 @@ public class AvatarServerProxy implements AvatarCommonProxy {
 		return false;
 	}
 
+	@Override
+	public void onPlayerDataChanged(UUID playerId, Collection<DataCategory> changed) {
+	}
+
 }
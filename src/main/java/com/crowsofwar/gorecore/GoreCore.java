@@ -57,7 +57,7 @@ public class GoreCore {
 		config = new GoreCoreModConfig(event);
 		ConverterRegistry.addDefaultConverters();
 		
-		AccountUUIDs.readCache();
+		AccountUUIDs.readCacheAsync();
 		GoreCoreChatMessages.register();
 		
 		proxy.sideSpecifics();
@@ -0,0 +1,245 @@
+/* 
+  This file is part of AvatarMod.
+    
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+  
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+  
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+
+package com.crowsofwar.gorecore.config;
+
+import com.crowsofwar.gorecore.GoreCore;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.logging.log4j.Level;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds method handles which access the fields of a configuration class. These are looked up once
+ * per class, instead of every time an object is loaded, so that loading, saving and copying
+ * configuration objects doesn't have to go through reflection for each field.
+ * 
+ * @author CrowsOfWar
+ */
+final class ConfigBinder {
+	
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class,
+			Object.class);
+	
+	private static final ClassValue<ConfigBinder> binders = new ClassValue<ConfigBinder>() {
+		@Override
+		protected ConfigBinder computeValue(Class<?> type) {
+			return new ConfigBinder(type);
+		}
+	};
+	
+	private final Class<?> type;
+	
+	/**
+	 * Creates a new instance using the no-args constructor, or null if there isn't one
+	 */
+	private final MethodHandle constructor;
+	
+	/**
+	 * Bindings for the fields marked with @Load, including those of superclasses
+	 */
+	private final List<Binding> loaded;
+	
+	/**
+	 * Bindings for every non-static, non-final field, including those of superclasses, used to copy
+	 * objects
+	 */
+	private final List<Binding> copied;
+	
+	private ConfigBinder(Class<?> type) {
+		
+		this.type = type;
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		
+		MethodHandle constructor = null;
+		try {
+			Constructor<?> ctor = type.getDeclaredConstructor();
+			ctor.setAccessible(true);
+			constructor = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			// No usable constructor; only newInstance() needs it
+		}
+		this.constructor = constructor;
+		
+		List<Binding> loaded = new ArrayList<>();
+		List<Binding> copied = new ArrayList<>();
+		
+		// Fields of the superclass come first; its binder is shared by all of its subclasses
+		Class<?> superclass = type.getSuperclass();
+		if (superclass != null && superclass != Object.class) {
+			ConfigBinder parent = of(superclass);
+			for (Binding binding : parent.loaded) {
+				if (!declaresField(type, binding.getName())) loaded.add(binding);
+			}
+			copied.addAll(parent.copied);
+		}
+		
+		for (Field field : type.getDeclaredFields()) {
+			
+			int modifiers = field.getModifiers();
+			boolean load = field.getAnnotation(Load.class) != null;
+			boolean copy = !Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers)
+					&& !field.isSynthetic();
+			
+			if (!load && !copy) continue;
+			
+			if (load && Modifier.isStatic(modifiers)) {
+				GoreCore.LOGGER.log(Level.WARN,
+						"[ConfigLoader] Warning: Not recommended to mark static fields with @Load, may work out weirdly.");
+				GoreCore.LOGGER.log(Level.WARN,
+						"This field is " + field.getDeclaringClass().getName() + "#" + field.getName());
+				GoreCore.LOGGER.log(Level.WARN, "Use a singleton instead!");
+			}
+			
+			Binding binding = new Binding(lookup, field);
+			if (load) loaded.add(binding);
+			if (copy) copied.add(binding);
+			
+		}
+		
+		this.loaded = Collections.unmodifiableList(loaded);
+		this.copied = Collections.unmodifiableList(copied);
+		
+	}
+	
+	static ConfigBinder of(Class<?> type) {
+		return binders.get(type);
+	}
+	
+	/**
+	 * Whether the class declares a field with that name, which hides the superclass' field in the
+	 * configuration file
+	 */
+	private static boolean declaresField(Class<?> type, String name) {
+		try {
+			type.getDeclaredField(name);
+			return true;
+		} catch (NoSuchFieldException e) {
+			return false;
+		}
+	}
+	
+	List<Binding> getLoadedFields() {
+		return loaded;
+	}
+	
+	/**
+	 * Creates a new instance of the class with its no-args constructor, which may be private.
+	 */
+	Object newInstance() {
+		if (constructor == null) {
+			throw new ConfigurationException.ReflectionException(
+					"No no-args constructor in " + type.getName(), null);
+		}
+		try {
+			return constructor.invokeExact();
+		} catch (Throwable t) {
+			throw new ConfigurationException.ReflectionException(
+					"Couldn't get an object of " + type + " with its constructor", t);
+		}
+	}
+	
+	/**
+	 * Copies every non-static, non-final field from one object to the other. This is a shallow copy.
+	 */
+	void copy(Object from, Object to) {
+		for (Binding binding : copied) {
+			binding.set(to, binding.get(from));
+		}
+	}
+	
+	static class Binding {
+		
+		private final String name;
+		
+		/**
+		 * The type of the field, with primitives converted to their wrapper
+		 */
+		private final Class<?> type;
+		private final HasCustomLoader customLoader;
+		
+		private final MethodHandle getter;
+		private final MethodHandle setter;
+		
+		private Binding(MethodHandles.Lookup lookup, Field field) {
+			
+			this.name = field.getName();
+			this.type = ClassUtils.primitiveToWrapper(field.getType());
+			this.customLoader = type.getAnnotation(HasCustomLoader.class);
+			
+			try {
+				
+				field.setAccessible(true);
+				MethodHandle getter = lookup.unreflectGetter(field);
+				MethodHandle setter = lookup.unreflectSetter(field);
+				
+				if (Modifier.isStatic(field.getModifiers())) {
+					// Accept (and ignore) an instance like the other fields do
+					getter = MethodHandles.dropArguments(getter, 0, Object.class);
+					setter = MethodHandles.dropArguments(setter, 0, Object.class);
+				}
+				
+				this.getter = getter.asType(GETTER_TYPE);
+				this.setter = setter.asType(SETTER_TYPE);
+				
+			} catch (IllegalAccessException e) {
+				throw new ConfigurationException.ReflectionException("Couldn't access field \""
+						+ field.getName() + "\" in class \"" + field.getDeclaringClass().getName() + "\"", e);
+			}
+			
+		}
+		
+		String getName() {
+			return name;
+		}
+		
+		Class<?> getType() {
+			return type;
+		}
+		
+		HasCustomLoader getCustomLoader() {
+			return customLoader;
+		}
+		
+		Object get(Object obj) {
+			try {
+				return (Object) getter.invokeExact(obj);
+			} catch (Throwable t) {
+				throw new ConfigurationException.Unexpected("Couldn't get field \"" + name + "\"", t);
+			}
+		}
+		
+		void set(Object obj, Object value) {
+			try {
+				setter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				throw new ConfigurationException.Unexpected("Couldn't set field \"" + name + "\"", t);
+			}
+		}
+		
+	}
+	
+}
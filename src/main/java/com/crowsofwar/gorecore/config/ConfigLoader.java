@@ -19,8 +19,6 @@ package com.crowsofwar.gorecore.config;
 
 import com.crowsofwar.gorecore.GoreCore;
 import com.crowsofwar.gorecore.config.convert.ConverterRegistry;
-import org.apache.commons.lang3.ClassUtils;
-import org.apache.logging.log4j.Level;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.DumperOptions.FlowStyle;
 import org.yaml.snakeyaml.Yaml;
@@ -33,13 +31,12 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
  * A configuration loader. It populates the fields of an object, with data from
- * disk, using reflection.
+ * disk, using method handles which are looked up once per class (see
+ * {@link ConfigBinder}).
  * <p>
  * Each configuration loader may, in turn, get more objects which need to be
  * loaded- a field may have a custom type.
@@ -113,12 +110,9 @@ public class ConfigLoader {
 	 */
 	private void load() {
 		
-		// TODO Load declared fields of the superclass as well
-		Field[] fields = obj.getClass().getDeclaredFields();
-		for (Field field : fields) {
+		for (ConfigBinder.Binding binding : ConfigBinder.of(obj.getClass()).getLoadedFields()) {
 			
-			field.setAccessible(true);
-			loadField(field);
+			loadField(binding);
 			
 		}
 		
@@ -128,104 +122,80 @@ public class ConfigLoader {
 	 * Tries to load the field of the {@link #obj object} with the correct
 	 * {@link #data}.
 	 * <p>
-	 * If the field isn't marked with @Load, does nothing. Otherwise, will
-	 * attempt to set the field's value (with reflection) to the data set in the
-	 * map.
+	 * Will set the field's value (with its bound method handle) to the data
+	 * set in the map, or keep its current value if none is set.
 	 * 
-	 * @param field
-	 *            The field to load
+	 * @param binding
+	 *            The @Load field to load
 	 */
-	private <T> void loadField(Field field) {
+	private void loadField(ConfigBinder.Binding binding) {
 		
-		Class<?> cls = field.getDeclaringClass();
-		Class<?> fieldType = field.getType();
-		if (fieldType.isPrimitive()) fieldType = ClassUtils.primitiveToWrapper(fieldType);
+		String name = binding.getName();
+		Class<?> fieldType = binding.getType();
 		
 		try {
 			
-			if (field.getAnnotation(Load.class) != null) {
+			HasCustomLoader loaderAnnot = binding.getCustomLoader();
+			CustomLoaderSettings loaderInfo = loaderAnnot == null ? new CustomLoaderSettings()
+					: new CustomLoaderSettings(loaderAnnot);
+			
+			Object fromData = data.get(name);
+			Object setTo;
+			
+			boolean tryDefaultValue = fromData == null || ignoreConfigFile;
+			
+			if (tryDefaultValue) {
+				
+				// Nothing present- try to load default value
 				
-				if (Modifier.isStatic(field.getModifiers())) {
-					
-					GoreCore.LOGGER.log(Level.WARN,
-							"[ConfigLoader] Warning: Not recommended to mark static fields with @Load, may work out weirdly.");
-					GoreCore.LOGGER.log(Level.WARN,
-							"This field is " + field.getDeclaringClass().getName() + "#" + field.getName());
-					GoreCore.LOGGER.log(Level.WARN, "Use a singleton instead!");
-					
+				setTo = binding.get(obj);
+				if (setTo == null) {
+					throw new ConfigurationException.UserMistake(
+							"No configured definition for " + name + ", no default value");
 				}
 				
-				// Should load this field
+			} else {
 				
-				HasCustomLoader loaderAnnot = fieldType.getAnnotation(HasCustomLoader.class);
-				CustomLoaderSettings loaderInfo = loaderAnnot == null ? new CustomLoaderSettings()
-						: new CustomLoaderSettings(loaderAnnot);
+				// Value present in configuration.
+				// Use the present value from map: fromData
 				
-				Object fromData = data.get(field.getName());
-				Object setTo;
+				setTo = convert(fromData, fieldType, name);
 				
-				boolean tryDefaultValue = fromData == null || ignoreConfigFile;
+			}
+			usedValues.put(name, setTo);
+			
+			// If not a java class, probably custom; needs to NOT have the
+			// '!!' in front
+			if (!setTo.getClass().getName().startsWith("java")) {
+				representer.addClassTag(setTo.getClass(), Tag.MAP);
+				classTags.add(setTo.getClass());
+			}
+			
+			// Try to apply custom loader, if necessary
+			
+			try {
 				
-				if (tryDefaultValue) {
-					
-					// Nothing present- try to load default value
-					
-					if (field.get(obj) != null) {
-						
-						setTo = field.get(obj);
-						
-					} else {
-						throw new ConfigurationException.UserMistake(
-								"No configured definition for " + field.getName() + ", no default value");
-					}
-					
-				} else {
-					
-					// Value present in configuration.
-					// Use the present value from map: fromData
-					
-					Class<Object> from = (Class<Object>) fromData.getClass();
-					Class<?> to = fieldType;
-					
-					setTo = convert(fromData, to, field.getName());
-					
-				}
-				usedValues.put(field.getName(), setTo);
+				if (loaderInfo.hasCustomLoader())
+					loaderInfo.customLoaderClass.newInstance().load(null, setTo);
 				
-				// If not a java class, probably custom; needs to NOT have the
-				// '!!' in front
-				if (!setTo.getClass().getName().startsWith("java")) {
-					representer.addClassTag(setTo.getClass(), Tag.MAP);
-					classTags.add(setTo.getClass());
-				}
+			} catch (InstantiationException | IllegalAccessException e) {
 				
-				// Try to apply custom loader, if necessary
+				throw new ConfigurationException.ReflectionException(
+						"Couldn't get a loader class of loader "
+								+ loaderInfo.customLoaderClass.getName(),
+						e);
 				
-				try {
-					
-					if (loaderInfo.hasCustomLoader())
-						loaderInfo.customLoaderClass.newInstance().load(null, setTo);
-					
-				} catch (InstantiationException | IllegalAccessException e) {
-					
-					throw new ConfigurationException.ReflectionException(
-							"Couldn't get a loader class of loader "
-									+ loaderInfo.customLoaderClass.getName(),
-							e);
-					
-				} catch (Exception e) {
-					
-					throw new ConfigurationException.Unexpected(
-							"An unexpected error occurred while using a custom object loader from config. Offending loader is: "
-									+ loaderInfo.customLoaderClass,
-							e);
-					
-				}
+			} catch (Exception e) {
 				
-				if (loaderInfo.loadFields) field.set(obj, setTo);
+				throw new ConfigurationException.Unexpected(
+						"An unexpected error occurred while using a custom object loader from config. Offending loader is: "
+								+ loaderInfo.customLoaderClass,
+						e);
 				
 			}
 			
+			if (loaderInfo.loadFields) binding.set(obj, setTo);
+			
 		} catch (ConfigurationException e) {
 			
 			throw e;
@@ -233,7 +203,7 @@ public class ConfigLoader {
 		} catch (Exception e) {
 			
 			throw new ConfigurationException.Unexpected("An unexpected error occurred while loading field \""
-					+ field.getName() + "\" in class \"" + cls.getName() + "\"", e);
+					+ name + "\" in class \"" + obj.getClass().getName() + "\"", e);
 			
 		}
 		
@@ -300,7 +270,7 @@ public class ConfigLoader {
 			T loadedObject;
 			
 			try {
-				loadedObject = to.newInstance();
+				loadedObject = (T) ConfigBinder.of(to).newInstance();
 				
 				ConfigLoader loader = new ConfigLoader(path, loadedObject, (Map) data.get(name),
 						this.ignoreConfigFile, this.neverIgnoreConfig);
@@ -490,12 +460,8 @@ public class ConfigLoader {
 		try {
 			
 			Map<String, Object> map = new HashMap<>();
-			Field[] fields = obj.getClass().getDeclaredFields();
-			for (Field field : fields) {
-				if (field.getAnnotation(Load.class) != null) {
-					field.setAccessible(true);
-					map.put(field.getName(), field.get(obj));
-				}
+			for (ConfigBinder.Binding binding : ConfigBinder.of(obj.getClass()).getLoadedFields()) {
+				map.put(binding.getName(), binding.get(obj));
 			}
 			
 			ConfigLoader loader = new ConfigLoader(path, obj, map, false, neverIgnoreConfig);
@@ -507,6 +473,35 @@ public class ConfigLoader {
 		}
 	}
 	
+	/**
+	 * Creates a shallow copy of the configuration object. The copy can be
+	 * {@link #load(Object, String) loaded} without affecting the original,
+	 * then {@link #copy(Object, Object) copied} back once loading has
+	 * succeeded; this way, the original never holds a partially loaded
+	 * configuration.
+	 * <p>
+	 * The object's class must have a no-args constructor, which may be
+	 * private.
+	 */
+	public static <T> T copyOf(T obj) {
+		ConfigBinder binder = ConfigBinder.of(obj.getClass());
+		T copy = (T) binder.newInstance();
+		binder.copy(obj, copy);
+		return copy;
+	}
+	
+	/**
+	 * Copies the values of every non-static, non-final field from one
+	 * configuration object to another of the same class.
+	 */
+	public static <T> void copy(T from, T to) {
+		if (from.getClass() != to.getClass()) {
+			throw new IllegalArgumentException(
+					"Can't copy " + from.getClass().getName() + " to " + to.getClass().getName());
+		}
+		ConfigBinder.of(from.getClass()).copy(from, to);
+	}
+	
 	/**
 	 * Keeps track of a custom loader
 	 * 
@@ -24,12 +24,21 @@ import net.minecraft.util.text.TextComponentString;
 import net.minecraft.util.text.TextComponentTranslation;
 import net.minecraft.util.text.translation.I18n;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class FormattedMessage {
 	
 	private final String translateKey;
 	private final String[] translateArgs;
 	private final MessageConfiguration config;
 	
+	/**
+	 * Compiled templates of the translated text, by text
+	 */
+	final Map<String, FormattedMessageProcessor.Template> formattedTemplates = new ConcurrentHashMap<>();
+	final Map<String, FormattedMessageProcessor.Template> plaintextTemplates = new ConcurrentHashMap<>();
+	
 	private FormattedMessage(MessageConfiguration config, String translateKey, String... translateArgs) {
 		this.translateKey = translateKey;
 		this.translateArgs = translateArgs;
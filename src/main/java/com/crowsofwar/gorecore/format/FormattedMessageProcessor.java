@@ -20,9 +20,7 @@ import com.crowsofwar.gorecore.GoreCore;
 import com.crowsofwar.gorecore.format.ChatSender.ProcessingException;
 import net.minecraft.util.text.TextFormatting;
 
-import java.util.Map;
-import java.util.Set;
-import java.util.Stack;
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -35,8 +33,44 @@ import static com.crowsofwar.gorecore.format.FormattedMessageProcessor.FormatSet
  */
 public class FormattedMessageProcessor {
 	
+	/**
+	 * Separates text into tags and the text between them. For demo, see
+	 * http://regexr.com/, regex is: \\?\[?\/?[^\]\[\\]+\]?
+	 */
+	private static final Pattern ITEM_PATTERN = Pattern.compile("\\\\?\\[?\\/?[^\\]\\[\\\\]+\\]?");
+	
+	/**
+	 * Colors of TextFormatting, by lowercase name
+	 */
+	private static final Map<String, TextFormatting> TF_COLORS = new HashMap<>();
+	
+	/**
+	 * In compiled templates, format arguments are replaced with private use
+	 * characters starting at this one (the first argument is ARG_MARKER, the
+	 * second ARG_MARKER + 1, ...)
+	 */
+	private static final char ARG_MARKER = '\uE000';
+	private static final int MAX_ARGS = 256;
+	
+	/**
+	 * Maximum number of templates cached for each message. Normally there is
+	 * only one per language.
+	 */
+	private static final int MAX_CACHED_TEMPLATES = 16;
+	
+	static {
+		for (TextFormatting tf : TextFormatting.values()) {
+			if (tf.isColor()) {
+				TF_COLORS.put(tf.name().toLowerCase(), tf);
+			}
+		}
+	}
+	
 	/**
 	 * Formats the chat message to apply colors and translation arguments.
+	 * <p>
+	 * The text is parsed once into a {@link Template}, which is cached in the
+	 * message; later calls with the same text only fill in the arguments.
 	 * 
 	 * @param msg
 	 *            Information about how to format the message
@@ -46,6 +80,190 @@ public class FormattedMessageProcessor {
 	 *            Values of the formatting arguments to use
 	 */
 	public static String formatText(FormattedMessage msg, String text, Object... formatValues) {
+		String result = getTemplate(msg, text, false).render(msg, formatValues);
+		return result != null ? result : formatTextUncompiled(msg, text, formatValues);
+	}
+	
+	/**
+	 * Same as {@link #formatText(FormattedMessage, String, Object...)}, but
+	 * does not apply chat styles (color, italic, bold)
+	 */
+	public static String formatPlaintext(FormattedMessage msg, String text, Object... formatValues) {
+		String result = getTemplate(msg, text, true).render(msg, formatValues);
+		return result != null ? result : formatPlaintextUncompiled(msg, text, formatValues);
+	}
+	
+	/**
+	 * Gets the compiled template for the text from the message's cache,
+	 * compiling it if necessary.
+	 */
+	private static Template getTemplate(FormattedMessage msg, String text, boolean plaintext) {
+		
+		Map<String, Template> cache = plaintext ? msg.plaintextTemplates : msg.formattedTemplates;
+		int configVersion = msg.getConfig().getModificationCount();
+		
+		Template template = cache.get(text);
+		if (template == null || template.configVersion != configVersion) {
+			if (cache.size() >= MAX_CACHED_TEMPLATES) {
+				cache.clear();
+			}
+			template = compile(msg, text, plaintext);
+			cache.put(text, template);
+		}
+		return template;
+		
+	}
+	
+	/**
+	 * Parses the text into a template. The result is the same as the
+	 * uncompiled methods as long as the argument values don't contain
+	 * anything which would be interpreted as part of a tag; see
+	 * {@link Template#render(FormattedMessage, Object[])}.
+	 */
+	private static Template compile(FormattedMessage msg, String text, boolean plaintext) {
+		
+		MessageConfiguration cfg = msg.getConfig();
+		Template uncompilable = new Template(cfg.getModificationCount(), plaintext, null, 0);
+		
+		String[] translateArgs = msg.getTranslationArgs();
+		// An argument right after a backslash could be part of an escape
+		if (translateArgs.length > MAX_ARGS || text.contains("\\${") || containsMarker(text)) {
+			return uncompilable;
+		}
+		
+		// Mark format arguments, then apply constants
+		for (int i = 0; i < translateArgs.length; i++) {
+			text = text.replace("${" + translateArgs[i] + "}", String.valueOf((char) (ARG_MARKER + i)));
+		}
+		for (Map.Entry<String, String> entry : cfg.getAllConstants()) {
+			text = text.replace("${" + entry.getKey() + "}", entry.getValue());
+		}
+		
+		List<Segment> segments = new ArrayList<>();
+		FormattingState format = new FormattingState();
+		Matcher matcher = ITEM_PATTERN.matcher(text);
+		
+		while (matcher.find()) {
+			
+			String item = matcher.group();
+			if (item.equals("")) continue;
+			
+			if (item.startsWith("[") && item.endsWith("]")) {
+				
+				String tag = item.substring(1, item.length() - 1);
+				if (containsMarker(tag)) {
+					// Arguments could change which tag this is
+					return uncompilable;
+				}
+				
+				if (tag.startsWith("translate=")) {
+					segments.add(new Segment(SegmentType.TRANSLATE, tag.substring("translate=".length())));
+				} else if (tag.startsWith("keybinding=")) {
+					segments.add(new Segment(SegmentType.KEYBINDING, tag.substring("keybinding=".length())));
+				} else if (plaintext) {
+					if (!isFormattingTag(cfg, tag)) {
+						return uncompilable;
+					}
+				} else {
+					if (!applyFormattingTag(cfg, format, tag)) {
+						return uncompilable;
+					}
+					addLiteral(segments, format.apply());
+				}
+				continue;
+				
+			}
+			
+			// remove backslash from escaped tags
+			if (item.startsWith("\\[") && item.endsWith("]")) item = item.substring(1);
+			
+			// Split the text at argument markers
+			int start = 0;
+			for (int i = 0; i < item.length(); i++) {
+				if (isMarker(item.charAt(i))) {
+					addLiteral(segments, item.substring(start, i));
+					segments.add(new Segment(item.charAt(i) - ARG_MARKER));
+					start = i + 1;
+				}
+			}
+			addLiteral(segments, item.substring(start));
+			
+		}
+		
+		if (!plaintext && format.hasFormat()) {
+			return uncompilable;
+		}
+		
+		return new Template(cfg.getModificationCount(), plaintext, segments.toArray(new Segment[0]),
+				text.length());
+				
+	}
+	
+	/**
+	 * Adds a literal segment, merging it into the previous one if possible.
+	 */
+	private static void addLiteral(List<Segment> segments, String text) {
+		if (text.isEmpty()) return;
+		
+		int last = segments.size() - 1;
+		if (last >= 0 && segments.get(last).type == SegmentType.LITERAL) {
+			segments.set(last, new Segment(SegmentType.LITERAL, segments.get(last).text + text));
+		} else {
+			segments.add(new Segment(SegmentType.LITERAL, text));
+		}
+	}
+	
+	/**
+	 * Pushes or pops the format for the formatting tag. Returns false if it is
+	 * not a valid formatting tag.
+	 */
+	private static boolean applyFormattingTag(MessageConfiguration cfg, FormattingState format, String tag) {
+		if (tag.equals("bold")) {
+			format.pushFormat(new ChatFormat("bold").setBold(TRUE));
+		} else if (tag.equals("italic")) {
+			format.pushFormat(new ChatFormat("italic").setItalic(TRUE));
+		} else if (getTfColor(tag) != null) {
+			format.pushFormat(new ChatFormat(tag).setColor(getTfColor(tag)));
+		} else if (cfg.getColor(tag) != null) {
+			format.pushFormat(new ChatFormat(tag).setColor(cfg.getColor(tag)));
+		} else if (tag.startsWith("/") && format.hasFormat() && tag.substring(1).equals(format.topFormat().name)) {
+			format.popFormat();
+		} else {
+			return false;
+		}
+		return true;
+	}
+	
+	private static boolean isFormattingTag(MessageConfiguration cfg, String tag) {
+		return tag.equals("bold") || tag.equals("italic") || getTfColor(tag) != null || cfg.hasColor(tag)
+				|| tag.startsWith("/");
+	}
+	
+	private static boolean isMarker(char c) {
+		return c >= ARG_MARKER && c < ARG_MARKER + MAX_ARGS;
+	}
+	
+	private static boolean containsMarker(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			if (isMarker(text.charAt(i))) return true;
+		}
+		return false;
+	}
+	
+		
+	/**
+	 * Formats the chat message to apply colors and translation arguments,
+	 * parsing the text again. Used when the text can't be represented by a
+	 * {@link Template}.
+	 * 
+	 * @param msg
+	 *            Information about how to format the message
+	 * @param text
+	 *            Text to format - should be already translated
+	 * @param formatValues
+	 *            Values of the formatting arguments to use
+	 */
+	private static String formatTextUncompiled(FormattedMessage msg, String text, Object... formatValues) {
 		
 		MessageConfiguration cfg = msg.getConfig();
 		
@@ -67,7 +285,7 @@ public class FormattedMessageProcessor {
 		
 		// Separate the text by square brackets
 		// for demo, see http://regexr.com/, regex is: \\?\[?\/?[^\]\[\\]+\]?
-		Matcher matcher = Pattern.compile("\\\\?\\[?\\/?[^\\]\\[\\\\]+\\]?").matcher(text);
+		Matcher matcher = ITEM_PATTERN.matcher(text);
 		
 		while (matcher.find()) {
 			
@@ -142,10 +360,10 @@ public class FormattedMessageProcessor {
 	}
 	
 	/**
-	 * Same as {@link #formatText(FormattedMessage, String, Object...)}, but
-	 * does not apply chat styles (color, italic, bold)
+	 * Same as {@link #formatTextUncompiled(FormattedMessage, String, Object...)},
+	 * but does not apply chat styles (color, italic, bold)
 	 */
-	public static String formatPlaintext(FormattedMessage msg, String text, Object... formatValues) {
+	private static String formatPlaintextUncompiled(FormattedMessage msg, String text, Object... formatValues) {
 		
 		MessageConfiguration cfg = msg.getConfig();
 		
@@ -166,7 +384,7 @@ public class FormattedMessageProcessor {
 		
 		// Separate the text by square brackets
 		// for demo, see http://regexr.com/, regex is: \\?\[?\/?[^\]\[\\]+\]?
-		Matcher matcher = Pattern.compile("\\\\?\\[?\\/?[^\\]\\[\\\\]+\\]?").matcher(text);
+		Matcher matcher = ITEM_PATTERN.matcher(text);
 		
 		while (matcher.find()) {
 			
@@ -227,14 +445,120 @@ public class FormattedMessageProcessor {
 	 * 
 	 */
 	private static TextFormatting getTfColor(String name) {
-		for (TextFormatting tf : TextFormatting.values()) {
-			if (tf.isColor() && tf.name().toLowerCase().equals(name)) {
-				return tf;
+		return TF_COLORS.get(name);
+	}
+	
+	/**
+	 * A message's text which was parsed into a list of segments: literal text
+	 * (with formatting codes already applied), format arguments, and
+	 * translate/keybinding tags which must be looked up every time.
+	 * 
+	 * @author CrowsOfWar
+	 */
+	static class Template {
+		
+		/**
+		 * Modification count of the MessageConfiguration when this was compiled
+		 */
+		private final int configVersion;
+		private final boolean plaintext;
+		/**
+		 * Null if the text couldn't be compiled
+		 */
+		private final Segment[] segments;
+		private final int lengthHint;
+		
+		private Template(int configVersion, boolean plaintext, Segment[] segments, int lengthHint) {
+			this.configVersion = configVersion;
+			this.plaintext = plaintext;
+			this.segments = segments;
+			this.lengthHint = lengthHint;
+		}
+		
+		/**
+		 * Renders the template with the format values. Returns null if the
+		 * uncompiled method must be used instead: when the text couldn't be
+		 * compiled, or an argument value contains characters that would have
+		 * been interpreted as tags, escapes or variables.
+		 */
+		String render(FormattedMessage msg, Object[] formatValues) {
+			
+			if (segments == null) return null;
+			
+			int argCount = msg.getTranslationArgs().length;
+			if (formatValues.length < argCount) return null;
+			
+			String[] values = new String[argCount];
+			for (int i = 0; i < argCount; i++) {
+				values[i] = formatValues[i].toString();
+				if (!isSafeValue(values[i])) return null;
 			}
+			
+			StringBuilder sb = new StringBuilder(lengthHint + 16 * argCount);
+			for (Segment segment : segments) {
+				switch (segment.type) {
+					case LITERAL:
+						sb.append(segment.text);
+						break;
+					case ARGUMENT:
+						sb.append(values[segment.arg]);
+						break;
+					case TRANSLATE:
+					case KEYBINDING:
+						String item = segment.type == SegmentType.KEYBINDING
+								? GoreCore.proxy.getKeybindingDisplayName(segment.text)
+								: plaintext
+										? formatPlaintext(msg, GoreCore.proxy.translate(segment.text), formatValues)
+										: formatText(msg, GoreCore.proxy.translate(segment.text), formatValues);
+						// remove backslash from escaped tags
+						if (item.startsWith("\\[") && item.endsWith("]")) item = item.substring(1);
+						sb.append(item);
+						break;
+				}
+			}
+			return sb.toString();
+			
+		}
+		
+		private static boolean isSafeValue(String value) {
+			if (value.isEmpty()) return false;
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (c == '[' || c == ']' || c == '\\' || c == '$' || isMarker(c)) return false;
+			}
+			return true;
+		}
+		
+	}
+	
+	private enum SegmentType {
+		LITERAL,
+		ARGUMENT,
+		TRANSLATE,
+		KEYBINDING
+	}
+	
+	private static class Segment {
+		
+		private final SegmentType type;
+		private final String text;
+		private final int arg;
+		
+		private Segment(SegmentType type, String text) {
+			this.type = type;
+			this.text = text;
+			this.arg = -1;
 		}
-		return null;
+		
+		private Segment(int arg) {
+			this.type = SegmentType.ARGUMENT;
+			this.text = null;
+			this.arg = arg;
+		}
+		
 	}
 	
+		
 	/**
 	 * Represents the current state while
 	 * #{@link FormattedMessageProcessor#formatText(FormattedMessage, String, Object...)
@@ -38,6 +38,11 @@ public class MessageConfiguration {
 	 * <code>Constant: ${const_name}</code>.
 	 */
 	private final Map<String, String> constants;
+	/**
+	 * Incremented whenever a color or constant is added, so that compiled
+	 * message templates know when they are outdated.
+	 */
+	private int modifications;
 	
 	public MessageConfiguration() {
 		this.colors = new HashMap<String, TextFormatting>();
@@ -47,6 +52,7 @@ public class MessageConfiguration {
 	public MessageConfiguration addColor(String reference, TextFormatting color) {
 		if (!color.isColor()) throw new IllegalArgumentException("The chat formatting must be a color");
 		this.colors.put(reference, color);
+		modifications++;
 		return this;
 	}
 	
@@ -87,9 +93,14 @@ public class MessageConfiguration {
 	 */
 	public MessageConfiguration addConstant(String name, String value) {
 		this.constants.put(name, value);
+		modifications++;
 		return this;
 	}
 	
+	int getModificationCount() {
+		return modifications;
+	}
+	
 	/**
 	 * Returns a set of the constants.
 	 * <p>
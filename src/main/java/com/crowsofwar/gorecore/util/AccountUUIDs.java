@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import com.crowsofwar.gorecore.GoreCore;
 import com.crowsofwar.gorecore.settings.GoreCoreModConfig;
@@ -62,10 +63,41 @@ public final class AccountUUIDs {
 	 */
 	private static final Map<String, AccountId> idCache;
 	
+	/**
+	 * Timeout in milliseconds for connecting to and reading from Mojang's API
+	 */
+	private static final int REQUEST_TIMEOUT = 5000;
+	
+	/**
+	 * The background read of the cache file, which must finish before the cache is used.
+	 * Completed when no read is in progress.
+	 */
+	private static volatile CompletableFuture<Void> cacheRead = CompletableFuture.completedFuture(null);
+	
 	static {
 		idCache = new HashMap<>();
 	}
 	
+	/**
+	 * Reads the UUID cache like {@link #readCache()}, but on a background thread so that startup
+	 * doesn't have to wait for it. Anything which uses the cache waits for the read to finish
+	 * first.
+	 */
+	public static void readCacheAsync() {
+		cacheRead = CompletableFuture.runAsync(AccountUUIDs::readCache, runnable -> {
+			Thread thread = new Thread(runnable, "GoreCore UUID Cache");
+			thread.setDaemon(true);
+			thread.start();
+		});
+	}
+	
+	/**
+	 * Waits for a background read of the cache file, if any, to finish.
+	 */
+	private static void awaitCache() {
+		cacheRead.join();
+	}
+	
 	/**
 	 * Clears the UUID cache, then reads the UUID cache from the cache file
 	 * located in different places for client/server. This is so that the big
@@ -136,6 +168,7 @@ public final class AccountUUIDs {
 	 * @see #readCache()
 	 */
 	public static void saveCache() {
+		awaitCache();
 		try {
 			
 			long start = System.currentTimeMillis();
@@ -219,6 +252,7 @@ public final class AccountUUIDs {
 	 * @return The UUID result of the getting
 	 */
 	public static AccountUUIDs.AccountId getId(String username) {
+		awaitCache();
 		if (idCache.containsKey(username)) {
 			return idCache.get(username);
 		} else {
@@ -282,6 +316,8 @@ public final class AccountUUIDs {
 			
 			connection.setRequestMethod("GET");
 			connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+			connection.setConnectTimeout(REQUEST_TIMEOUT);
+			connection.setReadTimeout(REQUEST_TIMEOUT);
 			
 			int responseCode = connection.getResponseCode();
 			BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
@@ -347,6 +383,8 @@ public final class AccountUUIDs {
 			
 			connection.setRequestMethod("GET");
 			connection.setRequestProperty("User-Agent", "Mozilla/5.0");
+			connection.setConnectTimeout(REQUEST_TIMEOUT);
+			connection.setReadTimeout(REQUEST_TIMEOUT);
 			
 			int responseCode = connection.getResponseCode();
 			BufferedReader br = new BufferedReader(new InputStreamReader(connection.getInputStream()));
@@ -0,0 +1,184 @@
+/*
+  This file is part of AvatarMod.
+
+  AvatarMod is free software: you can redistribute it and/or modify
+  it under the terms of the GNU General Public License as published by
+  the Free Software Foundation, either version 3 of the License, or
+  (at your option) any later version.
+
+  AvatarMod is distributed in the hope that it will be useful,
+  but WITHOUT ANY WARRANTY; without even the implied warranty of
+  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  GNU General Public License for more details.
+
+  You should have received a copy of the GNU General Public License
+  along with AvatarMod. If not, see <http://www.gnu.org/licenses/>.
+*/
+package com.crowsofwar.avatar.common.analytics;
+
+import com.crowsofwar.avatar.common.config.ConfigAnalytics;
+import com.crowsofwar.gorecore.config.convert.ConverterRegistry;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.*;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the analytics upload thread's work against a local HTTP server standing in for Google
+ * Analytics. The tests call {@link AnalyticsManager#flush(boolean, long)} themselves with a
+ * simulated clock, so backoff can be checked without waiting.
+ *
+ * @author CrowsOfWar
+ */
+public class AnalyticsManagerTest {
+
+	private static final File CONFIG_FILE = new File("config/avatar/analytics.yml");
+	private static final File SPILL_FILE = new File("config/avatar/analytics_spill.txt");
+
+	private static HttpServer server;
+	private static String originalEndpoint;
+	/**
+	 * Bodies of the requests the server received, in order
+	 */
+	private static final List<String> requests = new CopyOnWriteArrayList<>();
+	private static volatile int responseCode;
+	private static long time = System.currentTimeMillis();
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+
+		// Analytics are only sent by ids in the analytics group
+		CONFIG_FILE.getParentFile().mkdirs();
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(CONFIG_FILE),
+				StandardCharsets.UTF_8)) {
+			writer.write("analyticsEnabled: true\n");
+			writer.write("analyticsIdStr: 00000000-0000-0000-0000-000000000000\n");
+		}
+		ConverterRegistry.addDefaultConverters();
+		ConfigAnalytics.load();
+		assertTrue(ConfigAnalytics.ANALYTICS_CONFIG.isAnalyticsEnabled());
+
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", exchange -> {
+			try (InputStream in = exchange.getRequestBody()) {
+				ByteArrayOutputStream body = new ByteArrayOutputStream();
+				byte[] buffer = new byte[1024];
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					body.write(buffer, 0, read);
+				}
+				requests.add(new String(body.toByteArray(), StandardCharsets.UTF_8));
+			}
+			exchange.sendResponseHeaders(responseCode, -1);
+			exchange.close();
+		});
+		server.start();
+
+		originalEndpoint = AnalyticsUtils.endpoint;
+		AnalyticsUtils.endpoint = "http://localhost:" + server.getAddress().getPort();
+
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		AnalyticsUtils.endpoint = originalEndpoint;
+		server.stop(0);
+	}
+
+	@Before
+	public void reset() {
+		// Send anything left over by another test, which also resets the backoff
+		responseCode = 200;
+		flushAfter(60 * 60 * 1000);
+		SPILL_FILE.delete();
+		requests.clear();
+	}
+
+	@Test
+	public void failedUploadsBackOffSpillAndResend() {
+
+		long spilled = AnalyticsManager.getSpilledEvents();
+		long sent = AnalyticsManager.getSentEvents();
+
+		responseCode = 500;
+		for (int i = 0; i < 3; i++) {
+			AnalyticsManager.push(new AnalyticEvent("test", "failed" + i));
+		}
+		flushAfter(0);
+		assertEquals(1, requests.size());
+		assertEquals(3, AnalyticsManager.getWaitingEvents());
+
+		// Within the backoff, nothing is sent
+		flushAfter(1000);
+		assertEquals(1, requests.size());
+
+		// Backoff doubles after each failure
+		flushAfter(4000);
+		assertEquals(2, requests.size());
+		flushAfter(5000);
+		assertEquals(2, requests.size());
+		flushAfter(5000);
+		assertEquals(3, requests.size());
+
+		// After the third failure, the waiting events are spilled
+		assertTrue(SPILL_FILE.exists());
+		assertEquals(0, AnalyticsManager.getWaitingEvents());
+		assertEquals(spilled + 3, AnalyticsManager.getSpilledEvents());
+
+		// The next successful upload sends the spilled events too
+		responseCode = 200;
+		AnalyticsManager.push(new AnalyticEvent("test", "succeeded"));
+		flushAfter(20000);
+		assertEquals(5, requests.size());
+		assertEquals(3, countEvents(requests.get(4)));
+		assertFalse(SPILL_FILE.exists());
+		assertEquals(0, AnalyticsManager.getWaitingEvents());
+		assertEquals(sent + 4, AnalyticsManager.getSentEvents());
+
+	}
+
+	@Test
+	public void resendsEventsSpilledInEarlierSession() throws IOException {
+
+		long sent = AnalyticsManager.getSentEvents();
+
+		// Written by AnalyticsManager.stop() when the game was last closed
+		SPILL_FILE.getParentFile().mkdirs();
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(SPILL_FILE),
+				StandardCharsets.UTF_8)) {
+			long creationTime = System.currentTimeMillis() - 1000;
+			writer.write(creationTime + "\ttest\tspilled0\t\n");
+			writer.write(creationTime + "\ttest\tspilled1\tlabel\n");
+		}
+
+		responseCode = 200;
+		AnalyticsManager.push(new AnalyticEvent("test", "succeeded"));
+		flushAfter(20000);
+
+		assertEquals(2, requests.size());
+		assertEquals(2, countEvents(requests.get(1)));
+		assertTrue(requests.get(1).contains("&el=label"));
+		assertFalse(SPILL_FILE.exists());
+		assertEquals(sent + 3, AnalyticsManager.getSentEvents());
+
+	}
+
+	/**
+	 * Advances the simulated clock by the given milliseconds and forces a flush.
+	 */
+	private static void flushAfter(long millis) {
+		time += millis;
+		AnalyticsManager.flush(true, time);
+	}
+
+	private static int countEvents(String body) {
+		return body.split("\n").length;
+	}
+
+}